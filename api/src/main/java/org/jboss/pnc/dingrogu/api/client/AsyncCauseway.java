@@ -0,0 +1,23 @@
+package org.jboss.pnc.dingrogu.api.client;
+
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.causeway.dto.push.BuildPushRequest;
+
+/**
+ * Non-blocking variant of the Causeway REST API from pnc-api, which only has a synchronous version
+ */
+@Consumes(MediaType.APPLICATION_JSON)
+@Path("/")
+public interface AsyncCauseway {
+
+    @POST
+    @Path("/push-build")
+    CompletionStage<Response> importBuild(BuildPushRequest buildPushRequest);
+}
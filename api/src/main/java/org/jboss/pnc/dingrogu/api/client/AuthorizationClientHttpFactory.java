@@ -9,32 +9,37 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 
-import org.eclipse.microprofile.rest.client.ext.ClientHeadersFactory;
 import org.jboss.pnc.common.log.MDCUtils;
 
-import io.quarkus.oidc.client.OidcClient;
+import io.quarkus.rest.client.reactive.ReactiveClientHeadersFactory;
+import io.smallrye.mutiny.Uni;
 
+/**
+ * Add the authorization and MDC headers to the outgoing requests. The token is obtained without blocking from the
+ * {@link OidcTokenProvider} so that the non-blocking clients can be called from the event loop
+ */
 @ApplicationScoped
-public class AuthorizationClientHttpFactory implements ClientHeadersFactory {
+public class AuthorizationClientHttpFactory extends ReactiveClientHeadersFactory {
 
     @Inject
-    OidcClient oidcClient;
+    OidcTokenProvider oidcTokenProvider;
 
     @Override
-    public MultivaluedMap<String, String> update(
+    public Uni<MultivaluedMap<String, String>> getHeaders(
             MultivaluedMap<String, String> incomingHeaders,
             MultivaluedMap<String, String> clientOutgoingHeaders) {
         MultivaluedMap<String, String> result = new MultivaluedHashMap<>();
 
-        // Add authorization header
-        result.add(AUTHORIZATION, "Bearer " + oidcClient.getTokens().await().indefinitely().getAccessToken());
-
-        // Add MDC headers
+        // Add MDC headers. Read them now since the token may be obtained on another thread
         Map<String, String> mdcHeaders = MDCUtils.getHeadersFromMDC();
         for (String key : mdcHeaders.keySet()) {
             result.add(key, mdcHeaders.get(key));
         }
 
-        return result;
+        // Add authorization header
+        return oidcTokenProvider.getAccessTokenAsync().map(accessToken -> {
+            result.add(AUTHORIZATION, "Bearer " + accessToken);
+            return result;
+        });
     }
 }
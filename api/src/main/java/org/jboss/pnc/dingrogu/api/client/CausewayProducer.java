@@ -1,24 +1,21 @@
 package org.jboss.pnc.dingrogu.api.client;
 
-import java.net.URI;
-
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.jboss.pnc.api.causeway.rest.Causeway;
 
-import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
-
 @ApplicationScoped
 public class CausewayProducer {
 
     @Inject
-    AuthorizationClientHttpFactory authorizationClientHttpFactory;
+    RestClientRegistry restClientRegistry;
 
     public Causeway getCauseway(final String causewayUrl) {
-        return QuarkusRestClientBuilder.newBuilder()
-                .baseUri(URI.create(causewayUrl))
-                .clientHeadersFactory(authorizationClientHttpFactory)
-                .build(Causeway.class);
+        return restClientRegistry.getClient(Causeway.class, causewayUrl);
+    }
+
+    public AsyncCauseway getAsyncCauseway(final String causewayUrl) {
+        return restClientRegistry.getClient(AsyncCauseway.class, causewayUrl);
     }
 }
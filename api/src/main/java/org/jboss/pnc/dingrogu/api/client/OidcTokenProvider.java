@@ -0,0 +1,212 @@
+package org.jboss.pnc.dingrogu.api.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.oidc.client.OidcClient;
+import io.quarkus.oidc.client.Tokens;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Access token shared by all the outbound clients.
+ *
+ * The token is fetched on first use, then refreshed in the background before it expires, so that the outbound calls
+ * don't have to wait for the identity provider. If the token is expired anyway (e.g. the identity provider was down),
+ * the callers wait for a single refresh shared between all of them.
+ */
+@ApplicationScoped
+public class OidcTokenProvider {
+
+    private static final Duration MAX_REFRESH_DELAY = Duration.ofDays(1);
+
+    @ConfigProperty(name = "dingrogu.oidc-token.refresh-ahead", defaultValue = "PT1M")
+    Duration refreshAhead;
+
+    /**
+     * Used when the identity provider doesn't tell when the token expires
+     */
+    @ConfigProperty(name = "dingrogu.oidc-token.default-lifetime", defaultValue = "PT5M")
+    Duration defaultLifetime;
+
+    @ConfigProperty(name = "dingrogu.oidc-token.min-refresh-interval", defaultValue = "PT10S")
+    Duration minRefreshInterval;
+
+    @Inject
+    OidcClient oidcClient;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final AtomicReference<CachedToken> cached = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<CachedToken>> inflight = new AtomicReference<>();
+
+    private final AtomicReference<ScheduledFuture<?>> nextRefresh = new AtomicReference<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-oidc-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("dingrogu.oidc.token.expiry.seconds", cached, OidcTokenProvider::secondsToExpiry)
+                .description("Seconds until the cached access token expires")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Get the access token without blocking
+     *
+     * @return access token
+     */
+    public Uni<String> getAccessTokenAsync() {
+        CachedToken token = cached.get();
+        if (token != null && !token.isExpired()) {
+            return Uni.createFrom().item(token.accessToken);
+        }
+        return Uni.createFrom().completionStage(refresh()).map(refreshed -> refreshed.accessToken);
+    }
+
+    /**
+     * Get the access token. This only waits if there is no valid token cached
+     *
+     * @return access token
+     */
+    public String getAccessToken() {
+        CachedToken token = cached.get();
+        if (token != null && !token.isExpired()) {
+            return token.accessToken;
+        }
+        try {
+            return refresh().join().accessToken;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fetch a new token, unless a fetch is already in progress in which case its result is shared
+     */
+    private CompletableFuture<CachedToken> refresh() {
+        while (true) {
+            CompletableFuture<CachedToken> current = inflight.get();
+            if (current != null) {
+                return current;
+            }
+            CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+            if (inflight.compareAndSet(null, mine)) {
+                fetch(mine);
+                return mine;
+            }
+        }
+    }
+
+    private void fetch(CompletableFuture<CachedToken> result) {
+        long start = System.nanoTime();
+        Uni<Tokens> tokensUni;
+        try {
+            tokensUni = oidcClient.getTokens();
+        } catch (RuntimeException e) {
+            tokensUni = Uni.createFrom().failure(e);
+        }
+        tokensUni.subscribe().with(tokens -> {
+            CachedToken token = new CachedToken(tokens.getAccessToken(), getExpiry(tokens));
+            cached.set(token);
+            record(start, "success");
+            inflight.set(null);
+            result.complete(token);
+            scheduleRefresh(Duration.between(Instant.now(), token.expiresAt).minus(refreshAhead));
+        }, failure -> {
+            Log.error("Couldn't get the access token from the identity provider", failure);
+            record(start, "failure");
+            inflight.set(null);
+            result.completeExceptionally(failure);
+            scheduleRefresh(minRefreshInterval);
+        });
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        if (delay.compareTo(MAX_REFRESH_DELAY) > 0) {
+            delay = MAX_REFRESH_DELAY;
+        }
+        long delayMillis = Math.max(delay.toMillis(), minRefreshInterval.toMillis());
+        try {
+            ScheduledFuture<?> previous = nextRefresh
+                    .getAndSet(scheduler.schedule(this::refresh, delayMillis, TimeUnit.MILLISECONDS));
+            if (previous != null) {
+                // the token was refreshed before the scheduled refresh
+                previous.cancel(false);
+            }
+        } catch (RuntimeException e) {
+            // scheduler shut down
+            Log.debug("Not scheduling the token refresh", e);
+        }
+    }
+
+    private void record(long start, String outcome) {
+        Timer.builder("dingrogu.oidc.token.refresh")
+                .description("Time to get an access token from the identity provider")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Instant getExpiry(Tokens tokens) {
+        Long expiresAt = tokens.getAccessTokenExpiresAt();
+        if (expiresAt == null) {
+            return Instant.now().plus(defaultLifetime);
+        }
+        return Instant.ofEpochSecond(Math.min(expiresAt, Instant.MAX.getEpochSecond()));
+    }
+
+    private static double secondsToExpiry(AtomicReference<CachedToken> cached) {
+        CachedToken token = cached.get();
+        if (token == null) {
+            return 0;
+        }
+        return Duration.between(Instant.now(), token.expiresAt).toSeconds();
+    }
+
+    private static class CachedToken {
+        private final String accessToken;
+        private final Instant expiresAt;
+
+        private CachedToken(String accessToken, Instant expiresAt) {
+            this.accessToken = accessToken;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return !Instant.now().isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.jboss.pnc.dingrogu.api.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.client.api.QuarkusRestClientProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
+
+/**
+ * Registry of REST client proxies for services whose URL is only known at runtime (build-driver, environment-driver,
+ * causeway). Building a client proxy creates its own connection pool, so we keep one client per client type and
+ * normalized base URI to reuse warm keep-alive connections between requests.
+ *
+ * The registry is bounded: clients idle for longer than the idle timeout are evicted, and when the maximum amount of
+ * clients is reached the least recently used one is evicted. Evicted clients are only closed after the close delay,
+ * since they may have just been handed out and still be in use: the delay has to be longer than the requests made with
+ * them. All the clients are closed straight away on shutdown.
+ *
+ * Each client is named after its type and endpoint, so the Vert.x metrics of the http-client binder are recorded per
+ * endpoint (tag 'clientName'). The connections of the pool of each endpoint are reported from them in
+ * 'dingrogu.rest.client.connections' (tag 'state'): 'active' while a request waits for its response, 'idle' when open
+ * and unused, and 'queued' for the requests waiting for a connection.
+ */
+@ApplicationScoped
+public class RestClientRegistry {
+
+    @ConfigProperty(name = "dingrogu.rest-client.max-clients", defaultValue = "64")
+    int maxClients;
+
+    @ConfigProperty(name = "dingrogu.rest-client.idle-timeout", defaultValue = "PT10M")
+    Duration idleTimeout;
+
+    @ConfigProperty(name = "dingrogu.rest-client.connection-pool-size", defaultValue = "50")
+    int connectionPoolSize;
+
+    @ConfigProperty(name = "dingrogu.rest-client.close-delay", defaultValue = "PT5M")
+    Duration closeDelay;
+
+    @Inject
+    AuthorizationClientHttpFactory authorizationClientHttpFactory;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // package-private for the tests
+    BiFunction<Class<?>, URI, Object> clientFactory = this::buildClient;
+
+    private final Map<String, CachedClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Evicted and not closed yet
+     */
+    private final Set<CachedClient> closing = ConcurrentHashMap.newKeySet();
+
+    private volatile long lastIdleCheck = System.nanoTime();
+
+    private ScheduledExecutorService closer;
+
+    @PostConstruct
+    void init() {
+        closer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-rest-client-close");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the client for the url, creating it if it doesn't exist yet
+     *
+     * @param clientClass REST client interface
+     * @param url base url of the service
+     * @return client
+     * @param <T> type of the REST client interface
+     */
+    public <T> T getClient(Class<T> clientClass, String url) {
+        evictIdleClients();
+
+        URI baseUri = normalize(url);
+        String key = clientClass.getName() + "|" + baseUri;
+
+        CachedClient cached = clients.get(key);
+        if (cached == null) {
+            cached = clients.computeIfAbsent(key, k -> createClient(clientClass, baseUri));
+            evictOverflow();
+        }
+        cached.lastAccess = System.nanoTime();
+        cached.lookups.incrementAndGet();
+
+        return clientClass.cast(cached.client);
+    }
+
+    /**
+     * Normalize the url so that equivalent urls share the same client: scheme and host are lower-cased, default ports
+     * and trailing slashes are removed
+     *
+     * @param url url
+     * @return normalized uri
+     */
+    static URI normalize(String url) {
+        URI uri = URI.create(url.trim()).normalize();
+        String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase();
+        String host = uri.getHost() == null ? null : uri.getHost().toLowerCase();
+        int port = uri.getPort();
+        if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+            port = -1;
+        }
+        String path = uri.getPath();
+        while (path != null && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        try {
+            return new URI(scheme, uri.getUserInfo(), host, port, path, null, null);
+        } catch (Exception e) {
+            // should not happen since we are rebuilding a valid uri
+            return uri;
+        }
+    }
+
+    @PreDestroy
+    void closeAll() {
+        // the clients are closed straight away once the closer is shut down
+        closer.shutdownNow();
+        clients.keySet().forEach(key -> evict(key, "shutdown"));
+        closing.forEach(this::close);
+    }
+
+    /**
+     * Name of the Vert.x client, the 'clientName' tag of the http-client binder metrics
+     */
+    static String vertxClientName(Class<?> clientClass, URI baseUri) {
+        return clientClass.getSimpleName() + " " + baseUri;
+    }
+
+    private Object buildClient(Class<?> clientClass, URI baseUri) {
+        return QuarkusRestClientBuilder.newBuilder()
+                .baseUri(baseUri)
+                .property(QuarkusRestClientProperties.NAME, vertxClientName(clientClass, baseUri))
+                .clientHeadersFactory(authorizationClientHttpFactory)
+                .property(QuarkusRestClientProperties.CONNECTION_POOL_SIZE, connectionPoolSize)
+                .property(QuarkusRestClientProperties.KEEP_ALIVE_ENABLED, true)
+                .build(clientClass);
+    }
+
+    private CachedClient createClient(Class<?> clientClass, URI baseUri) {
+        Log.infof("Creating REST client %s for %s", clientClass.getSimpleName(), baseUri);
+        Object client = clientFactory.apply(clientClass, baseUri);
+
+        CachedClient cached = new CachedClient(clientClass.getSimpleName(), baseUri.toString(), client);
+        String vertxClientName = vertxClientName(clientClass, baseUri);
+        cached.meters.add(FunctionCounter
+                .builder("dingrogu.rest.client.lookups", cached.lookups, AtomicLong::doubleValue)
+                .description("Number of times the cached REST client was used")
+                .tag("client", cached.clientName)
+                .tag("endpoint", cached.endpoint)
+                .register(meterRegistry));
+        cached.meters.add(Gauge
+                .builder(
+                        "dingrogu.rest.client.idle.seconds",
+                        cached,
+                        c -> Duration.ofNanos(System.nanoTime() - c.lastAccess).toSeconds())
+                .description("Time since the cached REST client was last used")
+                .tag("client", cached.clientName)
+                .tag("endpoint", cached.endpoint)
+                .register(meterRegistry));
+        // with HTTP/1.1 each request waiting for its response holds an open connection
+        registerConnections(cached, "active", () -> binderGauge(vertxClientName, "http.client.pending"));
+        registerConnections(
+                cached,
+                "idle",
+                () -> Math.max(
+                        0,
+                        binderGauge(vertxClientName, "http.client.active.connections")
+                                - binderGauge(vertxClientName, "http.client.pending")));
+        registerConnections(cached, "queued", () -> binderGauge(vertxClientName, "http.client.queue.size"));
+        return cached;
+    }
+
+    private void registerConnections(CachedClient cached, String state, Supplier<Number> value) {
+        cached.meters.add(
+                Gauge.builder("dingrogu.rest.client.connections", value)
+                        .description("Connections of the pool of the cached REST client")
+                        .tag("client", cached.clientName)
+                        .tag("endpoint", cached.endpoint)
+                        .tag("state", state)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Value of a gauge of the http-client binder for the client, 0 until the client has connected
+     */
+    private double binderGauge(String vertxClientName, String name) {
+        Gauge gauge = meterRegistry.find(name).tag("clientName", vertxClientName).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    private void evictIdleClients() {
+        long now = System.nanoTime();
+        // no need to go through all the clients on every call
+        if (now - lastIdleCheck < idleTimeout.toNanos() / 4) {
+            return;
+        }
+        lastIdleCheck = now;
+        clients.forEach((key, cached) -> {
+            if (now - cached.lastAccess > idleTimeout.toNanos()) {
+                evict(key, "idle");
+            }
+        });
+    }
+
+    private void evictOverflow() {
+        while (clients.size() > maxClients) {
+            clients.entrySet()
+                    .stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .ifPresent(entry -> evict(entry.getKey(), "size"));
+        }
+    }
+
+    private void evict(String key, String reason) {
+        CachedClient cached = clients.remove(key);
+        if (cached == null) {
+            return;
+        }
+        Log.infof("Evicting REST client %s for %s (%s)", cached.clientName, cached.endpoint, reason);
+        cached.meters.forEach(meterRegistry::remove);
+        meterRegistry.counter("dingrogu.rest.client.evictions", "client", cached.clientName, "reason", reason)
+                .increment();
+        closing.add(cached);
+        try {
+            closer.schedule(() -> close(cached), closeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            close(cached);
+        }
+    }
+
+    private void close(CachedClient cached) {
+        if (!closing.remove(cached)) {
+            // already closed
+            return;
+        }
+        Log.infof("Closing REST client %s for %s", cached.clientName, cached.endpoint);
+        if (cached.client instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                Log.warnf(e, "Could not close REST client %s for %s", cached.clientName, cached.endpoint);
+            }
+        }
+    }
+
+    private static class CachedClient {
+        private final String clientName;
+        private final String endpoint;
+        private final Object client;
+        private final AtomicLong lookups = new AtomicLong();
+        private final List<Meter> meters = new ArrayList<>();
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedClient(String clientName, String endpoint, Object client) {
+            this.clientName = clientName;
+            this.endpoint = endpoint;
+            this.client = client;
+        }
+    }
+}
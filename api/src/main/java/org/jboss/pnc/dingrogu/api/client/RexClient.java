@@ -15,8 +15,6 @@ import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.OidcClient;
-import io.quarkus.oidc.client.Tokens;
 import okhttp3.*;
 
 /**
@@ -35,10 +33,7 @@ public class RexClient {
     ObjectMapper objectMapper;
 
     @Inject
-    Tokens token;
-
-    @Inject
-    OidcClient oidcClient;
+    OidcTokenProvider oidcTokenProvider;
 
     public void submitWorkflow(CreateGraphRequest createGraphRequest) throws Exception {
 
@@ -50,7 +45,7 @@ public class RexClient {
 
         Request request = new Request.Builder().url(url)
                 .post(requestBody)
-                .addHeader("Authorization", "Bearer " + token.getAccessToken())
+                .addHeader("Authorization", "Bearer " + oidcTokenProvider.getAccessToken())
                 .build();
 
         try (Response response = CLIENT.newCall(request).execute()) {
@@ -114,7 +109,7 @@ public class RexClient {
         Log.info("About to submit callback: " + objectMapper.writeValueAsString(object));
         Request request = new Request.Builder().url(url)
                 .post(requestBody)
-                .addHeader("Authorization", "Bearer " + token.getAccessToken())
+                .addHeader("Authorization", "Bearer " + oidcTokenProvider.getAccessToken())
                 .build();
 
         try (Response response = CLIENT.newCall(request).execute()) {
@@ -138,7 +133,7 @@ public class RexClient {
         MediaType json = MediaType.get("application/json; charset=utf-8");
         Request request = new Request.Builder().url(url)
                 .get()
-                .addHeader("Authorization", "Bearer " + token.getAccessToken())
+                .addHeader("Authorization", "Bearer " + oidcTokenProvider.getAccessToken())
                 .build();
         try (Response response = CLIENT.newCall(request).execute()) {
             Log.info(response.message());
@@ -0,0 +1,60 @@
+package org.jboss.pnc.dingrogu.api.client;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency of the calls to Rex, per endpoint and status, in 'dingrogu.rex.client.requests'. The endpoint is the method
+ * of the Rex client called, e.g. 'TaskEndpoint.start'.
+ *
+ * Only the calls that got a response are recorded: the connection failures are in the generic 'http.client.requests'.
+ */
+@ApplicationScoped
+public class RexClientMetrics implements ClientRequestFilter, ClientResponseFilter {
+
+    /**
+     * Set by the REST client on each request, see the MicroProfile REST client specification
+     */
+    static final String INVOKED_METHOD = "org.eclipse.microprofile.rest.client.invokedMethod";
+
+    private static final String START = RexClientMetrics.class.getName() + ".start";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        requestContext.setProperty(START, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        if (!(requestContext.getProperty(START) instanceof Long start)) {
+            return;
+        }
+        Timer.builder("dingrogu.rex.client.requests")
+                .description("Time to get the response of Rex")
+                .tag("endpoint", getEndpoint(requestContext))
+                .tag("status", Integer.toString(responseContext.getStatus()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String getEndpoint(ClientRequestContext requestContext) {
+        if (requestContext.getProperty(INVOKED_METHOD) instanceof Method method) {
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return requestContext.getMethod();
+    }
+}
@@ -22,12 +22,16 @@ public class RexProducer {
     @Inject
     AuthorizationClientHttpFactory authorizationClientHttpFactory;
 
+    @Inject
+    RexClientMetrics rexClientMetrics;
+
     @Produces
     @ApplicationScoped
     public TaskEndpoint createTaskEndpoint() {
         return QuarkusRestClientBuilder.newBuilder()
                 .baseUri(URI.create(rexClientUrl))
                 .clientHeadersFactory(authorizationClientHttpFactory)
+                .register(rexClientMetrics)
                 .build(TaskEndpoint.class);
     }
 
@@ -37,6 +41,7 @@ public class RexProducer {
         return QuarkusRestClientBuilder.newBuilder()
                 .baseUri(URI.create(rexClientUrl))
                 .clientHeadersFactory(authorizationClientHttpFactory)
+                .register(rexClientMetrics)
                 .build(CallbackEndpoint.class);
     }
 
@@ -46,6 +51,7 @@ public class RexProducer {
         return QuarkusRestClientBuilder.newBuilder()
                 .baseUri(URI.create(rexClientUrl))
                 .clientHeadersFactory(authorizationClientHttpFactory)
+                .register(rexClientMetrics)
                 .build(QueueEndpoint.class);
     }
 }
@@ -0,0 +1,25 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Outcome of the submission of a batch of workflows
+ */
+@Value
+@Jacksonized
+@Builder
+public class BatchSubmissionResultDTO {
+
+    int submitted;
+
+    int failed;
+
+    /**
+     * Outcome per workflow, in the order of the batch
+     */
+    List<WorkflowSubmissionResultDTO> results;
+}
@@ -0,0 +1,18 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Workflows to cancel, by correlation id. The workflows in progress can be listed with /workflow/in-progress
+ */
+@Value
+@Jacksonized
+@Builder
+public class BulkCancelRequestDTO {
+
+    Set<String> correlationIds;
+}
@@ -0,0 +1,24 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Outcome of the cancellation of many workflows
+ */
+@Value
+@Jacksonized
+@Builder
+public class BulkCancelResultDTO {
+
+    /**
+     * Number of workflows per outcome
+     */
+    Map<WorkflowCancelResultDTO.Outcome, Integer> summary;
+
+    List<WorkflowCancelResultDTO> workflows;
+}
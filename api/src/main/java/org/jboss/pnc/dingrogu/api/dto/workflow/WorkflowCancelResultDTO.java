@@ -0,0 +1,50 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Outcome of the cancellation of a workflow
+ */
+@Value
+@Jacksonized
+@Builder
+public class WorkflowCancelResultDTO {
+
+    String correlationId;
+
+    Outcome outcome;
+
+    /**
+     * Rex tasks cancelled
+     */
+    List<String> cancelledTasks;
+
+    /**
+     * Rex tasks that couldn't be cancelled
+     */
+    List<String> failedTasks;
+
+    /**
+     * Number of Rex tasks not cancelled directly, since Rex stops them with the tasks they depend on
+     */
+    int transitivelyCancelledTasks;
+
+    /**
+     * Why the tasks of the workflow couldn't be fetched from Rex, for the FAILED outcome
+     */
+    String error;
+
+    public enum Outcome {
+        CANCELLED,
+        /**
+         * All the tasks of the workflow were already in a final state
+         */
+        ALREADY_FINISHED,
+        PARTIALLY_CANCELLED,
+        FAILED
+    }
+}
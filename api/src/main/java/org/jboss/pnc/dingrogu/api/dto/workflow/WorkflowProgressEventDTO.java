@@ -0,0 +1,67 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.time.Instant;
+
+import org.jboss.pnc.rex.common.enums.State;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Progress of a workflow, streamed as it happens
+ */
+@Value
+@Jacksonized
+@Builder
+public class WorkflowProgressEventDTO {
+
+    /**
+     * Increasing number of the event. Give the last one received to resume a stream
+     */
+    long sequence;
+
+    String correlationId;
+
+    Type type;
+
+    /**
+     * When Dingrogu got the event
+     */
+    Instant time;
+
+    /**
+     * Name of the workflow, for the task transitions
+     */
+    String workflow;
+
+    /**
+     * Name of the Rex task, for the task transitions
+     */
+    String task;
+
+    State before;
+
+    State after;
+
+    /**
+     * Name of the process stage (see ProcessStage in PNC), for the process stages
+     */
+    String stage;
+
+    /**
+     * BEGIN or END, for the process stages
+     */
+    String step;
+
+    String message;
+
+    public enum Type {
+        TASK_TRANSITION,
+        PROCESS_STAGE,
+        /**
+         * Last event of the stream: all the tasks of the workflow are in a final state
+         */
+        WORKFLOW_FINISHED
+    }
+}
@@ -0,0 +1,40 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Status of a workflow, as last notified by Rex
+ */
+@Value
+@Jacksonized
+@Builder
+public class WorkflowStatusDTO {
+
+    String correlationId;
+
+    /**
+     * Name of the workflow, e.g. build
+     */
+    String workflow;
+
+    /**
+     * True once all the tasks of the workflow are in a final state
+     */
+    boolean finished;
+
+    Instant submittedAt;
+
+    Instant finishedAt;
+
+    /**
+     * Time since the submission, until the workflow finished
+     */
+    long durationMillis;
+
+    List<WorkflowTaskStatusDTO> tasks;
+}
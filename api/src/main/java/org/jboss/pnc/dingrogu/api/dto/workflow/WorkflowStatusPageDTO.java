@@ -0,0 +1,27 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Page of workflow statuses
+ */
+@Value
+@Jacksonized
+@Builder
+public class WorkflowStatusPageDTO {
+
+    int pageIndex;
+
+    int pageSize;
+
+    /**
+     * Number of workflows in all the pages
+     */
+    int totalHits;
+
+    List<WorkflowStatusDTO> content;
+}
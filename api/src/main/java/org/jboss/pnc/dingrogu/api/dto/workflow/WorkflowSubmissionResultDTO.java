@@ -0,0 +1,24 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Outcome of the submission of one workflow of a batch
+ */
+@Value
+@Jacksonized
+@Builder
+public class WorkflowSubmissionResultDTO {
+
+    /**
+     * Correlation id of the workflow, null if it couldn't be submitted
+     */
+    String correlationId;
+
+    /**
+     * Why the workflow couldn't be submitted
+     */
+    String error;
+}
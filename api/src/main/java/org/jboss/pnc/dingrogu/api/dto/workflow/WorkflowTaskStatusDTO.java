@@ -0,0 +1,40 @@
+package org.jboss.pnc.dingrogu.api.dto.workflow;
+
+import java.time.Instant;
+
+import org.jboss.pnc.rex.common.enums.State;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Status of a Rex task of a workflow
+ */
+@Value
+@Jacksonized
+@Builder
+public class WorkflowTaskStatusDTO {
+
+    /**
+     * Name of the Rex task
+     */
+    String name;
+
+    State state;
+
+    /**
+     * When the task was last started, null if it never started
+     */
+    Instant startedAt;
+
+    /**
+     * When the task reached its final state, null if it's not in a final state
+     */
+    Instant endedAt;
+
+    /**
+     * Time since the task started, until it ended. Null if it never started
+     */
+    Long durationMillis;
+}
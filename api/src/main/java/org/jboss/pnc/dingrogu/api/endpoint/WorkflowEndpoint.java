@@ -1,24 +1,40 @@
 package org.jboss.pnc.dingrogu.api.endpoint;
 
+import java.util.List;
+
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BatchSubmissionResultDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.BrewPushWorkflowDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BulkCancelRequestDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BulkCancelResultDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.DeliverablesAnalysisWorkflowDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.DummyWorkflowDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.RepositoryCreationDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowProgressEventDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusPageDTO;
 import org.jboss.pnc.dingrogu.common.AuthorizationConstants;
 import org.jboss.pnc.rex.model.requests.NotificationRequest;
 import org.jboss.pnc.rex.model.requests.RollbackRequest;
 import org.jboss.pnc.rex.model.requests.StartRequest;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.smallrye.mutiny.Multi;
 
 /**
  * WorkflowEndpoint interface. Separating the interface and implementation so that you can potentially create a REST
@@ -36,6 +52,35 @@ public interface WorkflowEndpoint {
     String BUILD_CLEAR_ENVIRONMENT = "/workflow/build/clear-environment";
     String DELIVERABLES_ANALYSIS_REX_NOTIFY = "/workflow/deliverables-analysis/rex-notify";
     String DUMMY_REX_NOTIFY = "/workflow/dummy/rex-notify";
+    String REX_NOTIFY = "/workflow/{name}/rex-notify";
+
+    static String getRexNotifyEndpoint(String dingroguUrl, String name) {
+        return dingroguUrl + REX_NOTIFY.replace("{name}", name);
+    }
+
+    /**
+     * Start any workflow by name. A new workflow is available through this endpoint without adding a dedicated one
+     *
+     * @param name name of the workflow
+     * @param input workflow input, as expected by the workflow
+     * @return DTO of the correlationId
+     */
+    @Path("/workflow/{name}/start")
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    CorrelationId startWorkflow(@PathParam("name") String name, JsonNode input);
+
+    /**
+     * Notification from Rex for any workflow by name
+     *
+     * @param name name of the workflow
+     * @param notificationRequest notification
+     * @return response
+     */
+    @Path(REX_NOTIFY)
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    Response workflowNotificationFromRex(@PathParam("name") String name, NotificationRequest notificationRequest);
 
     /**
      * Start the brew push workflow
@@ -48,6 +93,18 @@ public interface WorkflowEndpoint {
     @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
     CorrelationId startBrewPushWorkflow(BrewPushWorkflowDTO brewPushWorkflowDTO);
 
+    /**
+     * Start a batch of brew push workflows, e.g. for all the builds of a milestone release. The workflows are submitted
+     * to Rex in parallel, each with its own correlation id
+     *
+     * @param brewPushWorkflowDTOs one item per workflow
+     * @return correlation id or error per workflow, in the order of the batch
+     */
+    @Path("/workflow/brew-push/start-batch")
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    BatchSubmissionResultDTO startBrewPushWorkflows(List<BrewPushWorkflowDTO> brewPushWorkflowDTOs);
+
     @Path(BREW_PUSH_REX_NOTIFY)
     @POST
     @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
@@ -101,6 +158,19 @@ public interface WorkflowEndpoint {
     @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
     CorrelationId startDeliverablesAnalysisWorkflow(DeliverablesAnalysisWorkflowDTO deliverablesAnalysisWorkDTO);
 
+    /**
+     * Start a batch of deliverables analysis workflows. The workflows are submitted to Rex in parallel, each with its
+     * own correlation id
+     *
+     * @param deliverablesAnalysisWorkDTOs one item per workflow
+     * @return correlation id or error per workflow, in the order of the batch
+     */
+    @Path("/workflow/deliverables-analysis/start-batch")
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    BatchSubmissionResultDTO startDeliverablesAnalysisWorkflows(
+            List<DeliverablesAnalysisWorkflowDTO> deliverablesAnalysisWorkDTOs);
+
     @Path(DELIVERABLES_ANALYSIS_REX_NOTIFY)
     @POST
     @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
@@ -131,4 +201,63 @@ public interface WorkflowEndpoint {
     @POST
     @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
     Response cancelWorkflow(@PathParam("correlationId") String correlationId);
+
+    /**
+     * Cancel many workflows at once. The workflows are cancelled in parallel, up to 'dingrogu.cancel.parallelism' calls
+     * to Rex at a time. Only the tasks whose dependencies are all final are cancelled: Rex stops the others with them
+     *
+     * @param bulkCancelRequestDTO correlation ids of the workflows to cancel
+     * @return outcome per workflow
+     */
+    @Path("/workflow/cancel")
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    BulkCancelResultDTO cancelWorkflows(BulkCancelRequestDTO bulkCancelRequestDTO);
+
+    /**
+     * Status of a workflow, as last notified by Rex. Served from the notifications received by Dingrogu, without
+     * querying Rex. Finished workflows are only kept for a while
+     *
+     * @param correlationId: id that identifies the workflow
+     * @return status of the workflow, 404 if unknown
+     */
+    @Path("/workflow/id/{correlationId}")
+    @GET
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    WorkflowStatusDTO getWorkflowStatus(@PathParam("correlationId") String correlationId);
+
+    /**
+     * Stream of the progress of a workflow as server-sent events: the transitions of its Rex tasks and its process
+     * stages. The recent events are replayed first, so that a late subscriber catches up. The stream completes once
+     * the workflow finishes
+     *
+     * A subscriber too slow to consume the events is disconnected, and can resume with the sequence of the last event
+     * it received
+     *
+     * @param correlationId: id that identifies the workflow
+     * @param since only the events with a greater sequence are sent
+     * @return stream of events
+     */
+    @Path("/workflow/id/{correlationId}/events")
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    Multi<WorkflowProgressEventDTO> streamWorkflowProgress(
+            @PathParam("correlationId") String correlationId,
+            @QueryParam("since") @DefaultValue("0") long since);
+
+    /**
+     * Workflows in progress, oldest first
+     *
+     * @param pageIndex index of the page, starting at 0
+     * @param pageSize number of workflows per page
+     * @return page of workflow statuses
+     */
+    @Path("/workflow/in-progress")
+    @GET
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    WorkflowStatusPageDTO getWorkflowsInProgress(
+            @QueryParam("pageIndex") @DefaultValue("0") int pageIndex,
+            @QueryParam("pageSize") @DefaultValue("50") int pageSize);
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package org.jboss.pnc.dingrogu.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.oidc.client.OidcClient;
+import io.quarkus.oidc.client.Tokens;
+import io.smallrye.mutiny.Uni;
+
+class OidcTokenProviderTest {
+
+    private final StubOidcClient oidcClient = new StubOidcClient();
+
+    private OidcTokenProvider provider;
+
+    @BeforeEach
+    void setup() {
+        provider = new OidcTokenProvider();
+        provider.refreshAhead = Duration.ofMinutes(1);
+        provider.defaultLifetime = Duration.ofMinutes(5);
+        provider.minRefreshInterval = Duration.ofMillis(50);
+        provider.oidcClient = oidcClient;
+        provider.meterRegistry = new SimpleMeterRegistry();
+        provider.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        provider.shutdown();
+    }
+
+    @Test
+    void concurrentCallersShareASingleRefresh() throws Exception {
+        CompletableFuture<String> first = provider.getAccessTokenAsync().subscribeAsCompletionStage();
+        CompletableFuture<String> second = provider.getAccessTokenAsync().subscribeAsCompletionStage();
+
+        assertThat(oidcClient.requests).hasSize(1);
+        oidcClient.requests.get(0).complete(tokens("token-1", Duration.ofHours(1)));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+        // cached
+        assertThat(provider.getAccessToken()).isEqualTo("token-1");
+        assertThat(oidcClient.requests).hasSize(1);
+    }
+
+    @Test
+    void tokenIsRefreshedBeforeItExpires() throws Exception {
+        // refreshed as soon as the minimum refresh interval allows it
+        provider.refreshAhead = Duration.ofHours(1);
+        CompletableFuture<String> first = provider.getAccessTokenAsync().subscribeAsCompletionStage();
+        oidcClient.requests.get(0).complete(tokens("token-1", Duration.ofHours(1)));
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+
+        awaitRequests(2);
+        oidcClient.requests.get(1).complete(tokens("token-2", Duration.ofHours(1)));
+
+        assertThat(provider.getAccessToken()).isEqualTo("token-2");
+    }
+
+    @Test
+    void failedRefreshIsRetried() throws Exception {
+        CompletableFuture<String> first = provider.getAccessTokenAsync().subscribeAsCompletionStage();
+        oidcClient.requests.get(0).completeExceptionally(new IllegalStateException("identity provider down"));
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("identity provider down");
+
+        // retried after the minimum refresh interval, without any caller
+        awaitRequests(2);
+        oidcClient.requests.get(1).complete(tokens("token-2", Duration.ofHours(1)));
+
+        assertThat(provider.getAccessTokenAsync().await().atMost(Duration.ofSeconds(5))).isEqualTo("token-2");
+        assertThat(oidcClient.requests).hasSize(2);
+    }
+
+    private void awaitRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (oidcClient.requests.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(oidcClient.requests).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static Tokens tokens(String accessToken, Duration lifetime) {
+        long expiresAt = Instant.now().plus(lifetime).getEpochSecond();
+        return new Tokens(accessToken, expiresAt, null, null, null, null, null);
+    }
+
+    /**
+     * Each request for tokens waits for the test to complete it
+     */
+    private static class StubOidcClient implements OidcClient {
+
+        private final List<CompletableFuture<Tokens>> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Uni<Tokens> getTokens(Map<String, String> additionalGrantParameters) {
+            CompletableFuture<Tokens> request = new CompletableFuture<>();
+            requests.add(request);
+            return Uni.createFrom().completionStage(request);
+        }
+
+        @Override
+        public Uni<Tokens> refreshTokens(String refreshToken, Map<String, String> additionalGrantParameters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Boolean> revokeAccessToken(String accessToken, Map<String, String> additionalParameters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.jboss.pnc.dingrogu.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RestClientRegistryTest {
+
+    private RestClientRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new RestClientRegistry();
+        registry.maxClients = 2;
+        registry.idleTimeout = Duration.ofMinutes(10);
+        registry.closeDelay = Duration.ofMinutes(5);
+        registry.meterRegistry = new SimpleMeterRegistry();
+        registry.clientFactory = (clientClass, baseUri) -> new FakeClient(baseUri);
+        registry.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        registry.closeAll();
+    }
+
+    @Test
+    void equivalentUrlsAreNormalizedToTheSameUri() {
+        assertThat(RestClientRegistry.normalize(" HTTP://Build-Driver.Example.com:80/api/ "))
+                .isEqualTo(RestClientRegistry.normalize("http://build-driver.example.com/api"));
+        assertThat(RestClientRegistry.normalize("https://causeway:443//"))
+                .isEqualTo(URI.create("https://causeway"));
+        assertThat(RestClientRegistry.normalize("http://causeway:8080/a/../b/"))
+                .isEqualTo(URI.create("http://causeway:8080/b"));
+        assertThat(RestClientRegistry.normalize("http://causeway:443"))
+                .isNotEqualTo(RestClientRegistry.normalize("http://causeway"));
+    }
+
+    @Test
+    void equivalentUrlsShareTheClient() {
+        FakeClient client = registry.getClient(FakeClient.class, "http://Build-Driver:80/");
+
+        assertThat(registry.getClient(FakeClient.class, "http://build-driver")).isSameAs(client);
+        assertThat(registry.getClient(FakeClient.class, "http://build-driver:8080")).isNotSameAs(client);
+    }
+
+    @Test
+    void leastRecentlyUsedClientIsEvictedAboveTheLimit() {
+        FakeClient a = registry.getClient(FakeClient.class, "http://a");
+        FakeClient b = registry.getClient(FakeClient.class, "http://b");
+        registry.getClient(FakeClient.class, "http://a");
+
+        registry.getClient(FakeClient.class, "http://c");
+
+        assertThat(registry.getClient(FakeClient.class, "http://a")).isSameAs(a);
+        assertThat(registry.getClient(FakeClient.class, "http://b")).isNotSameAs(b);
+    }
+
+    @Test
+    void idleClientsAreEvicted() throws Exception {
+        registry.idleTimeout = Duration.ofMillis(50);
+        FakeClient a = registry.getClient(FakeClient.class, "http://a");
+
+        Thread.sleep(100);
+
+        assertThat(registry.getClient(FakeClient.class, "http://a")).isNotSameAs(a);
+    }
+
+    @Test
+    void evictedClientIsClosedOnlyAfterTheCloseDelay() throws Exception {
+        FakeClient a = registry.getClient(FakeClient.class, "http://a");
+        FakeClient b = registry.getClient(FakeClient.class, "http://b");
+        registry.getClient(FakeClient.class, "http://c");
+        // evicted, still usable by the caller who got it
+        assertThat(a.closed).isFalse();
+
+        registry.closeDelay = Duration.ofMillis(50);
+        registry.getClient(FakeClient.class, "http://c");
+        registry.getClient(FakeClient.class, "http://d");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!b.closed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(b.closed).isTrue();
+        assertThat(a.closed).isFalse();
+    }
+
+    @Test
+    void allClientsAreClosedOnShutdown() {
+        FakeClient a = registry.getClient(FakeClient.class, "http://a");
+        FakeClient b = registry.getClient(FakeClient.class, "http://b");
+        FakeClient c = registry.getClient(FakeClient.class, "http://c");
+
+        registry.closeAll();
+
+        assertThat(a.closed).isTrue();
+        assertThat(b.closed).isTrue();
+        assertThat(c.closed).isTrue();
+    }
+
+    @Test
+    void connectionsOfEachEndpointAreReportedFromTheBinderMetrics() {
+        registry.getClient(FakeClient.class, "http://a");
+        registry.getClient(FakeClient.class, "http://b");
+        // what the http-client binder records for the client of http://a
+        String clientName = RestClientRegistry.vertxClientName(FakeClient.class, URI.create("http://a"));
+        binderGauge("http.client.active.connections", clientName, 5);
+        binderGauge("http.client.pending", clientName, 2);
+        binderGauge("http.client.queue.size", clientName, 1);
+
+        assertThat(connections("http://a", "active")).isEqualTo(2);
+        assertThat(connections("http://a", "idle")).isEqualTo(3);
+        assertThat(connections("http://a", "queued")).isEqualTo(1);
+        assertThat(connections("http://b", "idle")).isZero();
+    }
+
+    private void binderGauge(String name, String clientName, double value) {
+        Gauge.builder(name, () -> value).tag("clientName", clientName).register(registry.meterRegistry);
+    }
+
+    private double connections(String endpoint, String state) {
+        return registry.meterRegistry.get("dingrogu.rest.client.connections")
+                .tag("endpoint", endpoint)
+                .tag("state", state)
+                .gauge()
+                .value();
+    }
+
+    private static class FakeClient implements AutoCloseable {
+        private final URI baseUri;
+        private volatile boolean closed;
+
+        private FakeClient(URI baseUri) {
+            this.baseUri = baseUri;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public String toString() {
+            return baseUri.toString();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.jboss.pnc.dingrogu.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.dingrogu.restadapter.rest.AdapterExecutionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare how fast a burst of blocking adapter invocations is processed on a bounded worker pool versus on virtual
+ * threads, with a simulated downstream latency.
+ *
+ * The VIRTUAL mode requires a Java 21+ runtime: java -jar benchmarks/target/benchmarks.jar AdapterExecutionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class AdapterExecutionBenchmark {
+
+    @Param({ "WORKER", "VIRTUAL" })
+    AdapterExecutionMode mode;
+
+    /**
+     * Default max size of the Quarkus worker pool on a small pod
+     */
+    @Param({ "200" })
+    int workerPoolSize;
+
+    /**
+     * Amount of adapter invocations in flight at the same time
+     */
+    @Param({ "1000" })
+    int inFlight;
+
+    @Param({ "20" })
+    long downstreamLatencyMillis;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        if (mode == AdapterExecutionMode.VIRTUAL) {
+            executor = AdapterExecutionMode.newVirtualThreadExecutor();
+        } else {
+            executor = Executors.newFixedThreadPool(workerPoolSize);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Time for a burst of blocking adapter invocations to complete
+     */
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            final int id = i;
+            futures.add(executor.submit(() -> {
+                // adapter blocked on the downstream service
+                Thread.sleep(downstreamLatencyMillis);
+                return id;
+            }));
+        }
+
+        int sum = 0;
+        for (Future<Integer> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+}
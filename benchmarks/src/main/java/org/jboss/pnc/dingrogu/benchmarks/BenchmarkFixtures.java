@@ -0,0 +1,231 @@
+package org.jboss.pnc.dingrogu.benchmarks;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.pnc.api.builddriver.dto.BuildCompleted;
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.api.enums.AlignmentPreference;
+import org.jboss.pnc.api.enums.ArtifactQuality;
+import org.jboss.pnc.api.enums.BuildCategory;
+import org.jboss.pnc.api.enums.BuildType;
+import org.jboss.pnc.api.enums.RepositoryType;
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResult;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryArtifact;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteResult;
+import org.jboss.pnc.api.repositorydriver.dto.TargetRepository;
+import org.jboss.pnc.api.reqour.dto.AdjustResponse;
+import org.jboss.pnc.api.reqour.dto.InternalGitRepositoryUrl;
+import org.jboss.pnc.api.reqour.dto.ManipulatorResult;
+import org.jboss.pnc.api.reqour.dto.ReqourCallback;
+import org.jboss.pnc.api.reqour.dto.VersioningState;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BuildWorkDTO;
+import org.jboss.pnc.rex.common.enums.Origin;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.ServerResponseDTO;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.model.requests.MinimizedTask;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Realistic payloads shared by the benchmarks, so that they measure the same shape of data as a production build
+ */
+public final class BenchmarkFixtures {
+
+    public static final String OWN_URL = "http://dingrogu.example.com";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Object mapper configured like the Quarkus one
+     */
+    public static ObjectMapper objectMapper() {
+        return new ObjectMapper().findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public static BuildWorkDTO buildWorkDTO(String correlationId) {
+        return BuildWorkDTO.builder()
+                .reqourUrl("http://reqour.example.com")
+                .repositoryDriverUrl("http://repository-driver.example.com")
+                .buildDriverUrl("http://build-driver.example.com")
+                .environmentDriverUrl("http://environment-driver.example.com")
+                .scmRepoURL("git+ssh://code.example.com/project-ncl/dingrogu.git")
+                .scmRevision("main")
+                .preBuildSyncEnabled(true)
+                .originRepoURL("https://github.com/project-ncl/dingrogu.git")
+                .alignmentPreference(AlignmentPreference.PREFER_PERSISTENT)
+                .buildContentId("build-" + correlationId)
+                .buildConfigName("dingrogu-main")
+                .buildType(BuildType.MVN)
+                .buildCategory(BuildCategory.STANDARD)
+                .defaultAlignmentParams("-DdependencySource=REST -DrepoRemovalBackup=repositories-backup.xml")
+                .genericParameters(Map.of("BUILDER_POD_MEMORY", "8", "ALIGNMENT_PARAMETERS", "-Dfoo=bar"))
+                .buildConfigurationId("1234")
+                .correlationId(correlationId)
+                .environmentLabel("build")
+                .environmentImage("quay.example.com/builder:latest")
+                .buildScript("mvn deploy -DskipTests")
+                .build();
+    }
+
+    public static StartRequest startRequest(ObjectMapper objectMapper, String correlationId) {
+        Request callback = Request.builder()
+                .method(Request.Method.POST)
+                .uri(URI.create("http://orch.example.com/pnc-rest/v2/builds/" + correlationId + "/complete"))
+                .headers(List.of())
+                .build();
+        return StartRequest.builder()
+                .positiveCallback(callback)
+                .negativeCallback(callback)
+                // Rex sends the payload as JSON
+                .payload(objectMapper.convertValue(buildWorkDTO(correlationId), Map.class))
+                .mdc(Map.of("processContext", "build-" + correlationId))
+                .build();
+    }
+
+    /**
+     * Notification of the last task of a build, carrying the start request of the build like the notifications of the
+     * build workflow
+     */
+    public static NotificationRequest finishingNotification(
+            ObjectMapper objectMapper,
+            String taskName,
+            String correlationId,
+            StartRequest startRequest) {
+        return NotificationRequest.builder()
+                .before(State.UP)
+                .after(State.SUCCESSFUL)
+                .task(
+                        MinimizedTask.builder()
+                                .name(taskName)
+                                .correlationID(correlationId)
+                                .state(State.SUCCESSFUL)
+                                .build())
+                // Rex sends the attachment as JSON
+                .attachment(objectMapper.convertValue(startRequest, Map.class))
+                .build();
+    }
+
+    public static List<RepositoryArtifact> repositoryArtifacts(String prefix, int count) {
+        TargetRepository targetRepository = TargetRepository.builder()
+                .temporaryRepo(false)
+                .identifier("indy-maven")
+                .repositoryType(RepositoryType.MAVEN)
+                .repositoryPath("/api/content/maven/hosted/pnc-builds/")
+                .build();
+        Instant importDate = Instant.now();
+
+        List<RepositoryArtifact> artifacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String gav = "org.example." + prefix + ":artifact-" + i + ":1.0." + i + ".redhat-00001";
+            artifacts.add(
+                    RepositoryArtifact.builder()
+                            .identifier(gav + ":jar")
+                            .purl("pkg:maven/org.example." + prefix + "/artifact-" + i + "@1.0." + i + "?type=jar")
+                            .artifactQuality(ArtifactQuality.NEW)
+                            .buildCategory(BuildCategory.STANDARD)
+                            .md5(String.format("%032x", i))
+                            .sha1(String.format("%040x", i))
+                            .sha256(String.format("%064x", i))
+                            .filename("artifact-" + i + "-1.0." + i + ".redhat-00001.jar")
+                            .deployPath("/org/example/" + prefix + "/artifact-" + i + "/1.0." + i + "/")
+                            .importDate(importDate)
+                            .originUrl("https://repo.example.com/org/example/artifact-" + i + ".jar")
+                            .size(1024L * i)
+                            .targetRepository(targetRepository)
+                            .build());
+        }
+        return artifacts;
+    }
+
+    /**
+     * The tasks of a successful build workflow, as Rex sends them once they are all in a final state
+     *
+     * @param objectMapper object mapper
+     * @param correlationId correlation id
+     * @param artifacts number of built artifacts and dependencies of the build
+     * @return tasks
+     */
+    public static Set<TaskDTO> successfulBuildTasks(ObjectMapper objectMapper, String correlationId, int artifacts) {
+        AdjustResponse adjustResponse = AdjustResponse.builder()
+                .tag("1.0.0.redhat-00001")
+                .downstreamCommit("0123456789abcdef0123456789abcdef01234567")
+                .upstreamCommit("fedcba9876543210fedcba9876543210fedcba98")
+                .isRefRevisionInternal(false)
+                .internalUrl(
+                        InternalGitRepositoryUrl.builder()
+                                .readonlyUrl("https://code.example.com/gerrit/dingrogu.git")
+                                .readwriteUrl("git+ssh://code.example.com/gerrit/dingrogu.git")
+                                .build())
+                .manipulatorResult(
+                        ManipulatorResult.builder()
+                                .versioningState(
+                                        VersioningState.builder()
+                                                .executionRootName("org.example:dingrogu-parent")
+                                                .executionRootVersion("1.0.0.redhat-00001")
+                                                .build())
+                                .removedRepositories(List.of())
+                                .build())
+                .callback(ReqourCallback.builder().status(ResultStatus.SUCCESS).id(correlationId).build())
+                .build();
+        EnvironmentCreateResult environmentCreateResult = EnvironmentCreateResult.builder()
+                .environmentBaseUri(URI.create("http://builder-" + correlationId + ".example.com"))
+                .workingDirectory("/tmp/build")
+                .status(ResultStatus.SUCCESS)
+                .build();
+        BuildCompleted buildCompleted = BuildCompleted.builder().buildStatus(ResultStatus.SUCCESS).build();
+        RepositoryPromoteResult promoteResult = RepositoryPromoteResult.builder()
+                .buildContentId("build-" + correlationId)
+                .builtArtifacts(repositoryArtifacts("built", artifacts))
+                .dependencies(repositoryArtifacts("dependency", artifacts))
+                .status(ResultStatus.SUCCESS)
+                .build();
+
+        Set<TaskDTO> tasks = new HashSet<>();
+        tasks.add(task(objectMapper, correlationId + "-reqour-adjust", adjustResponse));
+        tasks.add(task(objectMapper, correlationId + "-repository-driver-setup", null));
+        tasks.add(task(objectMapper, correlationId + "-environment-driver-create", environmentCreateResult));
+        tasks.add(task(objectMapper, correlationId + "-build-driver", buildCompleted));
+        tasks.add(task(objectMapper, correlationId + "-environment-driver-complete", null));
+        tasks.add(task(objectMapper, correlationId + "-repository-driver-seal", null));
+        tasks.add(task(objectMapper, correlationId + "-repository-driver-promote", promoteResult));
+        return tasks;
+    }
+
+    private static TaskDTO task(ObjectMapper objectMapper, String name, Object result) {
+        List<ServerResponseDTO> responses = new ArrayList<>();
+        responses.add(
+                ServerResponseDTO.builder()
+                        .state(State.STARTING)
+                        .positive(true)
+                        .rollbackCounter(0)
+                        .origin(Origin.REMOTE_ENTITY)
+                        .build());
+        if (result != null) {
+            // the results are received from Rex as JSON, hence the conversion to a Map
+            responses.add(
+                    ServerResponseDTO.builder()
+                            .state(State.UP)
+                            .positive(true)
+                            .rollbackCounter(0)
+                            .body(objectMapper.convertValue(result, Map.class))
+                            .origin(Origin.REMOTE_ENTITY)
+                            .build());
+        }
+        return TaskDTO.builder().name(name).state(State.SUCCESSFUL).serverResponses(responses).build();
+    }
+}
@@ -0,0 +1,49 @@
+package org.jboss.pnc.dingrogu.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryArtifact;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.ConverterHelper;
+import org.jboss.pnc.model.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of the artifacts promoted by the repository driver to the model sent to Orch. Large builds have tens of
+ * thousands of dependencies.
+ *
+ * java -jar benchmarks/target/benchmarks.jar ConverterHelperBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConverterHelperBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    int artifacts;
+
+    private List<RepositoryArtifact> repositoryArtifacts;
+
+    @Setup
+    public void setup() {
+        repositoryArtifacts = BenchmarkFixtures.repositoryArtifacts("dependency", artifacts);
+    }
+
+    @Benchmark
+    public List<Artifact> convertFromRepositoryArtifacts() {
+        return ConverterHelper.convertFromRepositoryArtifacts(repositoryArtifacts);
+    }
+}
@@ -0,0 +1,41 @@
+package org.jboss.pnc.dingrogu.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.dingrogu.common.GitUrlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of the SCM urls, done for every repository creation and alignment.
+ *
+ * java -jar benchmarks/target/benchmarks.jar GitUrlParserBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GitUrlParserBenchmark {
+
+    @Param({
+            "https://github.com/project-ncl/dingrogu.git",
+            "git+ssh://code.example.com/gerrit/project-ncl/dingrogu.git",
+            "git@gitlab.example.com:group/subgroup/project-ncl/dingrogu.git",
+            "ssh://user@code.example.com:29418/dingrogu" })
+    String url;
+
+    @Benchmark
+    public GitUrlParser.GitUrlData parseToObject() {
+        return GitUrlParser.parseToObject(url);
+    }
+}
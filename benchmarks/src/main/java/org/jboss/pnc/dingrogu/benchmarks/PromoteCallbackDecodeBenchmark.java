@@ -0,0 +1,66 @@
+package org.jboss.pnc.dingrogu.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Decoding of the promote result callback of the repository driver: the generic tree of maps then mapped to the DTO,
+ * and the body read straight into the callback type of the adapter (what is done now). The mapper already reads the
+ * artifacts one by one from the parser, so no hand-written streaming reader is needed to skip the tree of maps.
+ *
+ * java -jar benchmarks/target/benchmarks.jar PromoteCallbackDecodeBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PromoteCallbackDecodeBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    int artifacts;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        RepositoryPromoteResult promoteResult = RepositoryPromoteResult.builder()
+                .buildContentId("build-1234")
+                .status(ResultStatus.SUCCESS)
+                .builtArtifacts(BenchmarkFixtures.repositoryArtifacts("built", artifacts / 10))
+                .dependencies(BenchmarkFixtures.repositoryArtifacts("dependency", artifacts))
+                .build();
+        body = objectMapper.writeValueAsBytes(promoteResult);
+    }
+
+    @Benchmark
+    public RepositoryPromoteResult treeThenConvert() throws IOException {
+        Object object = objectMapper.readValue(body, Object.class);
+        return objectMapper.convertValue(object, RepositoryPromoteResult.class);
+    }
+
+    @Benchmark
+    public RepositoryPromoteResult callbackType() throws IOException {
+        return objectMapper.readValue(body, RepositoryPromoteResult.class);
+    }
+}
@@ -0,0 +1,94 @@
+package org.jboss.pnc.dingrogu.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.dingrogu.api.dto.adapter.BuildDriverDTO;
+import org.jboss.pnc.dingrogu.api.dto.adapter.ReqourAdjustDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BuildWorkDTO;
+import org.jboss.pnc.dingrogu.restadapter.adapter.BuildDriverAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourAdjustAdapter;
+import org.jboss.pnc.rex.dto.CreateTaskDTO;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Generation of a single Rex task by an adapter. The MDC is filled like during a build since its content is copied
+ * into the headers of every request of the task.
+ *
+ * java -jar benchmarks/target/benchmarks.jar RexTaskGenerationBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RexTaskGenerationBenchmark {
+
+    private static final String CORRELATION_ID = "benchmark-build";
+
+    private final ReqourAdjustAdapter reqourAdjustAdapter = new ReqourAdjustAdapter();
+
+    private final BuildDriverAdapter buildDriverAdapter = new BuildDriverAdapter();
+
+    private StartRequest startRequest;
+
+    private ReqourAdjustDTO reqourAdjustDTO;
+
+    private BuildDriverDTO buildDriverDTO;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        BuildWorkDTO buildWorkDTO = BenchmarkFixtures.buildWorkDTO(CORRELATION_ID);
+        startRequest = BenchmarkFixtures.startRequest(objectMapper, CORRELATION_ID);
+        reqourAdjustDTO = buildWorkDTO.toReqourAdjustDTO();
+        buildDriverDTO = buildWorkDTO.toBuildDriverDTO();
+
+        MDC.setContextMap(
+                Map.of(
+                        "processContext",
+                        "build-" + CORRELATION_ID,
+                        "userId",
+                        "100",
+                        "buildId",
+                        CORRELATION_ID,
+                        "tmp",
+                        "false",
+                        "exp",
+                        "2026-01-01T00:00:00Z"));
+    }
+
+    @Benchmark
+    public CreateTaskDTO reqourAdjust() throws Exception {
+        return reqourAdjustAdapter
+                .generateRexTask(BenchmarkFixtures.OWN_URL, CORRELATION_ID, startRequest, reqourAdjustDTO);
+    }
+
+    /**
+     * Task with a milestone and a rollback request, like the build-driver task of the build workflow
+     */
+    @Benchmark
+    public CreateTaskDTO buildDriverWithRollback() throws Exception {
+        return buildDriverAdapter.generateRexTask(
+                BenchmarkFixtures.OWN_URL,
+                CORRELATION_ID,
+                startRequest,
+                buildDriverDTO,
+                CORRELATION_ID + "-repository-driver-setup",
+                startRequest.getPositiveCallback());
+    }
+}
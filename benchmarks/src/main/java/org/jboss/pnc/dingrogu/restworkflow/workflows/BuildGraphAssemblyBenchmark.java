@@ -0,0 +1,182 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.dingrogu.api.dto.workflow.BuildWorkDTO;
+import org.jboss.pnc.dingrogu.benchmarks.BenchmarkFixtures;
+import org.jboss.pnc.dingrogu.restadapter.adapter.Adapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.BuildDriverAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.EnvironmentDriverCompleteAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.EnvironmentDriverCreateAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverPromoteAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverSealAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverSetupAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourAdjustAdapter;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
+import org.jboss.pnc.rex.dto.CreateTaskDTO;
+import org.jboss.pnc.rex.dto.EdgeDTO;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Assembly of the Rex graph of the build workflow, before and after the graph templates: generating every task with
+ * its adapter and building the edges and configuration on each submission, against binding the submission values to
+ * the template compiled once. The conversion of the payloads is included in both.
+ *
+ * This class is in the package of {@link BuildWorkflow} to use its workflow definition:
+ * java -jar benchmarks/target/benchmarks.jar BuildGraphAssemblyBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BuildGraphAssemblyBenchmark {
+
+    private static final String CORRELATION_ID = "benchmark-build";
+
+    private final ReqourAdjustAdapter reqourAdjust = new ReqourAdjustAdapter();
+
+    private final RepositoryDriverSetupAdapter repoSetup = new RepositoryDriverSetupAdapter();
+
+    private final EnvironmentDriverCreateAdapter createEnv = new EnvironmentDriverCreateAdapter();
+
+    private final BuildDriverAdapter build = new BuildDriverAdapter();
+
+    private final EnvironmentDriverCompleteAdapter completeEnv = new EnvironmentDriverCompleteAdapter();
+
+    private final RepositoryDriverSealAdapter repoSeal = new RepositoryDriverSealAdapter();
+
+    private final RepositoryDriverPromoteAdapter repoPromote = new RepositoryDriverPromoteAdapter();
+
+    private StartRequest startRequest;
+
+    private BuildWorkDTO buildWorkDTO;
+
+    private WorkflowGraphTemplate template;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        buildWorkDTO = BenchmarkFixtures.buildWorkDTO(CORRELATION_ID);
+        startRequest = BenchmarkFixtures.startRequest(objectMapper, CORRELATION_ID);
+
+        Map<String, Adapter<?>> adapters = new HashMap<>();
+        List<Adapter<?>> all = List
+                .of(reqourAdjust, repoSetup, createEnv, build, completeEnv, repoSeal, repoPromote);
+        for (Adapter<?> adapter : all) {
+            adapters.put(adapter.getAdapterName(), adapter);
+        }
+        template = WorkflowGraphTemplate
+                .compile(BuildWorkflow.DEFINITION, BenchmarkFixtures.OWN_URL, "build-queue", adapters);
+
+        MDC.setContextMap(
+                Map.of(
+                        "processContext",
+                        "build-" + CORRELATION_ID,
+                        "userId",
+                        "100",
+                        "buildId",
+                        CORRELATION_ID,
+                        "tmp",
+                        "false",
+                        "exp",
+                        "2026-01-01T00:00:00Z"));
+    }
+
+    /**
+     * Graph generated like BuildWorkflow did before the templates
+     */
+    @Benchmark
+    public CreateGraphRequest generatedPerSubmission() throws Exception {
+        String url = BenchmarkFixtures.OWN_URL;
+        CreateTaskDTO taskAdjustReqour = reqourAdjust
+                .generateRexTask(url, CORRELATION_ID, startRequest, buildWorkDTO.toReqourAdjustDTO());
+        CreateTaskDTO taskRepoSetup = repoSetup
+                .generateRexTask(url, CORRELATION_ID, startRequest, buildWorkDTO.toRepositoryDriverSetupDTO());
+        CreateTaskDTO taskCreateEnv = createEnv.generateRexTaskRetryItself(
+                url,
+                CORRELATION_ID,
+                startRequest,
+                buildWorkDTO.toEnvironmentDriverCreateDTO(),
+                startRequest.getNegativeCallback());
+        CreateTaskDTO taskBuild = build.generateRexTask(
+                url,
+                CORRELATION_ID,
+                startRequest,
+                buildWorkDTO.toBuildDriverDTO(),
+                taskRepoSetup.name,
+                startRequest.getNegativeCallback());
+        CreateTaskDTO taskCompleteEnv = completeEnv
+                .generateRexTask(url, CORRELATION_ID, startRequest, buildWorkDTO.toEnvironmentDriverCompleteDTO());
+        CreateTaskDTO taskRepoSeal = repoSeal
+                .generateRexTask(url, CORRELATION_ID, startRequest, buildWorkDTO.toRepositoryDriverSealDTO());
+        CreateTaskDTO taskRepoPromote = repoPromote
+                .generateRexTask(url, CORRELATION_ID, startRequest, buildWorkDTO.toRepositoryDriverPromoteDTO());
+
+        Map<String, CreateTaskDTO> vertices = new HashMap<>();
+        for (CreateTaskDTO task : List.of(
+                taskAdjustReqour,
+                taskRepoSetup,
+                taskCreateEnv,
+                taskBuild,
+                taskCompleteEnv,
+                taskRepoSeal,
+                taskRepoPromote)) {
+            vertices.put(task.name, task);
+        }
+
+        Set<EdgeDTO> edges = Set.of(
+                EdgeDTO.builder().source(taskRepoSetup.name).target(taskAdjustReqour.name).build(),
+                EdgeDTO.builder().source(taskCreateEnv.name).target(taskRepoSetup.name).build(),
+                EdgeDTO.builder().source(taskBuild.name).target(taskCreateEnv.name).build(),
+                EdgeDTO.builder().source(taskBuild.name).target(taskAdjustReqour.name).build(),
+                EdgeDTO.builder().source(taskCompleteEnv.name).target(taskBuild.name).build(),
+                EdgeDTO.builder().source(taskRepoSeal.name).target(taskCompleteEnv.name).build(),
+                EdgeDTO.builder().source(taskRepoSeal.name).target(taskBuild.name).build(),
+                EdgeDTO.builder().source(taskRepoPromote.name).target(taskRepoSeal.name).build());
+
+        return new CreateGraphRequest(
+                CORRELATION_ID,
+                "build-queue",
+                BuildWorkflow.DEFINITION.getConfiguration(),
+                edges,
+                vertices);
+    }
+
+    /**
+     * Graph generated from the template, like BuildWorkflow does now
+     */
+    @Benchmark
+    public CreateGraphRequest boundToTemplate() {
+        return template.bind(CORRELATION_ID, startRequest)
+                .payload(reqourAdjust, buildWorkDTO.toReqourAdjustDTO())
+                .payload(repoSetup, buildWorkDTO.toRepositoryDriverSetupDTO())
+                .payload(createEnv, buildWorkDTO.toEnvironmentDriverCreateDTO())
+                .rollback(createEnv, startRequest.getNegativeCallback())
+                .payload(build, buildWorkDTO.toBuildDriverDTO())
+                .rollback(build, startRequest.getNegativeCallback())
+                .payload(completeEnv, buildWorkDTO.toEnvironmentDriverCompleteDTO())
+                .payload(repoSeal, buildWorkDTO.toRepositoryDriverSealDTO())
+                .payload(repoPromote, buildWorkDTO.toRepositoryDriverPromoteDTO())
+                .build();
+    }
+}
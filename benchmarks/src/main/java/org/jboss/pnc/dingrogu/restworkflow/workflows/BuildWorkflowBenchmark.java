@@ -0,0 +1,258 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
+import org.jboss.pnc.dingrogu.benchmarks.BenchmarkFixtures;
+import org.jboss.pnc.dingrogu.restadapter.adapter.Adapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.BuildDriverAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.EnvironmentDriverCompleteAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.EnvironmentDriverCreateAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverPromoteAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverSealAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverSetupAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourAdjustAdapter;
+import org.jboss.pnc.dingrogu.restadapter.client.GenericClient;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.BenchmarkWorkflowMetrics;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.BenchmarkWorkflowStatusStore;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.FinishedWorkflowTasks;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.SharedAttachments;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowDefinition;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphCompiler;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
+import org.jboss.pnc.rex.api.TaskEndpoint;
+import org.jboss.pnc.rex.api.parameters.TaskFilterParameters;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Per-build work done by {@link BuildWorkflow}: assembling the Rex graph when the build is submitted, and handling
+ * the notification finishing the build, which generates the build result and sends it to Orch. Rex, Orch and the
+ * progress stream are stubbed in-process, so only our own code is measured.
+ *
+ * This class is in the package of {@link BuildWorkflow} to wire its dependencies without CDI. Run with the gc
+ * profiler to get the allocation baseline next to the latency one:
+ * java -jar benchmarks/target/benchmarks.jar BuildWorkflowBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class BuildWorkflowBenchmark {
+
+    private static final String CORRELATION_ID = "benchmark-build";
+
+    /**
+     * Number of built artifacts, and of dependencies, of the build
+     */
+    @Param({ "100", "10000" })
+    int artifacts;
+
+    private ObjectMapper objectMapper;
+
+    private BuildWorkflow buildWorkflow;
+
+    private StartRequest startRequest;
+
+    private NotificationRequest finishingNotification;
+
+    private StubGenericClient orch;
+
+    @Setup
+    public void setup() {
+        // keep the log formatting (it's part of the per-build cost), but not the output
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        objectMapper = BenchmarkFixtures.objectMapper();
+
+        buildWorkflow = new BuildWorkflow();
+        buildWorkflow.reqourAdjustAdapter = new ReqourAdjustAdapter();
+        buildWorkflow.repositoryDriverSetupAdapter = new RepositoryDriverSetupAdapter();
+        buildWorkflow.buildDriverAdapter = new BuildDriverAdapter();
+        buildWorkflow.environmentDriverCreateAdapter = new EnvironmentDriverCreateAdapter();
+        buildWorkflow.environmentDriverCompleteAdapter = new EnvironmentDriverCompleteAdapter();
+        buildWorkflow.repositoryDriverSealAdapter = new RepositoryDriverSealAdapter();
+        buildWorkflow.repositoryDriverPromoteAdapter = new RepositoryDriverPromoteAdapter();
+        buildWorkflow.objectMapper = objectMapper;
+        buildWorkflow.ownUrl = BenchmarkFixtures.OWN_URL;
+        buildWorkflow.rexQueueName = "build-queue";
+        buildWorkflow.taskEndpoint = new StubTaskEndpoint();
+        buildWorkflow.workflowStatusStore = BenchmarkWorkflowStatusStore.full();
+        buildWorkflow.workflowMetrics = BenchmarkWorkflowMetrics.simple();
+        buildWorkflow.sharedAttachments = new SharedAttachments();
+        buildWorkflow.workflowProgress = new StubWorkflowProgress();
+        orch = new StubGenericClient(objectMapper);
+        buildWorkflow.genericClient = orch;
+        Map<String, Adapter<?>> adapters = new HashMap<>();
+        for (Adapter<?> adapter : List.of(
+                buildWorkflow.reqourAdjustAdapter,
+                buildWorkflow.repositoryDriverSetupAdapter,
+                buildWorkflow.buildDriverAdapter,
+                buildWorkflow.environmentDriverCreateAdapter,
+                buildWorkflow.environmentDriverCompleteAdapter,
+                buildWorkflow.repositoryDriverSealAdapter,
+                buildWorkflow.repositoryDriverPromoteAdapter)) {
+            adapters.put(adapter.getAdapterName(), adapter);
+        }
+        buildWorkflow.workflowGraphCompiler = new StubWorkflowGraphCompiler(adapters);
+        buildWorkflow.init();
+
+        startRequest = BenchmarkFixtures.startRequest(objectMapper, CORRELATION_ID);
+        buildWorkflow.finishedWorkflowTasks = new StubFinishedWorkflowTasks(
+                BenchmarkFixtures.successfulBuildTasks(objectMapper, CORRELATION_ID, artifacts));
+        finishingNotification = BenchmarkFixtures.finishingNotification(
+                objectMapper,
+                buildWorkflow.repositoryDriverPromoteAdapter.getRexTaskName(CORRELATION_ID),
+                CORRELATION_ID,
+                startRequest);
+    }
+
+    /**
+     * Generation of the 7 Rex tasks and their edges, and submission to the stubbed Rex
+     */
+    @Benchmark
+    public CorrelationId submitWorkflow() throws Exception {
+        return buildWorkflow.submitWorkflow(startRequest);
+    }
+
+    /**
+     * Notification finishing the build: the build result is generated from the results of the finished Rex tasks, and
+     * serialized for the callback to Orch. The built artifacts and dependencies are read once more by the
+     * serialization, which is what dominates with large artifact lists
+     */
+    @Benchmark
+    public String finishBuild() {
+        buildWorkflow.rexNotification(finishingNotification, true);
+        return orch.lastData;
+    }
+
+    /**
+     * Compiler of the templates with the adapters of the benchmark
+     */
+    static class StubWorkflowGraphCompiler extends WorkflowGraphCompiler {
+
+        private final Map<String, Adapter<?>> adapters;
+
+        StubWorkflowGraphCompiler(Map<String, Adapter<?>> adapters) {
+            this.adapters = adapters;
+        }
+
+        @Override
+        public WorkflowGraphTemplate compile(WorkflowDefinition definition, String queue) {
+            return WorkflowGraphTemplate.compile(definition, BenchmarkFixtures.OWN_URL, queue, adapters);
+        }
+    }
+
+    /**
+     * Rex reporting the tasks of a finished build
+     */
+    static class StubFinishedWorkflowTasks extends FinishedWorkflowTasks {
+
+        private final Set<TaskDTO> tasks;
+
+        StubFinishedWorkflowTasks(Set<TaskDTO> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public Optional<Set<TaskDTO>> getTasksIfFinished(NotificationRequest notificationRequest, boolean finished) {
+            return Optional.of(tasks);
+        }
+    }
+
+    /**
+     * Progress stream without any subscriber
+     */
+    static class StubWorkflowProgress extends WorkflowProgress {
+
+        @Override
+        public void stageBegin(String correlationId, String stage, String message) {
+        }
+    }
+
+    /**
+     * Orch accepting every callback, once serialized like by the real client
+     */
+    static class StubGenericClient extends GenericClient {
+
+        private final ObjectMapper objectMapper;
+
+        volatile String lastData;
+
+        StubGenericClient(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void send(Request request) {
+            try {
+                lastData = objectMapper.writeValueAsString(request.getAttachment());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Rex accepting every graph
+     */
+    static class StubTaskEndpoint implements TaskEndpoint {
+
+        volatile CreateGraphRequest lastRequest;
+
+        @Override
+        public Set<TaskDTO> start(CreateGraphRequest request) {
+            lastRequest = request;
+            return Set.of();
+        }
+
+        @Override
+        public Set<TaskDTO> getAll(TaskFilterParameters filterParameters, List<String> queueFilter) {
+            return Set.of();
+        }
+
+        @Override
+        public TaskDTO getSpecific(String taskID) {
+            return null;
+        }
+
+        @Override
+        public Response cancel(String taskID) {
+            return Response.accepted().build();
+        }
+
+        @Override
+        public Set<TaskDTO> byCorrelation(String correlationID) {
+            return Set.of();
+        }
+    }
+}
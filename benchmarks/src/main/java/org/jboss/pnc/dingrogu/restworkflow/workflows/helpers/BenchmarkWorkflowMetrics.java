@@ -0,0 +1,21 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link WorkflowMetrics} for the benchmarks, in its package to set its registry.
+ */
+public final class BenchmarkWorkflowMetrics {
+
+    private BenchmarkWorkflowMetrics() {
+    }
+
+    /**
+     * @return metrics recorded in memory
+     */
+    public static WorkflowMetrics simple() {
+        WorkflowMetrics metrics = new WorkflowMetrics();
+        metrics.meterRegistry = new SimpleMeterRegistry();
+        return metrics;
+    }
+}
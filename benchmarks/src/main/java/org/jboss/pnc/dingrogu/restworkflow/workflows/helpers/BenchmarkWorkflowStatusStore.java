@@ -0,0 +1,22 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.time.Duration;
+
+/**
+ * {@link WorkflowStatusStore} configured for the benchmarks, in its package to set its configuration.
+ */
+public final class BenchmarkWorkflowStatusStore {
+
+    private BenchmarkWorkflowStatusStore() {
+    }
+
+    /**
+     * @return store without room for any workflow: every submission evicts a workflow like in steady state
+     */
+    public static WorkflowStatusStore full() {
+        WorkflowStatusStore store = new WorkflowStatusStore();
+        store.retention = Duration.ofHours(1);
+        store.maxWorkflows = 0;
+        return store;
+    }
+}
@@ -19,7 +19,8 @@ public class TaskHelper {
     public static final Logger LIVE_LOG = LoggerFactory.getLogger("org.jboss.pnc._userlog_.dingrogu");
 
     /**
-     * Get a list of HTTP headers to add to a request based on the MDC values for that task
+     * Get a list of HTTP headers to add to a request based on the MDC values for that task, and the trace context of
+     * the current span (see {@link TraceHelper})
      *
      * @return list of headers
      */
@@ -33,6 +34,7 @@ public class TaskHelper {
         if (mdcMap != null) {
             mdcMap.forEach((key, value) -> headers.add(new Request.Header(key, value)));
         }
+        TraceHelper.getTraceHeaders().forEach((key, value) -> headers.add(new Request.Header(key, value)));
 
         return headers;
     }
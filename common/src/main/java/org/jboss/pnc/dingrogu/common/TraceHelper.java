@@ -0,0 +1,68 @@
+package org.jboss.pnc.dingrogu.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+
+/**
+ * Tracing of a workflow across Dingrogu, Rex and the services called.
+ *
+ * The trace context is sent in the W3C 'traceparent' header next to the MDC headers, in the requests Rex sends on our
+ * behalf (start, cancel, notifications) and in the callback requests given to the services, so that all the hops of a
+ * workflow end up in the trace of its submission.
+ */
+public class TraceHelper {
+
+    public static final AttributeKey<String> CORRELATION_ID = AttributeKey.stringKey("dingrogu.correlation_id");
+
+    public static final AttributeKey<String> WORKFLOW = AttributeKey.stringKey("dingrogu.workflow");
+
+    public static final AttributeKey<String> ADAPTER = AttributeKey.stringKey("dingrogu.adapter");
+
+    /**
+     * Get the trace context headers of the current span
+     *
+     * @return headers, empty if there's no current span (e.g. tracing is disabled)
+     */
+    public static Map<String, String> getTraceHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        W3CTraceContextPropagator.getInstance().inject(Context.current(), headers, Map::put);
+        return headers;
+    }
+
+    /**
+     * End the span once the stage completes, marking it as failed if the stage failed
+     *
+     * @param span span
+     * @param stage stage
+     * @return stage completed after the span ended
+     * @param <T> type of the result
+     */
+    public static <T> CompletionStage<T> endWhenDone(Span span, CompletionStage<T> stage) {
+        return stage.whenComplete((result, error) -> {
+            if (error != null) {
+                fail(span, error);
+            }
+            span.end();
+        });
+    }
+
+    /**
+     * Mark the span as failed
+     *
+     * @param span span
+     * @param error cause of the failure
+     */
+    public static void fail(Span span, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        span.recordException(cause);
+        span.setStatus(StatusCode.ERROR, cause.getMessage());
+    }
+}
@@ -0,0 +1,76 @@
+package org.jboss.pnc.dingrogu.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.jboss.pnc.api.dto.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class TraceHelperTest {
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+
+    private final Tracer tracer = tracerProvider.get("test");
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void noTraceHeadersWithoutSpan() {
+        assertThat(TraceHelper.getTraceHeaders()).isEmpty();
+    }
+
+    @Test
+    void taskHeadersCarryTheCurrentSpan() {
+        Span span = tracer.spanBuilder("submitWorkflow").startSpan();
+        List<Request.Header> headers;
+        try (Scope ignored = span.makeCurrent()) {
+            headers = TaskHelper.getHTTPHeaders();
+        } finally {
+            span.end();
+        }
+
+        String traceparent = "00-" + span.getSpanContext().getTraceId() + "-" + span.getSpanContext().getSpanId()
+                + "-01";
+        assertThat(headers).anySatisfy(header -> {
+            assertThat(header.getName()).isEqualTo("traceparent");
+            assertThat(header.getValue()).isEqualTo(traceparent);
+        });
+    }
+
+    @Test
+    void spanEndsWhenTheStageCompletes() {
+        CompletableFuture<String> succeeding = new CompletableFuture<>();
+        CompletableFuture<String> failing = new CompletableFuture<>();
+        TraceHelper.endWhenDone(tracer.spanBuilder("succeeding").startSpan(), succeeding);
+        TraceHelper.endWhenDone(tracer.spanBuilder("failing").startSpan(), failing);
+        assertThat(exporter.getFinishedSpans()).isEmpty();
+
+        succeeding.complete("done");
+        failing.completeExceptionally(new IllegalStateException("adapter failed"));
+
+        assertThat(exporter.getFinishedSpans()).extracting(SpanData::getName).containsExactly("succeeding", "failing");
+        SpanData failed = exporter.getFinishedSpans().get(1);
+        assertThat(failed.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(failed.getStatus().getDescription()).isEqualTo("adapter failed");
+        assertThat(failed.getEvents()).extracting(EventData::getName).containsExactly("exception");
+    }
+}
@@ -0,0 +1,104 @@
+package org.jboss.pnc.dingrogu.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.pnc.api.dto.Request;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Non-blocking HTTP client used by the stand-ins to call Dingrogu, and by the load test to start the workflows. The
+ * stand-ins must not hold a thread while a workflow is running, otherwise they would be the bottleneck.
+ */
+@ApplicationScoped
+public class LoadTestHttpClient {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    /**
+     * Set by the client itself, it refuses to send them
+     */
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-type", "content-length", "connection", "host");
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    /**
+     * Send the request described by a {@link Request}, with the body given rather than its attachment
+     *
+     * @param request method, uri and headers of the request
+     * @param body body, serialized to JSON. No body is sent if null
+     * @return response
+     */
+    public CompletableFuture<HttpResponse<String>> send(Request request, Object body) {
+        return send(request.getMethod().name(), request.getUri(), request.getHeaders(), body);
+    }
+
+    public CompletableFuture<HttpResponse<String>> send(
+            String method,
+            URI uri,
+            List<Request.Header> headers,
+            Object body) {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, publisher);
+        if (headers != null) {
+            for (Request.Header header : headers) {
+                if (header.getValue() != null
+                        && !SKIPPED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                    builder.header(header.getName(), header.getValue());
+                }
+            }
+        }
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Same as {@link #send(Request, Object)}, after a delay
+     */
+    public CompletableFuture<HttpResponse<String>> sendLater(Duration delay, Request request, Object body) {
+        return later(delay).thenCompose(ignored -> send(request, body));
+    }
+
+    /**
+     * @return future completed after the delay, without holding a thread
+     */
+    public static CompletableFuture<Void> later(Duration delay) {
+        if (delay.isZero() || delay.isNegative()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(
+                () -> {
+                },
+                CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    public static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
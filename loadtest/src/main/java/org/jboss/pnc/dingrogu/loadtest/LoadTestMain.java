@@ -0,0 +1,147 @@
+package org.jboss.pnc.dingrogu.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.api.enums.AlignmentPreference;
+import org.jboss.pnc.api.enums.BuildCategory;
+import org.jboss.pnc.api.enums.BuildType;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BuildWorkDTO;
+import org.jboss.pnc.dingrogu.loadtest.mock.OrchMock;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.QuarkusApplication;
+import io.quarkus.runtime.annotations.QuarkusMain;
+
+/**
+ * End-to-end load test of the build workflow. Dingrogu runs with all the services it calls replaced by in-process
+ * stand-ins (Rex, Reqour, repository driver, environment driver, build driver, Causeway and Orch), and the load test
+ * starts build workflows the way Rex does when Orch submits a build. A workflow ends when Orch gets its result.
+ *
+ * java -Dloadtest.workflows=5000 -Dloadtest.concurrency=200 -jar loadtest/target/dingrogu-loadtest-runner.jar
+ */
+@QuarkusMain
+public class LoadTestMain implements QuarkusApplication {
+
+    @ConfigProperty(name = "loadtest.workflows", defaultValue = "1000")
+    int workflows;
+
+    @ConfigProperty(name = "loadtest.concurrency", defaultValue = "100")
+    int concurrency;
+
+    @ConfigProperty(name = "loadtest.timeout", defaultValue = "PT15M")
+    Duration timeout;
+
+    /**
+     * The stand-ins are served by this application too
+     */
+    @ConfigProperty(name = "dingrogu.url")
+    String ownUrl;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @Inject
+    LoadTestRecorder recorder;
+
+    @Override
+    public int run(String... args) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Log.infof("Starting %d build workflows, %d at a time", workflows, concurrency);
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(workflows);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        for (int i = 0; i < workflows; i++) {
+            if (!inFlight.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                Log.warnf("Timeout reached, only %d workflows were started", i);
+                break;
+            }
+            String correlationId = "loadtest-" + runId + "-" + i;
+            CompletableFuture<Boolean> result = recorder.started(correlationId);
+            result.whenComplete((positive, error) -> inFlight.release());
+            results.add(result);
+            submit(correlationId);
+        }
+
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                    .get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            Log.warn("Timeout reached before all the workflows finished");
+        }
+
+        recorder.report(Duration.ofNanos(System.nanoTime() - start));
+        return 0;
+    }
+
+    private void submit(String correlationId) {
+        URI uri = URI.create(ownUrl + "/workflow/build/rex-start");
+        httpClient.send("POST", uri, List.of(), startRequest(correlationId)).whenComplete((response, error) -> {
+            if (error != null || !LoadTestHttpClient.isSuccessful(response)) {
+                Log.warnf(
+                        "[%s] Workflow not submitted: %s",
+                        correlationId,
+                        error != null ? error : response.statusCode() + " " + response.body());
+                recorder.notSubmitted(correlationId);
+            }
+        });
+    }
+
+    /**
+     * Start request sent by Rex for a build submitted by Orch
+     */
+    private StartRequest startRequest(String correlationId) {
+        BuildWorkDTO buildWorkDTO = BuildWorkDTO.builder()
+                .reqourUrl(ownUrl + "/mock/reqour")
+                .repositoryDriverUrl(ownUrl + "/mock/repository-driver")
+                .buildDriverUrl(ownUrl + "/mock/build-driver")
+                .environmentDriverUrl(ownUrl + "/mock/environment-driver")
+                .scmRepoURL("git+ssh://code.example.com/project-ncl/dingrogu.git")
+                .scmRevision("main")
+                .preBuildSyncEnabled(true)
+                .originRepoURL("https://github.com/project-ncl/dingrogu.git")
+                .alignmentPreference(AlignmentPreference.PREFER_PERSISTENT)
+                .buildContentId("build-" + correlationId)
+                .buildConfigName("dingrogu-main")
+                .buildType(BuildType.MVN)
+                .buildCategory(BuildCategory.STANDARD)
+                .defaultAlignmentParams("-DdependencySource=REST")
+                .genericParameters(Map.of())
+                .buildConfigurationId("1234")
+                .correlationId(correlationId)
+                .environmentLabel("build")
+                .environmentImage("quay.example.com/builder:latest")
+                .buildScript("mvn deploy -DskipTests")
+                .build();
+
+        return StartRequest.builder()
+                .positiveCallback(orchCallback(correlationId, OrchMock.BUILD_COMPLETED))
+                .negativeCallback(orchCallback(correlationId, OrchMock.BUILD_FAILED))
+                .payload(buildWorkDTO)
+                .mdc(Map.of("processContext", "build-" + correlationId))
+                .build();
+    }
+
+    private Request orchCallback(String correlationId, String outcome) {
+        return Request.builder()
+                .method(Request.Method.POST)
+                .uri(URI.create(ownUrl + "/mock/orch/builds/" + correlationId + "/" + outcome))
+                .headers(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package org.jboss.pnc.dingrogu.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.quarkus.logging.Log;
+
+/**
+ * Outcome and timings of the workflows of a load test run
+ */
+@ApplicationScoped
+public class LoadTestRecorder {
+
+    private final Map<String, RunningWorkflow> running = new ConcurrentHashMap<>();
+
+    private final Queue<Long> endToEnd = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, Queue<Long>> taskTimes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger successful = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final AtomicInteger notSubmitted = new AtomicInteger();
+
+    /**
+     * Start measuring a workflow
+     *
+     * @param correlationId correlation id of the workflow
+     * @return completed once Orch gets the result of the workflow, with whether it was positive
+     */
+    public CompletableFuture<Boolean> started(String correlationId) {
+        RunningWorkflow workflow = new RunningWorkflow(System.nanoTime(), new CompletableFuture<>());
+        running.put(correlationId, workflow);
+        return workflow.done;
+    }
+
+    public void notSubmitted(String correlationId) {
+        RunningWorkflow workflow = running.remove(correlationId);
+        if (workflow != null) {
+            notSubmitted.incrementAndGet();
+            workflow.done.complete(false);
+        }
+    }
+
+    /**
+     * Orch got the result of the workflow
+     *
+     * @param correlationId correlation id of the workflow
+     * @param positive whether the positive callback was used
+     */
+    public void finished(String correlationId, boolean positive) {
+        RunningWorkflow workflow = running.remove(correlationId);
+        if (workflow == null) {
+            Log.warnf("[%s] Result of a workflow not started by the load test, or received twice", correlationId);
+            return;
+        }
+        endToEnd.add(System.nanoTime() - workflow.startNanos);
+        if (positive) {
+            successful.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+        workflow.done.complete(positive);
+    }
+
+    /**
+     * Record the time spent by a Rex task in a phase
+     *
+     * @param phase e.g. the adapter name
+     * @param nanos time spent
+     */
+    public void recordTask(String phase, long nanos) {
+        taskTimes.computeIfAbsent(phase, ignored -> new ConcurrentLinkedQueue<>()).add(nanos);
+    }
+
+    /**
+     * Log the report of the run
+     *
+     * @param elapsed duration of the run
+     */
+    public void report(Duration elapsed) {
+        int finished = successful.get() + failed.get();
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+
+        StringBuilder report = new StringBuilder("Load test report\n");
+        report.append(String.format("  duration:        %.1fs%n", seconds));
+        report.append(String.format("  throughput:      %.2f workflows/s%n", finished / seconds));
+        report.append(String.format("  successful:      %d%n", successful.get()));
+        report.append(String.format("  failed:          %d%n", failed.get()));
+        report.append(String.format("  not submitted:   %d%n", notSubmitted.get()));
+        report.append(String.format("  lost:            %d%n", running.size()));
+        report.append(String.format("  end to end:      %s%n", Stats.of(endToEnd)));
+        report.append("  per adapter (from the start request sent by Rex to the final state of the task):\n");
+        new TreeMap<>(taskTimes)
+                .forEach((phase, times) -> report.append(String.format("    %-36s %s%n", phase, Stats.of(times))));
+        Log.info(report);
+    }
+
+    private record RunningWorkflow(long startNanos, CompletableFuture<Boolean> done) {
+    }
+
+    private record Stats(int count, long p50, long p99, long max) {
+
+        static Stats of(Collection<Long> nanos) {
+            List<Long> sorted = new ArrayList<>(nanos);
+            if (sorted.isEmpty()) {
+                return new Stats(0, 0, 0, 0);
+            }
+            sorted.sort(null);
+            return new Stats(
+                    sorted.size(),
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted.get(sorted.size() - 1)));
+        }
+
+        private static long percentile(List<Long> sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(index, 0));
+        }
+
+        private static long millis(long nanos) {
+            return nanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d p50=%dms p99=%dms max=%dms", count, p50, p99, max);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.jboss.pnc.dingrogu.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Produces;
+
+import io.quarkus.oidc.client.OidcClient;
+import io.quarkus.oidc.client.Tokens;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * The stand-ins don't check the tokens, so there is no identity provider: every token is the same one, valid for a day
+ */
+@Alternative
+@Priority(1)
+@ApplicationScoped
+public class StubOidcClient implements OidcClient {
+
+    private static final String ACCESS_TOKEN = "loadtest-token";
+
+    @Override
+    public Uni<Tokens> getTokens(Map<String, String> additionalGrantParameters) {
+        return Uni.createFrom().item(tokens());
+    }
+
+    @Override
+    public Uni<Tokens> refreshTokens(String refreshToken, Map<String, String> additionalGrantParameters) {
+        return Uni.createFrom().item(tokens());
+    }
+
+    @Override
+    public Uni<Boolean> revokeAccessToken(String accessToken, Map<String, String> additionalParameters) {
+        return Uni.createFrom().item(true);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Produces
+    @Alternative
+    @Priority(1)
+    @RequestScoped
+    Tokens produceTokens() {
+        return tokens();
+    }
+
+    private static Tokens tokens() {
+        long expiresAt = System.currentTimeMillis() / 1000 + Duration.ofDays(1).toSeconds();
+        return new Tokens(ACCESS_TOKEN, expiresAt, Duration.ofDays(1), "refreshToken", null, null, "loadtest");
+    }
+}
@@ -0,0 +1,53 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.builddriver.dto.BuildCancelRequest;
+import org.jboss.pnc.api.builddriver.dto.BuildCompleted;
+import org.jboss.pnc.api.builddriver.dto.BuildRequest;
+import org.jboss.pnc.api.builddriver.dto.BuildResponse;
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+
+/**
+ * Build driver stand-in: the build succeeds after the callback delay
+ */
+@Path("/mock/build-driver")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class BuildDriverMock {
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @POST
+    @Path("/build")
+    public CompletionStage<Response> build(BuildRequest request) {
+        MockBehaviour behaviour = behaviours.get(MockBehaviours.BUILD_DRIVER);
+        return behaviour.respond(() -> {
+            BuildCompleted completed = BuildCompleted.builder().buildStatus(ResultStatus.SUCCESS).build();
+            httpClient.sendLater(behaviour.getCallbackDelay(), request.getCompletionCallback(), completed);
+            BuildResponse response = BuildResponse.builder().buildExecutionId(UUID.randomUUID().toString()).build();
+            return Response.ok(response).build();
+        });
+    }
+
+    @PUT
+    @Path("/cancel")
+    public CompletionStage<Response> cancel(BuildCancelRequest request) {
+        return behaviours.get(MockBehaviours.BUILD_DRIVER).respond(() -> Response.ok().build());
+    }
+}
@@ -0,0 +1,49 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.causeway.dto.push.BuildPushRequest;
+import org.jboss.pnc.api.causeway.dto.push.PushResult;
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+
+/**
+ * Causeway stand-in: the push to Brew succeeds after the callback delay
+ */
+@Path("/mock/causeway")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class CausewayMock {
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @POST
+    @Path("/push-build")
+    public CompletionStage<Response> pushBuild(BuildPushRequest request) {
+        MockBehaviour behaviour = behaviours.get(MockBehaviours.CAUSEWAY);
+        return behaviour.respond(() -> {
+            int brewBuildId = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+            PushResult result = PushResult.builder()
+                    .buildId(request.getBuildId())
+                    .brewBuildId(brewBuildId)
+                    .brewBuildUrl("https://brew.example.com/buildinfo?buildID=" + brewBuildId)
+                    .result(ResultStatus.SUCCESS)
+                    .build();
+            httpClient.sendLater(behaviour.getCallbackDelay(), request.getCallback(), result);
+            return Response.accepted().build();
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.net.URI;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCompleteRequest;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCompleteResponse;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateRequest;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResponse;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResult;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+
+/**
+ * Environment driver stand-in: the environment is ready after the callback delay
+ */
+@Path("/mock/environment-driver")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class EnvironmentDriverMock {
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @POST
+    @Path("/create")
+    public CompletionStage<Response> create(EnvironmentCreateRequest request) {
+        MockBehaviour behaviour = behaviours.get(MockBehaviours.ENVIRONMENT_DRIVER);
+        return behaviour.respond(() -> {
+            String environmentId = "env-" + request.getRepositoryBuildContentId();
+            EnvironmentCreateResult result = EnvironmentCreateResult.builder()
+                    .environmentBaseUri(URI.create("http://" + environmentId + ".example.com"))
+                    .workingDirectory("/tmp/build")
+                    .status(ResultStatus.SUCCESS)
+                    .build();
+            httpClient.sendLater(behaviour.getCallbackDelay(), request.getCompletionCallback(), result);
+            return Response.ok(EnvironmentCreateResponse.builder().environmentId(environmentId).build()).build();
+        });
+    }
+
+    @PUT
+    @Path("/complete")
+    public CompletionStage<Response> complete(EnvironmentCompleteRequest request) {
+        return behaviours.get(MockBehaviours.ENVIRONMENT_DRIVER)
+                .respond(() -> Response.ok(EnvironmentCompleteResponse.builder().build()).build());
+    }
+
+    @PUT
+    @Path("/cancel/{environmentId}")
+    public CompletionStage<Response> cancel(@PathParam("environmentId") String environmentId) {
+        return behaviours.get(MockBehaviours.ENVIRONMENT_DRIVER)
+                .respond(() -> Response.ok(EnvironmentCompleteResponse.builder().build()).build());
+    }
+}
@@ -0,0 +1,56 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+
+/**
+ * How a stand-in service answers: after a latency, with a 500 for a ratio of the requests, and with a delay before
+ * the callback of asynchronous operations
+ */
+public class MockBehaviour {
+
+    private final String service;
+
+    private final Duration latency;
+
+    private final double errorRate;
+
+    private final Duration callbackDelay;
+
+    public MockBehaviour(String service, Duration latency, double errorRate, Duration callbackDelay) {
+        this.service = service;
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.callbackDelay = callbackDelay;
+    }
+
+    public Duration getCallbackDelay() {
+        return callbackDelay;
+    }
+
+    /**
+     * Answer after the latency of the service, either with an injected error or with the response supplied. The
+     * supplier is only called when there's no error, so that an operation failing to start never calls back.
+     *
+     * @param response successful response
+     * @return response
+     */
+    public CompletionStage<Response> respond(Supplier<Response> response) {
+        return LoadTestHttpClient.later(latency).thenApply(ignored -> {
+            if (shouldFail()) {
+                return Response.serverError().entity("Injected failure of " + service).build();
+            }
+            return response.get();
+        });
+    }
+
+    public boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+}
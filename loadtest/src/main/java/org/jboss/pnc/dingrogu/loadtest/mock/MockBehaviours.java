@@ -0,0 +1,55 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Behaviour of each stand-in service, read from 'loadtest.mock.&lt;service&gt;.&lt;property&gt;', falling back to
+ * 'loadtest.mock.&lt;property&gt;'
+ */
+@ApplicationScoped
+public class MockBehaviours {
+
+    public static final String REX = "rex";
+    public static final String REQOUR = "reqour";
+    public static final String REPOSITORY_DRIVER = "repository-driver";
+    public static final String ENVIRONMENT_DRIVER = "environment-driver";
+    public static final String BUILD_DRIVER = "build-driver";
+    public static final String CAUSEWAY = "causeway";
+    public static final String ORCH = "orch";
+
+    @ConfigProperty(name = "loadtest.mock.latency", defaultValue = "PT0.01S")
+    Duration defaultLatency;
+
+    @ConfigProperty(name = "loadtest.mock.error-rate", defaultValue = "0")
+    double defaultErrorRate;
+
+    @ConfigProperty(name = "loadtest.mock.callback-delay", defaultValue = "PT0.1S")
+    Duration defaultCallbackDelay;
+
+    @Inject
+    Config config;
+
+    private final Map<String, MockBehaviour> behaviours = new ConcurrentHashMap<>();
+
+    public MockBehaviour get(String service) {
+        return behaviours.computeIfAbsent(
+                service,
+                ignored -> new MockBehaviour(
+                        service,
+                        getConfig(service, "latency", Duration.class, defaultLatency),
+                        getConfig(service, "error-rate", Double.class, defaultErrorRate),
+                        getConfig(service, "callback-delay", Duration.class, defaultCallbackDelay)));
+    }
+
+    private <T> T getConfig(String service, String property, Class<T> type, T defaultValue) {
+        return config.getOptionalValue("loadtest.mock." + service + "." + property, type).orElse(defaultValue);
+    }
+}
@@ -0,0 +1,67 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.util.concurrent.CompletionStage;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.dingrogu.loadtest.LoadTestRecorder;
+
+/**
+ * Orch stand-in. The build workflows started by the load test send their result here, which ends their measure
+ */
+@Path("/mock/orch")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class OrchMock {
+
+    public static final String BUILD_COMPLETED = "completed";
+    public static final String BUILD_FAILED = "failed";
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    LoadTestRecorder recorder;
+
+    @Inject
+    RexStandIn rexStandIn;
+
+    /**
+     * Positive and negative callbacks of the build workflow
+     */
+    @POST
+    @Path("/builds/{correlationId}/{outcome}")
+    public CompletionStage<Response> buildResult(
+            @PathParam("correlationId") String correlationId,
+            @PathParam("outcome") String outcome,
+            Object buildResult) {
+        return behaviours.get(MockBehaviours.ORCH).respond(() -> {
+            recorder.finished(correlationId, BUILD_COMPLETED.equals(outcome));
+            rexStandIn.forget(correlationId);
+            return Response.ok().build();
+        });
+    }
+
+    /**
+     * Results of the other workflows
+     */
+    @POST
+    @Path("/{path: .*}")
+    public CompletionStage<Response> post(@PathParam("path") String path, Object body) {
+        return behaviours.get(MockBehaviours.ORCH).respond(() -> Response.ok().build());
+    }
+
+    @PUT
+    @Path("/{path: .*}")
+    public CompletionStage<Response> put(@PathParam("path") String path, Object body) {
+        return behaviours.get(MockBehaviours.ORCH).respond(() -> Response.ok().build());
+    }
+}
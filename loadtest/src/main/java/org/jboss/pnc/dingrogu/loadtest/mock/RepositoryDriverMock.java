@@ -0,0 +1,113 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.api.enums.ArtifactQuality;
+import org.jboss.pnc.api.enums.BuildCategory;
+import org.jboss.pnc.api.enums.RepositoryType;
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryArtifact;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryCreateRequest;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryCreateResponse;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteRequest;
+import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteResult;
+import org.jboss.pnc.api.repositorydriver.dto.TargetRepository;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+
+/**
+ * Repository driver stand-in. The promotion reports the configured number of built artifacts and dependencies, since
+ * their size drives the cost of the build result sent to Orch
+ */
+@Path("/mock/repository-driver")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class RepositoryDriverMock {
+
+    private static final TargetRepository TARGET_REPOSITORY = TargetRepository.builder()
+            .temporaryRepo(false)
+            .identifier("indy-maven")
+            .repositoryType(RepositoryType.MAVEN)
+            .repositoryPath("/api/content/maven/hosted/pnc-builds/")
+            .build();
+
+    @ConfigProperty(name = "loadtest.promoted-artifacts", defaultValue = "100")
+    int promotedArtifacts;
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @POST
+    @Path("/create")
+    public CompletionStage<Response> create(RepositoryCreateRequest request) {
+        return behaviours.get(MockBehaviours.REPOSITORY_DRIVER).respond(() -> {
+            RepositoryCreateResponse response = RepositoryCreateResponse.builder()
+                    .repositoryDependencyUrl("http://indy.example.com/api/folo/track/build/maven/group/build")
+                    .repositoryDeployUrl("http://indy.example.com/api/folo/track/build/maven/hosted/build")
+                    .sidecarEnabled(false)
+                    .sidecarArchiveEnabled(false)
+                    .build();
+            return Response.ok(response).build();
+        });
+    }
+
+    @PUT
+    @Path("/seal")
+    public CompletionStage<Response> seal(String buildContentId) {
+        return behaviours.get(MockBehaviours.REPOSITORY_DRIVER).respond(() -> Response.ok().build());
+    }
+
+    @PUT
+    @Path("/promote")
+    public CompletionStage<Response> promote(RepositoryPromoteRequest request) {
+        MockBehaviour behaviour = behaviours.get(MockBehaviours.REPOSITORY_DRIVER);
+        return behaviour.respond(() -> {
+            RepositoryPromoteResult result = RepositoryPromoteResult.builder()
+                    .buildContentId(request.getBuildContentId())
+                    .builtArtifacts(artifacts("built"))
+                    .dependencies(artifacts("dependency"))
+                    .status(ResultStatus.SUCCESS)
+                    .build();
+            httpClient.sendLater(behaviour.getCallbackDelay(), request.getCallback(), result);
+            return Response.ok().build();
+        });
+    }
+
+    private List<RepositoryArtifact> artifacts(String prefix) {
+        Instant importDate = Instant.now();
+        List<RepositoryArtifact> artifacts = new ArrayList<>(promotedArtifacts);
+        for (int i = 0; i < promotedArtifacts; i++) {
+            artifacts.add(
+                    RepositoryArtifact.builder()
+                            .identifier("org.example." + prefix + ":artifact-" + i + ":1.0.redhat-00001:jar")
+                            .purl("pkg:maven/org.example." + prefix + "/artifact-" + i + "@1.0.redhat-00001?type=jar")
+                            .artifactQuality(ArtifactQuality.NEW)
+                            .buildCategory(BuildCategory.STANDARD)
+                            .md5(String.format("%032x", i))
+                            .sha1(String.format("%040x", i))
+                            .sha256(String.format("%064x", i))
+                            .filename("artifact-" + i + "-1.0.redhat-00001.jar")
+                            .deployPath("/org/example/" + prefix + "/artifact-" + i + "/1.0.redhat-00001/")
+                            .importDate(importDate)
+                            .size(1024L * i)
+                            .targetRepository(TARGET_REPOSITORY)
+                            .build());
+        }
+        return artifacts;
+    }
+}
@@ -0,0 +1,68 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.api.reqour.dto.AdjustRequest;
+import org.jboss.pnc.api.reqour.dto.AdjustResponse;
+import org.jboss.pnc.api.reqour.dto.ManipulatorResult;
+import org.jboss.pnc.api.reqour.dto.ReqourCallback;
+import org.jboss.pnc.api.reqour.dto.VersioningState;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+
+/**
+ * Reqour stand-in: the alignment always succeeds, and is sent to the callback after the callback delay
+ */
+@Path("/mock/reqour")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class ReqourMock {
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @POST
+    @Path("/adjust")
+    public CompletionStage<Response> adjust(AdjustRequest request) {
+        MockBehaviour behaviour = behaviours.get(MockBehaviours.REQOUR);
+        return behaviour.respond(() -> {
+            AdjustResponse response = AdjustResponse.builder()
+                    .tag("1.0.0.redhat-00001")
+                    .downstreamCommit("0123456789abcdef0123456789abcdef01234567")
+                    .upstreamCommit("fedcba9876543210fedcba9876543210fedcba98")
+                    .isRefRevisionInternal(false)
+                    .internalUrl(request.getInternalUrl())
+                    .manipulatorResult(
+                            ManipulatorResult.builder()
+                                    .versioningState(
+                                            VersioningState.builder()
+                                                    .executionRootName("org.example:loadtest-parent")
+                                                    .executionRootVersion("1.0.0.redhat-00001")
+                                                    .build())
+                                    .removedRepositories(List.of())
+                                    .build())
+                    .callback(ReqourCallback.builder().status(ResultStatus.SUCCESS).id(request.getTaskId()).build())
+                    .build();
+            httpClient.sendLater(behaviour.getCallbackDelay(), request.getCallback(), response);
+            return Response.accepted().build();
+        });
+    }
+
+    @POST
+    @Path("/cancel")
+    public CompletionStage<Response> cancel(Object request) {
+        return behaviours.get(MockBehaviours.REQOUR).respond(() -> Response.accepted().build());
+    }
+}
@@ -0,0 +1,140 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.rex.common.enums.ResponseFlag;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+import org.jboss.pnc.rex.dto.responses.LongResponse;
+
+/**
+ * REST endpoints of Rex used by Dingrogu (tasks, callbacks and queues), served by the {@link RexStandIn}
+ */
+@Path("/rest")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class RexMock {
+
+    @Inject
+    MockBehaviours behaviours;
+
+    @Inject
+    RexStandIn rexStandIn;
+
+    @POST
+    @Path("/tasks")
+    public CompletionStage<Response> start(CreateGraphRequest request) {
+        return respond(() -> Response.ok(rexStandIn.start(request)).build());
+    }
+
+    @GET
+    @Path("/tasks/{taskID}")
+    public CompletionStage<Response> getSpecific(@PathParam("taskID") String taskId) {
+        return respond(
+                () -> rexStandIn.getSpecific(taskId)
+                        .map(task -> Response.ok(task).build())
+                        .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build()));
+    }
+
+    @PUT
+    @Path("/tasks/{taskID}/cancel")
+    public CompletionStage<Response> cancel(@PathParam("taskID") String taskId) {
+        // cancellations are not simulated
+        return respond(() -> Response.accepted().build());
+    }
+
+    @GET
+    @Path("/tasks/by-correlation/{correlationID}")
+    public CompletionStage<Response> byCorrelation(@PathParam("correlationID") String correlationId) {
+        return respond(() -> Response.ok(rexStandIn.byCorrelation(correlationId)).build());
+    }
+
+    @POST
+    @Path("/callback/{taskName}/succeed")
+    public CompletionStage<Response> succeed(
+            @PathParam("taskName") String taskName,
+            @QueryParam("flags") Set<String> flags,
+            Object result) {
+        return respond(() -> callback(taskName, true, result, flags));
+    }
+
+    @POST
+    @Path("/callback/{taskName}/fail")
+    public CompletionStage<Response> fail(
+            @PathParam("taskName") String taskName,
+            @QueryParam("flags") Set<String> flags,
+            Object result) {
+        return respond(() -> callback(taskName, false, result, flags));
+    }
+
+    @GET
+    @Path("/queue/concurrency")
+    public CompletionStage<Response> getConcurrent() {
+        return getConcurrentNamed(null);
+    }
+
+    @POST
+    @Path("/queue/concurrency")
+    public CompletionStage<Response> setConcurrent(@QueryParam("amount") Long amount) {
+        return setConcurrentNamed(null, amount);
+    }
+
+    @GET
+    @Path("/queue/{name}/concurrency")
+    public CompletionStage<Response> getConcurrentNamed(@PathParam("name") String name) {
+        return respond(
+                () -> rexStandIn.getConcurrency(name)
+                        .map(limit -> Response.ok(new LongResponse(limit)).build())
+                        .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build()));
+    }
+
+    @POST
+    @Path("/queue/{name}/concurrency")
+    public CompletionStage<Response> setConcurrentNamed(
+            @PathParam("name") String name,
+            @QueryParam("amount") Long amount) {
+        return respond(() -> {
+            rexStandIn.setConcurrency(name, amount);
+            return Response.noContent().build();
+        });
+    }
+
+    @GET
+    @Path("/queue/running")
+    public CompletionStage<Response> getRunning() {
+        return getRunningNamed(null);
+    }
+
+    @GET
+    @Path("/queue/{name}/running")
+    public CompletionStage<Response> getRunningNamed(@PathParam("name") String name) {
+        return respond(() -> Response.ok(new LongResponse(rexStandIn.getRunning(name))).build());
+    }
+
+    private Response callback(String taskName, boolean positive, Object result, Set<String> flags) {
+        Set<ResponseFlag> responseFlags = flags == null ? Set.of()
+                : flags.stream().map(ResponseFlag::valueOf).collect(Collectors.toSet());
+        if (!rexStandIn.callback(taskName, positive, result, responseFlags)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.noContent().build();
+    }
+
+    private CompletionStage<Response> respond(Supplier<Response> response) {
+        return behaviours.get(MockBehaviours.REX).respond(response);
+    }
+}
@@ -0,0 +1,470 @@
+package org.jboss.pnc.dingrogu.loadtest.mock;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestHttpClient;
+import org.jboss.pnc.dingrogu.loadtest.LoadTestRecorder;
+import org.jboss.pnc.rex.common.enums.Origin;
+import org.jboss.pnc.rex.common.enums.ResponseFlag;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.CreateTaskDTO;
+import org.jboss.pnc.rex.dto.EdgeDTO;
+import org.jboss.pnc.rex.dto.ServerResponseDTO;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+import org.jboss.pnc.rex.model.requests.MinimizedTask;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.logging.Log;
+
+/**
+ * In-process Rex, running the task graphs submitted by the workflows the way Rex does:
+ * <ul>
+ * <li>a task is enqueued once all its dependencies are successful, and started when its queue has room for it</li>
+ * <li>the start request holds the payload of the task and, if configured, the results of its dependencies</li>
+ * <li>the response to the start request is kept as the STARTING server response, and the task is then UP</li>
+ * <li>the callback of the task is only applied once the response to the start request is processed</li>
+ * <li>when a task fails, its dependants are stopped</li>
+ * <li>every transition is notified, in order for a given task</li>
+ * </ul>
+ * Rollbacks, heartbeats, cancellations and timeouts are not simulated. The tasks are kept until Orch gets the result
+ * of their workflow.
+ */
+@ApplicationScoped
+public class RexStandIn {
+
+    /**
+     * Queue of the tasks submitted without one
+     */
+    private static final String DEFAULT_QUEUE = "";
+
+    private static final String QUEUE_WAIT = "(waiting in the Rex queue)";
+
+    @ConfigProperty(name = "rexclient.url")
+    String rexUrl;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    LoadTestHttpClient httpClient;
+
+    @Inject
+    LoadTestRecorder recorder;
+
+    @Inject
+    MockBehaviours behaviours;
+
+    private final Map<String, RexTask> tasks = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> taskNamesByCorrelation = new ConcurrentHashMap<>();
+
+    private final Map<String, RexQueue> queues = new ConcurrentHashMap<>();
+
+    public Set<TaskDTO> start(CreateGraphRequest request) {
+        List<RexTask> created = new ArrayList<>();
+        for (CreateTaskDTO definition : request.vertices.values()) {
+            String queue = definition.queue != null ? definition.queue
+                    : request.queue != null ? request.queue : DEFAULT_QUEUE;
+            created.add(new RexTask(definition.name, request.correlationID, queue, definition));
+        }
+        Map<String, RexTask> graph = created.stream().collect(Collectors.toMap(task -> task.name, task -> task));
+        if (request.edges != null) {
+            for (EdgeDTO edge : request.edges) {
+                RexTask source = graph.get(edge.source);
+                RexTask target = graph.get(edge.target);
+                if (source == null || target == null) {
+                    throw new IllegalArgumentException("Edge between tasks not in the graph: " + edge);
+                }
+                // the source depends on the target
+                source.dependencies.add(target.name);
+                target.dependants.add(source.name);
+            }
+        }
+
+        for (RexTask task : created) {
+            if (tasks.putIfAbsent(task.name, task) != null) {
+                throw new IllegalStateException("Task already exists: " + task.name);
+            }
+        }
+        taskNamesByCorrelation.computeIfAbsent(request.correlationID, ignored -> ConcurrentHashMap.newKeySet())
+                .addAll(graph.keySet());
+
+        for (RexTask task : created) {
+            if (task.dependencies.isEmpty()) {
+                enqueue(task);
+            } else {
+                synchronized (task) {
+                    transition(task, State.WAITING);
+                }
+            }
+        }
+        return created.stream().map(this::toDTO).collect(Collectors.toSet());
+    }
+
+    public Optional<TaskDTO> getSpecific(String taskName) {
+        return Optional.ofNullable(tasks.get(taskName)).map(this::toDTO);
+    }
+
+    public Set<TaskDTO> byCorrelation(String correlationId) {
+        return taskNamesByCorrelation.getOrDefault(correlationId, Set.of())
+                .stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Apply the callback of a task
+     *
+     * @return false if the task doesn't exist
+     */
+    public boolean callback(String taskName, boolean positive, Object body, Set<ResponseFlag> flags) {
+        RexTask task = tasks.get(taskName);
+        if (task == null) {
+            return false;
+        }
+        synchronized (task) {
+            if (task.state == State.ENQUEUED || task.state == State.STARTING) {
+                // the response to the start request is not processed yet
+                task.pendingCallback = new PendingCallback(positive, body, flags);
+                return true;
+            }
+            if (task.state != State.UP) {
+                Log.warnf("Callback for task %s ignored, the task is %s", taskName, task.state);
+                return true;
+            }
+        }
+        finish(task, positive ? State.SUCCESSFUL : State.FAILED, serverResponse(State.UP, positive, body, flags));
+        return true;
+    }
+
+    /**
+     * Forget the tasks of a finished workflow
+     */
+    public void forget(String correlationId) {
+        Set<String> names = taskNamesByCorrelation.remove(correlationId);
+        if (names != null) {
+            names.forEach(tasks::remove);
+        }
+    }
+
+    public Optional<Long> getConcurrency(String queueName) {
+        return Optional.ofNullable(queues.get(queueName(queueName))).map(queue -> queue.limit);
+    }
+
+    public void setConcurrency(String queueName, long limit) {
+        RexQueue queue = queue(queueName(queueName));
+        queue.limit = limit;
+        startAll(queue.takeStartable());
+    }
+
+    public long getRunning(String queueName) {
+        if (queueName == null) {
+            return queues.values().stream().mapToLong(RexQueue::running).sum();
+        }
+        RexQueue queue = queues.get(queueName);
+        return queue == null ? 0 : queue.running();
+    }
+
+    private void enqueue(RexTask task) {
+        synchronized (task) {
+            if (task.state != State.NEW && task.state != State.WAITING) {
+                // enqueued by another dependency, or stopped
+                return;
+            }
+            task.enqueuedAt = System.nanoTime();
+            transition(task, State.ENQUEUED);
+        }
+        RexQueue queue = queue(task.queue);
+        queue.add(task);
+        startAll(queue.takeStartable());
+    }
+
+    private void startAll(List<RexTask> startable) {
+        startable.forEach(this::startTask);
+    }
+
+    private void startTask(RexTask task) {
+        synchronized (task) {
+            task.startedAt = System.nanoTime();
+            transition(task, State.STARTING);
+        }
+        recorder.recordTask(QUEUE_WAIT, task.startedAt - task.enqueuedAt);
+
+        Request remoteStart = task.definition.remoteStart;
+        StartRequest startRequest = StartRequest.builder()
+                .positiveCallback(callbackRequest(task, "succeed"))
+                .negativeCallback(callbackRequest(task, "fail"))
+                .payload(remoteStart.getAttachment())
+                .taskResults(passResultsOfDependencies(task) ? dependencyResults(task) : null)
+                .build();
+
+        LoadTestHttpClient.later(behaviours.get(MockBehaviours.REX).getCallbackDelay())
+                .thenCompose(ignored -> httpClient.send(remoteStart, startRequest))
+                .whenComplete((response, error) -> started(task, response, error));
+    }
+
+    private void started(RexTask task, HttpResponse<String> response, Throwable error) {
+        boolean positive = error == null && LoadTestHttpClient.isSuccessful(response);
+        Object body = error != null ? error.toString() : parseBody(response.body());
+        ServerResponseDTO startResponse = serverResponse(State.STARTING, positive, body, null);
+        if (!positive) {
+            Log.warnf("Start of task %s failed: %s", task.name, body);
+            finish(task, State.START_FAILED, startResponse);
+            return;
+        }
+
+        PendingCallback pending;
+        synchronized (task) {
+            task.serverResponses.add(startResponse);
+            transition(task, State.UP);
+            pending = task.pendingCallback;
+            task.pendingCallback = null;
+        }
+        if (pending != null) {
+            callback(task.name, pending.positive, pending.body, pending.flags);
+        }
+    }
+
+    private void finish(RexTask task, State finalState, ServerResponseDTO response) {
+        State before;
+        synchronized (task) {
+            if (task.state.isFinal()) {
+                return;
+            }
+            before = task.state;
+            if (response != null) {
+                task.serverResponses.add(response);
+            }
+            transition(task, finalState);
+        }
+
+        if (before == State.STARTING || before == State.UP) {
+            recorder.recordTask(adapterName(task), System.nanoTime() - task.startedAt);
+            RexQueue queue = queue(task.queue);
+            queue.release();
+            startAll(queue.takeStartable());
+        }
+
+        for (String dependantName : task.dependants) {
+            RexTask dependant = tasks.get(dependantName);
+            if (dependant == null) {
+                continue;
+            }
+            if (finalState != State.SUCCESSFUL) {
+                finish(dependant, State.STOPPED, null);
+            } else if (dependant.dependencies.stream()
+                    .map(tasks::get)
+                    .allMatch(dependency -> dependency != null && dependency.state == State.SUCCESSFUL)) {
+                enqueue(dependant);
+            }
+        }
+    }
+
+    /**
+     * Change the state of the task and notify the transition after the ones already sent. Must be called with the
+     * lock of the task held.
+     */
+    private void transition(RexTask task, State after) {
+        State before = task.state;
+        task.state = after;
+
+        Request callerNotifications = task.definition.callerNotifications;
+        if (callerNotifications == null) {
+            return;
+        }
+        NotificationRequest notification = NotificationRequest.builder()
+                .before(before)
+                .after(after)
+                .task(MinimizedTask.builder().name(task.name).correlationID(task.correlationId).state(after).build())
+                .attachment(callerNotifications.getAttachment())
+                .build();
+        task.notifications = task.notifications
+                .thenCompose(ignored -> LoadTestHttpClient.later(behaviours.get(MockBehaviours.REX).getCallbackDelay()))
+                .thenCompose(ignored -> httpClient.send(callerNotifications, notification))
+                .handle((response, error) -> {
+                    if (error != null || !LoadTestHttpClient.isSuccessful(response)) {
+                        Log.warnf(
+                                "Notification %s -> %s of task %s failed: %s",
+                                before,
+                                after,
+                                task.name,
+                                error != null ? error : response.statusCode());
+                    }
+                    return null;
+                });
+    }
+
+    private Request callbackRequest(RexTask task, String operation) {
+        return Request.builder()
+                .method(Request.Method.POST)
+                .uri(URI.create(rexUrl + "/rest/callback/" + task.name + "/" + operation))
+                .headers(List.of())
+                .build();
+    }
+
+    private static boolean passResultsOfDependencies(RexTask task) {
+        return task.definition.configuration != null
+                && Boolean.TRUE.equals(task.definition.configuration.passResultsOfDependencies);
+    }
+
+    /**
+     * Last positive result of each dependency
+     */
+    private Map<String, Object> dependencyResults(RexTask task) {
+        Map<String, Object> results = new HashMap<>();
+        for (String dependencyName : task.dependencies) {
+            RexTask dependency = tasks.get(dependencyName);
+            if (dependency == null) {
+                continue;
+            }
+            Object result = null;
+            for (ServerResponseDTO response : dependency.serverResponses) {
+                if (response.state == State.UP && Boolean.TRUE.equals(response.positive)) {
+                    result = response.body;
+                }
+            }
+            results.put(dependencyName, result);
+        }
+        return results;
+    }
+
+    private Object parseBody(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, Object.class);
+        } catch (JsonProcessingException e) {
+            return body;
+        }
+    }
+
+    private TaskDTO toDTO(RexTask task) {
+        return TaskDTO.builder()
+                .name(task.name)
+                .correlationID(task.correlationId)
+                .queue(task.queue)
+                .state(task.state)
+                .serverResponses(new ArrayList<>(task.serverResponses))
+                .dependencies(new HashSet<>(task.dependencies))
+                .dependants(new HashSet<>(task.dependants))
+                .configuration(task.definition.configuration)
+                .build();
+    }
+
+    private static ServerResponseDTO serverResponse(
+            State state,
+            boolean positive,
+            Object body,
+            Set<ResponseFlag> flags) {
+        return ServerResponseDTO.builder()
+                .state(state)
+                .positive(positive)
+                .rollbackCounter(0)
+                .body(body)
+                .origin(Origin.REMOTE_ENTITY)
+                .flags(flags)
+                .build();
+    }
+
+    /**
+     * The adapter name, i.e. the Rex task name without the correlation id
+     */
+    private static String adapterName(RexTask task) {
+        String prefix = task.correlationId + "-";
+        return task.name.startsWith(prefix) ? task.name.substring(prefix.length()) : task.name;
+    }
+
+    private static String queueName(String queueName) {
+        return queueName == null ? DEFAULT_QUEUE : queueName;
+    }
+
+    private RexQueue queue(String name) {
+        return queues.computeIfAbsent(name, ignored -> new RexQueue());
+    }
+
+    private static class RexTask {
+        private final String name;
+        private final String correlationId;
+        private final String queue;
+        private final CreateTaskDTO definition;
+        private final Set<String> dependencies = new HashSet<>();
+        private final Set<String> dependants = new HashSet<>();
+        private final List<ServerResponseDTO> serverResponses = new CopyOnWriteArrayList<>();
+        private volatile State state = State.NEW;
+        private PendingCallback pendingCallback;
+        private CompletableFuture<Void> notifications = CompletableFuture.completedFuture(null);
+        private long enqueuedAt;
+        private long startedAt;
+
+        private RexTask(String name, String correlationId, String queue, CreateTaskDTO definition) {
+            this.name = name;
+            this.correlationId = correlationId;
+            this.queue = queue;
+            this.definition = definition;
+        }
+    }
+
+    private record PendingCallback(boolean positive, Object body, Set<ResponseFlag> flags) {
+    }
+
+    /**
+     * Tasks waiting for room in a queue. Queues not configured through the queue endpoint are not limited.
+     */
+    private static class RexQueue {
+        private volatile long limit = Long.MAX_VALUE;
+        private final Deque<RexTask> waiting = new ArrayDeque<>();
+        private int running;
+
+        private synchronized void add(RexTask task) {
+            waiting.add(task);
+        }
+
+        private synchronized void release() {
+            running--;
+        }
+
+        private synchronized long running() {
+            return running;
+        }
+
+        /**
+         * Take the tasks that can start, counting them as running
+         */
+        private synchronized List<RexTask> takeStartable() {
+            List<RexTask> startable = new ArrayList<>();
+            while (running < limit && !waiting.isEmpty()) {
+                startable.add(waiting.poll());
+                running++;
+            }
+            return startable;
+        }
+    }
+}
@@ -35,10 +35,28 @@ public interface Adapter<T> {
     /**
      * Translates the callback from the application's DTO and send it back to Rex
      *
-     * @param object callback object
+     * @param object callback object, of the {@link #getCallbackType()} type unless the callback couldn't be read into
+     *        it: it's then the raw JSON text of the callback
      */
     void callback(String correlationId, Object object);
 
+    /**
+     * Type of the payload of the start request: the adapter endpoint reads the payload straight into it
+     *
+     * @return payload type
+     */
+    Class<T> getPayloadType();
+
+    /**
+     * Type of the callback sent by the application: the adapter endpoint reads the callback straight into it. By
+     * default, the callback is read in its generic form (maps and lists)
+     *
+     * @return callback type
+     */
+    default Class<?> getCallbackType() {
+        return Object.class;
+    }
+
     /**
      * Send cancel request from Rex to the application
      *
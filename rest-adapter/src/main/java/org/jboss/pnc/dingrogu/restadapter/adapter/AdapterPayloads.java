@@ -0,0 +1,35 @@
+package org.jboss.pnc.dingrogu.restadapter.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Access to the payloads received by the adapters. The adapter endpoint reads the start payload and the callback
+ * straight into the types declared by the adapter ({@link Adapter#getPayloadType()}, {@link
+ * Adapter#getCallbackType()}), so they are usually of the right type already and only need a cast.
+ */
+public final class AdapterPayloads {
+
+    private AdapterPayloads() {
+    }
+
+    /**
+     * Get a payload as the given type, converting it only if it isn't already of that type (e.g. the raw JSON text of a
+     * callback that couldn't be read into the callback type)
+     *
+     * @param objectMapper object mapper
+     * @param value payload
+     * @param type type of the payload
+     * @return payload, null if the value is null
+     * @param <P> type of the payload
+     * @throws IllegalArgumentException if the payload is not of that type and cannot be converted to it
+     */
+    public static <P> P as(ObjectMapper objectMapper, Object value, Class<P> type) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isInstance(value)) {
+            return type.cast(value);
+        }
+        return objectMapper.convertValue(value, type);
+    }
+}
@@ -8,11 +8,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.pnc.api.builddriver.dto.BuildCancelRequest;
 import org.jboss.pnc.api.builddriver.dto.BuildCompleted;
 import org.jboss.pnc.api.builddriver.dto.BuildRequest;
@@ -20,7 +22,6 @@ import org.jboss.pnc.api.builddriver.dto.BuildResponse;
 import org.jboss.pnc.api.dto.Request;
 import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResult;
 import org.jboss.pnc.api.reqour.dto.AdjustResponse;
-import org.jboss.pnc.common.log.ProcessStageUtils;
 import org.jboss.pnc.dingrogu.api.client.BuildDriver;
 import org.jboss.pnc.dingrogu.api.client.BuildDriverProducer;
 import org.jboss.pnc.dingrogu.api.dto.adapter.BuildDriverDTO;
@@ -28,7 +29,8 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.ProcessStage;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.dto.ServerResponseDTO;
 import org.jboss.pnc.rex.dto.TaskDTO;
@@ -40,7 +42,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.logging.Log;
 
 @ApplicationScoped
-public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
+public class BuildDriverAdapter implements ReactiveAdapter<BuildDriverDTO> {
 
     @ConfigProperty(name = "dingrogu.url")
     String dingroguUrl;
@@ -49,7 +51,7 @@ public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     BuildDriverProducer buildDriverProducer;
@@ -63,15 +65,31 @@ public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
     @Inject
     TaskEndpoint taskEndpoint;
 
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    @Inject
+    WorkflowProgress workflowProgress;
+
     @Override
     public String getAdapterName() {
         return "build-driver";
     }
 
     @Override
-    public Optional<Object> start(String correlationId, StartRequest startRequest) {
+    public Class<BuildDriverDTO> getPayloadType() {
+        return BuildDriverDTO.class;
+    }
+
+    @Override
+    public Class<BuildCompleted> getCallbackType() {
+        return BuildCompleted.class;
+    }
+
+    @Override
+    public CompletionStage<Optional<Object>> startAsync(String correlationId, StartRequest startRequest) {
 
-        ProcessStageUtils.logProcessStageBegin(ProcessStage.BUILD_SETTING_UP.name(), "Starting build");
+        workflowProgress.stageBegin(correlationId, ProcessStage.BUILD_SETTING_UP.name(), "Starting build");
 
         Request callback;
         try {
@@ -84,7 +102,7 @@ public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
             Log.error(e);
             throw new RuntimeException(e);
         }
-        BuildDriverDTO dto = objectMapper.convertValue(startRequest.getPayload(), BuildDriverDTO.class);
+        BuildDriverDTO dto = AdapterPayloads.as(objectMapper, startRequest.getPayload(), BuildDriverDTO.class);
 
         Map<String, Object> pastResults = startRequest.getTaskResults();
         Object envDriverCreate = pastResults.get(environmentDriverCreateAdapter.getRexTaskName(correlationId));
@@ -110,38 +128,39 @@ public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
                 .build();
         Log.infof("Build request: %s", buildRequest);
 
-        BuildResponse buildResponse = buildDriver.build(buildRequest).toCompletableFuture().join();
-        Log.infof("Initial build response: %s", buildResponse);
-        return Optional.ofNullable(buildResponse);
+        return buildDriver.build(buildRequest).thenApply(buildResponse -> {
+            Log.infof("Initial build response: %s", buildResponse);
+            return Optional.ofNullable(buildResponse);
+        });
     }
 
     @Override
     public void callback(String correlationId, Object object) {
-        ProcessStageUtils.logProcessStageEnd(ProcessStage.BUILD_SETTING_UP.name(), "Build completed.");
+        workflowProgress.stageEnd(correlationId, ProcessStage.BUILD_SETTING_UP.name(), "Build completed.");
         try {
-            BuildCompleted response = objectMapper.convertValue(object, BuildCompleted.class);
+            BuildCompleted response = AdapterPayloads.as(objectMapper, object, BuildCompleted.class);
             Log.infof("Build response: %s", response);
             try {
                 if (response == null || response.getBuildStatus() == null) {
                     Log.error("Build response or status is null: " + response);
-                    callbackEndpoint.fail(getRexTaskName(correlationId), response, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
                     return;
                 }
                 switch (response.getBuildStatus()) {
-                    case SUCCESS -> callbackEndpoint.succeed(getRexTaskName(correlationId), response, null, null);
+                    case SUCCESS -> rexCallbackPipeline.succeed(getRexTaskName(correlationId), response, null);
                     // no rollback
                     case FAILED ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), response, null, Set.of(SKIP_ROLLBACK));
+                        rexCallbackPipeline.fail(getRexTaskName(correlationId), response, Set.of(SKIP_ROLLBACK));
                     // with rollback (if configured)
                     case TIMED_OUT, CANCELLED, SYSTEM_ERROR ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), response, null, null);
+                        rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
             }
         } catch (IllegalArgumentException e) {
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -154,9 +173,13 @@ public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
     }
 
     @Override
-    public void cancel(String correlationId, StopRequest stopRequest) {
-        // get own unique id created by build-driver sent back to rex in the start method
-        TaskDTO ownTask = taskEndpoint.getSpecific(getRexTaskName(correlationId));
+    public CompletionStage<Void> cancelAsync(String correlationId, StopRequest stopRequest) {
+        // get own unique id created by build-driver sent back to rex in the start method. The Rex client is blocking
+        return managedExecutor.supplyAsync(() -> taskEndpoint.getSpecific(getRexTaskName(correlationId)))
+                .thenCompose(ownTask -> cancel(correlationId, stopRequest, ownTask));
+    }
+
+    private CompletionStage<Void> cancel(String correlationId, StopRequest stopRequest, TaskDTO ownTask) {
         List<ServerResponseDTO> serverResponses = ownTask.getServerResponses();
 
         if (serverResponses.isEmpty()) {
@@ -179,7 +202,7 @@ public class BuildDriverAdapter implements Adapter<BuildDriverDTO> {
                 .buildEnvironmentBaseUrl(environmentCreateResponse.getEnvironmentBaseUri().toString())
                 .buildExecutionId(buildResponse.getBuildExecutionId())
                 .build();
-        buildDriver.cancel(buildCancelRequest);
+        return buildDriver.cancel(buildCancelRequest).thenApply(response -> null);
     }
 
     @Override
@@ -5,6 +5,8 @@ import static org.jboss.pnc.rex.common.enums.ResponseFlag.SKIP_ROLLBACK;
 import java.net.URI;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -18,7 +20,7 @@ import org.jboss.pnc.dingrogu.api.client.CausewayProducer;
 import org.jboss.pnc.dingrogu.api.dto.adapter.BrewPushDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -27,7 +29,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.logging.Log;
 
 @ApplicationScoped
-public class CausewayBuildPushAdapter implements Adapter<BrewPushDTO> {
+public class CausewayBuildPushAdapter implements ReactiveAdapter<BrewPushDTO> {
 
     private final ObjectMapper objectMapper;
 
@@ -35,7 +37,7 @@ public class CausewayBuildPushAdapter implements Adapter<BrewPushDTO> {
     String dingroguUrl;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     CausewayProducer causewayProducer;
@@ -54,8 +56,18 @@ public class CausewayBuildPushAdapter implements Adapter<BrewPushDTO> {
     }
 
     @Override
-    public Optional<Object> start(String correlationId, StartRequest startRequest) {
-        BrewPushDTO brewPushDTO = objectMapper.convertValue(startRequest.getPayload(), BrewPushDTO.class);
+    public Class<BrewPushDTO> getPayloadType() {
+        return BrewPushDTO.class;
+    }
+
+    @Override
+    public Class<PushResult> getCallbackType() {
+        return PushResult.class;
+    }
+
+    @Override
+    public CompletionStage<Optional<Object>> startAsync(String correlationId, StartRequest startRequest) {
+        BrewPushDTO brewPushDTO = AdapterPayloads.as(objectMapper, startRequest.getPayload(), BrewPushDTO.class);
 
         String callbackUrl = AdapterEndpoint.getCallbackAdapterEndpoint(dingroguUrl, getAdapterName(), correlationId);
         Request callback = new Request(Request.Method.POST, URI.create(callbackUrl));
@@ -71,39 +83,41 @@ public class CausewayBuildPushAdapter implements Adapter<BrewPushDTO> {
                 .build();
 
         Log.infof("Causeway request: %s", request);
-        causewayProducer.getCauseway(brewPushDTO.getCausewayUrl()).importBuild(request);
-        return Optional.empty();
+        return causewayProducer.getAsyncCauseway(brewPushDTO.getCausewayUrl())
+                .importBuild(request)
+                .thenApply(response -> Optional.empty());
     }
 
     @Override
     public void callback(String correlationId, Object o) {
         try {
 
-            PushResult pushResult = objectMapper.convertValue(o, PushResult.class);
+            PushResult pushResult = AdapterPayloads.as(objectMapper, o, PushResult.class);
 
             if (pushResult == null || pushResult.getResult() == null) {
                 Log.error("Build Push response or status is null: " + pushResult);
-                callbackEndpoint.fail(getRexTaskName(correlationId), pushResult, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), pushResult, null);
                 return;
             }
 
             switch (pushResult.getResult()) {
-                case SUCCESS -> callbackEndpoint.succeed(getRexTaskName(correlationId), pushResult, null, null);
+                case SUCCESS -> rexCallbackPipeline.succeed(getRexTaskName(correlationId), pushResult, null);
                 // no rollback
                 case FAILED ->
-                    callbackEndpoint.fail(getRexTaskName(correlationId), pushResult, null, Set.of(SKIP_ROLLBACK));
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), pushResult, Set.of(SKIP_ROLLBACK));
                 // with rollback (if configured)
                 case TIMED_OUT, CANCELLED, SYSTEM_ERROR ->
-                    callbackEndpoint.fail(getRexTaskName(correlationId), pushResult, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), pushResult, null);
             }
         } catch (Exception e) {
             Log.error("Error while receiving callback", e);
-            callbackEndpoint.fail(getRexTaskName(correlationId), o, null, null);
+            rexCallbackPipeline.fail(getRexTaskName(correlationId), o, null);
         }
     }
 
     @Override
-    public void cancel(String correlationId, StopRequest stopRequest) {
+    public CompletionStage<Void> cancelAsync(String correlationId, StopRequest stopRequest) {
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
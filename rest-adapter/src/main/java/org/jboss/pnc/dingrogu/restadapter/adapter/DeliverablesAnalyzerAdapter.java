@@ -15,9 +15,9 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.DelAAnalyzeResponse;
 import org.jboss.pnc.dingrogu.api.dto.adapter.DeliverablesAnalyzerDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.DeliverablesAnalyzerClient;
 import org.jboss.pnc.dingrogu.restadapter.client.GenericClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.dto.ServerResponseDTO;
 import org.jboss.pnc.rex.dto.TaskDTO;
@@ -41,7 +41,7 @@ public class DeliverablesAnalyzerAdapter implements Adapter<DeliverablesAnalyzer
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     TaskEndpoint taskEndpoint;
@@ -54,10 +54,20 @@ public class DeliverablesAnalyzerAdapter implements Adapter<DeliverablesAnalyzer
         return "deliverables-analyzer";
     }
 
+    @Override
+    public Class<DeliverablesAnalyzerDTO> getPayloadType() {
+        return DeliverablesAnalyzerDTO.class;
+    }
+
+    @Override
+    public Class<AnalysisReport> getCallbackType() {
+        return AnalysisReport.class;
+    }
+
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
-        DeliverablesAnalyzerDTO deliverablesAnalyzerDTO = objectMapper
-                .convertValue(startRequest.getPayload(), DeliverablesAnalyzerDTO.class);
+        DeliverablesAnalyzerDTO deliverablesAnalyzerDTO = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), DeliverablesAnalyzerDTO.class);
 
         String callbackUrl = AdapterEndpoint.getCallbackAdapterEndpoint(dingroguUrl, getAdapterName(), correlationId);
         Request callback = new Request(Request.Method.POST, URI.create(callbackUrl), List.of());
@@ -77,12 +87,12 @@ public class DeliverablesAnalyzerAdapter implements Adapter<DeliverablesAnalyzer
     @Override
     public void callback(String correlationId, Object object) {
         try {
-            AnalysisReport report = objectMapper.convertValue(object, AnalysisReport.class);
+            AnalysisReport report = AdapterPayloads.as(objectMapper, object, AnalysisReport.class);
             try {
                 if (report != null && report.isSuccess()) {
-                    callbackEndpoint.succeed(getRexTaskName(correlationId), report, null, null);
+                    rexCallbackPipeline.succeed(getRexTaskName(correlationId), report, null);
                 } else {
-                    callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
@@ -90,7 +100,7 @@ public class DeliverablesAnalyzerAdapter implements Adapter<DeliverablesAnalyzer
         } catch (IllegalArgumentException e) {
             // if we cannot cast object to AnalysisReport, it's probably a failure
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -11,8 +11,8 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.DummyDTO;
 import org.jboss.pnc.dingrogu.api.dto.dummy.DummyServiceResponseDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.DummyClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -36,7 +36,7 @@ public class DummyAdapter implements Adapter<DummyDTO> {
     DummyClient dummyClient;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     ObjectMapper objectMapper;
@@ -52,7 +52,7 @@ public class DummyAdapter implements Adapter<DummyDTO> {
 
         String callbackUrl = AdapterEndpoint.getCallbackAdapterEndpoint(dingroguUrl, getAdapterName(), correlationId);
         Log.info(startRequest.getPayload().toString());
-        DummyDTO dummyDTO = objectMapper.convertValue(startRequest.getPayload(), DummyDTO.class);
+        DummyDTO dummyDTO = AdapterPayloads.as(objectMapper, startRequest.getPayload(), DummyDTO.class);
         dummyClient.start(dummyDTO.getDummyServiceUrl(), callbackUrl);
 
         return Optional.empty();
@@ -60,10 +60,10 @@ public class DummyAdapter implements Adapter<DummyDTO> {
 
     @Override
     public void callback(String correlationId, Object object) {
-        DummyServiceResponseDTO response = objectMapper.convertValue(object, DummyServiceResponseDTO.class);
+        DummyServiceResponseDTO response = AdapterPayloads.as(objectMapper, object, DummyServiceResponseDTO.class);
         Log.infof("DummyService replied with: %s", response.status);
         try {
-            callbackEndpoint.succeed(getRexTaskName(correlationId), response, null, null);
+            rexCallbackPipeline.succeed(getRexTaskName(correlationId), response, null);
         } catch (Exception e) {
             Log.error("Error happened in callback adapter", e);
         }
@@ -83,4 +83,14 @@ public class DummyAdapter implements Adapter<DummyDTO> {
     public String getAdapterName() {
         return "dummy-adapter";
     }
+
+    @Override
+    public Class<DummyDTO> getPayloadType() {
+        return DummyDTO.class;
+    }
+
+    @Override
+    public Class<DummyServiceResponseDTO> getCallbackType() {
+        return DummyServiceResponseDTO.class;
+    }
 }
@@ -2,6 +2,8 @@ package org.jboss.pnc.dingrogu.restadapter.adapter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -14,7 +16,7 @@ import org.jboss.pnc.dingrogu.api.client.EnvironmentDriver;
 import org.jboss.pnc.dingrogu.api.client.EnvironmentDriverProducer;
 import org.jboss.pnc.dingrogu.api.dto.adapter.EnvironmentDriverCompleteDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.DelayedCallbackDispatcher;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.common.enums.State;
 import org.jboss.pnc.rex.dto.ServerResponseDTO;
@@ -27,7 +29,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.logging.Log;
 
 @ApplicationScoped
-public class EnvironmentDriverCompleteAdapter implements Adapter<EnvironmentDriverCompleteDTO> {
+public class EnvironmentDriverCompleteAdapter implements ReactiveAdapter<EnvironmentDriverCompleteDTO> {
 
     @Inject
     ObjectMapper objectMapper;
@@ -39,13 +41,13 @@ public class EnvironmentDriverCompleteAdapter implements Adapter<EnvironmentDriv
     EnvironmentDriverCreateAdapter environmentDriverCreateAdapter;
 
     @Inject
-    ManagedExecutor managedExecutor;
+    DelayedCallbackDispatcher delayedCallbackDispatcher;
 
     @Inject
     TaskEndpoint taskEndpoint;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    ManagedExecutor managedExecutor;
 
     @Override
     public String getAdapterName() {
@@ -53,25 +55,50 @@ public class EnvironmentDriverCompleteAdapter implements Adapter<EnvironmentDriv
     }
 
     @Override
-    public Optional<Object> start(String correlationId, StartRequest startRequest) {
-        EnvironmentDriverCompleteDTO dto = objectMapper
-                .convertValue(startRequest.getPayload(), EnvironmentDriverCompleteDTO.class);
-
-        EnvironmentCompleteResponse environmentCompleteResponse = clearEnvironment(
-                dto.getEnvironmentDriverUrl(),
-                correlationId,
-                dto.isDebugEnabled());
-        sendDelayedSuccessfulCallbackToRex(correlationId);
-        return Optional.ofNullable(environmentCompleteResponse);
+    public Class<EnvironmentDriverCompleteDTO> getPayloadType() {
+        return EnvironmentDriverCompleteDTO.class;
+    }
+
+    @Override
+    public CompletionStage<Optional<Object>> startAsync(String correlationId, StartRequest startRequest) {
+        EnvironmentDriverCompleteDTO dto = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), EnvironmentDriverCompleteDTO.class);
+
+        return clearEnvironmentAsync(dto.getEnvironmentDriverUrl(), correlationId, dto.isDebugEnabled())
+                .thenApply(environmentCompleteResponse -> {
+                    sendDelayedSuccessfulCallbackToRex(correlationId);
+                    return Optional.ofNullable(environmentCompleteResponse);
+                });
     }
 
     public EnvironmentCompleteResponse clearEnvironment(
             String environmentDriverUrl,
             String correlationId,
             boolean isDebugEnabled) {
-        // get unique id created by environment-driver-create sent back to rex in the start method
-        TaskDTO envDriverCreateTask = taskEndpoint
-                .getSpecific(environmentDriverCreateAdapter.getRexTaskName(correlationId));
+        return clearEnvironmentAsync(environmentDriverUrl, correlationId, isDebugEnabled).toCompletableFuture().join();
+    }
+
+    public CompletionStage<EnvironmentCompleteResponse> clearEnvironmentAsync(
+            String environmentDriverUrl,
+            String correlationId,
+            boolean isDebugEnabled) {
+        // get unique id created by environment-driver-create sent back to rex in the start method. The Rex client is
+        // blocking
+        String envDriverCreateTaskName = environmentDriverCreateAdapter.getRexTaskName(correlationId);
+        return managedExecutor.supplyAsync(() -> taskEndpoint.getSpecific(envDriverCreateTaskName))
+                .thenCompose(
+                        envDriverCreateTask -> clearEnvironment(
+                                environmentDriverUrl,
+                                correlationId,
+                                isDebugEnabled,
+                                envDriverCreateTask));
+    }
+
+    private CompletionStage<EnvironmentCompleteResponse> clearEnvironment(
+            String environmentDriverUrl,
+            String correlationId,
+            boolean isDebugEnabled,
+            TaskDTO envDriverCreateTask) {
         List<ServerResponseDTO> serverResponses = envDriverCreateTask.getServerResponses();
 
         if (serverResponses.isEmpty()) {
@@ -86,7 +113,7 @@ public class EnvironmentDriverCompleteAdapter implements Adapter<EnvironmentDriv
                 .toList();
         if (responses.isEmpty()) {
             Log.infof("Not enough information to be able to delete the environment. Correlation id: %s", correlationId);
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
         ServerResponseDTO last = responses.get(responses.size() - 1);
         EnvironmentCreateResponse response = objectMapper.convertValue(last.getBody(), EnvironmentCreateResponse.class);
@@ -102,31 +129,18 @@ public class EnvironmentDriverCompleteAdapter implements Adapter<EnvironmentDriv
 
         if (isDebugEnabled) {
             // don't try to delete the environment since debug is enabled
-            return null;
+            return CompletableFuture.completedFuture(null);
         } else {
-            EnvironmentCompleteResponse environmentCompleteResponse = environmentDriver
-                    .complete(environmentCompleteRequest)
-                    .toCompletableFuture()
-                    .join();
-            Log.infof("Initial environment complete response: %s", environmentCompleteResponse);
-            return environmentCompleteResponse;
+            return environmentDriver.complete(environmentCompleteRequest).thenApply(environmentCompleteResponse -> {
+                Log.infof("Initial environment complete response: %s", environmentCompleteResponse);
+                return environmentCompleteResponse;
+            });
         }
     }
 
     private void sendDelayedSuccessfulCallbackToRex(String correlationId) {
-        managedExecutor.submit(() -> {
-            try {
-                // sleep for 5 seconds to make sure that Rex has processed the successful start
-                Thread.sleep(2000L);
-            } catch (InterruptedException e) {
-                Log.error(e);
-            }
-            try {
-                callbackEndpoint.succeed(getRexTaskName(correlationId), null, null, null);
-            } catch (Exception e) {
-                Log.error("Error happened in rex client callback to Rex server for environment driver complete", e);
-            }
-        });
+        // delay the callback to make sure that Rex has processed the successful start
+        delayedCallbackDispatcher.succeed(getRexTaskName(correlationId), null);
     }
 
     @Override
@@ -140,7 +154,8 @@ public class EnvironmentDriverCompleteAdapter implements Adapter<EnvironmentDriv
     }
 
     @Override
-    public void cancel(String correlationId, StopRequest stopRequest) {
+    public CompletionStage<Void> cancelAsync(String correlationId, StopRequest stopRequest) {
         // do nothing
+        return CompletableFuture.completedFuture(null);
     }
 }
@@ -6,17 +6,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.pnc.api.dto.Request;
 import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateRequest;
 import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResponse;
 import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResult;
 import org.jboss.pnc.api.repositorydriver.dto.RepositoryCreateResponse;
-import org.jboss.pnc.common.log.ProcessStageUtils;
 import org.jboss.pnc.dingrogu.api.client.EnvironmentDriver;
 import org.jboss.pnc.dingrogu.api.client.EnvironmentDriverProducer;
 import org.jboss.pnc.dingrogu.api.dto.adapter.EnvironmentDriverCreateDTO;
@@ -24,7 +26,9 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.ProcessStage;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
+import org.jboss.pnc.dingrogu.restadapter.environment.EnvironmentWarmPool;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.common.enums.State;
 import org.jboss.pnc.rex.dto.ServerResponseDTO;
@@ -37,7 +41,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.logging.Log;
 
 @ApplicationScoped
-public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriverCreateDTO> {
+public class EnvironmentDriverCreateAdapter implements ReactiveAdapter<EnvironmentDriverCreateDTO> {
 
     @ConfigProperty(name = "dingrogu.url")
     String dingroguUrl;
@@ -46,7 +50,7 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     EnvironmentDriverProducer environmentDriverProducer;
@@ -57,16 +61,35 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
     @Inject
     TaskEndpoint taskEndpoint;
 
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    @Inject
+    EnvironmentWarmPool environmentWarmPool;
+
+    @Inject
+    WorkflowProgress workflowProgress;
+
     @Override
     public String getAdapterName() {
         return "environment-driver-create";
     }
 
     @Override
-    public Optional<Object> start(String correlationId, StartRequest startRequest) {
+    public Class<EnvironmentDriverCreateDTO> getPayloadType() {
+        return EnvironmentDriverCreateDTO.class;
+    }
 
-        ProcessStageUtils
-                .logProcessStageBegin(ProcessStage.BUILD_ENV_SETTING_UP.name(), "Starting the build container");
+    @Override
+    public Class<EnvironmentCreateResult> getCallbackType() {
+        return EnvironmentCreateResult.class;
+    }
+
+    @Override
+    public CompletionStage<Optional<Object>> startAsync(String correlationId, StartRequest startRequest) {
+
+        workflowProgress
+                .stageBegin(correlationId, ProcessStage.BUILD_ENV_SETTING_UP.name(), "Starting the build container");
         Request callback;
         try {
             callback = new Request(
@@ -78,8 +101,13 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
             Log.error(e);
             throw new RuntimeException(e);
         }
-        EnvironmentDriverCreateDTO dto = objectMapper
-                .convertValue(startRequest.getPayload(), EnvironmentDriverCreateDTO.class);
+        EnvironmentDriverCreateDTO dto = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), EnvironmentDriverCreateDTO.class);
+
+        // the pool is in shadow mode: the environment is still created for this build below
+        if (environmentWarmPool.claim(dto.getEnvironmentImage(), dto.getEnvironmentLabel())) {
+            Log.debugf("Warm environment pool would have hit for image %s", dto.getEnvironmentImage());
+        }
 
         Map<String, Object> pastResults = startRequest.getTaskResults();
         Object repoDriverSetup = pastResults.get(repositoryDriverSetupAdapter.getRexTaskName(correlationId));
@@ -105,39 +133,39 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
                 .build();
         Log.infof("Environment create request: %s", environmentCreateRequest);
 
-        EnvironmentCreateResponse environmentCreateResponse = environmentDriver.build(environmentCreateRequest)
-                .toCompletableFuture()
-                .join();
-        Log.infof("Initial environment create response: %s", environmentCreateResponse);
-        return Optional.ofNullable(environmentCreateResponse);
+        return environmentDriver.build(environmentCreateRequest).thenApply(environmentCreateResponse -> {
+            Log.infof("Initial environment create response: %s", environmentCreateResponse);
+            return Optional.ofNullable(environmentCreateResponse);
+        });
     }
 
     @Override
     public void callback(String correlationId, Object object) {
-        ProcessStageUtils.logProcessStageEnd(ProcessStage.BUILD_ENV_SETTING_UP.name(), "Build environment prepared.");
+        workflowProgress
+                .stageEnd(correlationId, ProcessStage.BUILD_ENV_SETTING_UP.name(), "Build environment prepared.");
         try {
-            EnvironmentCreateResult response = objectMapper.convertValue(object, EnvironmentCreateResult.class);
+            EnvironmentCreateResult response = AdapterPayloads.as(objectMapper, object, EnvironmentCreateResult.class);
             Log.infof("Environment create response: %s", response);
             try {
                 if (response == null || response.getStatus() == null) {
                     Log.error("Environment response or status is null: " + response);
-                    callbackEndpoint.fail(getRexTaskName(correlationId), response, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
                     return;
                 }
                 switch (response.getStatus()) {
-                    case SUCCESS -> callbackEndpoint.succeed(getRexTaskName(correlationId), response, null, null);
+                    case SUCCESS -> rexCallbackPipeline.succeed(getRexTaskName(correlationId), response, null);
 
                     // with rollback (if configured)
                     // TODO should FAILED status from ENV. Driver skip rollback like in other Adapters?
                     case FAILED, TIMED_OUT, CANCELLED, SYSTEM_ERROR ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), response, null, null);
+                        rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
             }
         } catch (IllegalArgumentException e) {
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -150,9 +178,14 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
     }
 
     @Override
-    public void cancel(String correlationId, StopRequest stopRequest) {
-        // get own unique id created by environment-driver-create sent back to rex in the start method
-        TaskDTO ownTask = taskEndpoint.getSpecific(getRexTaskName(correlationId));
+    public CompletionStage<Void> cancelAsync(String correlationId, StopRequest stopRequest) {
+        // get own unique id created by environment-driver-create sent back to rex in the start method. The Rex client
+        // is blocking
+        return managedExecutor.supplyAsync(() -> taskEndpoint.getSpecific(getRexTaskName(correlationId)))
+                .thenCompose(ownTask -> cancel(correlationId, stopRequest, ownTask));
+    }
+
+    private CompletionStage<Void> cancel(String correlationId, StopRequest stopRequest, TaskDTO ownTask) {
         List<ServerResponseDTO> serverResponses = ownTask.getServerResponses();
 
         if (serverResponses.isEmpty()) {
@@ -167,7 +200,7 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
 
         if (responses.isEmpty()) {
             Log.infof("Not enough information to be able to delete the environment. Correlation id: %s", correlationId);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         ServerResponseDTO last = responses.get(responses.size() - 1);
@@ -179,7 +212,7 @@ public class EnvironmentDriverCreateAdapter implements Adapter<EnvironmentDriver
         EnvironmentDriver environmentDriver = environmentDriverProducer
                 .getEnvironmentDriver(dto.getEnvironmentDriverUrl());
 
-        environmentDriver.cancel(environmentCreateResponse.getEnvironmentId());
+        return environmentDriver.cancel(environmentCreateResponse.getEnvironmentId()).thenApply(response -> null);
     }
 
     /**
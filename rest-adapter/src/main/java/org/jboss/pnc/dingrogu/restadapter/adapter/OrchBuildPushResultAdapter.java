@@ -17,8 +17,8 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.OrchBuildPushResultDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.OrchClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -42,13 +42,23 @@ public class OrchBuildPushResultAdapter implements Adapter<OrchBuildPushResultDT
     OrchClient orchClient;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Override
     public String getAdapterName() {
         return "orch-push-result";
     }
 
+    @Override
+    public Class<OrchBuildPushResultDTO> getPayloadType() {
+        return OrchBuildPushResultDTO.class;
+    }
+
+    @Override
+    public Class<ResultStatus> getCallbackType() {
+        return ResultStatus.class;
+    }
+
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
 
@@ -63,7 +73,8 @@ public class OrchBuildPushResultAdapter implements Adapter<OrchBuildPushResultDT
             Log.error(e);
             throw new RuntimeException(e);
         }
-        OrchBuildPushResultDTO dto = objectMapper.convertValue(startRequest.getPayload(), OrchBuildPushResultDTO.class);
+        OrchBuildPushResultDTO dto = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), OrchBuildPushResultDTO.class);
 
         Map<String, Object> pastResults = startRequest.getTaskResults();
         Object pastResult = pastResults.get(causewayBuildPushAdapter.getRexTaskName(correlationId));
@@ -83,12 +94,12 @@ public class OrchBuildPushResultAdapter implements Adapter<OrchBuildPushResultDT
     @Override
     public void callback(String correlationId, Object object) {
         try {
-            ResultStatus resultStatus = objectMapper.convertValue(object, ResultStatus.class);
+            ResultStatus resultStatus = AdapterPayloads.as(objectMapper, object, ResultStatus.class);
             try {
                 if (resultStatus != null && resultStatus.isSuccess()) {
-                    callbackEndpoint.succeed(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.succeed(getRexTaskName(correlationId), object, null);
                 } else {
-                    callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
@@ -96,7 +107,7 @@ public class OrchBuildPushResultAdapter implements Adapter<OrchBuildPushResultDT
         } catch (IllegalArgumentException e) {
             // if we cannot cast object to ResultStatus, it's probably a failure
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -17,8 +17,8 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.OrchDeliverablesAnalyzerResultDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.OrchClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -42,13 +42,23 @@ public class OrchDeliverablesAnalyzerResultAdapter implements Adapter<OrchDelive
     DeliverablesAnalyzerAdapter deliverablesAnalyzerAdapter;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Override
     public String getAdapterName() {
         return "orch-dela-result";
     }
 
+    @Override
+    public Class<OrchDeliverablesAnalyzerResultDTO> getPayloadType() {
+        return OrchDeliverablesAnalyzerResultDTO.class;
+    }
+
+    @Override
+    public Class<ResultStatus> getCallbackType() {
+        return ResultStatus.class;
+    }
+
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
         Request callback;
@@ -64,8 +74,8 @@ public class OrchDeliverablesAnalyzerResultAdapter implements Adapter<OrchDelive
         }
 
         // grab payload DTO
-        OrchDeliverablesAnalyzerResultDTO dto = objectMapper
-                .convertValue(startRequest.getPayload(), OrchDeliverablesAnalyzerResultDTO.class);
+        OrchDeliverablesAnalyzerResultDTO dto = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), OrchDeliverablesAnalyzerResultDTO.class);
 
         Map<String, Object> pastResults = startRequest.getTaskResults();
         Object pastResult = pastResults.get(deliverablesAnalyzerAdapter.getRexTaskName(correlationId));
@@ -87,12 +97,12 @@ public class OrchDeliverablesAnalyzerResultAdapter implements Adapter<OrchDelive
     @Override
     public void callback(String correlationId, Object object) {
         try {
-            ResultStatus resultStatus = objectMapper.convertValue(object, ResultStatus.class);
+            ResultStatus resultStatus = AdapterPayloads.as(objectMapper, object, ResultStatus.class);
             try {
                 if (resultStatus != null && resultStatus.isSuccess()) {
-                    callbackEndpoint.succeed(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.succeed(getRexTaskName(correlationId), object, null);
                 } else {
-                    callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
@@ -100,7 +110,7 @@ public class OrchDeliverablesAnalyzerResultAdapter implements Adapter<OrchDelive
         } catch (IllegalArgumentException e) {
             // if we cannot cast object to ResultStatus, it's probably a failure
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -0,0 +1,48 @@
+package org.jboss.pnc.dingrogu.restadapter.adapter;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.pnc.rex.model.requests.StartRequest;
+import org.jboss.pnc.rex.model.requests.StopRequest;
+
+/**
+ * Adapter whose start and cancel requests to the application are non-blocking. The {@link
+ * org.jboss.pnc.dingrogu.restadapter.rest.AdapterEndpointImpl} dispatches to the async methods directly, so that no
+ * thread is held while waiting for the application to answer.
+ *
+ * The implementations must not block in the async methods: blocking calls (e.g. to Rex) have to be offloaded to the
+ * managed executor. The callback is still run on the worker pool since it only talks to Rex, whose client is blocking.
+ *
+ * <T>: generate rex task DTO
+ */
+public interface ReactiveAdapter<T> extends Adapter<T> {
+
+    /**
+     * Non-blocking version of {@link #start(String, StartRequest)}
+     *
+     * @param correlationId correlation id
+     * @param startRequest start request from Rex
+     * @return object to send back to Rex, if any
+     */
+    CompletionStage<Optional<Object>> startAsync(String correlationId, StartRequest startRequest);
+
+    /**
+     * Non-blocking version of {@link #cancel(String, StopRequest)}
+     *
+     * @param correlationId correlation id
+     * @param stopRequest stop request from Rex
+     * @return completed once the application has accepted the cancel request
+     */
+    CompletionStage<Void> cancelAsync(String correlationId, StopRequest stopRequest);
+
+    @Override
+    default Optional<Object> start(String correlationId, StartRequest startRequest) {
+        return startAsync(correlationId, startRequest).toCompletableFuture().join();
+    }
+
+    @Override
+    default void cancel(String correlationId, StopRequest stopRequest) {
+        cancelAsync(correlationId, stopRequest).toCompletableFuture().join();
+    }
+}
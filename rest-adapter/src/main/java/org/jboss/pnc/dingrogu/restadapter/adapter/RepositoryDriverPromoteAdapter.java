@@ -4,6 +4,7 @@ import static org.jboss.pnc.rex.common.enums.ResponseFlag.SKIP_ROLLBACK;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -14,14 +15,14 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.pnc.api.dto.Request;
 import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteRequest;
 import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteResult;
-import org.jboss.pnc.common.log.ProcessStageUtils;
 import org.jboss.pnc.dingrogu.api.dto.adapter.ProcessStage;
 import org.jboss.pnc.dingrogu.api.dto.adapter.RepositoryDriverPromoteDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.RepositoryDriverClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -42,13 +43,26 @@ public class RepositoryDriverPromoteAdapter implements Adapter<RepositoryDriverP
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
+
+    @Inject
+    WorkflowProgress workflowProgress;
 
     @Override
     public String getAdapterName() {
         return "repository-driver-promote";
     }
 
+    @Override
+    public Class<RepositoryDriverPromoteDTO> getPayloadType() {
+        return RepositoryDriverPromoteDTO.class;
+    }
+
+    @Override
+    public Class<RepositoryPromoteResult> getCallbackType() {
+        return RepositoryPromoteResult.class;
+    }
+
     /**
      * The request to repository driver doesn't support callbacks. We'll have to simulate it!
      *
@@ -58,7 +72,8 @@ public class RepositoryDriverPromoteAdapter implements Adapter<RepositoryDriverP
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
 
-        ProcessStageUtils.logProcessStageBegin(
+        workflowProgress.stageBegin(
+                correlationId,
                 ProcessStage.COLLECTING_RESULTS_FROM_REPOSITORY_MANAGER.name(),
                 "Collecting results from repository manager");
         Request callback;
@@ -73,8 +88,8 @@ public class RepositoryDriverPromoteAdapter implements Adapter<RepositoryDriverP
             throw new RuntimeException(e);
         }
 
-        RepositoryDriverPromoteDTO repoPromoteDTO = objectMapper
-                .convertValue(startRequest.getPayload(), RepositoryDriverPromoteDTO.class);
+        RepositoryDriverPromoteDTO repoPromoteDTO = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), RepositoryDriverPromoteDTO.class);
 
         RepositoryPromoteRequest promoteRequest = RepositoryPromoteRequest.builder()
                 .buildContentId(repoPromoteDTO.getBuildContentId())
@@ -93,49 +108,69 @@ public class RepositoryDriverPromoteAdapter implements Adapter<RepositoryDriverP
     }
 
     /**
+     * The promote result lists all the built artifacts and dependencies of the build, which can be tens of thousands
+     * of artifacts: the callback body is read straight into the result (see {@link #getCallbackType()}), and the typed
+     * result is what is sent to Rex.
      *
      * @param correlationId
      * @param object callback object
      */
     @Override
     public void callback(String correlationId, Object object) {
+        RepositoryPromoteResult response;
         try {
-            RepositoryPromoteResult response = objectMapper.convertValue(object, RepositoryPromoteResult.class);
-            ProcessStageUtils.logProcessStageEnd(
-                    ProcessStage.COLLECTING_RESULTS_FROM_REPOSITORY_MANAGER.name(),
-                    "Collected results from repository manager.");
-
-            try {
-                if (response == null || response.getStatus() == null) {
-                    Log.error("Repository promotion response or status is null: " + response);
-                    callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
-                    return;
-                }
-                switch (response.getStatus()) {
-                    case SUCCESS -> {
-                        Log.infof("Repository promote response: %s", response.toString());
-                        callbackEndpoint.succeed(getRexTaskName(correlationId), object, null, null);
-                    }
-                    // no rollback (f.e. on promotion validation which is not recoverable)
-                    case FAILED ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), object, null, Set.of(SKIP_ROLLBACK));
-                    // with rollback (if configured)
-                    case TIMED_OUT, CANCELLED, SYSTEM_ERROR ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
-                }
-            } catch (Exception e) {
-                Log.error("Error happened in callback adapter", e);
-            }
+            response = AdapterPayloads.as(objectMapper, object, RepositoryPromoteResult.class);
         } catch (IllegalArgumentException e) {
-            // if we cannot cast object to AdjustResponse, it's probably a failure
-            try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
-            } catch (Exception ex) {
-                Log.error("Error happened in callback adapter", ex);
+            // if we cannot cast object to RepositoryPromoteResult, it's probably a failure
+            failCallback(correlationId, object);
+            return;
+        }
+
+        workflowProgress.stageEnd(
+                correlationId,
+                ProcessStage.COLLECTING_RESULTS_FROM_REPOSITORY_MANAGER.name(),
+                "Collected results from repository manager.");
+
+        try {
+            if (response == null || response.getStatus() == null) {
+                Log.error("Repository promotion response or status is null: " + response);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
+                return;
+            }
+            switch (response.getStatus()) {
+                case SUCCESS -> {
+                    Log.infof(
+                            "Repository promote response: status: %s, build content id: %s, built artifacts: %d, "
+                                    + "dependencies: %d",
+                            response.getStatus(),
+                            response.getBuildContentId(),
+                            size(response.getBuiltArtifacts()),
+                            size(response.getDependencies()));
+                    rexCallbackPipeline.succeed(getRexTaskName(correlationId), response, null);
+                }
+                // no rollback (f.e. on promotion validation which is not recoverable)
+                case FAILED -> rexCallbackPipeline.fail(getRexTaskName(correlationId), response, Set.of(SKIP_ROLLBACK));
+                // with rollback (if configured)
+                case TIMED_OUT, CANCELLED, SYSTEM_ERROR ->
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
             }
+        } catch (Exception e) {
+            Log.error("Error happened in callback adapter", e);
         }
     }
 
+    private void failCallback(String correlationId, Object result) {
+        try {
+            rexCallbackPipeline.fail(getRexTaskName(correlationId), result, null);
+        } catch (Exception ex) {
+            Log.error("Error happened in callback adapter", ex);
+        }
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
     @Override
     public String getNotificationEndpoint(String adapterUrl) {
         return adapterUrl + WorkflowEndpoint.BUILD_REX_NOTIFY;
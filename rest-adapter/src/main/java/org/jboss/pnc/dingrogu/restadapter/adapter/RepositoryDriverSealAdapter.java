@@ -5,20 +5,17 @@ import java.util.Optional;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
-import org.eclipse.microprofile.context.ManagedExecutor;
-import org.jboss.pnc.common.log.ProcessStageUtils;
 import org.jboss.pnc.dingrogu.api.dto.adapter.ProcessStage;
 import org.jboss.pnc.dingrogu.api.dto.adapter.RepositoryDriverSealDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.DelayedCallbackDispatcher;
 import org.jboss.pnc.dingrogu.restadapter.client.RepositoryDriverClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.quarkus.logging.Log;
-
 @ApplicationScoped
 public class RepositoryDriverSealAdapter implements Adapter<RepositoryDriverSealDTO> {
 
@@ -29,16 +26,21 @@ public class RepositoryDriverSealAdapter implements Adapter<RepositoryDriverSeal
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    DelayedCallbackDispatcher delayedCallbackDispatcher;
 
     @Inject
-    ManagedExecutor managedExecutor;
+    WorkflowProgress workflowProgress;
 
     @Override
     public String getAdapterName() {
         return "repository-driver-seal";
     }
 
+    @Override
+    public Class<RepositoryDriverSealDTO> getPayloadType() {
+        return RepositoryDriverSealDTO.class;
+    }
+
     /**
      * The request to repository driver doesn't support callbacks. We'll have to simulate it!
      *
@@ -48,30 +50,20 @@ public class RepositoryDriverSealAdapter implements Adapter<RepositoryDriverSeal
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
 
-        ProcessStageUtils
-                .logProcessStageBegin(ProcessStage.SEALING_REPOSITORY_MANAGER_RESULTS.name(), "Sealing repository");
-        RepositoryDriverSealDTO repositorySealDTO = objectMapper
-                .convertValue(startRequest.getPayload(), RepositoryDriverSealDTO.class);
+        workflowProgress.stageBegin(
+                correlationId,
+                ProcessStage.SEALING_REPOSITORY_MANAGER_RESULTS.name(),
+                "Sealing repository");
+        RepositoryDriverSealDTO repositorySealDTO = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), RepositoryDriverSealDTO.class);
 
         repositoryDriverClient.seal(repositorySealDTO.getRepositoryDriverUrl(), repositorySealDTO.getBuildContentId());
-        ProcessStageUtils
-                .logProcessStageEnd(
-                        ProcessStage.SEALING_REPOSITORY_MANAGER_RESULTS.name(),
-                        "Repository manager results sealed.");
-        managedExecutor.submit(() -> {
-            try {
-                // sleep for 5 seconds to make sure that Rex has processed the successful start
-                Thread.sleep(2000L);
-            } catch (InterruptedException e) {
-                Log.error(e);
-            }
-            try {
-                callbackEndpoint.succeed(getRexTaskName(correlationId), null, null, null);
-            } catch (Exception e) {
-                Log.error("Error happened in rex client callback to Rex server for repository driver seal", e);
-                callbackEndpoint.fail(getRexTaskName(correlationId), e.toString(), null, null);
-            }
-        });
+        workflowProgress.stageEnd(
+                correlationId,
+                ProcessStage.SEALING_REPOSITORY_MANAGER_RESULTS.name(),
+                "Repository manager results sealed.");
+        // delay the callback to make sure that Rex has processed the successful start
+        delayedCallbackDispatcher.succeedOrFail(getRexTaskName(correlationId), null);
 
         return Optional.empty();
     }
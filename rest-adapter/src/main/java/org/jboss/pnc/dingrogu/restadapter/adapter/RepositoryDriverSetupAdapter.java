@@ -9,25 +9,22 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.apache.commons.lang3.StringUtils;
-import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.pnc.api.constants.BuildConfigurationParameterKeys;
 import org.jboss.pnc.api.enums.BuildType;
 import org.jboss.pnc.api.repositorydriver.dto.RepositoryCreateRequest;
 import org.jboss.pnc.api.repositorydriver.dto.RepositoryCreateResponse;
 import org.jboss.pnc.api.reqour.dto.AdjustResponse;
-import org.jboss.pnc.common.log.ProcessStageUtils;
 import org.jboss.pnc.dingrogu.api.dto.adapter.ProcessStage;
 import org.jboss.pnc.dingrogu.api.dto.adapter.RepositoryDriverSetupDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.callback.DelayedCallbackDispatcher;
 import org.jboss.pnc.dingrogu.restadapter.client.RepositoryDriverClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.quarkus.logging.Log;
-
 @ApplicationScoped
 public class RepositoryDriverSetupAdapter implements Adapter<RepositoryDriverSetupDTO> {
 
@@ -38,19 +35,24 @@ public class RepositoryDriverSetupAdapter implements Adapter<RepositoryDriverSet
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    ReqourAdjustAdapter reqourAdjustAdapter;
 
     @Inject
-    ReqourAdjustAdapter reqourAdjustAdapter;
+    DelayedCallbackDispatcher delayedCallbackDispatcher;
 
     @Inject
-    ManagedExecutor managedExecutor;
+    WorkflowProgress workflowProgress;
 
     @Override
     public String getAdapterName() {
         return "repository-driver-setup";
     }
 
+    @Override
+    public Class<RepositoryDriverSetupDTO> getPayloadType() {
+        return RepositoryDriverSetupDTO.class;
+    }
+
     /**
      * The request to repository driver doesn't support callbacks. We'll have to simulate it!
      *
@@ -59,15 +61,17 @@ public class RepositoryDriverSetupAdapter implements Adapter<RepositoryDriverSet
      */
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
-        ProcessStageUtils
-                .logProcessStageBegin(ProcessStage.REPO_SETTING_UP.name(), "Setting up Repository driver repository");
+        workflowProgress.stageBegin(
+                correlationId,
+                ProcessStage.REPO_SETTING_UP.name(),
+                "Setting up Repository driver repository");
 
         Map<String, Object> pastResults = startRequest.getTaskResults();
         Object pastResult = pastResults.get(reqourAdjustAdapter.getRexTaskName(correlationId));
         AdjustResponse reqourResponse = objectMapper.convertValue(pastResult, AdjustResponse.class);
 
-        RepositoryDriverSetupDTO repositorySetupDTO = objectMapper
-                .convertValue(startRequest.getPayload(), RepositoryDriverSetupDTO.class);
+        RepositoryDriverSetupDTO repositorySetupDTO = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), RepositoryDriverSetupDTO.class);
 
         List<String> repositoriesToCreate = new ArrayList<>();
         // first add extra repositories defined in BC if any
@@ -99,22 +103,9 @@ public class RepositoryDriverSetupAdapter implements Adapter<RepositoryDriverSet
 
         RepositoryCreateResponse response = repositoryDriverClient
                 .setup(repositorySetupDTO.getRepositoryDriverUrl(), createRequest);
-        ProcessStageUtils.logProcessStageEnd(
-                ProcessStage.REPO_SETTING_UP.name(),
-                "Repository setup complete");
-        managedExecutor.submit(() -> {
-            try {
-                // sleep for 5 seconds to make sure that Rex has processed the successful start
-                Thread.sleep(2000L);
-            } catch (InterruptedException e) {
-                Log.error(e);
-            }
-            try {
-                callbackEndpoint.succeed(getRexTaskName(correlationId), response, null, null);
-            } catch (Exception e) {
-                Log.error("Error happened in rex client callback to Rex server for repository driver create", e);
-            }
-        });
+        workflowProgress.stageEnd(correlationId, ProcessStage.REPO_SETTING_UP.name(), "Repository setup complete");
+        // delay the callback to make sure that Rex has processed the successful start
+        delayedCallbackDispatcher.succeed(getRexTaskName(correlationId), response);
 
         return Optional.empty();
     }
@@ -23,8 +23,8 @@ import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.GitUrlParser;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.ReqourClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 import org.slf4j.Logger;
@@ -44,7 +44,7 @@ public class ReqourAdjustAdapter implements Adapter<ReqourAdjustDTO> {
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     ReqourClient reqourClient;
@@ -56,6 +56,16 @@ public class ReqourAdjustAdapter implements Adapter<ReqourAdjustDTO> {
         return "reqour-adjust";
     }
 
+    @Override
+    public Class<ReqourAdjustDTO> getPayloadType() {
+        return ReqourAdjustDTO.class;
+    }
+
+    @Override
+    public Class<AdjustResponse> getCallbackType() {
+        return AdjustResponse.class;
+    }
+
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
         Request callback;
@@ -70,7 +80,8 @@ public class ReqourAdjustAdapter implements Adapter<ReqourAdjustDTO> {
             throw new RuntimeException(e);
         }
 
-        ReqourAdjustDTO reqourAdjustDTO = objectMapper.convertValue(startRequest.getPayload(), ReqourAdjustDTO.class);
+        ReqourAdjustDTO reqourAdjustDTO = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), ReqourAdjustDTO.class);
 
         // Generate DTO to submit to Reqour
         InternalGitRepositoryUrl internalUrl = InternalGitRepositoryUrl.builder()
@@ -113,27 +124,27 @@ public class ReqourAdjustAdapter implements Adapter<ReqourAdjustDTO> {
     public void callback(String correlationId, Object object) {
 
         try {
-            AdjustResponse response = objectMapper.convertValue(object, AdjustResponse.class);
+            AdjustResponse response = AdapterPayloads.as(objectMapper, object, AdjustResponse.class);
             try {
                 if (response == null || response.getCallback().getStatus() == null) {
                     Log.error("Adjust response or status is null: " + response);
-                    callbackEndpoint.fail(getRexTaskName(correlationId), response, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
                     return;
                 }
 
                 switch (response.getCallback().getStatus()) {
                     case SUCCESS -> {
                         Log.infof("Adjust response: %s", response.toString());
-                        callbackEndpoint.succeed(getRexTaskName(correlationId), response, null, null);
+                        rexCallbackPipeline.succeed(getRexTaskName(correlationId), response, null);
                     }
 
                     // no rollback
                     case FAILED ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), response, null, Set.of(SKIP_ROLLBACK));
+                        rexCallbackPipeline.fail(getRexTaskName(correlationId), response, Set.of(SKIP_ROLLBACK));
 
                     // with rollback (if configured)
                     case TIMED_OUT, CANCELLED, SYSTEM_ERROR ->
-                        callbackEndpoint.fail(getRexTaskName(correlationId), response, null, null);
+                        rexCallbackPipeline.fail(getRexTaskName(correlationId), response, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
@@ -141,7 +152,7 @@ public class ReqourAdjustAdapter implements Adapter<ReqourAdjustDTO> {
         } catch (IllegalArgumentException e) {
             // if we cannot cast object to AdjustResponse, it's probably a failure
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
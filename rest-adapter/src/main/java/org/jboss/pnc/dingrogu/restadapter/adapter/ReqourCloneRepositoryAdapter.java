@@ -17,8 +17,8 @@ import org.jboss.pnc.dingrogu.api.dto.adapter.ReqourCloneRepositoryDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.ReqourClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -33,7 +33,7 @@ public class ReqourCloneRepositoryAdapter implements Adapter<ReqourCloneReposito
     String dingroguUrl;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     ObjectMapper objectMapper;
@@ -52,8 +52,8 @@ public class ReqourCloneRepositoryAdapter implements Adapter<ReqourCloneReposito
         InternalSCMCreationResponse reqourResponse = objectMapper
                 .convertValue(pastResult, InternalSCMCreationResponse.class);
 
-        ReqourCloneRepositoryDTO dto = objectMapper
-                .convertValue(startRequest.getPayload(), ReqourCloneRepositoryDTO.class);
+        ReqourCloneRepositoryDTO dto = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), ReqourCloneRepositoryDTO.class);
 
         Request callback;
         try {
@@ -85,12 +85,12 @@ public class ReqourCloneRepositoryAdapter implements Adapter<ReqourCloneReposito
     @Override
     public void callback(String correlationId, Object object) {
         try {
-            RepositoryCloneResponse response = objectMapper.convertValue(object, RepositoryCloneResponse.class);
+            RepositoryCloneResponse response = AdapterPayloads.as(objectMapper, object, RepositoryCloneResponse.class);
             try {
                 if (response != null && response.getCallback().getStatus().isSuccess()) {
-                    callbackEndpoint.succeed(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.succeed(getRexTaskName(correlationId), object, null);
                 } else {
-                    callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in callback adapter", e);
@@ -98,7 +98,7 @@ public class ReqourCloneRepositoryAdapter implements Adapter<ReqourCloneReposito
         } catch (IllegalArgumentException e) {
             // if we cannot cast object to RepositoryCloneResponse, it's probably a failure
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -123,6 +123,16 @@ public class ReqourCloneRepositoryAdapter implements Adapter<ReqourCloneReposito
         return "reqour-clone-repository";
     }
 
+    @Override
+    public Class<ReqourCloneRepositoryDTO> getPayloadType() {
+        return ReqourCloneRepositoryDTO.class;
+    }
+
+    @Override
+    public Class<RepositoryCloneResponse> getCallbackType() {
+        return RepositoryCloneResponse.class;
+    }
+
     /**
      * We read past results to build final request
      *
@@ -17,8 +17,8 @@ import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
 import org.jboss.pnc.dingrogu.common.GitUrlParser;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline;
 import org.jboss.pnc.dingrogu.restadapter.client.ReqourClient;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 
@@ -36,15 +36,15 @@ public class ReqourCreateRepositoryAdapter implements Adapter<ReqourCreateReposi
     ObjectMapper objectMapper;
 
     @Inject
-    CallbackEndpoint callbackEndpoint;
+    RexCallbackPipeline rexCallbackPipeline;
 
     @Inject
     ReqourClient reqourClient;
 
     @Override
     public Optional<Object> start(String correlationId, StartRequest startRequest) {
-        ReqourCreateRepositoryDTO reqourCreateDTO = objectMapper
-                .convertValue(startRequest.getPayload(), ReqourCreateRepositoryDTO.class);
+        ReqourCreateRepositoryDTO reqourCreateDTO = AdapterPayloads
+                .as(objectMapper, startRequest.getPayload(), ReqourCreateRepositoryDTO.class);
 
         Request callback;
         try {
@@ -72,14 +72,15 @@ public class ReqourCreateRepositoryAdapter implements Adapter<ReqourCreateReposi
     @Override
     public void callback(String correlationId, Object object) {
         try {
-            InternalSCMCreationResponse response = objectMapper.convertValue(object, InternalSCMCreationResponse.class);
+            InternalSCMCreationResponse response = AdapterPayloads
+                    .as(objectMapper, object, InternalSCMCreationResponse.class);
             try {
                 if (response == null || response.getStatus() == InternalSCMCreationStatus.FAILED
                         || !response.getCallback().getStatus().isSuccess()) {
-                    callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
                 } else {
                     Log.infof("Repo creation response: %s", response.toString());
-                    callbackEndpoint.succeed(getRexTaskName(correlationId), object, null, null);
+                    rexCallbackPipeline.succeed(getRexTaskName(correlationId), object, null);
                 }
             } catch (Exception e) {
                 Log.error("Error happened in rex client callback to Rex server for repository creation", e);
@@ -87,7 +88,7 @@ public class ReqourCreateRepositoryAdapter implements Adapter<ReqourCreateReposi
         } catch (IllegalArgumentException e) {
             // if we cannot cast object to InternalSCMCreationResponse, it's probably a failure
             try {
-                callbackEndpoint.fail(getRexTaskName(correlationId), object, null, null);
+                rexCallbackPipeline.fail(getRexTaskName(correlationId), object, null);
             } catch (Exception ex) {
                 Log.error("Error happened in callback adapter", ex);
             }
@@ -118,6 +119,16 @@ public class ReqourCreateRepositoryAdapter implements Adapter<ReqourCreateReposi
         return "reqour-create-repository";
     }
 
+    @Override
+    public Class<ReqourCreateRepositoryDTO> getPayloadType() {
+        return ReqourCreateRepositoryDTO.class;
+    }
+
+    @Override
+    public Class<InternalSCMCreationResponse> getCallbackType() {
+        return InternalSCMCreationResponse.class;
+    }
+
     private static String getProjectName(String externalUrl) {
         return GitUrlParser.generateInternalGitRepoName(externalUrl);
     }
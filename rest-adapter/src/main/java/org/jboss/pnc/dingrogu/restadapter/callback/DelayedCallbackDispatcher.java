@@ -0,0 +1,66 @@
+package org.jboss.pnc.dingrogu.restadapter.callback;
+
+import java.time.Duration;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline.CallbackType;
+
+/**
+ * Sends callbacks to Rex after a delay, without blocking a thread while waiting.
+ *
+ * Some adapters finish their work synchronously in the start request. Rex needs to process the response of the start
+ * request before it can accept the callback, so the callback has to be delayed a bit. The callbacks are submitted to
+ * the {@link RexCallbackPipeline} with that delay: the coalescing per Rex task, the retries and the spill file of the
+ * pipeline apply to them too.
+ */
+@ApplicationScoped
+public class DelayedCallbackDispatcher {
+
+    @ConfigProperty(name = "dingrogu.callback.delay", defaultValue = "PT2S")
+    Duration delay;
+
+    @Inject
+    RexCallbackPipeline rexCallbackPipeline;
+
+    /**
+     * Mark the Rex task as successful after the delay
+     *
+     * @param rexTaskName Rex task name
+     * @param result result of the task
+     */
+    public void succeed(String rexTaskName, Object result) {
+        rexCallbackPipeline.submitAfter(delay, CallbackType.SUCCEED, rexTaskName, result, false);
+    }
+
+    /**
+     * Mark the Rex task as successful after the delay. If that can't be delivered, mark the Rex task as failed instead
+     *
+     * @param rexTaskName Rex task name
+     * @param result result of the task
+     */
+    public void succeedOrFail(String rexTaskName, Object result) {
+        rexCallbackPipeline.submitAfter(delay, CallbackType.SUCCEED, rexTaskName, result, true);
+    }
+
+    /**
+     * Mark the Rex task as failed after the delay
+     *
+     * @param rexTaskName Rex task name
+     * @param result result of the task
+     */
+    public void fail(String rexTaskName, Object result) {
+        rexCallbackPipeline.submitAfter(delay, CallbackType.FAIL, rexTaskName, result, false);
+    }
+
+    /**
+     * Mark the rollback of the Rex task as successful after the delay
+     *
+     * @param rexTaskName Rex task name
+     */
+    public void rollbackOK(String rexTaskName) {
+        rexCallbackPipeline.submitAfter(delay, CallbackType.ROLLBACK_OK, rexTaskName, null, false);
+    }
+}
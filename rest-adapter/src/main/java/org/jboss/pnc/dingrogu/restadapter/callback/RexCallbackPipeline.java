@@ -0,0 +1,552 @@
+package org.jboss.pnc.dingrogu.restadapter.callback;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.jboss.pnc.rex.common.enums.ResponseFlag;
+import org.slf4j.MDC;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Sends the succeed / fail callbacks of the adapters to Rex in the background.
+ *
+ * The callbacks are put in a bounded queue and sent by a few sender threads. If the queue is full, the callback stays
+ * pending and is queued again after the backoff: it is never sent on the caller thread, which can be the scheduler of
+ * the retries and delayed callbacks. A callback that couldn't be delivered is retried with an exponential backoff,
+ * unless Rex rejected it with a client error. A callback still pending for a Rex task is replaced by a newer callback
+ * for the same task.
+ *
+ * Callbacks can also be submitted with a delay (see {@link DelayedCallbackDispatcher}): they are pending, and
+ * journaled, straight away, but only queued once the delay is over.
+ *
+ * If 'dingrogu.callback.pipeline.spill-file' is set, the pending callbacks are journaled to that file and sent again
+ * on startup, so that they survive a restart of the pod. The journal is written by a thread of its own, in batches
+ * synced to the disk, so the callbacks are not slowed down by it: a callback submitted just before the pod is killed
+ * can be lost.
+ */
+@ApplicationScoped
+public class RexCallbackPipeline {
+
+    @ConfigProperty(name = "dingrogu.callback.pipeline.queue-size", defaultValue = "10000")
+    int queueSize;
+
+    @ConfigProperty(name = "dingrogu.callback.pipeline.senders", defaultValue = "4")
+    int senders;
+
+    @ConfigProperty(name = "dingrogu.callback.pipeline.max-attempts", defaultValue = "10")
+    int maxAttempts;
+
+    @ConfigProperty(name = "dingrogu.callback.pipeline.backoff", defaultValue = "PT1S")
+    Duration backoff;
+
+    @ConfigProperty(name = "dingrogu.callback.pipeline.max-backoff", defaultValue = "PT1M")
+    Duration maxBackoff;
+
+    @ConfigProperty(name = "dingrogu.callback.pipeline.spill-file")
+    Optional<String> spillFile;
+
+    @Inject
+    CallbackEndpoint callbackEndpoint;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Callbacks not delivered yet, by Rex task name
+     */
+    private final Map<String, PendingCallback> pending = new ConcurrentHashMap<>();
+
+    private final AtomicInteger delayed = new AtomicInteger();
+
+    private BlockingQueue<PendingCallback> queue;
+
+    private ExecutorService senderExecutor;
+
+    private ScheduledExecutorService retryScheduler;
+
+    /**
+     * Entries to write to the journal, null if there is no journal
+     */
+    private BlockingQueue<JournalEntry> journal;
+
+    private Thread journalWriter;
+
+    private FileChannel journalChannel;
+
+    @PostConstruct
+    void init() {
+        queue = new LinkedBlockingQueue<>(queueSize);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        senderExecutor = Executors.newFixedThreadPool(senders, runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-rex-callback-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-rex-callback-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("dingrogu.callback.pipeline.backlog", pending, Map::size)
+                .description("Number of callbacks not delivered to Rex yet")
+                .register(meterRegistry);
+        Gauge.builder("dingrogu.callback.pipeline.delayed", delayed, AtomicInteger::get)
+                .description("Number of callbacks waiting for their delay to be over")
+                .register(meterRegistry);
+
+        spillFile.map(Path::of).ifPresent(this::replaySpillFile);
+
+        for (int i = 0; i < senders; i++) {
+            senderExecutor.execute(this::sendLoop);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senderExecutor.shutdownNow();
+        retryScheduler.shutdownNow();
+        if (!pending.isEmpty()) {
+            Log.warnf(
+                    "Shutting down with %d callbacks not delivered to Rex%s",
+                    pending.size(),
+                    spillFile.map(file -> ", they are kept in " + file).orElse(": " + pending.keySet()));
+        }
+        closeJournal();
+    }
+
+    /**
+     * Mark the Rex task as successful
+     *
+     * @param rexTaskName Rex task name
+     * @param result result of the task
+     * @param flags response flags, can be null
+     */
+    public void succeed(String rexTaskName, Object result, Set<ResponseFlag> flags) {
+        submit(newCallback(CallbackType.SUCCEED, rexTaskName, result, flags, false));
+    }
+
+    /**
+     * Mark the Rex task as failed
+     *
+     * @param rexTaskName Rex task name
+     * @param result result of the task
+     * @param flags response flags, can be null
+     */
+    public void fail(String rexTaskName, Object result, Set<ResponseFlag> flags) {
+        submit(newCallback(CallbackType.FAIL, rexTaskName, result, flags, false));
+    }
+
+    /**
+     * Send the callback once the delay is over
+     *
+     * @param delay delay
+     * @param type type of the callback
+     * @param rexTaskName Rex task name
+     * @param result result of the task, null for a rollback
+     * @param failIfUndelivered mark the Rex task as failed if a succeed callback can't be delivered
+     */
+    void submitAfter(
+            Duration delay,
+            CallbackType type,
+            String rexTaskName,
+            Object result,
+            boolean failIfUndelivered) {
+        PendingCallback callback = newCallback(type, rexTaskName, result, null, failIfUndelivered);
+        register(callback);
+        delayed.incrementAndGet();
+        retryScheduler.schedule(() -> {
+            delayed.decrementAndGet();
+            enqueue(callback);
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static PendingCallback newCallback(
+            CallbackType type,
+            String rexTaskName,
+            Object result,
+            Set<ResponseFlag> flags,
+            boolean failIfUndelivered) {
+        return new PendingCallback(UUID.randomUUID().toString(), type, rexTaskName, result, flags, failIfUndelivered);
+    }
+
+    private void submit(PendingCallback callback) {
+        register(callback);
+        enqueue(callback);
+    }
+
+    private void register(PendingCallback callback) {
+        PendingCallback previous = pending.put(callback.key(), callback);
+        if (previous != null) {
+            Log.infof("Callback for %s not delivered yet, replacing it with the newer one", callback.key());
+            previous.superseded = true;
+            journalDone(previous);
+            meterRegistry.counter("dingrogu.callback.pipeline.coalesced").increment();
+        }
+        journalAdd(callback);
+    }
+
+    private void enqueue(PendingCallback callback) {
+        if (callback.superseded) {
+            return;
+        }
+        if (!queue.offer(callback)) {
+            Log.warnf(
+                    "Callback queue full, queuing the callback for %s again in %dms",
+                    callback.rexTaskName,
+                    backoff.toMillis());
+            meterRegistry.counter("dingrogu.callback.pipeline.queue-full").increment();
+            retryScheduler.schedule(() -> enqueue(callback), backoff.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                deliver(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                Log.error("Unexpected error in the Rex callback sender", e);
+            }
+        }
+    }
+
+    private void deliver(PendingCallback callback) {
+        if (callback.superseded) {
+            return;
+        }
+        Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        if (callback.mdc != null) {
+            MDC.setContextMap(callback.mdc);
+        }
+        try {
+            send(callback);
+        } finally {
+            if (previousMdc == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(previousMdc);
+            }
+        }
+    }
+
+    private void send(PendingCallback callback) {
+        callback.attempt++;
+        try {
+            switch (callback.type) {
+                case SUCCEED -> callbackEndpoint.succeed(callback.rexTaskName, callback.result, null, callback.flags);
+                case FAIL -> callbackEndpoint.fail(callback.rexTaskName, callback.result, null, callback.flags);
+                case ROLLBACK_OK -> callbackEndpoint.rollbackOK(callback.rexTaskName, null, null);
+            }
+            complete(callback, "success");
+        } catch (Exception e) {
+            if (!isRetriable(e) || callback.attempt >= maxAttempts) {
+                Log.errorf(e, "Couldn't deliver the %s callback of %s to Rex", callback.type, callback.rexTaskName);
+                meterRegistry.counter("dingrogu.callback.pipeline.failures", "type", callback.type.name()).increment();
+                complete(callback, "failure");
+                if (callback.failIfUndelivered) {
+                    submit(newCallback(CallbackType.FAIL, callback.rexTaskName, e.toString(), null, false));
+                }
+                return;
+            }
+
+            long backoffMillis = Math.min(
+                    maxBackoff.toMillis(),
+                    backoff.toMillis() * (1L << Math.min(callback.attempt - 1, 20)));
+            Log.warnf(
+                    "Error sending the %s callback of %s to Rex (attempt %d/%d), retrying in %dms: %s",
+                    callback.type,
+                    callback.rexTaskName,
+                    callback.attempt,
+                    maxAttempts,
+                    backoffMillis,
+                    e.toString());
+            meterRegistry.counter("dingrogu.callback.pipeline.retries", "type", callback.type.name()).increment();
+            retryScheduler.schedule(() -> enqueue(callback), backoffMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Rex rejecting the callback (e.g. the task is not in the right state anymore) won't change with a retry
+     */
+    private static boolean isRetriable(Exception e) {
+        if (e instanceof WebApplicationException webApplicationException) {
+            int status = webApplicationException.getResponse().getStatus();
+            return status < 400 || status >= 500 || status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    private void complete(PendingCallback callback, String outcome) {
+        pending.remove(callback.key(), callback);
+        journalDone(callback);
+        Timer.builder("dingrogu.callback.pipeline.latency")
+                .description("Time between submitting a callback and it being delivered to Rex")
+                .tag("type", callback.type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - callback.submittedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void replaySpillFile(Path path) {
+        Map<String, PendingCallback> toReplay = new LinkedHashMap<>();
+        if (Files.exists(path)) {
+            try {
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JsonNode entry = objectMapper.readTree(line);
+                    String id = entry.get("id").asText();
+                    if ("DONE".equals(entry.get("op").asText())) {
+                        toReplay.remove(id);
+                    } else {
+                        toReplay.put(id, fromJournal(id, entry));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // a partially written last line is expected if the pod was killed while writing it
+                Log.warnf("Couldn't fully read the callback spill file %s: %s", path, e.toString());
+            }
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            // start from a compacted file, the callbacks to replay are journaled again when submitted
+            journalChannel = FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            journal = new LinkedBlockingQueue<>();
+            journalWriter = new Thread(this::journalLoop, "dingrogu-rex-callback-journal");
+            journalWriter.setDaemon(true);
+            journalWriter.start();
+        } catch (IOException e) {
+            Log.errorf(e, "Couldn't open the callback spill file %s, pending callbacks won't survive a restart", path);
+        }
+
+        if (!toReplay.isEmpty()) {
+            Log.infof("Sending again %d callbacks not delivered to Rex before the restart", toReplay.size());
+            toReplay.values().forEach(this::submit);
+        }
+    }
+
+    private PendingCallback fromJournal(String id, JsonNode entry) {
+        Set<ResponseFlag> flags = entry.hasNonNull("flags")
+                ? new HashSet<>(objectMapper.convertValue(entry.get("flags"), new TypeReference<List<ResponseFlag>>() {
+                }))
+                : null;
+        return new PendingCallback(
+                id,
+                CallbackType.valueOf(entry.get("type").asText()),
+                entry.get("task").asText(),
+                entry.get("result"),
+                flags,
+                entry.path("failIfUndelivered").asBoolean(false));
+    }
+
+    private void journalAdd(PendingCallback callback) {
+        if (journal != null) {
+            journal.add(JournalEntry.added(callback));
+        }
+    }
+
+    private void journalDone(PendingCallback callback) {
+        if (journal != null) {
+            journal.add(JournalEntry.done(callback));
+        }
+    }
+
+    /**
+     * Write the entries of the journal in batches, each batch being serialized once and synced to the disk
+     */
+    private void journalLoop() {
+        // ids of the callbacks added and not done, once none is left the file is compacted
+        Set<String> live = new HashSet<>();
+        List<JournalEntry> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(journal.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            journal.drainTo(batch);
+            int stop = batch.indexOf(JournalEntry.STOP);
+            writeJournal(stop < 0 ? batch : batch.subList(0, stop), live);
+            batch.clear();
+            if (stop >= 0) {
+                return;
+            }
+        }
+    }
+
+    private void writeJournal(List<JournalEntry> batch, Set<String> live) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (JournalEntry entry : batch) {
+                if (entry.op() == JournalOp.ADD) {
+                    live.add(entry.id());
+                } else {
+                    live.remove(entry.id());
+                }
+                objectMapper.writeValue(lines, entry);
+                lines.write('\n');
+            }
+            if (live.isEmpty()) {
+                // nothing left to replay: compact the file
+                journalChannel.truncate(0);
+            } else {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    journalChannel.write(buffer);
+                }
+            }
+            journalChannel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Log.error("Couldn't write to the callback spill file", e);
+        }
+    }
+
+    private synchronized void closeJournal() {
+        if (journalWriter == null) {
+            return;
+        }
+        journal.add(JournalEntry.STOP);
+        try {
+            journalWriter.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journalChannel.close();
+        } catch (IOException e) {
+            Log.error("Couldn't close the callback spill file", e);
+        }
+        journalWriter = null;
+    }
+
+    enum CallbackType {
+        SUCCEED, FAIL, ROLLBACK_OK
+    }
+
+    private enum JournalOp {
+        ADD, DONE
+    }
+
+    @RegisterForReflection
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record JournalEntry(
+            JournalOp op,
+            String id,
+            CallbackType type,
+            String task,
+            Object result,
+            Set<ResponseFlag> flags,
+            Boolean failIfUndelivered) {
+
+        /**
+         * Marks the end of the journal
+         */
+        private static final JournalEntry STOP = new JournalEntry(null, null, null, null, null, null, null);
+
+        private static JournalEntry added(PendingCallback callback) {
+            return new JournalEntry(
+                    JournalOp.ADD,
+                    callback.id,
+                    callback.type,
+                    callback.rexTaskName,
+                    callback.result,
+                    callback.flags,
+                    callback.failIfUndelivered);
+        }
+
+        private static JournalEntry done(PendingCallback callback) {
+            return new JournalEntry(JournalOp.DONE, callback.id, null, null, null, null, null);
+        }
+    }
+
+    private static class PendingCallback {
+        private final String id;
+        private final CallbackType type;
+        private final String rexTaskName;
+        private final Object result;
+        private final Set<ResponseFlag> flags;
+        private final boolean failIfUndelivered;
+        private final Map<String, String> mdc = MDC.getCopyOfContextMap();
+        private final long submittedAt = System.nanoTime();
+        private volatile boolean superseded;
+        private int attempt;
+
+        private PendingCallback(
+                String id,
+                CallbackType type,
+                String rexTaskName,
+                Object result,
+                Set<ResponseFlag> flags,
+                boolean failIfUndelivered) {
+            this.id = id;
+            this.type = type;
+            this.rexTaskName = rexTaskName;
+            this.result = result;
+            this.flags = flags;
+            this.failIfUndelivered = failIfUndelivered;
+        }
+
+        /**
+         * The succeed and fail callbacks of a task replace each other, the rollback is a callback of its own
+         */
+        private String key() {
+            return type == CallbackType.ROLLBACK_OK ? type + ":" + rexTaskName : rexTaskName;
+        }
+    }
+}
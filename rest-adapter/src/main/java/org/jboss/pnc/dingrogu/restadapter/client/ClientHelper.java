@@ -5,22 +5,46 @@ import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
 import java.util.Map;
 
 import org.jboss.pnc.common.log.MDCUtils;
+import org.jboss.pnc.dingrogu.common.TraceHelper;
 
-import io.quarkus.oidc.client.Tokens;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ClientHelper {
     /**
-     * Generate a map of key / value for HTTP clients, including the MDC values and authentication needed
+     * Generate a map of key / value for HTTP clients, including the MDC values, the trace context and authentication
+     * needed
      * 
-     * @param tokens
+     * @param accessToken
      * @return
      */
-    public static Map<String, String> getClientHeaders(Tokens tokens) {
+    public static Map<String, String> getClientHeaders(String accessToken) {
+
+        Map<String, String> headers = getClientHeaders();
+        addAuthorization(headers, accessToken);
+        return headers;
+    }
+
+    /**
+     * Generate a map of key / value for HTTP clients, including the MDC values and the trace context, without the
+     * authentication: see {@link #addAuthorization(Map, String)}
+     *
+     * @return headers
+     */
+    public static Map<String, String> getClientHeaders() {
 
         Map<String, String> headers = MDCUtils.getHeadersFromMDC();
-        headers.put(AUTHORIZATION, "Bearer " + tokens.getAccessToken());
+        headers.putAll(TraceHelper.getTraceHeaders());
         return headers;
     }
+
+    /**
+     * Add the authentication to the headers of an HTTP client
+     *
+     * @param headers headers
+     * @param accessToken access token
+     */
+    public static void addAuthorization(Map<String, String> headers, String accessToken) {
+        headers.put(AUTHORIZATION, "Bearer " + accessToken);
+    }
 }
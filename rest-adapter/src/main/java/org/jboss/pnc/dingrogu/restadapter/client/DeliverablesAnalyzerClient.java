@@ -5,11 +5,11 @@ import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.faulttolerance.Retry;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.AnalyzePayload;
+import org.jboss.pnc.dingrogu.api.client.OidcTokenProvider;
 import org.jboss.pnc.dingrogu.api.dto.adapter.DelAAnalyzeResponse;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
 
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.Tokens;
 import kong.unirest.core.ContentType;
 import kong.unirest.core.HttpResponse;
 import kong.unirest.core.Unirest;
@@ -18,7 +18,7 @@ import kong.unirest.core.Unirest;
 public class DeliverablesAnalyzerClient {
 
     @Inject
-    Tokens tokens;
+    OidcTokenProvider oidcTokenProvider;
 
     @Retry
     public DelAAnalyzeResponse analyze(String deliverablesAnalyzerUrl, AnalyzePayload request) {
@@ -27,7 +27,7 @@ public class DeliverablesAnalyzerClient {
         HttpResponse<DelAAnalyzeResponse> response = Unirest.post(deliverablesAnalyzerUrl + "/api/analyze")
                 .contentType(ContentType.APPLICATION_JSON)
                 .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
+                .headers(ClientHelper.getClientHeaders(oidcTokenProvider.getAccessToken()))
                 .body(request)
                 .asObject(DelAAnalyzeResponse.class);
 
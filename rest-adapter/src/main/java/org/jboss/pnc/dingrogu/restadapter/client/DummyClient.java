@@ -4,11 +4,11 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.faulttolerance.Retry;
+import org.jboss.pnc.dingrogu.api.client.OidcTokenProvider;
 import org.jboss.pnc.dingrogu.api.dto.dummy.DummyServiceRequestDTO;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
 
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.Tokens;
 import kong.unirest.core.ContentType;
 import kong.unirest.core.HttpResponse;
 import kong.unirest.core.JsonNode;
@@ -18,7 +18,7 @@ import kong.unirest.core.Unirest;
 public class DummyClient {
 
     @Inject
-    Tokens tokens;
+    OidcTokenProvider oidcTokenProvider;
 
     @Retry
     public void start(String dummyUrl, String callbackUrl) {
@@ -28,7 +28,7 @@ public class DummyClient {
         HttpResponse<JsonNode> response = Unirest.post(dummyUrl)
                 .contentType(ContentType.APPLICATION_JSON)
                 .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
+                .headers(ClientHelper.getClientHeaders(oidcTokenProvider.getAccessToken()))
                 .body(request)
                 .asJson();
 
@@ -6,38 +6,25 @@ import jakarta.inject.Inject;
 import org.jboss.pnc.api.dto.Request;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.Tokens;
-import kong.unirest.core.ContentType;
+import kong.unirest.core.HttpMethod;
 import kong.unirest.core.HttpResponse;
-import kong.unirest.core.JsonNode;
-import kong.unirest.core.Unirest;
 
 @ApplicationScoped
 public class GenericClient {
-    @Inject
-    Tokens tokens;
 
     @Inject
-    ObjectMapper objectMapper;
+    OutboundHttpClient outboundHttpClient;
 
     public void send(Request request) {
 
-        try {
-            Log.infof("generic client url is: %s", request.getUri().toString());
-            Log.infof("generic client data is: %s", objectMapper.writeValueAsString(request.getAttachment()));
-        } catch (JsonProcessingException e) {
-            Log.error(e);
-        }
-        HttpResponse<JsonNode> response = Unirest.post(request.getUri().toString())
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(request.getAttachment())
-                .asJson();
+        // serialize the attachment only once, for both the log and the request
+        String data = outboundHttpClient.serialize(request.getAttachment());
+        Log.infof("generic client url is: %s", request.getUri().toString());
+        Log.infof("generic client data is: %s", data);
+
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.GENERIC, HttpMethod.POST, request.getUri().toString(), data);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
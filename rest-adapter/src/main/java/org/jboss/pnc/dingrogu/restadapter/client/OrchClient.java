@@ -13,30 +13,25 @@ import org.jboss.pnc.dingrogu.common.TaskHelper;
 import org.jboss.pnc.dto.tasks.RepositoryCreationResult;
 
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.Tokens;
-import kong.unirest.core.ContentType;
+import kong.unirest.core.HttpMethod;
 import kong.unirest.core.HttpResponse;
-import kong.unirest.core.JsonNode;
-import kong.unirest.core.Unirest;
 
 @ApplicationScoped
 public class OrchClient {
 
     @Inject
-    Tokens tokens;
+    OutboundHttpClient outboundHttpClient;
 
     @Retry
     public void submitBuildPushResult(String orchUrl, String buildId, BuildPushCompleted result) {
         String orchUrlWithoutPath = URI.create(orchUrl).resolve("/").toString();
 
         Log.infof("BuildPushResult for buildid: %s is: %s", buildId, result);
-        HttpResponse<JsonNode> response = Unirest
-                .post(orchUrlWithoutPath + "pnc-rest/v2/builds/" + buildId + "/brew-push/complete")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(result)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient.send(
+                OutboundTarget.ORCH,
+                HttpMethod.POST,
+                orchUrlWithoutPath + "pnc-rest/v2/builds/" + buildId + "/brew-push/complete",
+                result);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
@@ -50,12 +45,11 @@ public class OrchClient {
         String orchUrlWithoutPath = URI.create(orchUrl).resolve("/").toString();
 
         Log.infof("Submit dela request: %s", result);
-        HttpResponse<JsonNode> response = Unirest.post(orchUrlWithoutPath + "pnc-rest/v2/deliverable-analyses/complete")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(result)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient.send(
+                OutboundTarget.ORCH,
+                HttpMethod.POST,
+                orchUrlWithoutPath + "pnc-rest/v2/deliverable-analyses/complete",
+                result);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
@@ -71,13 +65,11 @@ public class OrchClient {
 
         Log.info("Sending Reqour repository to server: " + orchUrlWithoutPath);
 
-        HttpResponse<JsonNode> response = Unirest
-                .post(orchUrlWithoutPath + "pnc-rest/v2/bpm/repository-creation/completed")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(result)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient.send(
+                OutboundTarget.ORCH,
+                HttpMethod.POST,
+                orchUrlWithoutPath + "pnc-rest/v2/bpm/repository-creation/completed",
+                result);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
@@ -89,13 +81,11 @@ public class OrchClient {
     public void completeOperation(String orchUrl, OperationOutcome operationOutcome, String operationId) {
         String orchUrlWithoutPath = URI.create(orchUrl).resolve("/").toString();
 
-        HttpResponse<JsonNode> response = Unirest
-                .post(orchUrlWithoutPath + "pnc-rest/v2/operations/" + operationId + "/complete")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(operationOutcome)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient.send(
+                OutboundTarget.ORCH,
+                HttpMethod.POST,
+                orchUrlWithoutPath + "pnc-rest/v2/operations/" + operationId + "/complete",
+                operationOutcome);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
@@ -0,0 +1,394 @@
+package org.jboss.pnc.dingrogu.restadapter.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.dingrogu.api.client.OidcTokenProvider;
+import org.jboss.pnc.dingrogu.common.TraceHelper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.quarkus.logging.Log;
+import kong.unirest.core.ContentType;
+import kong.unirest.core.HttpMethod;
+import kong.unirest.core.HttpResponse;
+import kong.unirest.core.UnirestInstance;
+
+/**
+ * Outbound HTTP layer for the services called with plain JSON requests (Reqour, Repository Driver, Orch, and any url
+ * received from another service).
+ *
+ * Each {@link OutboundTarget} gets its own Unirest instance, hence its own connection pool, with its own connect and
+ * read timeouts. There is no read timeout unless one is configured. The number of requests in flight can be limited
+ * per host, so that a slow service can't starve the calls to the other ones: the requests above the limit are queued
+ * without holding a thread, and fail after 'queue-timeout'.
+ *
+ * The configuration of a target is read from 'dingrogu.http-client.&lt;target&gt;.&lt;property&gt;', falling back
+ * to 'dingrogu.http-client.&lt;property&gt;'. A 'max-requests-per-host' of 0, the default, means no limit.
+ *
+ * The requests of {@link OutboundTarget#GENERIC} go to any url received from another service, so their metrics are
+ * not tagged with the host.
+ *
+ * Each request gets a client span, child of the current span, whose trace context is sent to the service.
+ */
+@ApplicationScoped
+public class OutboundHttpClient {
+
+    private static final String ANY_HOST = "any";
+
+    @ConfigProperty(name = "dingrogu.http-client.connect-timeout", defaultValue = "PT10S")
+    Duration defaultConnectTimeout;
+
+    @ConfigProperty(name = "dingrogu.http-client.read-timeout")
+    Optional<Duration> defaultReadTimeout;
+
+    @ConfigProperty(name = "dingrogu.http-client.max-requests-per-host", defaultValue = "0")
+    int defaultMaxRequestsPerHost;
+
+    @ConfigProperty(name = "dingrogu.http-client.queue-timeout", defaultValue = "PT30S")
+    Duration defaultQueueTimeout;
+
+    @Inject
+    Config config;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    OidcTokenProvider oidcTokenProvider;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    Tracer tracer;
+
+    private final Map<OutboundTarget, UnirestInstance> instances = new EnumMap<>(OutboundTarget.class);
+
+    private final Map<String, Optional<HostPool>> hostPools = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (OutboundTarget target : OutboundTarget.values()) {
+            Duration connectTimeout = getConfig(target, "connect-timeout", Duration.class, defaultConnectTimeout);
+            String readTimeoutProperty = "dingrogu.http-client." + target.getConfigName() + ".read-timeout";
+            Optional<Duration> readTimeout = config.getOptionalValue(readTimeoutProperty, Duration.class)
+                    .or(() -> defaultReadTimeout);
+
+            UnirestInstance instance = new UnirestInstance(new kong.unirest.core.Config());
+            instance.config()
+                    .connectTimeout((int) connectTimeout.toMillis())
+                    // null means no timeout
+                    .requestTimeout(readTimeout.map(timeout -> (int) timeout.toMillis()).orElse(null));
+            instances.put(target, instance);
+            Log.infof(
+                    "Outbound HTTP client '%s': connect timeout %s, read timeout %s",
+                    target.getConfigName(),
+                    connectTimeout,
+                    readTimeout.map(Duration::toString).orElse("none"));
+        }
+        if (getConfig(OutboundTarget.GENERIC, "max-requests-per-host", Integer.class, defaultMaxRequestsPerHost) > 0) {
+            Gauge.builder("dingrogu.http.client.queued", hostPools, this::countGenericQueued)
+                    .description("Number of outbound HTTP requests waiting for a free slot")
+                    .tag("target", OutboundTarget.GENERIC.getConfigName())
+                    .tag("host", ANY_HOST)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        instances.values().forEach(UnirestInstance::close);
+    }
+
+    /**
+     * Serialize the body of a request. Strings are sent as is
+     *
+     * @param body body
+     * @return serialized body
+     */
+    public String serialize(Object body) {
+        if (body == null || body instanceof String) {
+            return (String) body;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Couldn't serialize the request body", e);
+        }
+    }
+
+    /**
+     * Send the JSON request and wait for the response
+     *
+     * @param target downstream service
+     * @param method HTTP method
+     * @param url url
+     * @param body body of the request, serialized to JSON unless it's already a String
+     * @return response with the body as String
+     */
+    public HttpResponse<String> send(OutboundTarget target, HttpMethod method, String url, Object body) {
+        try {
+            return sendAsync(target, method, url, body).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Send the JSON request asynchronously. The request is queued if the host already has too many requests in
+     * flight, and fails with a {@link HostLimitExceededException} if it waited for longer than the queue timeout
+     *
+     * @param target downstream service
+     * @param method HTTP method
+     * @param url url
+     * @param body body of the request, serialized to JSON unless it's already a String
+     * @return response with the body as String
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(
+            OutboundTarget target,
+            HttpMethod method,
+            String url,
+            Object body) {
+        String host = getHost(url);
+        Span span = tracer.spanBuilder(method.name() + " " + target.getConfigName())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.request.method", method.name())
+                .setAttribute("url.full", url)
+                .setAttribute("server.address", host)
+                .startSpan();
+
+        String payload;
+        Map<String, String> headers;
+        try (Scope ignored = span.makeCurrent()) {
+            payload = serialize(body);
+            // read from the MDC of the caller
+            headers = ClientHelper.getClientHeaders();
+        } catch (RuntimeException e) {
+            TraceHelper.fail(span, e);
+            span.end();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+        // only goes to the identity provider, without blocking, if no valid token is cached
+        oidcTokenProvider.getAccessTokenAsync().subscribe().with(accessToken -> {
+            ClientHelper.addAuthorization(headers, accessToken);
+            try {
+                submit(target, method, url, host, payload, headers, span, result);
+            } catch (RuntimeException e) {
+                fail(span, result, e);
+            }
+        }, error -> fail(span, result, error));
+        return result;
+    }
+
+    /**
+     * Send the request once the host has a free slot, completing the span and the result with the response
+     */
+    private void submit(
+            OutboundTarget target,
+            HttpMethod method,
+            String url,
+            String host,
+            String payload,
+            Map<String, String> headers,
+            Span span,
+            CompletableFuture<HttpResponse<String>> result) {
+        Optional<HostPool> pool = hostPools
+                .computeIfAbsent(target.getConfigName() + "|" + host, k -> createPool(target, host));
+        if (pool.isEmpty()) {
+            execute(target, method, url, host, payload, headers, span, result, () -> {
+            });
+            return;
+        }
+
+        Duration queueTimeout = getConfig(target, "queue-timeout", Duration.class, defaultQueueTimeout);
+        pool.get().acquire(queueTimeout).whenComplete((slot, error) -> {
+            if (error != null) {
+                fail(span, result, error);
+            } else {
+                execute(target, method, url, host, payload, headers, span, result, pool.get()::release);
+            }
+        });
+    }
+
+    private void execute(
+            OutboundTarget target,
+            HttpMethod method,
+            String url,
+            String host,
+            String payload,
+            Map<String, String> headers,
+            Span span,
+            CompletableFuture<HttpResponse<String>> result,
+            Runnable release) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = instances.get(target)
+                    .request(method.name(), url)
+                    .contentType(ContentType.APPLICATION_JSON)
+                    .accept(ContentType.APPLICATION_JSON)
+                    .headers(headers)
+                    .body(payload)
+                    .asStringAsync();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((httpResponse, error) -> {
+            release.run();
+            String status = error == null ? String.valueOf(httpResponse.getStatus()) : "IO_ERROR";
+            Timer.builder("dingrogu.http.client.requests")
+                    .description("Latency of the outbound HTTP requests")
+                    .tag("target", target.getConfigName())
+                    .tag("host", getMetricHost(target, host))
+                    .tag("method", method.name())
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error == null) {
+                span.setAttribute("http.response.status_code", httpResponse.getStatus());
+                if (httpResponse.getStatus() >= 400) {
+                    span.setStatus(StatusCode.ERROR);
+                }
+                span.end();
+                result.complete(httpResponse);
+            } else {
+                fail(span, result, error);
+            }
+        });
+    }
+
+    private static void fail(Span span, CompletableFuture<?> result, Throwable error) {
+        TraceHelper.fail(span, error);
+        span.end();
+        result.completeExceptionally(error);
+    }
+
+    private Optional<HostPool> createPool(OutboundTarget target, String host) {
+        int maxRequests = getConfig(target, "max-requests-per-host", Integer.class, defaultMaxRequestsPerHost);
+        if (maxRequests <= 0) {
+            return Optional.empty();
+        }
+        HostPool pool = new HostPool(host, maxRequests);
+        // the generic requests are counted together, see init()
+        if (target != OutboundTarget.GENERIC) {
+            Gauge.builder("dingrogu.http.client.queued", pool.waiting, Queue::size)
+                    .description("Number of outbound HTTP requests waiting for a free slot")
+                    .tag("target", target.getConfigName())
+                    .tag("host", host)
+                    .register(meterRegistry);
+        }
+        return Optional.of(pool);
+    }
+
+    private double countGenericQueued(Map<String, Optional<HostPool>> pools) {
+        String prefix = OutboundTarget.GENERIC.getConfigName() + "|";
+        return pools.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToInt(entry -> entry.getValue().map(pool -> pool.waiting.size()).orElse(0))
+                .sum();
+    }
+
+    private static String getMetricHost(OutboundTarget target, String host) {
+        return target == OutboundTarget.GENERIC ? ANY_HOST : host;
+    }
+
+    private <T> T getConfig(OutboundTarget target, String property, Class<T> type, T defaultValue) {
+        return config.getOptionalValue("dingrogu.http-client." + target.getConfigName() + "." + property, type)
+                .orElse(defaultValue);
+    }
+
+    private static String getHost(String url) {
+        URI uri = URI.create(url);
+        return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Limit of the requests in flight to a host. The requests above the limit wait in a queue, and are given the slot
+     * by the request releasing it
+     */
+    private static class HostPool {
+        private final String host;
+        private final Semaphore permits;
+        private final Queue<CompletableFuture<Void>> waiting = new ConcurrentLinkedQueue<>();
+
+        private HostPool(String host, int maxRequests) {
+            this.host = host;
+            this.permits = new Semaphore(maxRequests);
+        }
+
+        /**
+         * @return completed once the slot is held, failed if it couldn't be held within the timeout
+         */
+        private CompletableFuture<Void> acquire(Duration timeout) {
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            waiting.add(slot);
+            drain();
+            if (!slot.isDone()) {
+                CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                    if (slot.completeExceptionally(new HostLimitExceededException(host))) {
+                        waiting.remove(slot);
+                    }
+                });
+            }
+            return slot;
+        }
+
+        private void release() {
+            permits.release();
+            drain();
+        }
+
+        private void drain() {
+            while (!waiting.isEmpty() && permits.tryAcquire()) {
+                CompletableFuture<Void> next = waiting.poll();
+                // gone, or timed out in the meantime
+                if (next == null || !next.complete(null)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Thrown when the request couldn't get a slot of the host in time
+     */
+    public static class HostLimitExceededException extends RuntimeException {
+        public HostLimitExceededException(String host) {
+            super("Too many outbound requests in flight to host: " + host);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.jboss.pnc.dingrogu.restadapter.client;
+
+/**
+ * Downstream services called through the {@link OutboundHttpClient}. Each target has its own connection pool and
+ * timeouts, configured with 'dingrogu.http-client.&lt;target&gt;.*'
+ */
+public enum OutboundTarget {
+
+    REQOUR("reqour"),
+
+    REPOSITORY_DRIVER("repository-driver"),
+
+    ORCH("orch"),
+
+    /**
+     * Any url received from another service, e.g. callbacks
+     */
+    GENERIC("generic");
+
+    private final String configName;
+
+    OutboundTarget(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+}
@@ -9,46 +9,45 @@ import org.jboss.pnc.api.repositorydriver.dto.RepositoryCreateResponse;
 import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteRequest;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.Tokens;
-import kong.unirest.core.ContentType;
+import kong.unirest.core.HttpMethod;
 import kong.unirest.core.HttpResponse;
-import kong.unirest.core.JsonNode;
-import kong.unirest.core.Unirest;
 
 @ApplicationScoped
 public class RepositoryDriverClient {
 
     @Inject
-    Tokens tokens;
+    OutboundHttpClient outboundHttpClient;
+
+    @Inject
+    ObjectMapper objectMapper;
 
     @Retry
     public RepositoryCreateResponse setup(String repositoryDriverUrl, RepositoryCreateRequest request) {
         Log.infof("Repository create request: %s", request);
-        HttpResponse<RepositoryCreateResponse> response = Unirest.post(repositoryDriverUrl + "/create")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(request)
-                .asObject(RepositoryCreateResponse.class);
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REPOSITORY_DRIVER, HttpMethod.POST, repositoryDriverUrl + "/create", request);
 
         if (!response.isSuccess()) {
             Log.errorf("Request didn't go through: HTTP %s, body: %s", response.getStatus(), response.getBody());
             throw new RuntimeException("Request didn't go through");
         }
 
-        return response.getBody();
+        try {
+            return objectMapper.readValue(response.getBody(), RepositoryCreateResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Couldn't parse the repository create response", e);
+        }
     }
 
     @Retry
     public void seal(String repositoryDriverUrl, String buildContentId) {
         Log.infof("Repository seal request for: %s", buildContentId);
-        HttpResponse<JsonNode> response = Unirest.put(repositoryDriverUrl + "/seal")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(buildContentId)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REPOSITORY_DRIVER, HttpMethod.PUT, repositoryDriverUrl + "/seal", buildContentId);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
@@ -60,12 +59,8 @@ public class RepositoryDriverClient {
     @Retry
     public void promote(String repositoryDriverUrl, RepositoryPromoteRequest request) {
         Log.infof("Repository promote request for: %s", request);
-        HttpResponse<JsonNode> response = Unirest.put(repositoryDriverUrl + "/promote")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(request)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REPOSITORY_DRIVER, HttpMethod.PUT, repositoryDriverUrl + "/promote", request);
 
         if (!response.isSuccess()) {
             TaskHelper.LIVE_LOG
@@ -14,28 +14,21 @@ import org.jboss.pnc.api.reqour.dto.RepositoryCloneRequest;
 import org.jboss.pnc.dingrogu.common.TaskHelper;
 
 import io.quarkus.logging.Log;
-import io.quarkus.oidc.client.Tokens;
-import kong.unirest.core.ContentType;
+import kong.unirest.core.HttpMethod;
 import kong.unirest.core.HttpResponse;
-import kong.unirest.core.JsonNode;
-import kong.unirest.core.Unirest;
 
 @ApplicationScoped
 public class ReqourClient {
 
     @Inject
-    Tokens tokens;
+    OutboundHttpClient outboundHttpClient;
 
     @Retry
     public void adjust(String reqourUrl, AdjustRequest request) {
 
         Log.info("Request to reqour: " + request);
-        HttpResponse<JsonNode> response = Unirest.post(reqourUrl + "/adjust")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(request)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REQOUR, HttpMethod.POST, reqourUrl + "/adjust", request);
 
         if (!response.isSuccess()) {
             processUnsuccessfulResponse(response, "/adjust");
@@ -50,12 +43,8 @@ public class ReqourClient {
 
         CancelRequest cancelRequest = CancelRequest.builder().taskId(taskId).callback(callback).build();
 
-        HttpResponse<JsonNode> response = Unirest.post(reqourUrl + "/cancel")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(cancelRequest)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REQOUR, HttpMethod.POST, reqourUrl + "/cancel", cancelRequest);
 
         if (!response.isSuccess()) {
             processUnsuccessfulResponse(response, "/cancel");
@@ -67,12 +56,8 @@ public class ReqourClient {
     public void cloneRequest(String reqourUrl, RepositoryCloneRequest request) {
 
         Log.infof("Requor clone request: %s", request);
-        HttpResponse<JsonNode> response = Unirest.post(reqourUrl + "/clone")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(request)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REQOUR, HttpMethod.POST, reqourUrl + "/clone", request);
 
         if (!response.isSuccess()) {
             processUnsuccessfulResponse(response, "/clone");
@@ -83,33 +68,20 @@ public class ReqourClient {
     public void createRepository(String reqourUrl, InternalSCMCreationRequest request) {
 
         Log.infof("Reqour create repository request: %s", request);
-        HttpResponse<JsonNode> response = Unirest.post(reqourUrl + "/internal-scm")
-                .contentType(ContentType.APPLICATION_JSON)
-                .accept(ContentType.APPLICATION_JSON)
-                .headers(ClientHelper.getClientHeaders(tokens))
-                .body(request)
-                .asJson();
+        HttpResponse<String> response = outboundHttpClient
+                .send(OutboundTarget.REQOUR, HttpMethod.POST, reqourUrl + "/internal-scm", request);
 
         if (!response.isSuccess()) {
             processUnsuccessfulResponse(response, "/internal-scm");
         }
     }
 
-    private <T> void processUnsuccessfulResponse(HttpResponse<T> response, String endpoint) {
-        if (response.getParsingError().isPresent()) {
-            TaskHelper.LIVE_LOG.error(
-                    "Request to {}: finished with HTTP {}, body: {} and parsing error",
-                    endpoint,
-                    response.getStatus(),
-                    response.getBody());
-            throw new RuntimeException("Request finished with parsing error");
-        } else {
-            TaskHelper.LIVE_LOG.error(
-                    "Request to {} didn't go through: HTTP {}, body: {}",
-                    endpoint,
-                    response.getStatus(),
-                    response.getBody());
-            throw new RuntimeException("Request didn't go through: " + response.getBody());
-        }
+    private void processUnsuccessfulResponse(HttpResponse<String> response, String endpoint) {
+        TaskHelper.LIVE_LOG.error(
+                "Request to {} didn't go through: HTTP {}, body: {}",
+                endpoint,
+                response.getStatus(),
+                response.getBody());
+        throw new RuntimeException("Request didn't go through: " + response.getBody());
     }
 }
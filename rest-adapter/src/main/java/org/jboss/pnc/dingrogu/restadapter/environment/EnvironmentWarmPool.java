@@ -0,0 +1,162 @@
+package org.jboss.pnc.dingrogu.restadapter.environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pool of environments created ahead of the builds, per environment image and label seen in the recent builds.
+ *
+ * Environment driver binds an environment to the repository of its build when creating it (see
+ * {@link org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateRequest}), so an environment can't be created before
+ * its build yet. Until it can, the pool runs in shadow mode: it keeps the bookkeeping of the environments it would
+ * have created and reports how often a build would have found one ready, so that the pool can be sized before
+ * environment driver is changed.
+ *
+ * For each image and label, after every build the pool is topped up to its size with environments ready after the
+ * warm-up time. An environment not claimed within the time to live is dropped, and so is the pool of an image and
+ * label not seen for that long.
+ */
+@ApplicationScoped
+public class EnvironmentWarmPool {
+
+    @ConfigProperty(name = "dingrogu.environment-warm-pool.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "dingrogu.environment-warm-pool.size", defaultValue = "2")
+    int size;
+
+    @ConfigProperty(name = "dingrogu.environment-warm-pool.warm-up", defaultValue = "PT2M")
+    Duration warmUp;
+
+    @ConfigProperty(name = "dingrogu.environment-warm-pool.ttl", defaultValue = "PT30M")
+    Duration ttl;
+
+    @ConfigProperty(name = "dingrogu.environment-warm-pool.max-pools", defaultValue = "100")
+    int maxPools;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // package-private for the tests
+    LongSupplier nanoTime = System::nanoTime;
+
+    private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+
+    private Counter hits;
+
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = Counter.builder("dingrogu.environment.warm-pool.claims")
+                .description("Number of builds that would have found a warm environment")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("dingrogu.environment.warm-pool.claims")
+                .description("Number of builds that would have found no warm environment")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("dingrogu.environment.warm-pool.size", this, EnvironmentWarmPool::getSize)
+                .description("Number of environments in the pool, ready or warming up")
+                .register(meterRegistry);
+        Gauge.builder("dingrogu.environment.warm-pool.pools", pools, Map::size)
+                .description("Number of environment images and labels the pool keeps environments for")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claim a warm environment for a build, and top up the pool of its image and label
+     *
+     * @param environmentImage image of the environment of the build
+     * @param environmentLabel label of the environment of the build
+     * @return true if a warm environment was ready for the build
+     */
+    public boolean claim(String environmentImage, String environmentLabel) {
+        if (!enabled) {
+            return false;
+        }
+        long now = nanoTime.getAsLong();
+        evictExpiredPools(now);
+
+        Pool pool = pools.computeIfAbsent(new PoolKey(environmentImage, environmentLabel), key -> new Pool(now));
+        boolean hit;
+        synchronized (pool) {
+            pool.readyAt.removeIf(readyAt -> now - readyAt > ttl.toNanos());
+            hit = pool.claimReady(now);
+            while (pool.readyAt.size() < size) {
+                pool.readyAt.add(now + warmUp.toNanos());
+            }
+            pool.lastClaim = now;
+        }
+        evictOverflow();
+
+        (hit ? hits : misses).increment();
+        return hit;
+    }
+
+    /**
+     * Number of environments in all the pools, ready or warming up
+     */
+    public int getSize() {
+        return pools.values().stream().mapToInt(pool -> {
+            synchronized (pool) {
+                return pool.readyAt.size();
+            }
+        }).sum();
+    }
+
+    private void evictExpiredPools(long now) {
+        pools.values().removeIf(pool -> now - pool.lastClaim > warmUp.toNanos() + ttl.toNanos());
+    }
+
+    private void evictOverflow() {
+        while (pools.size() > maxPools) {
+            pools.entrySet()
+                    .stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastClaim))
+                    .ifPresent(entry -> pools.remove(entry.getKey()));
+        }
+    }
+
+    private record PoolKey(String environmentImage, String environmentLabel) {
+    }
+
+    private static class Pool {
+        /**
+         * When each environment of the pool is ready, in nanoseconds
+         */
+        private final List<Long> readyAt = new ArrayList<>();
+        private volatile long lastClaim;
+
+        private Pool(long now) {
+            this.lastClaim = now;
+        }
+
+        private boolean claimReady(long now) {
+            Iterator<Long> environments = readyAt.iterator();
+            while (environments.hasNext()) {
+                if (environments.next() <= now) {
+                    environments.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.jboss.pnc.dingrogu.restadapter.progress;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.common.log.ProcessStageUtils;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowProgressEventDTO;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+
+/**
+ * Progress events of the workflows, pushed to the subscribers of each workflow: the transitions of the Rex tasks as
+ * notified by Rex, and the process stages logged by the adapters and workflows.
+ *
+ * The last 'dingrogu.progress.replay-size' events of each workflow are replayed to a new subscriber. Each subscriber
+ * has a buffer of 'dingrogu.progress.subscriber-buffer' events: a subscriber that lets it fill up is disconnected
+ * instead of slowing down the others, and resumes from the sequence of its last event.
+ *
+ * The events of a workflow without subscribers are dropped 'dingrogu.progress.retention' after its last event, or
+ * earlier when more than 'dingrogu.progress.max-workflows' workflows or 'dingrogu.progress.max-events' events are
+ * kept, least recently active workflow first.
+ */
+@ApplicationScoped
+public class WorkflowProgress {
+
+    @ConfigProperty(name = "dingrogu.progress.replay-size", defaultValue = "256")
+    int replaySize;
+
+    @ConfigProperty(name = "dingrogu.progress.subscriber-buffer", defaultValue = "256")
+    int subscriberBuffer;
+
+    @ConfigProperty(name = "dingrogu.progress.retention", defaultValue = "PT1H")
+    Duration retention;
+
+    @ConfigProperty(name = "dingrogu.progress.max-workflows", defaultValue = "10000")
+    int maxWorkflows;
+
+    @ConfigProperty(name = "dingrogu.progress.max-events", defaultValue = "100000")
+    int maxEvents;
+
+    // package-private for the tests
+    Clock clock = Clock.systemUTC();
+
+    /**
+     * In the order of their last activity, least recent first. Guards the channels
+     */
+    private final Map<String, Channel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Number of events kept in all the channels
+     */
+    private int events;
+
+    /**
+     * Log the beginning of a process stage of a workflow, and publish it
+     *
+     * @param correlationId correlation id of the workflow
+     * @param stage name of the process stage
+     * @param message message logged
+     */
+    public void stageBegin(String correlationId, String stage, String message) {
+        ProcessStageUtils.logProcessStageBegin(stage, message);
+        publishStage(correlationId, stage, ProcessStageUtils.Step.BEGIN, message);
+    }
+
+    /**
+     * Log the end of a process stage of a workflow, and publish it
+     *
+     * @param correlationId correlation id of the workflow
+     * @param stage name of the process stage
+     * @param message message logged
+     */
+    public void stageEnd(String correlationId, String stage, String message) {
+        ProcessStageUtils.logProcessStageEnd(stage, message);
+        publishStage(correlationId, stage, ProcessStageUtils.Step.END, message);
+    }
+
+    /**
+     * Publish the transition of a Rex task
+     *
+     * @param workflow name of the workflow
+     * @param notificationRequest notification from Rex
+     */
+    public void taskTransition(String workflow, NotificationRequest notificationRequest) {
+        publish(
+                notificationRequest.getTask().getCorrelationID(),
+                WorkflowProgressEventDTO.builder()
+                        .type(WorkflowProgressEventDTO.Type.TASK_TRANSITION)
+                        .workflow(workflow)
+                        .task(notificationRequest.getTask().getName())
+                        .before(notificationRequest.getBefore())
+                        .after(notificationRequest.getAfter()));
+    }
+
+    /**
+     * Publish the end of a workflow, which completes the streams of its subscribers
+     *
+     * @param workflow name of the workflow
+     * @param correlationId correlation id of the workflow
+     */
+    public void finished(String workflow, String correlationId) {
+        publish(
+                correlationId,
+                WorkflowProgressEventDTO.builder()
+                        .type(WorkflowProgressEventDTO.Type.WORKFLOW_FINISHED)
+                        .workflow(workflow));
+    }
+
+    /**
+     * Subscribe to the events of a workflow. The workflow doesn't have to be known yet
+     *
+     * @param correlationId correlation id of the workflow
+     * @param since only the events with a greater sequence are sent
+     * @return events, completed once the workflow finished
+     */
+    public Multi<WorkflowProgressEventDTO> subscribe(String correlationId, long since) {
+        return Multi.createFrom()
+                .<WorkflowProgressEventDTO> emitter(
+                        emitter -> register(correlationId, since, emitter),
+                        BackPressureStrategy.ERROR)
+                .onOverflow()
+                .buffer(subscriberBuffer)
+                .onFailure()
+                .invoke(e -> Log.infof("Progress stream of %s closed: %s", correlationId, e.getMessage()));
+    }
+
+    private void publishStage(String correlationId, String stage, ProcessStageUtils.Step step, String message) {
+        publish(
+                correlationId,
+                WorkflowProgressEventDTO.builder()
+                        .type(WorkflowProgressEventDTO.Type.PROCESS_STAGE)
+                        .stage(stage)
+                        .step(step.name())
+                        .message(message));
+    }
+
+    private void publish(String correlationId, WorkflowProgressEventDTO.WorkflowProgressEventDTOBuilder event) {
+        Instant now = clock.instant();
+        synchronized (channels) {
+            Channel channel = channels.computeIfAbsent(correlationId, Channel::new);
+            if (channel.finished) {
+                // the streams of the workflow are already completed
+                Log.debugf("Dropping progress event of finished workflow %s", correlationId);
+                return;
+            }
+            channel.publish(
+                    event.sequence(sequence.incrementAndGet()).correlationId(correlationId).time(now).build(),
+                    now);
+            evict(now);
+        }
+    }
+
+    private void register(String correlationId, long since, MultiEmitter<? super WorkflowProgressEventDTO> emitter) {
+        synchronized (channels) {
+            Channel channel = channels.computeIfAbsent(correlationId, Channel::new);
+            channel.subscribe(since, emitter, clock.instant());
+        }
+    }
+
+    /**
+     * Drop the workflows without subscribers that are idle, or the least recently active ones while there are too
+     * many workflows or events. The channels are in the order of their last activity, so only the head is looked at
+     */
+    private void evict(Instant now) {
+        Instant expiry = now.minus(retention);
+        Iterator<Channel> oldestFirst = channels.values().iterator();
+        while (oldestFirst.hasNext()) {
+            Channel channel = oldestFirst.next();
+            boolean full = channels.size() > maxWorkflows || events > maxEvents;
+            if (!full && !channel.lastActivity.isBefore(expiry)) {
+                return;
+            }
+            if (channel.subscribers.isEmpty()) {
+                oldestFirst.remove();
+                events -= channel.replay.size();
+            }
+        }
+    }
+
+    /**
+     * Events and subscribers of a workflow, guarded by the lock of the channels
+     */
+    private class Channel {
+        private final String correlationId;
+        private final Deque<WorkflowProgressEventDTO> replay = new ArrayDeque<>();
+        private final List<MultiEmitter<? super WorkflowProgressEventDTO>> subscribers = new CopyOnWriteArrayList<>();
+        private Instant lastActivity = Instant.MIN;
+        private boolean finished;
+
+        private Channel(String correlationId) {
+            this.correlationId = correlationId;
+        }
+
+        private void publish(WorkflowProgressEventDTO event, Instant now) {
+            lastActivity = now;
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            } else {
+                events++;
+            }
+            finished |= event.getType() == WorkflowProgressEventDTO.Type.WORKFLOW_FINISHED;
+            for (MultiEmitter<? super WorkflowProgressEventDTO> subscriber : subscribers) {
+                subscriber.emit(event);
+                if (finished) {
+                    subscriber.complete();
+                }
+            }
+        }
+
+        private void subscribe(long since, MultiEmitter<? super WorkflowProgressEventDTO> emitter, Instant now) {
+            lastActivity = now;
+            for (WorkflowProgressEventDTO event : replay) {
+                if (event.getSequence() > since) {
+                    emitter.emit(event);
+                }
+            }
+            if (finished) {
+                emitter.complete();
+                return;
+            }
+            subscribers.add(emitter);
+            emitter.onTermination(() -> {
+                synchronized (channels) {
+                    subscribers.remove(emitter);
+                    lastActivity = clock.instant();
+                    // moves it to the most recently active ones, if still there
+                    channels.get(correlationId);
+                }
+            });
+        }
+    }
+}
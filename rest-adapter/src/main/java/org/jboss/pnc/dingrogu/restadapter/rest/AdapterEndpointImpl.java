@@ -1,26 +1,50 @@
 package org.jboss.pnc.dingrogu.restadapter.rest;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
+import org.jboss.pnc.dingrogu.common.AuthorizationConstants;
+import org.jboss.pnc.dingrogu.common.TraceHelper;
 import org.jboss.pnc.dingrogu.restadapter.adapter.Adapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.ReactiveAdapter;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 import org.jboss.resteasy.reactive.RestResponse;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
 
+import com.fasterxml.jackson.databind.DatabindException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import io.quarkus.arc.All;
 import io.quarkus.logging.Log;
 import io.quarkus.oidc.client.Tokens;
@@ -34,9 +58,27 @@ import io.quarkus.security.UnauthorizedException;
  *
  * Addition of another Rex task/adapter shouldn't require to add a new endpoint to this class. The new adapter should be
  * auto-discovered automatically
+ *
+ * The adapter invocations are run off the event loop by the {@link AdapterInvoker}, on the worker pool or on virtual
+ * threads depending on the configured execution mode. The start and cancel of a {@link ReactiveAdapter} are
+ * dispatched directly and don't hold any thread while waiting for the application.
+ *
+ * The start payload and the callback are read once, straight into the types declared by the adapter ({@link
+ * Adapter#getPayloadType()}, {@link Adapter#getCallbackType()}).
+ *
+ * The endpoint serves the paths of {@link AdapterEndpoint} without implementing it: it reads the raw bodies and answers
+ * asynchronously, while the interface keeps the typed contract for the REST clients.
+ *
+ * Each start, cancel and callback handled by an adapter is recorded by the {@link AdapterMetrics}, and traced in a span
+ * tagged with the correlation id. Rex sends the trace context of the workflow with its requests (see
+ * {@link TraceHelper}), so the span is part of the trace of the workflow.
  */
 @ApplicationScoped
-public class AdapterEndpointImpl implements AdapterEndpoint {
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@Path("/")
+@Tag(name = "Adapter", description = "Endpoints to receive Rex task request and submit request to PNC service")
+public class AdapterEndpointImpl {
 
     @Inject
     ObjectMapper objectMapper;
@@ -47,6 +89,15 @@ public class AdapterEndpointImpl implements AdapterEndpoint {
     @Inject
     TaskEndpoint taskEndpoint;
 
+    @Inject
+    AdapterInvoker adapterInvoker;
+
+    @Inject
+    AdapterMetrics adapterMetrics;
+
+    @Inject
+    Tracer tracer;
+
     /**
      * Get all the implementations of the Adapter interface
      */
@@ -56,11 +107,14 @@ public class AdapterEndpointImpl implements AdapterEndpoint {
 
     private final Map<String, Adapter<?>> adapterNameMap = new HashMap<>();
 
+    private ObjectReader startRequestReader;
+
     /**
      * Populate the adapterNameMap with as key the name of the adapter, and as value the adapter itself
      */
     @PostConstruct
     public void setup() {
+        startRequestReader = AdapterRequestReader.startRequestReader(objectMapper);
 
         for (Adapter<?> adapter : adapters) {
             Log.infof(">>> Processing adapter: %s", adapter.getAdapterName());
@@ -80,70 +134,220 @@ public class AdapterEndpointImpl implements AdapterEndpoint {
             return RestResponse.status(Response.Status.UNAUTHORIZED, e.getMessage());
         } else if (e instanceof ForbiddenException) {
             return RestResponse.status(Response.Status.FORBIDDEN, e.getMessage());
+        } else if (unwrap(e) instanceof AdapterInvoker.AdapterLimitExceededException limitExceeded) {
+            return RestResponse.status(Response.Status.SERVICE_UNAVAILABLE, limitExceeded.getMessage());
         } else {
             return RestResponse.status(Response.Status.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
-    @Override
-    public Response start(String name, String correlationId, StartRequest startRequest) {
+    /**
+     * Get the Rex task request and forward it to the application
+     *
+     * @param name name of the adapter
+     * @param correlationId correlation id of the Rex task
+     * @param body Rex {@link StartRequest}, in JSON. The payload is read straight into the type of the adapter
+     * @return response
+     */
+    @Path(AdapterEndpoint.START)
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    public CompletionStage<Response> start(
+            @PathParam("name") String name,
+            @PathParam("correlationId") String correlationId,
+            @RequestBody(content = @Content(schema = @Schema(implementation = StartRequest.class))) byte[] body) {
         Log.infof("Start adapter for: '%s' with correlation-id: '%s'", name, correlationId);
 
         Adapter<?> adapter = adapterNameMap.get(name);
 
         if (adapter == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
+            return CompletableFuture.completedFuture(Response.status(Response.Status.NOT_FOUND).build());
         }
 
-        try {
-            Optional<Object> response = adapter.start(correlationId, startRequest);
-
-            if (response.isEmpty()) {
-                return Response.accepted().build();
-            } else {
-                return Response.accepted(response.get()).build();
-            }
-        } catch (Exception e) {
-            Log.errorf("Exception happened in the adapter start %s", e);
-            throw new BadRequestException(e);
-        }
+        return observe(name, "start", correlationId, () -> start(name, adapter, correlationId, body));
     }
 
-    @Override
-    public Response cancel(String name, String correlationId, StopRequest stopRequest) {
+    /**
+     * Get the Rex task cancel request and forward it to the application
+     *
+     * @param name name of the adapter
+     * @param correlationId correlation id of the Rex task
+     * @param stopRequest Rex DTO
+     * @return response
+     */
+    @Path(AdapterEndpoint.CANCEL)
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    public CompletionStage<Response> cancel(
+            @PathParam("name") String name,
+            @PathParam("correlationId") String correlationId,
+            StopRequest stopRequest) {
         Log.infof("Cancel adapter for: '%s' with correlation-id: '%s'", name, correlationId);
 
         Adapter<?> adapter = adapterNameMap.get(name);
 
         if (adapter == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
+            return CompletableFuture.completedFuture(Response.status(Response.Status.NOT_FOUND).build());
         }
 
-        try {
-            adapter.cancel(correlationId, stopRequest);
-            return Response.accepted().build();
-        } catch (Exception e) {
-            Log.errorf("Exception happened in the adapter cancel: %s", e);
-            throw new BadRequestException(e);
-        }
+        return observe(name, "cancel", correlationId, () -> cancel(name, adapter, correlationId, stopRequest));
     }
 
-    @Override
-    public Response callback(String name, String correlationId, Object object) {
+    /**
+     * Get the callback from the application and forward it to the Rex task
+     *
+     * @param name name of the adapter
+     * @param correlationId correlation id of the Rex task
+     * @param body callback body, in JSON
+     * @return response
+     */
+    @Path(AdapterEndpoint.CALLBACK)
+    @POST
+    @RolesAllowed({ AuthorizationConstants.ADMIN_ROLE, AuthorizationConstants.DINGROGU_ROLE })
+    public CompletionStage<Response> callback(
+            @PathParam("name") String name,
+            @PathParam("correlationId") String correlationId,
+            byte[] body) {
         Log.infof("Callback adapter for: '%s' with correlation-id: '%s'", name, correlationId);
 
         Adapter<?> adapter = adapterNameMap.get(name);
 
         if (adapter == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
+            return CompletableFuture.completedFuture(Response.status(Response.Status.NOT_FOUND).build());
+        }
+
+        return observe(name, "callback", correlationId, () -> adapterInvoker.invoke(name, () -> {
+            try {
+                adapter.callback(correlationId, readCallback(adapter, body));
+                return Response.ok().build();
+            } catch (Exception e) {
+                Log.errorf("Exception happened in the adapter callback: %s", e);
+                throw new BadRequestException(e);
+            }
+        }));
+    }
+
+    private CompletionStage<Response> start(String name, Adapter<?> adapter, String correlationId, byte[] body) {
+        if (adapter instanceof ReactiveAdapter<?> reactiveAdapter) {
+            return adapterInvoker
+                    .invokeAsync(
+                            name,
+                            () -> reactiveAdapter.startAsync(correlationId, readStartRequest(adapter, body)))
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            Log.errorf("Exception happened in the adapter start %s", unwrap(error));
+                            throw toBadRequest(error);
+                        }
+                        return response.isEmpty() ? Response.accepted().build()
+                                : Response.accepted(response.get()).build();
+                    });
+        }
+
+        return adapterInvoker.invoke(name, () -> {
+            StartRequest startRequest = readStartRequest(adapter, body);
+            try {
+                Optional<Object> response = adapter.start(correlationId, startRequest);
+
+                if (response.isEmpty()) {
+                    return Response.accepted().build();
+                } else {
+                    return Response.accepted(response.get()).build();
+                }
+            } catch (Exception e) {
+                Log.errorf("Exception happened in the adapter start %s", e);
+                throw new BadRequestException(e);
+            }
+        });
+    }
+
+    private CompletionStage<Response> cancel(
+            String name,
+            Adapter<?> adapter,
+            String correlationId,
+            StopRequest stopRequest) {
+        if (adapter instanceof ReactiveAdapter<?> reactiveAdapter) {
+            return adapterInvoker.invokeAsync(name, () -> reactiveAdapter.cancelAsync(correlationId, stopRequest))
+                    .handle((ignored, error) -> {
+                        if (error != null) {
+                            Log.errorf("Exception happened in the adapter cancel: %s", unwrap(error));
+                            throw toBadRequest(error);
+                        }
+                        return Response.accepted().build();
+                    });
         }
 
+        return adapterInvoker.invoke(name, () -> {
+            try {
+                adapter.cancel(correlationId, stopRequest);
+                return Response.accepted().build();
+            } catch (Exception e) {
+                Log.errorf("Exception happened in the adapter cancel: %s", e);
+                throw new BadRequestException(e);
+            }
+        });
+    }
+
+    private CompletionStage<Response> observe(
+            String name,
+            String operation,
+            String correlationId,
+            Supplier<CompletionStage<Response>> request) {
+        Span span = tracer.spanBuilder(operation + " " + name)
+                .setAttribute(TraceHelper.ADAPTER, name)
+                .setAttribute(TraceHelper.CORRELATION_ID, correlationId)
+                .startSpan();
+        // current while the request is dispatched, so that the invocation and its outbound calls are its children
+        try (Scope ignored = span.makeCurrent()) {
+            return TraceHelper.endWhenDone(span, adapterMetrics.record(name, operation, request));
+        }
+    }
+
+    /**
+     * Read the start request, with its payload read into the payload type of the adapter. Read within the adapter
+     * invocation, so that it is part of its metrics and span, and is off the event loop unless the adapter is reactive
+     */
+    private StartRequest readStartRequest(Adapter<?> adapter, byte[] body) {
         try {
-            adapter.callback(correlationId, object);
-            return Response.ok().build();
-        } catch (Exception e) {
-            Log.errorf("Exception happened in the adapter callback: %s", e);
+            return AdapterRequestReader.readStartRequest(startRequestReader, body, adapter.getPayloadType());
+        } catch (IOException e) {
+            Log.errorf("Couldn't read the start request of the adapter: %s", e);
             throw new BadRequestException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Read the callback into the callback type of the adapter. A callback that is valid JSON but not of that type is
+     * passed as generic JSON, as it was bound before the adapters had a callback type: the adapter can't read it either
+     * and fails the task with it
+     */
+    private Object readCallback(Adapter<?> adapter, byte[] body) throws IOException {
+        try {
+            return AdapterRequestReader.readCallback(objectMapper, body, adapter.getCallbackType());
+        } catch (DatabindException e) {
+            Log.warnf("Callback of '%s' is not a %s: %s", adapter.getAdapterName(), adapter.getCallbackType(), e);
+            return objectMapper.readValue(body, Object.class);
+        }
+    }
+
+    /**
+     * Map the failure of a reactive adapter the same way as the failure of a synchronous one. The limit of the adapter
+     * being reached is kept as is so that it is mapped to a 503
+     */
+    private static RuntimeException toBadRequest(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof AdapterInvoker.AdapterLimitExceededException limitExceeded) {
+            return limitExceeded;
+        }
+        if (cause instanceof BadRequestException badRequest) {
+            return badRequest;
+        }
+        return new BadRequestException(cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,49 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Where the adapter start, cancel and callback invocations are run
+ */
+public enum AdapterExecutionMode {
+
+    /**
+     * Run on the Quarkus worker pool
+     */
+    WORKER,
+
+    /**
+     * Run each invocation on its own virtual thread. Requires a Java 21+ runtime
+     */
+    VIRTUAL;
+
+    /**
+     * Check if the runtime supports virtual threads
+     *
+     * @return true if supported
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create an executor starting a new virtual thread per task. The method is looked up dynamically since we still
+     * compile against Java 17
+     *
+     * @return executor
+     * @throws IllegalStateException if the runtime doesn't support virtual threads
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not supported by this Java runtime", e);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+import org.slf4j.MDC;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+
+/**
+ * Runs the adapter invocations off the event loop, either on the worker pool or on virtual threads, and applies the
+ * per-adapter concurrency limits.
+ *
+ * The concurrency limit of an adapter is read from 'dingrogu.adapter.&lt;adapter-name&gt;.max-concurrency', falling
+ * back to 'dingrogu.adapter.max-concurrency'. A value of 0 means no limit. The invocations of a limited adapter wait
+ * for a slot in a queue, without holding a thread, and fail if they didn't get one within
+ * 'dingrogu.adapter.acquire-timeout'. The same applies to the synchronous and the reactive invocations.
+ *
+ * The invocations waiting for a thread are reported in 'dingrogu.adapter.executor.queued', and the ones waiting for a
+ * slot of a limited adapter in 'dingrogu.adapter.limit.waiting'.
+ */
+@ApplicationScoped
+public class AdapterInvoker {
+
+    @ConfigProperty(name = "dingrogu.adapter.execution-mode", defaultValue = "worker")
+    AdapterExecutionMode executionMode;
+
+    @ConfigProperty(name = "dingrogu.adapter.max-concurrency", defaultValue = "0")
+    int defaultMaxConcurrency;
+
+    @ConfigProperty(name = "dingrogu.adapter.acquire-timeout", defaultValue = "PT30S")
+    Duration acquireTimeout;
+
+    @Inject
+    Config config;
+
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    @Inject
+    ThreadContext threadContext;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // package-private for the tests
+    BooleanSupplier virtualThreadSupport = AdapterExecutionMode::isVirtualThreadSupported;
+
+    private final Map<String, Optional<AdapterLimit>> limits = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private ExecutorService virtualThreadExecutor;
+
+    @PostConstruct
+    void init() {
+        if (executionMode == AdapterExecutionMode.VIRTUAL) {
+            if (virtualThreadSupport.getAsBoolean()) {
+                virtualThreadExecutor = AdapterExecutionMode.newVirtualThreadExecutor();
+            } else {
+                Log.warn("Virtual threads are not supported by this Java runtime, using the worker pool instead");
+            }
+        }
+        Log.infof(
+                "Adapter execution mode: %s",
+                virtualThreadExecutor == null ? AdapterExecutionMode.WORKER : executionMode);
+        Gauge.builder("dingrogu.adapter.executor.queued", queued, AtomicInteger::get)
+                .description("Adapter invocations submitted to the executor and not started yet")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Run the adapter invocation asynchronously, once a slot is available for the adapter
+     *
+     * @param adapterName name of the adapter
+     * @param invocation adapter invocation
+     * @return result of the invocation
+     * @param <T> type of the result
+     */
+    public <T> CompletionStage<T> invoke(String adapterName, Callable<T> invocation) {
+        Optional<AdapterLimit> limit = limits.computeIfAbsent(adapterName, this::createLimit);
+        // the slot may be given on the thread of another invocation, so the context is captured here
+        Callable<T> contextual = threadContext.contextualCallable(withMdc(invocation));
+        if (limit.isEmpty()) {
+            return dispatch(contextual);
+        }
+        return limit.get()
+                .acquire(acquireTimeout)
+                .thenCompose(slot -> dispatch(contextual).whenComplete((result, error) -> limit.get().release()));
+    }
+
+    /**
+     * Start a non-blocking adapter invocation, once a slot is available for the adapter. The invocation is started on
+     * the calling thread if a slot is available straight away, otherwise on the thread releasing the slot. The slot of
+     * the adapter is held until the returned stage completes
+     *
+     * @param adapterName name of the adapter
+     * @param invocation non-blocking adapter invocation
+     * @return result of the invocation
+     * @param <T> type of the result
+     */
+    public <T> CompletionStage<T> invokeAsync(String adapterName, Supplier<CompletionStage<T>> invocation) {
+        Optional<AdapterLimit> limit = limits.computeIfAbsent(adapterName, this::createLimit);
+        if (limit.isEmpty()) {
+            return start(invocation::get);
+        }
+        Callable<CompletionStage<T>> contextual = threadContext.contextualCallable(withMdc(invocation::get));
+        return limit.get()
+                .acquire(acquireTimeout)
+                .thenCompose(slot -> start(contextual).whenComplete((result, error) -> limit.get().release()));
+    }
+
+    private <T> CompletableFuture<T> dispatch(Callable<T> invocation) {
+        Executor executor = virtualThreadExecutor == null ? managedExecutor : virtualThreadExecutor;
+        CompletableFuture<T> result = new CompletableFuture<>();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queued.decrementAndGet();
+                try {
+                    result.complete(invocation.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // rejected by the executor
+            queued.decrementAndGet();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private static <T> CompletionStage<T> start(Callable<CompletionStage<T>> invocation) {
+        try {
+            return invocation.call();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> Callable<T> withMdc(Callable<T> callable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return callable.call();
+            } finally {
+                if (previousMdc == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previousMdc);
+                }
+            }
+        };
+    }
+
+    private Optional<AdapterLimit> createLimit(String adapterName) {
+        int maxConcurrency = config
+                .getOptionalValue("dingrogu.adapter." + adapterName + ".max-concurrency", Integer.class)
+                .orElse(defaultMaxConcurrency);
+        if (maxConcurrency <= 0) {
+            return Optional.empty();
+        }
+        Log.infof("Adapter '%s' limited to %d concurrent invocations", adapterName, maxConcurrency);
+        AdapterLimit limit = new AdapterLimit(adapterName, maxConcurrency);
+        Gauge.builder("dingrogu.adapter.limit.waiting", limit.waiting, Queue::size)
+                .description("Adapter invocations waiting for a slot of the adapter")
+                .tag("adapter", adapterName)
+                .register(meterRegistry);
+        return Optional.of(limit);
+    }
+
+    /**
+     * Slots of a limited adapter. The invocations waiting for a slot are queued, and given the slot by the invocation
+     * releasing it
+     */
+    private static class AdapterLimit {
+        private final String adapterName;
+        private final Semaphore permits;
+        private final Queue<CompletableFuture<Void>> waiting = new ConcurrentLinkedQueue<>();
+
+        private AdapterLimit(String adapterName, int maxConcurrency) {
+            this.adapterName = adapterName;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        /**
+         * @return completed once the slot is held, failed if it couldn't be held within the timeout
+         */
+        private CompletableFuture<Void> acquire(Duration timeout) {
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            waiting.add(slot);
+            drain();
+            if (!slot.isDone()) {
+                CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                    if (slot.completeExceptionally(new AdapterLimitExceededException(adapterName))) {
+                        waiting.remove(slot);
+                    }
+                });
+            }
+            return slot;
+        }
+
+        private void release() {
+            permits.release();
+            drain();
+        }
+
+        private void drain() {
+            while (!waiting.isEmpty() && permits.tryAcquire()) {
+                CompletableFuture<Void> next = waiting.poll();
+                // gone, or timed out in the meantime
+                if (next == null || !next.complete(null)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Thrown when the adapter invocation couldn't get a slot in time
+     */
+    public static class AdapterLimitExceededException extends RuntimeException {
+        public AdapterLimitExceededException(String adapterName) {
+            super("Too many concurrent invocations of adapter: " + adapterName);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Count, outcome and latency of the start, cancel and callback requests of each adapter, in
+ * 'dingrogu.adapter.requests'. The latency includes the time spent waiting for a thread or for a slot of the adapter.
+ *
+ * The outcome is 'success', 'failure', or 'rejected' when the concurrency limit of the adapter was reached.
+ */
+@ApplicationScoped
+public class AdapterMetrics {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Run the request of an adapter and record it once done
+     *
+     * @param adapterName name of the adapter
+     * @param operation start, cancel or callback
+     * @param request request of the adapter
+     * @return result of the request
+     * @param <T> type of the result
+     */
+    public <T> CompletionStage<T> record(String adapterName, String operation, Supplier<CompletionStage<T>> request) {
+        long start = System.nanoTime();
+        CompletionStage<T> stage;
+        try {
+            stage = request.get();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        return stage.whenComplete(
+                (result, error) -> Timer.builder("dingrogu.adapter.requests")
+                        .description("Time to handle the requests of the adapters")
+                        .tag("adapter", adapterName)
+                        .tag("operation", operation)
+                        .tag("outcome", outcome(error))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof AdapterInvoker.AdapterLimitExceededException ? "rejected" : "failure";
+    }
+}
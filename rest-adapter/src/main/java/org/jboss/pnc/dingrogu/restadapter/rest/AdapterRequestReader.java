@@ -0,0 +1,94 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import java.io.IOException;
+
+import org.jboss.pnc.rex.model.requests.StartRequest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Reads the bodies received by the adapter endpoint straight into the types declared by the adapter, instead of
+ * decoding them to maps first and having the adapter convert the maps again.
+ */
+final class AdapterRequestReader {
+
+    private static final String PAYLOAD_TYPE = AdapterRequestReader.class.getName() + ".payloadType";
+
+    private AdapterRequestReader() {
+    }
+
+    /**
+     * Create the reader of the Rex start requests. Jackson binds the start request as usual, except for its payload
+     * which is read into the type passed to {@link #readStartRequest(ObjectReader, byte[], Class)}
+     *
+     * @param objectMapper object mapper, left unchanged
+     * @return reader of the start requests
+     */
+    static ObjectReader startRequestReader(ObjectMapper objectMapper) {
+        return objectMapper.copy()
+                .addMixIn(StartRequest.StartRequestBuilder.class, StartRequestBuilderMixin.class)
+                .readerFor(StartRequest.class);
+    }
+
+    /**
+     * Read a Rex start request, with its payload read into the payload type of the adapter. The results of the
+     * dependencies are kept generic: each adapter picks and converts the ones it needs.
+     *
+     * @param startRequestReader reader created by {@link #startRequestReader(ObjectMapper)}
+     * @param body JSON body of the start request
+     * @param payloadType payload type of the adapter
+     * @return start request, null if the body is empty
+     * @throws IOException if the body is not a valid start request
+     */
+    static StartRequest readStartRequest(ObjectReader startRequestReader, byte[] body, Class<?> payloadType)
+            throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        return startRequestReader.withAttribute(PAYLOAD_TYPE, payloadType).readValue(body);
+    }
+
+    /**
+     * Read the callback of the application into the callback type of the adapter
+     *
+     * @param objectMapper object mapper
+     * @param body JSON body of the callback
+     * @param callbackType callback type of the adapter
+     * @return callback, null if the body is empty
+     * @throws com.fasterxml.jackson.core.exc.StreamReadException if the body is not valid JSON
+     * @throws com.fasterxml.jackson.databind.DatabindException if the body is not of the callback type
+     * @throws IOException for any other read failure
+     */
+    static Object readCallback(ObjectMapper objectMapper, byte[] body, Class<?> callbackType) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        return objectMapper.readValue(body, callbackType);
+    }
+
+    abstract static class StartRequestBuilderMixin {
+
+        @JsonDeserialize(using = PayloadDeserializer.class)
+        abstract StartRequest.StartRequestBuilder payload(Object payload);
+    }
+
+    /**
+     * Reads the payload into the type set as attribute of the read
+     */
+    static class PayloadDeserializer extends JsonDeserializer<Object> {
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            Class<?> payloadType = (Class<?>) context.getAttribute(PAYLOAD_TYPE);
+            if (payloadType == null) {
+                payloadType = Object.class;
+            }
+            return context.readValue(parser, payloadType);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.jboss.pnc.rex.common.enums.ResponseFlag.SKIP_ROLLBACK;
 import static org.mockito.ArgumentMatchers.any;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -136,7 +137,7 @@ class BuildDriverAdapterTest {
         buildDriverAdapter.callback(correlationId, response);
 
         // verify that the successful callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .succeed(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
@@ -149,7 +150,7 @@ class BuildDriverAdapterTest {
         buildDriverAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called and rollback is skipped
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, Set.of(SKIP_ROLLBACK));
     }
 
@@ -162,7 +163,8 @@ class BuildDriverAdapterTest {
         buildDriverAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint).fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
     @Test
@@ -174,7 +176,8 @@ class BuildDriverAdapterTest {
         buildDriverAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint).fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
     @Test
@@ -186,7 +189,8 @@ class BuildDriverAdapterTest {
         buildDriverAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint).fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .fail(buildDriverAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
     @Test
@@ -227,4 +231,33 @@ class BuildDriverAdapterTest {
                 .isEqualTo(environmentCreateResult.getEnvironmentBaseUri().toString());
         assertThat(generated.getBuildExecutionId()).isEqualTo(buildResponse.getBuildExecutionId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void cancelAsyncCompletesWithTheBuildDriverCancel() {
+        String correlationId = "456";
+        BuildDriverDTO dto = Instancio.create(BuildDriverDTO.class);
+
+        Map<String, Object> pastResults = new HashMap<>();
+        EnvironmentCreateResult environmentCreateResult = Instancio.create(EnvironmentCreateResult.class);
+        pastResults.put(environmentDriverCreateAdapter.getRexTaskName(correlationId), environmentCreateResult);
+
+        BuildResponse buildResponse = BuildResponse.builder().buildExecutionId("foo").build();
+        ServerResponseDTO serverResponse = ServerResponseDTO.builder().body(buildResponse).build();
+        TaskDTO task = TaskDTO.builder().serverResponses(Collections.singletonList(serverResponse)).build();
+        Mockito.when(taskEndpoint.getSpecific(buildDriverAdapter.getRexTaskName(correlationId))).thenReturn(task);
+
+        // build driver refuses the cancel
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        Mockito.when(buildDriver.cancel(any())).thenReturn(response);
+        Mockito.when(buildDriverProducer.getBuildDriver(any())).thenReturn(buildDriver);
+
+        StopRequest stopRequest = StopRequest.builder().payload(dto).taskResults(pastResults).build();
+        CompletableFuture<Void> cancelled = buildDriverAdapter.cancelAsync(correlationId, stopRequest)
+                .toCompletableFuture();
+
+        Mockito.verify(buildDriver, Mockito.timeout(5000L)).cancel(any());
+        assertThat(cancelled).isNotDone();
+        response.completeExceptionally(new IllegalStateException("build driver unavailable"));
+        assertThat(cancelled).failsWithin(Duration.ofSeconds(5));
+    }
+}
@@ -5,15 +5,17 @@ import static org.jboss.pnc.rex.common.enums.ResponseFlag.SKIP_ROLLBACK;
 import static org.mockito.ArgumentMatchers.any;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
 
 import org.instancio.Instancio;
 import org.jboss.pnc.api.causeway.dto.push.BuildPushRequest;
 import org.jboss.pnc.api.causeway.dto.push.PushResult;
-import org.jboss.pnc.api.causeway.rest.Causeway;
 import org.jboss.pnc.api.dto.HeartbeatConfig;
 import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.dingrogu.api.client.AsyncCauseway;
 import org.jboss.pnc.dingrogu.api.client.CausewayProducer;
 import org.jboss.pnc.dingrogu.api.dto.adapter.BrewPushDTO;
 import org.jboss.pnc.rex.api.CallbackEndpoint;
@@ -41,7 +43,7 @@ class CausewayBuildPushAdapterTest {
     CallbackEndpoint callbackEndpoint;
 
     @Mock
-    Causeway causeway;
+    AsyncCauseway causeway;
 
     @BeforeEach
     void setupMocks() {
@@ -65,7 +67,8 @@ class CausewayBuildPushAdapterTest {
         StartRequest startRequest = StartRequest.builder().payload(dto).heartbeatConfig(heartbeatConfig).build();
 
         assertThat(causeway).isNotNull();
-        Mockito.when(causewayProducer.getCauseway(any())).thenReturn(causeway);
+        Mockito.when(causeway.importBuild(any())).thenReturn(CompletableFuture.completedFuture(Response.ok().build()));
+        Mockito.when(causewayProducer.getAsyncCauseway(any())).thenReturn(causeway);
 
         // send request
         causewayBuildPushAdapter.start(correlationId, startRequest);
@@ -94,7 +97,7 @@ class CausewayBuildPushAdapterTest {
         String correlationId = "correlation-12345";
         causewayBuildPushAdapter.callback(correlationId, pushResult);
         // verify that the successful callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .succeed(causewayBuildPushAdapter.getRexTaskName(correlationId), pushResult, null, null);
     }
 
@@ -113,7 +116,7 @@ class CausewayBuildPushAdapterTest {
         causewayBuildPushAdapter.callback(correlationId, pushResult);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(causewayBuildPushAdapter.getRexTaskName(correlationId), pushResult, null, Set.of(SKIP_ROLLBACK));
     }
 
@@ -132,7 +135,7 @@ class CausewayBuildPushAdapterTest {
         causewayBuildPushAdapter.callback(correlationId, pushResult);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(causewayBuildPushAdapter.getRexTaskName(correlationId), pushResult, null, null);
     }
 
@@ -146,7 +149,7 @@ class CausewayBuildPushAdapterTest {
         causewayBuildPushAdapter.callback(correlationId, pushResult);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(causewayBuildPushAdapter.getRexTaskName(correlationId), pushResult, null, null);
     }
 
@@ -160,7 +163,7 @@ class CausewayBuildPushAdapterTest {
         causewayBuildPushAdapter.callback(correlationId, pushResult);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(causewayBuildPushAdapter.getRexTaskName(correlationId), pushResult, null, null);
     }
 }
\ No newline at end of file
@@ -88,7 +88,7 @@ class DeliverablesAnalyzerAdapterTest {
 
         String correlationId = "correlation-12345";
         deliverablesAnalyzerAdapter.callback(correlationId, report);
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .succeed(deliverablesAnalyzerAdapter.getRexTaskName(correlationId), report, null, null);
     }
 
@@ -104,7 +104,7 @@ class DeliverablesAnalyzerAdapterTest {
         String correlationId = "correlation-12345";
         deliverablesAnalyzerAdapter.callback(correlationId, report);
         // verify that the successful callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(deliverablesAnalyzerAdapter.getRexTaskName(correlationId), report, null, null);
     }
 
@@ -117,7 +117,7 @@ class DeliverablesAnalyzerAdapterTest {
         String correlationId = "correlation-12345";
         deliverablesAnalyzerAdapter.callback(correlationId, report);
         // verify that the successful callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(deliverablesAnalyzerAdapter.getRexTaskName(correlationId), report, null, null);
     }
 
@@ -131,7 +131,7 @@ class DeliverablesAnalyzerAdapterTest {
         deliverablesAnalyzerAdapter.callback(correlationId, report);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(deliverablesAnalyzerAdapter.getRexTaskName(correlationId), report, null, null);
     }
 
@@ -123,7 +123,7 @@ class EnvironmentDriverCreateAdapterTest {
         environmentDriverCreateAdapter.callback(correlationId, response);
 
         // verify that the successful callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .succeed(environmentDriverCreateAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
@@ -136,7 +136,7 @@ class EnvironmentDriverCreateAdapterTest {
         environmentDriverCreateAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(environmentDriverCreateAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
@@ -149,7 +149,7 @@ class EnvironmentDriverCreateAdapterTest {
         environmentDriverCreateAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(environmentDriverCreateAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
@@ -162,7 +162,7 @@ class EnvironmentDriverCreateAdapterTest {
         environmentDriverCreateAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(environmentDriverCreateAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
@@ -176,7 +176,7 @@ class EnvironmentDriverCreateAdapterTest {
         environmentDriverCreateAdapter.callback(correlationId, response);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(environmentDriverCreateAdapter.getRexTaskName(correlationId), response, null, null);
     }
 
@@ -97,7 +97,7 @@ class ReqourAdjustAdapterTest {
         reqourAdjustAdapter.callback(correlationId, adjustResponse);
 
         // verify that the successful callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .succeed(reqourAdjustAdapter.getRexTaskName(correlationId), adjustResponse, null, null);
     }
 
@@ -115,7 +115,7 @@ class ReqourAdjustAdapterTest {
         reqourAdjustAdapter.callback(correlationId, adjustResponse);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(reqourAdjustAdapter.getRexTaskName(correlationId), adjustResponse, null, Set.of(SKIP_ROLLBACK));
     }
 
@@ -133,7 +133,7 @@ class ReqourAdjustAdapterTest {
         reqourAdjustAdapter.callback(correlationId, adjustResponse);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(reqourAdjustAdapter.getRexTaskName(correlationId), adjustResponse, null, null);
     }
 
@@ -147,7 +147,7 @@ class ReqourAdjustAdapterTest {
         reqourAdjustAdapter.callback(correlationId, adjustResponse);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(reqourAdjustAdapter.getRexTaskName(correlationId), adjustResponse, null, null);
     }
 
@@ -161,7 +161,7 @@ class ReqourAdjustAdapterTest {
         reqourAdjustAdapter.callback(correlationId, adjustResponse);
 
         // verify that the fail callback is called
-        Mockito.verify(callbackEndpoint)
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
                 .fail(reqourAdjustAdapter.getRexTaskName(correlationId), adjustResponse, null, null);
     }
 }
\ No newline at end of file
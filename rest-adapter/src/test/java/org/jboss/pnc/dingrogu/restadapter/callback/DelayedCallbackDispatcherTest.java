@@ -0,0 +1,45 @@
+package org.jboss.pnc.dingrogu.restadapter.callback;
+
+import jakarta.inject.Inject;
+
+import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class DelayedCallbackDispatcherTest {
+
+    @InjectMock
+    CallbackEndpoint callbackEndpoint;
+
+    @Inject
+    DelayedCallbackDispatcher delayedCallbackDispatcher;
+
+    @Test
+    void duplicateCallbacksAreSentOnce() {
+        String rexTaskName = "dispatcher-duplicate";
+
+        delayedCallbackDispatcher.succeed(rexTaskName, "result");
+        delayedCallbackDispatcher.succeed(rexTaskName, "result");
+
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L)).succeed(rexTaskName, "result", null, null);
+        Mockito.verify(callbackEndpoint, Mockito.after(1000L).times(1)).succeed(rexTaskName, "result", null, null);
+    }
+
+    @Test
+    void callbackIsRetriedThenFailed() {
+        String rexTaskName = "dispatcher-retry";
+        Mockito.doThrow(new RuntimeException("rex is down"))
+                .when(callbackEndpoint)
+                .succeed(rexTaskName, null, null, null);
+
+        delayedCallbackDispatcher.succeedOrFail(rexTaskName, null);
+
+        Mockito.verify(callbackEndpoint, Mockito.timeout(10000L).times(3)).succeed(rexTaskName, null, null, null);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .fail(Mockito.eq(rexTaskName), Mockito.anyString(), Mockito.isNull(), Mockito.isNull());
+    }
+}
@@ -0,0 +1,211 @@
+package org.jboss.pnc.dingrogu.restadapter.callback;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.WebApplicationException;
+
+import org.jboss.pnc.dingrogu.restadapter.callback.RexCallbackPipeline.CallbackType;
+import org.jboss.pnc.rex.api.CallbackEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RexCallbackPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<RexCallbackPipeline> pipelines = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        pipelines.forEach(RexCallbackPipeline::shutdown);
+    }
+
+    @Test
+    void callbackIsRetriedUntilDelivered() {
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+        String rexTaskName = "pipeline-retry";
+        Mockito.doThrow(new RuntimeException("Rex is down"))
+                .doNothing()
+                .when(callbackEndpoint)
+                .succeed(rexTaskName, "result", null, null);
+        RexCallbackPipeline rexCallbackPipeline = start(callbackEndpoint, Optional.empty());
+
+        rexCallbackPipeline.succeed(rexTaskName, "result", null);
+
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L).times(2)).succeed(rexTaskName, "result", null, null);
+    }
+
+    @Test
+    void rejectedCallbackIsNotRetried() {
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+        String rexTaskName = "pipeline-rejected";
+        Mockito.doThrow(new WebApplicationException(400))
+                .when(callbackEndpoint)
+                .fail(rexTaskName, "result", null, null);
+        RexCallbackPipeline rexCallbackPipeline = start(callbackEndpoint, Optional.empty());
+
+        rexCallbackPipeline.fail(rexTaskName, "result", null);
+
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L)).fail(rexTaskName, "result", null, null);
+        Mockito.verify(callbackEndpoint, Mockito.after(500L).times(1)).fail(rexTaskName, "result", null, null);
+    }
+
+    @Test
+    void supersededCallbackIsNotSent() throws Exception {
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(callbackEndpoint).succeed("blocker", "result", null, null);
+        RexCallbackPipeline rexCallbackPipeline = start(callbackEndpoint, Optional.empty());
+
+        // the only sender is busy while the callbacks of the task are submitted
+        rexCallbackPipeline.succeed("blocker", "result", null);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        rexCallbackPipeline.succeed("task", "first", null);
+        rexCallbackPipeline.fail("task", "second", null);
+        release.countDown();
+
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L)).fail("task", "second", null, null);
+        Mockito.verify(callbackEndpoint, Mockito.after(500L).never()).succeed("task", "first", null, null);
+    }
+
+    @Test
+    void callbackIsNotSentOnTheCallerThreadWhenTheQueueIsFull() throws Exception {
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(callbackEndpoint).succeed("blocker", "result", null, null);
+        List<Thread> senders = new CopyOnWriteArrayList<>();
+        Mockito.doAnswer(invocation -> senders.add(Thread.currentThread()))
+                .when(callbackEndpoint)
+                .succeed("overflow", "result", null, null);
+        RexCallbackPipeline rexCallbackPipeline = start(callbackEndpoint, Optional.empty(), 1);
+
+        rexCallbackPipeline.succeed("blocker", "result", null);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        rexCallbackPipeline.succeed("queued", "result", null);
+        rexCallbackPipeline.succeed("overflow", "result", null);
+
+        assertThat(senders).isEmpty();
+        assertThat(rexCallbackPipeline.meterRegistry.counter("dingrogu.callback.pipeline.queue-full").count())
+                .isPositive();
+        release.countDown();
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L)).succeed("overflow", "result", null, null);
+        assertThat(senders).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    void pendingCallbacksAreSentAgainAfterARestart() {
+        Optional<String> spillFile = Optional.of(tempDir.resolve("callbacks.jsonl").toString());
+        CallbackEndpoint unavailable = Mockito.mock(CallbackEndpoint.class);
+        Mockito.doThrow(new RuntimeException("Rex is down"))
+                .when(unavailable)
+                .succeed(Mockito.eq("pending"), Mockito.any(), Mockito.isNull(), Mockito.isNull());
+        RexCallbackPipeline beforeRestart = start(unavailable, spillFile);
+        beforeRestart.backoff = Duration.ofMinutes(1);
+        beforeRestart.maxBackoff = Duration.ofMinutes(1);
+
+        beforeRestart.succeed("delivered", "result", null);
+        Mockito.verify(unavailable, Mockito.timeout(5000L)).succeed("delivered", "result", null, null);
+        beforeRestart.succeed("pending", "result", null);
+        Mockito.verify(unavailable, Mockito.timeout(5000L)).succeed("pending", "result", null, null);
+        beforeRestart.submitAfter(Duration.ofMinutes(1), CallbackType.ROLLBACK_OK, "delayed", null, false);
+        beforeRestart.shutdown();
+
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+        start(callbackEndpoint, spillFile);
+
+        ArgumentCaptor<Object> result = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .succeed(Mockito.eq("pending"), result.capture(), Mockito.isNull(), Mockito.isNull());
+        assertThat(((JsonNode) result.getValue()).asText()).isEqualTo("result");
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .rollbackOK(Mockito.eq("delayed"), Mockito.any(), Mockito.isNull());
+        Mockito.verify(callbackEndpoint, Mockito.after(500L).never())
+                .succeed(Mockito.eq("delivered"), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void partiallyWrittenLastLineIsIgnored() throws Exception {
+        Path spillFile = tempDir.resolve("callbacks.jsonl");
+        Files.writeString(
+                spillFile,
+                """
+                        {"op":"ADD","id":"1","type":"FAIL","task":"task","result":"error","flags":null}
+                        {"op":"ADD","id":"2","type":"SUCC""",
+                StandardCharsets.UTF_8);
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+
+        RexCallbackPipeline rexCallbackPipeline = start(callbackEndpoint, Optional.of(spillFile.toString()));
+
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .fail(Mockito.eq("task"), Mockito.any(), Mockito.isNull(), Mockito.isNull());
+        // and the journal is usable again
+        rexCallbackPipeline.succeed("next", "result", null);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L)).succeed("next", "result", null, null);
+        assertThat(Files.readString(spillFile, StandardCharsets.UTF_8)).doesNotContain("\"id\":\"2\"");
+    }
+
+    @Test
+    void delayedCallbackFailsTheTaskIfItCantBeDelivered() {
+        CallbackEndpoint callbackEndpoint = Mockito.mock(CallbackEndpoint.class);
+        Mockito.doThrow(new WebApplicationException(400))
+                .when(callbackEndpoint)
+                .succeed("task", "result", null, null);
+        RexCallbackPipeline rexCallbackPipeline = start(callbackEndpoint, Optional.empty());
+
+        rexCallbackPipeline.submitAfter(Duration.ofMillis(200), CallbackType.SUCCEED, "task", "result", true);
+
+        Mockito.verify(callbackEndpoint, Mockito.after(100L).never())
+                .succeed(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L)).succeed("task", "result", null, null);
+        Mockito.verify(callbackEndpoint, Mockito.timeout(5000L))
+                .fail(Mockito.eq("task"), Mockito.anyString(), Mockito.isNull(), Mockito.isNull());
+    }
+
+    private RexCallbackPipeline start(CallbackEndpoint callbackEndpoint, Optional<String> spillFile) {
+        return start(callbackEndpoint, spillFile, 100);
+    }
+
+    private RexCallbackPipeline start(CallbackEndpoint callbackEndpoint, Optional<String> spillFile, int queueSize) {
+        RexCallbackPipeline rexCallbackPipeline = new RexCallbackPipeline();
+        rexCallbackPipeline.queueSize = queueSize;
+        rexCallbackPipeline.senders = 1;
+        rexCallbackPipeline.maxAttempts = 3;
+        rexCallbackPipeline.backoff = Duration.ofMillis(10);
+        rexCallbackPipeline.maxBackoff = Duration.ofSeconds(1);
+        rexCallbackPipeline.spillFile = spillFile;
+        rexCallbackPipeline.callbackEndpoint = callbackEndpoint;
+        rexCallbackPipeline.objectMapper = new ObjectMapper();
+        rexCallbackPipeline.meterRegistry = new SimpleMeterRegistry();
+        rexCallbackPipeline.init();
+        pipelines.add(rexCallbackPipeline);
+        return rexCallbackPipeline;
+    }
+}
@@ -0,0 +1,114 @@
+package org.jboss.pnc.dingrogu.restadapter.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.config.Config;
+import org.jboss.pnc.dingrogu.api.client.OidcTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.smallrye.mutiny.Uni;
+import kong.unirest.core.HttpMethod;
+import kong.unirest.core.HttpResponse;
+
+class OutboundHttpClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    private String url;
+
+    private OutboundHttpClient outboundHttpClient;
+
+    @BeforeEach
+    void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/slow";
+
+        OidcTokenProvider oidcTokenProvider = Mockito.mock(OidcTokenProvider.class);
+        Mockito.when(oidcTokenProvider.getAccessTokenAsync()).thenReturn(Uni.createFrom().item("token"));
+        Config config = Mockito.mock(Config.class);
+        Mockito.when(config.getOptionalValue(Mockito.anyString(), Mockito.any())).thenReturn(Optional.empty());
+
+        outboundHttpClient = new OutboundHttpClient();
+        outboundHttpClient.defaultConnectTimeout = Duration.ofSeconds(10);
+        outboundHttpClient.defaultReadTimeout = Optional.empty();
+        outboundHttpClient.defaultMaxRequestsPerHost = 1;
+        outboundHttpClient.defaultQueueTimeout = Duration.ofMillis(200);
+        outboundHttpClient.config = config;
+        outboundHttpClient.objectMapper = new ObjectMapper();
+        outboundHttpClient.oidcTokenProvider = oidcTokenProvider;
+        outboundHttpClient.meterRegistry = new SimpleMeterRegistry();
+        outboundHttpClient.tracer = OpenTelemetry.noop().getTracer("test");
+        outboundHttpClient.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        outboundHttpClient.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void requestQueuedForTooLongFails() {
+        CompletableFuture<HttpResponse<String>> first = outboundHttpClient
+                .sendAsync(OutboundTarget.REQOUR, HttpMethod.POST, url, "{}");
+
+        // the blocking send doesn't wait longer than the queue timeout for the slot held by the first request
+        assertThatThrownBy(() -> outboundHttpClient.send(OutboundTarget.REQOUR, HttpMethod.POST, url, "{}"))
+                .isInstanceOf(OutboundHttpClient.HostLimitExceededException.class);
+
+        release.countDown();
+        assertThat(first.join().getStatus()).isEqualTo(200);
+        // and the slot is given back
+        assertThat(outboundHttpClient.send(OutboundTarget.REQOUR, HttpMethod.POST, url, "{}").getStatus())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void genericRequestsAreNotTaggedWithTheHost() {
+        release.countDown();
+
+        outboundHttpClient.send(OutboundTarget.GENERIC, HttpMethod.POST, url, "{}");
+
+        assertThat(
+                outboundHttpClient.meterRegistry.get("dingrogu.http.client.requests")
+                        .tag("target", "generic")
+                        .timer()
+                        .getId()
+                        .getTag("host"))
+                .isEqualTo("any");
+    }
+}
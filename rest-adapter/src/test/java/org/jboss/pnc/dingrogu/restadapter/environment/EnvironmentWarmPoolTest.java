@@ -0,0 +1,98 @@
+package org.jboss.pnc.dingrogu.restadapter.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EnvironmentWarmPoolTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EnvironmentWarmPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new EnvironmentWarmPool();
+        pool.enabled = true;
+        pool.size = 2;
+        pool.warmUp = Duration.ofMinutes(2);
+        pool.ttl = Duration.ofMinutes(30);
+        pool.maxPools = 10;
+        pool.meterRegistry = meterRegistry;
+        pool.nanoTime = now::get;
+        pool.init();
+    }
+
+    @Test
+    void environmentIsWarmOnceWarmedUp() {
+        assertThat(pool.claim("image", "label")).isFalse();
+        assertThat(pool.getSize()).isEqualTo(2);
+
+        advance(Duration.ofMinutes(1));
+        assertThat(pool.claim("image", "label")).isFalse();
+
+        advance(Duration.ofMinutes(1));
+        assertThat(pool.claim("image", "label")).isTrue();
+        assertThat(pool.claim("image", "label")).isTrue();
+        assertThat(pool.claim("image", "label")).isFalse();
+
+        assertThat(claims("hit")).isEqualTo(2);
+        assertThat(claims("miss")).isEqualTo(3);
+    }
+
+    @Test
+    void poolIsPerImageAndLabel() {
+        pool.claim("image", "label");
+        advance(Duration.ofMinutes(5));
+
+        assertThat(pool.claim("image", "other-label")).isFalse();
+        assertThat(pool.claim("other-image", "label")).isFalse();
+        assertThat(pool.claim("image", "label")).isTrue();
+    }
+
+    @Test
+    void environmentsExpire() {
+        pool.claim("image", "label");
+        advance(Duration.ofMinutes(33));
+
+        assertThat(pool.claim("image", "label")).isFalse();
+    }
+
+    @Test
+    void leastRecentlyClaimedPoolIsEvicted() {
+        pool.maxPools = 2;
+        pool.claim("first", "label");
+        advance(Duration.ofSeconds(1));
+        pool.claim("second", "label");
+        advance(Duration.ofSeconds(1));
+        pool.claim("third", "label");
+
+        assertThat(meterRegistry.get("dingrogu.environment.warm-pool.pools").gauge().value()).isEqualTo(2);
+        advance(Duration.ofMinutes(5));
+        assertThat(pool.claim("first", "label")).isFalse();
+    }
+
+    @Test
+    void disabledPoolKeepsNothing() {
+        pool.enabled = false;
+
+        assertThat(pool.claim("image", "label")).isFalse();
+        assertThat(pool.getSize()).isZero();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private double claims(String result) {
+        return meterRegistry.get("dingrogu.environment.warm-pool.claims").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,163 @@
+package org.jboss.pnc.dingrogu.restadapter.progress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowProgressEventDTO;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.model.requests.MinimizedTask;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+
+class WorkflowProgressTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private WorkflowProgress progress;
+
+    @BeforeEach
+    void setup() {
+        progress = new WorkflowProgress();
+        progress.replaySize = 3;
+        progress.subscriberBuffer = 2;
+        progress.retention = Duration.ofHours(1);
+        progress.maxWorkflows = 100;
+        progress.maxEvents = 1000;
+        at(0);
+    }
+
+    @Test
+    void subscribersGetTheEventsAsTheyHappen() {
+        AssertSubscriber<WorkflowProgressEventDTO> subscriber = progress.subscribe("c1", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(10));
+
+        progress.taskTransition("build", notification("c1", "task", State.ENQUEUED, State.STARTING));
+        progress.stageBegin("c1", "BUILD_SETTING_UP", "Starting build");
+        progress.taskTransition("build", notification("other", "task", State.ENQUEUED, State.STARTING));
+
+        assertThat(subscriber.getItems()).extracting(WorkflowProgressEventDTO::getType)
+                .containsExactly(
+                        WorkflowProgressEventDTO.Type.TASK_TRANSITION,
+                        WorkflowProgressEventDTO.Type.PROCESS_STAGE);
+        assertThat(subscriber.getItems().get(0).getAfter()).isEqualTo(State.STARTING);
+        assertThat(subscriber.getItems().get(1).getStep()).isEqualTo("BEGIN");
+
+        progress.finished("build", "c1");
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    void lateSubscribersCatchUpFromTheReplay() {
+        for (int i = 0; i < 4; i++) {
+            progress.stageBegin("c1", "STAGE_" + i, "message");
+        }
+        progress.finished("build", "c1");
+
+        AssertSubscriber<WorkflowProgressEventDTO> subscriber = progress.subscribe("c1", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(10));
+
+        // the oldest events are out of the replay
+        assertThat(subscriber.getItems()).extracting(WorkflowProgressEventDTO::getStage)
+                .containsExactly("STAGE_2", "STAGE_3", null);
+        subscriber.assertCompleted();
+
+        long since = subscriber.getItems().get(0).getSequence();
+        assertThat(progress.subscribe("c1", since).subscribe().withSubscriber(AssertSubscriber.create(10)).getItems())
+                .hasSize(2);
+    }
+
+    @Test
+    void eventsAfterTheEndOfTheWorkflowAreDropped() {
+        progress.stageBegin("c1", "STAGE", "message");
+        progress.finished("build", "c1");
+        progress.stageEnd("c1", "STAGE", "late message");
+        progress.taskTransition("build", notification("c1", "task", State.UP, State.SUCCESSFUL));
+
+        AssertSubscriber<WorkflowProgressEventDTO> subscriber = progress.subscribe("c1", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(10));
+
+        assertThat(subscriber.getItems()).extracting(WorkflowProgressEventDTO::getType)
+                .containsExactly(
+                        WorkflowProgressEventDTO.Type.PROCESS_STAGE,
+                        WorkflowProgressEventDTO.Type.WORKFLOW_FINISHED);
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWithoutBlockingTheOthers() {
+        AssertSubscriber<WorkflowProgressEventDTO> slow = progress.subscribe("c1", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(0));
+        AssertSubscriber<WorkflowProgressEventDTO> fast = progress.subscribe("c1", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(10));
+
+        for (int i = 0; i < 3; i++) {
+            progress.stageBegin("c1", "STAGE_" + i, "message");
+        }
+
+        slow.assertFailedWith(BackPressureFailure.class);
+        assertThat(fast.getItems()).hasSize(3);
+        fast.assertNotTerminated();
+    }
+
+    @Test
+    void idleWorkflowsWithoutSubscribersAreDropped() {
+        progress.stageBegin("idle", "STAGE", "message");
+        AssertSubscriber<WorkflowProgressEventDTO> subscriber = progress.subscribe("subscribed", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(10));
+
+        at(3601);
+        progress.stageBegin("new", "STAGE", "message");
+
+        assertThat(progress.subscribe("idle", 0).subscribe().withSubscriber(AssertSubscriber.create(10)).getItems())
+                .isEmpty();
+        progress.stageEnd("subscribed", "STAGE", "message");
+        assertThat(subscriber.getItems()).hasSize(1);
+    }
+
+    @Test
+    void leastRecentlyActiveWorkflowsAreDroppedAboveTheEventLimit() {
+        progress.maxEvents = 4;
+        progress.stageBegin("oldest", "STAGE", "message");
+        progress.stageBegin("old", "STAGE", "message");
+        AssertSubscriber<WorkflowProgressEventDTO> subscriber = progress.subscribe("subscribed", 0)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(10));
+        progress.stageBegin("subscribed", "STAGE", "message");
+        // the oldest becomes the most recently active
+        progress.stageEnd("oldest", "STAGE", "message");
+
+        progress.stageBegin("new", "STAGE", "message");
+
+        assertThat(progress.subscribe("old", 0).subscribe().withSubscriber(AssertSubscriber.create(10)).getItems())
+                .isEmpty();
+        assertThat(progress.subscribe("oldest", 0).subscribe().withSubscriber(AssertSubscriber.create(10)).getItems())
+                .hasSize(2);
+        assertThat(subscriber.getItems()).hasSize(1);
+    }
+
+    private void at(long seconds) {
+        progress.clock = Clock.fixed(T0.plusSeconds(seconds), ZoneOffset.UTC);
+    }
+
+    private static NotificationRequest notification(String correlationId, String name, State before, State after) {
+        return NotificationRequest.builder()
+                .before(before)
+                .after(after)
+                .task(MinimizedTask.builder().name(name).correlationID(correlationId).state(after).build())
+                .build();
+    }
+}
@@ -1,9 +1,13 @@
 package org.jboss.pnc.dingrogu.restadapter.rest;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.ws.rs.core.Response;
@@ -16,6 +20,7 @@ import org.jboss.pnc.rex.model.requests.StartRequest;
 import org.jboss.pnc.rex.model.requests.StopRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import io.quarkus.test.InjectMock;
@@ -37,6 +42,8 @@ public class AdapterEndpointImplTest {
     @BeforeEach
     void setup() {
         Mockito.when(dummyAdapter.getAdapterName()).thenReturn("dummy-adapter");
+        Mockito.when(dummyAdapter.getPayloadType()).thenReturn(DummyDTO.class);
+        Mockito.when(dummyAdapter.getCallbackType()).thenReturn(DummyServiceResponseDTO.class);
     }
 
     @Test
@@ -56,6 +63,26 @@ public class AdapterEndpointImplTest {
                 .post(AdapterEndpoint.getStartAdapterEndpoint(baseUrl, dummyAdapter.getAdapterName(), "1234"))
                 .then()
                 .statusCode(Response.Status.ACCEPTED.getStatusCode());
+
+        // the payload is read straight into the payload type of the adapter
+        ArgumentCaptor<StartRequest> captor = ArgumentCaptor.forClass(StartRequest.class);
+        Mockito.verify(dummyAdapter).start(eq("1234"), captor.capture());
+        assertThat(captor.getValue().getPayload()).isEqualTo(startRequest.getPayload());
+    }
+
+    @Test
+    void testStartWithUnreadablePayloadIsNotPassedToTheAdapter() {
+        String baseUrl = url.getProtocol() + "://" + url.getHost() + ":" + url.getPort();
+
+        given().when()
+                .accept(ContentType.JSON)
+                .contentType(ContentType.JSON)
+                .body("{\"payload\": {\"dummyServiceUrl\": [1, 2]}}")
+                .post(AdapterEndpoint.getStartAdapterEndpoint(baseUrl, dummyAdapter.getAdapterName(), "1234"))
+                .then()
+                .statusCode(greaterThanOrEqualTo(Response.Status.BAD_REQUEST.getStatusCode()));
+
+        Mockito.verify(dummyAdapter, Mockito.never()).start(any(), any());
     }
 
     @Test
@@ -129,6 +156,28 @@ public class AdapterEndpointImplTest {
                 .post(AdapterEndpoint.getCallbackAdapterEndpoint(baseUrl, dummyAdapter.getAdapterName(), "1234"))
                 .then()
                 .statusCode(Response.Status.OK.getStatusCode());
+
+        // the callback is read straight into the callback type of the adapter
+        Mockito.verify(dummyAdapter).callback("1234", dummyServiceResponseDTO);
+    }
+
+    @Test
+    void testCallbackNotOfTheCallbackTypeIsPassedAsJson() {
+        String baseUrl = url.getProtocol() + "://" + url.getHost() + ":" + url.getPort();
+        String body = "[\"not\", \"a\", \"dummy\", \"response\"]";
+
+        Mockito.doNothing().when(dummyAdapter).callback(any(), any());
+
+        given().when()
+                .accept(ContentType.JSON)
+                .contentType(ContentType.JSON)
+                .body(body)
+                .post(AdapterEndpoint.getCallbackAdapterEndpoint(baseUrl, dummyAdapter.getAdapterName(), "1234"))
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode());
+
+        // passed as the JSON value, not as its text
+        Mockito.verify(dummyAdapter).callback("1234", List.of("not", "a", "dummy", "response"));
     }
 
     @Test
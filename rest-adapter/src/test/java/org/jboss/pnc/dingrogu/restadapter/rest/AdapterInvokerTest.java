@@ -0,0 +1,150 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+import org.jboss.pnc.api.constants.MDCHeaderKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+class AdapterInvokerTest {
+
+    private static final String PROCESS_CONTEXT = MDCHeaderKeys.PROCESS_CONTEXT.getMdcKey();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ManagedExecutor managedExecutor = spy(ManagedExecutor.builder().maxAsync(4).build());
+
+    private AdapterInvoker invoker;
+
+    @BeforeEach
+    void setup() {
+        invoker = new AdapterInvoker();
+        invoker.executionMode = AdapterExecutionMode.WORKER;
+        invoker.defaultMaxConcurrency = 0;
+        invoker.acquireTimeout = Duration.ofSeconds(5);
+        invoker.config = new SmallRyeConfigBuilder().withDefaultValue("dingrogu.adapter.limited.max-concurrency", "1")
+                .build();
+        invoker.managedExecutor = managedExecutor;
+        invoker.threadContext = ThreadContext.builder().build();
+        invoker.meterRegistry = meterRegistry;
+    }
+
+    @AfterEach
+    void shutdown() {
+        invoker.shutdown();
+        managedExecutor.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    void invocationsWaitForASlotWithoutHoldingAThread() throws Exception {
+        invoker.init();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletionStage<String> first = invoker.invoke("limited", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "first";
+        });
+        CompletionStage<String> second = invoker.invoke("limited", () -> "second");
+
+        assertThat(gauge("dingrogu.adapter.limit.waiting")).isEqualTo(1);
+        // not submitted to the executor until it has a slot
+        assertThat(gauge("dingrogu.adapter.executor.queued")).isZero();
+        assertThat(second.toCompletableFuture()).isNotDone();
+
+        release.countDown();
+        assertThat(first.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(gauge("dingrogu.adapter.limit.waiting")).isZero();
+    }
+
+    @Test
+    void invocationsWithoutASlotInTimeAreRejectedWithA503() {
+        invoker.acquireTimeout = Duration.ofMillis(100);
+        invoker.init();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        invoker.invokeAsync("limited", () -> pending);
+
+        CompletableFuture<String> sync = invoker.invoke("limited", () -> "sync").toCompletableFuture();
+        CompletableFuture<String> async = invoker
+                .invokeAsync("limited", () -> CompletableFuture.completedFuture("async"))
+                .toCompletableFuture();
+
+        for (CompletableFuture<String> rejected : List.of(sync, async)) {
+            Throwable error = rejected.handle((result, e) -> e).join();
+            assertThat(error).hasRootCauseInstanceOf(AdapterInvoker.AdapterLimitExceededException.class);
+            assertThat(new AdapterEndpointImpl().mapException((RuntimeException) error).getStatus()).isEqualTo(503);
+        }
+        assertThat(gauge("dingrogu.adapter.limit.waiting")).isZero();
+
+        // the slot isn't lost with the rejected invocations
+        pending.complete("done");
+        assertThat(invoker.invoke("limited", () -> "next").toCompletableFuture().join()).isEqualTo("next");
+    }
+
+    @Test
+    void invocationsRunWithTheMdcOfTheCaller() throws Exception {
+        invoker.init();
+        // threads of the pool started before the MDC is set, so they don't inherit it
+        invoker.invoke("adapter", () -> "warm-up").toCompletableFuture().get(5, TimeUnit.SECONDS);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        invoker.invokeAsync("limited", () -> pending);
+        List<String> processContexts = new CopyOnWriteArrayList<>();
+
+        MDC.setContextMap(Map.of(PROCESS_CONTEXT, "build-42"));
+        CompletionStage<String> sync = invoker.invoke("adapter", () -> {
+            processContexts.add(MDC.get(PROCESS_CONTEXT));
+            return "sync";
+        });
+        CompletionStage<String> async = invoker.invokeAsync("limited", () -> {
+            processContexts.add(MDC.get(PROCESS_CONTEXT));
+            return CompletableFuture.completedFuture("async");
+        });
+        MDC.clear();
+
+        sync.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        // started on this thread, without MDC, once the slot is released
+        pending.complete("done");
+        async.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(processContexts).containsExactly("build-42", "build-42");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void workerPoolIsUsedWithoutVirtualThreadSupport() throws Exception {
+        invoker.executionMode = AdapterExecutionMode.VIRTUAL;
+        invoker.virtualThreadSupport = () -> false;
+        invoker.init();
+
+        String thread = invoker.invoke("adapter", () -> Thread.currentThread().getName())
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(thread).isNotEqualTo(Thread.currentThread().getName());
+        verify(managedExecutor, atLeastOnce()).execute(any());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.find(name).gauges().stream().mapToDouble(gauge -> gauge.value()).sum();
+    }
+}
@@ -0,0 +1,59 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdapterMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdapterMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        metrics = new AdapterMetrics();
+        metrics.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    void requestIsRecordedOnceDone() {
+        CompletableFuture<String> request = new CompletableFuture<>();
+
+        metrics.record("adapter", "start", () -> request);
+        assertThat(count("start", "success")).isZero();
+
+        request.complete("done");
+        assertThat(count("start", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void outcomeOfTheFailedRequests() {
+        metrics.record("adapter", "cancel", () -> CompletableFuture.failedFuture(new IllegalStateException()));
+        metrics.record(
+                "adapter",
+                "callback",
+                () -> CompletableFuture.failedFuture(new AdapterInvoker.AdapterLimitExceededException("adapter")));
+        metrics.record("adapter", "start", () -> {
+            throw new IllegalStateException();
+        });
+
+        assertThat(count("cancel", "failure")).isEqualTo(1);
+        assertThat(count("callback", "rejected")).isEqualTo(1);
+        assertThat(count("start", "failure")).isEqualTo(1);
+    }
+
+    private long count(String operation, String outcome) {
+        return meterRegistry.find("dingrogu.adapter.requests")
+                .tags("adapter", "adapter", "operation", operation, "outcome", outcome)
+                .timers()
+                .stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+}
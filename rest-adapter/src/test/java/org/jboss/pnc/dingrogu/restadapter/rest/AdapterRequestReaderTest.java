@@ -0,0 +1,80 @@
+package org.jboss.pnc.dingrogu.restadapter.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.jboss.pnc.api.dto.HeartbeatConfig;
+import org.jboss.pnc.dingrogu.api.dto.adapter.DummyDTO;
+import org.jboss.pnc.rex.model.requests.StartRequest;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+class AdapterRequestReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final ObjectReader startRequestReader = AdapterRequestReader.startRequestReader(objectMapper);
+
+    @Test
+    void startPayloadIsReadIntoThePayloadType() throws Exception {
+        StartRequest sent = StartRequest.builder()
+                .payload(DummyDTO.builder().dummyServiceUrl("http://dummy.example.com").build())
+                .heartbeatConfig(HeartbeatConfig.builder().delay(10L).build())
+                .mdc(Map.of("processContext", "build-1"))
+                .taskResults(Map.of("previous-task", Map.of("status", "SUCCESS")))
+                .build();
+
+        StartRequest read = AdapterRequestReader
+                .readStartRequest(startRequestReader, objectMapper.writeValueAsBytes(sent), DummyDTO.class);
+
+        assertThat(read.getPayload()).isEqualTo(sent.getPayload());
+        assertThat(read.getHeartbeatConfig().getDelay()).isEqualTo(10L);
+        assertThat(read.getMdc()).isEqualTo(sent.getMdc());
+        assertThat(read.getTaskResults()).isEqualTo(sent.getTaskResults());
+    }
+
+    @Test
+    void startRequestWithUnknownFields() throws Exception {
+        byte[] body = "{\"unknown\": {\"nested\": []}, \"payload\": {\"dummyServiceUrl\": \"http://dummy\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        StartRequest read = AdapterRequestReader.readStartRequest(startRequestReader, body, DummyDTO.class);
+
+        assertThat(read.getPayload()).isEqualTo(DummyDTO.builder().dummyServiceUrl("http://dummy").build());
+    }
+
+    @Test
+    void startRequestReaderLeavesTheObjectMapperUnchanged() throws Exception {
+        byte[] body = "{\"payload\": {\"dummyServiceUrl\": \"http://dummy\"}}".getBytes(StandardCharsets.UTF_8);
+
+        StartRequest read = objectMapper.readValue(body, StartRequest.class);
+
+        assertThat(read.getPayload()).isEqualTo(Map.of("dummyServiceUrl", "http://dummy"));
+    }
+
+    @Test
+    void callbackNotOfTheCallbackTypeIsAMappingFailure() {
+        byte[] notADummy = "[1, 2]".getBytes(StandardCharsets.UTF_8);
+        byte[] notJson = "{not json".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> AdapterRequestReader.readCallback(objectMapper, notADummy, DummyDTO.class))
+                .isInstanceOf(DatabindException.class);
+        assertThatThrownBy(() -> AdapterRequestReader.readCallback(objectMapper, notJson, DummyDTO.class))
+                .isInstanceOf(StreamReadException.class);
+    }
+
+    @Test
+    void emptyBodyIsNull() throws Exception {
+        assertThat(AdapterRequestReader.readStartRequest(startRequestReader, new byte[0], DummyDTO.class)).isNull();
+        assertThat(AdapterRequestReader.readCallback(objectMapper, new byte[0], DummyDTO.class)).isNull();
+    }
+}
@@ -1,45 +1,80 @@
 package org.jboss.pnc.dingrogu.restworkflow.rest;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
 
-import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BatchSubmissionResultDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.BrewPushWorkflowDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.BuildWorkflowClearEnvironmentDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BulkCancelRequestDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BulkCancelResultDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.DeliverablesAnalysisWorkflowDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.DummyWorkflowDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.RepositoryCreationDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowProgressEventDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusPageDTO;
 import org.jboss.pnc.dingrogu.api.endpoint.WorkflowEndpoint;
+import org.jboss.pnc.dingrogu.common.TraceHelper;
 import org.jboss.pnc.dingrogu.restadapter.adapter.BuildDriverAdapter;
+import org.jboss.pnc.dingrogu.restadapter.callback.DelayedCallbackDispatcher;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.BrewPushWorkflow;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.BuildWorkflow;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.DeliverablesAnalysisWorkflow;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.DummyWorkflow;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.RepositoryCreationWorkflow;
-import org.jboss.pnc.rex.api.CallbackEndpoint;
-import org.jboss.pnc.rex.api.TaskEndpoint;
-import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.Workflow;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.WorkflowRegistry;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowBatchSubmitter;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowCanceller;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowMetrics;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowStatusStore;
 import org.jboss.pnc.rex.model.requests.NotificationRequest;
 import org.jboss.pnc.rex.model.requests.RollbackRequest;
 import org.jboss.pnc.rex.model.requests.StartRequest;
-import org.jboss.resteasy.reactive.ClientWebApplicationException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Multi;
 
 /**
  * Implementation of the workflow endpoint
  *
- * Any new workflow will require the addition of a new endpoint here
+ * A new workflow doesn't require a new endpoint here: it is started and notified through the generic endpoints, which
+ * find it by name in the {@link WorkflowRegistry}
+ *
+ * The submission of a workflow is traced in a span whose trace context is given to Rex with the tasks (see
+ * {@link TraceHelper}): the adapter requests and the notifications of the workflow are part of that trace.
+ *
+ * The status of the workflows is served from the {@link WorkflowStatusStore}, fed by the workflows when they submit
+ * their tasks and by the notifications going through here. The notifications are also streamed to the subscribers
+ * of the workflow through {@link WorkflowProgress}.
  */
 @ApplicationScoped
 public class WorkflowEndpointImpl implements WorkflowEndpoint {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MAX_BULK_CANCEL = 5000;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Inject
     BrewPushWorkflow brewPushWorkflow;
 
@@ -56,43 +91,79 @@ public class WorkflowEndpointImpl implements WorkflowEndpoint {
     DummyWorkflow dummyWorkflow;
 
     @Inject
-    TaskEndpoint taskEndpoint;
-
-    @Inject
-    CallbackEndpoint callbackEndpoint;
+    WorkflowRegistry workflowRegistry;
 
     @Inject
     BuildDriverAdapter buildDriverAdapter;
 
     @Inject
-    ManagedExecutor managedExecutor;
+    DelayedCallbackDispatcher delayedCallbackDispatcher;
 
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    WorkflowMetrics workflowMetrics;
+
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    @Inject
+    WorkflowProgress workflowProgress;
+
+    @Inject
+    WorkflowCanceller workflowCanceller;
+
+    @Inject
+    WorkflowBatchSubmitter workflowBatchSubmitter;
+
+    @Inject
+    Tracer tracer;
+
+    @Override
+    public CorrelationId startWorkflow(String name, JsonNode input) {
+        Workflow<?> workflow = getWorkflow(name);
+        if (!workflow.isStartable()) {
+            throw new BadRequestException("Workflow " + name + " can't be started with /workflow/" + name + "/start");
+        }
+        return submit(workflow, input);
+    }
+
+    @Override
+    public Response workflowNotificationFromRex(String name, NotificationRequest notificationRequest) {
+        return notifyWorkflow(getWorkflow(name), notificationRequest);
+    }
+
     @Override
     public CorrelationId startBrewPushWorkflow(BrewPushWorkflowDTO brewPushWorkflowDTO) {
-        return brewPushWorkflow.submitWorkflow(brewPushWorkflowDTO);
+        return record(brewPushWorkflow, () -> brewPushWorkflow.submitWorkflow(brewPushWorkflowDTO));
+    }
+
+    @Override
+    public BatchSubmissionResultDTO startBrewPushWorkflows(List<BrewPushWorkflowDTO> brewPushWorkflowDTOs) {
+        return submitBatch(brewPushWorkflow, brewPushWorkflowDTOs);
     }
 
     @Override
     public Response brewPushNotificationFromRex(NotificationRequest notificationRequest) {
-        return brewPushWorkflow.rexNotification(notificationRequest);
+        return notifyWorkflow(brewPushWorkflow, notificationRequest);
     }
 
     @Override
     public Response repositoryCreationNotificationFromRex(NotificationRequest notificationRequest) {
-        return repositoryCreationWorkflow.rexNotification(notificationRequest);
+        return notifyWorkflow(repositoryCreationWorkflow, notificationRequest);
     }
 
     @Override
     public CorrelationId startRepositoryCreationWorkflow(RepositoryCreationDTO repositoryCreationDTO) {
-        return repositoryCreationWorkflow.submitWorkflow(repositoryCreationDTO);
+        return record(
+                repositoryCreationWorkflow,
+                () -> repositoryCreationWorkflow.submitWorkflow(repositoryCreationDTO));
     }
 
     @Override
     public CorrelationId startBuildWorkflowFromRex(StartRequest startRequest) {
-        return buildWorkflow.submitWorkflow(startRequest);
+        return record(buildWorkflow, () -> buildWorkflow.submitWorkflow(startRequest));
     }
 
     @Override
@@ -103,71 +174,150 @@ public class WorkflowEndpointImpl implements WorkflowEndpoint {
         buildWorkflow.clearEnvironment(buildWorkflowClearEnvironmentDTO);
 
         // whatever happens, let's just say that it succeeded
-        managedExecutor.submit(() -> {
-            try {
-                // sleep for 5 seconds to make sure that Rex has processed the successful start
-                Thread.sleep(2000L);
-            } catch (InterruptedException e) {
-                Log.error(e);
-            }
-            try {
-                callbackEndpoint.rollbackOK(
-                        buildWorkflowClearEnvironmentDTO.getRexTaskName(),
-                        null,
-                        null);
-            } catch (Exception e) {
-                Log.error("Error happened in callback to rex", e);
-                callbackEndpoint.rollbackOK(
-                        buildWorkflowClearEnvironmentDTO.getRexTaskName(),
-                        null,
-                        null);
-            }
-        });
+        delayedCallbackDispatcher.rollbackOK(buildWorkflowClearEnvironmentDTO.getRexTaskName());
     }
 
     @Override
     public Response buildWorkflowNotificationFromRex(NotificationRequest notificationRequest) {
-        return buildWorkflow.rexNotification(notificationRequest);
+        return notifyWorkflow(buildWorkflow, notificationRequest);
     }
 
     @Override
     public CorrelationId startDeliverablesAnalysisWorkflow(
             DeliverablesAnalysisWorkflowDTO deliverablesAnalysisWorkflowDTO) {
-        return deliverablesAnalysisWorkflow.submitWorkflow(deliverablesAnalysisWorkflowDTO);
+        return record(
+                deliverablesAnalysisWorkflow,
+                () -> deliverablesAnalysisWorkflow.submitWorkflow(deliverablesAnalysisWorkflowDTO));
+    }
+
+    @Override
+    public BatchSubmissionResultDTO startDeliverablesAnalysisWorkflows(
+            List<DeliverablesAnalysisWorkflowDTO> deliverablesAnalysisWorkDTOs) {
+        return submitBatch(deliverablesAnalysisWorkflow, deliverablesAnalysisWorkDTOs);
     }
 
     @Override
     public Response deliverablesAnalysisNotificationFromRex(NotificationRequest notificationRequest) {
-        return deliverablesAnalysisWorkflow.rexNotification(notificationRequest);
+        return notifyWorkflow(deliverablesAnalysisWorkflow, notificationRequest);
     }
 
     @Override
     public CorrelationId startDummyWorkflow(DummyWorkflowDTO dummyWorkflowDTO) {
-        return dummyWorkflow.submitWorkflow(dummyWorkflowDTO);
+        return record(dummyWorkflow, () -> dummyWorkflow.submitWorkflow(dummyWorkflowDTO));
     }
 
     @Override
     public Response dummyNotificationFromRex(NotificationRequest notificationRequest) {
-        return dummyWorkflow.rexNotification(notificationRequest);
+        return notifyWorkflow(dummyWorkflow, notificationRequest);
     }
 
     @Override
     public Response cancelWorkflow(String correlationId) {
-        Log.infof("Cancelling workflow with correlation id %s", correlationId);
-
-        Set<TaskDTO> tasks = taskEndpoint.byCorrelation(correlationId);
-
-        for (TaskDTO task : tasks) {
-            if (!task.getState().isFinal()) {
-                try (Response response = taskEndpoint.cancel(task.getName())) {
-                    if (response.getStatus() != Response.Status.ACCEPTED.getStatusCode()) {
-                        Log.warnf("Couldn't cancel Rex task: %s", task.getName());
-                    }
-                } catch (ClientWebApplicationException e) {
-                    Log.warnf("Couldn't cancel Rex task: %s with exception %s", task.getName(), e.getMessage());
+        workflowCanceller.cancel(correlationId);
+        return Response.ok().build();
+    }
+
+    @Override
+    public BulkCancelResultDTO cancelWorkflows(BulkCancelRequestDTO bulkCancelRequestDTO) {
+        Set<String> correlationIds = new LinkedHashSet<>();
+        if (bulkCancelRequestDTO.getCorrelationIds() != null) {
+            correlationIds.addAll(bulkCancelRequestDTO.getCorrelationIds());
+        }
+        if (correlationIds.size() > MAX_BULK_CANCEL) {
+            throw new BadRequestException("At most " + MAX_BULK_CANCEL + " workflows can be cancelled at once");
+        }
+        Log.infof("Cancelling %d workflows", correlationIds.size());
+        return workflowCanceller.cancelAll(correlationIds);
+    }
+
+    @Override
+    public WorkflowStatusDTO getWorkflowStatus(String correlationId) {
+        return workflowStatusStore.get(correlationId)
+                .orElseThrow(() -> new NotFoundException("No workflow with correlation id " + correlationId));
+    }
+
+    @Override
+    public WorkflowStatusPageDTO getWorkflowsInProgress(int pageIndex, int pageSize) {
+        if (pageIndex < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("pageIndex must be >= 0 and pageSize between 1 and " + MAX_PAGE_SIZE);
+        }
+        return workflowStatusStore.getInProgress(pageIndex, pageSize);
+    }
+
+    @Override
+    public Multi<WorkflowProgressEventDTO> streamWorkflowProgress(String correlationId, long since) {
+        if (since < 0) {
+            throw new BadRequestException("since must be >= 0");
+        }
+        return workflowProgress.subscribe(correlationId, since);
+    }
+
+    private Workflow<?> getWorkflow(String name) {
+        return workflowRegistry.get(name).orElseThrow(() -> new NotFoundException("No workflow named " + name));
+    }
+
+    private <T> CorrelationId submit(Workflow<T> workflow, JsonNode input) {
+        T converted;
+        try {
+            converted = objectMapper.treeToValue(input, workflow.getInputType());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid input of workflow " + workflow.getName() + ": " + e.getMessage());
+        }
+        return record(workflow, () -> workflow.submitWorkflow(converted));
+    }
+
+    private <T> BatchSubmissionResultDTO submitBatch(Workflow<T> workflow, List<T> inputs) {
+        if (inputs == null || inputs.isEmpty() || inputs.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch must have between 1 and " + MAX_BATCH_SIZE + " workflows");
+        }
+        Log.infof("Submitting a batch of %d %s workflows", inputs.size(), workflow.getName());
+        return workflowBatchSubmitter
+                .submitAll(inputs, input -> record(workflow, () -> workflow.submitWorkflow(input)));
+    }
+
+    private CorrelationId record(Workflow<?> workflow, Supplier<CorrelationId> submission) {
+        long start = System.nanoTime();
+        boolean success = false;
+        Span span = tracer.spanBuilder("submitWorkflow " + workflow.getName())
+                .setAttribute(TraceHelper.WORKFLOW, workflow.getName())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            CorrelationId correlationId = submission.get();
+            span.setAttribute(TraceHelper.CORRELATION_ID, correlationId.getId());
+            success = true;
+            return correlationId;
+        } catch (RuntimeException e) {
+            TraceHelper.fail(span, e);
+            throw e;
+        } finally {
+            span.end();
+            workflowMetrics.submitted(workflow.getName(), start, success);
+        }
+    }
+
+    private Response notifyWorkflow(Workflow<?> workflow, NotificationRequest notificationRequest) {
+        Span span = tracer.spanBuilder("rexNotification " + workflow.getName())
+                .setAttribute(TraceHelper.WORKFLOW, workflow.getName())
+                .setAttribute(TraceHelper.CORRELATION_ID, notificationRequest.getTask().getCorrelationID())
+                .setAttribute("dingrogu.rex.task", notificationRequest.getTask().getName())
+                .setAttribute("dingrogu.rex.state", String.valueOf(notificationRequest.getAfter()))
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            boolean finished = workflowStatusStore.notified(workflow.getName(), notificationRequest);
+            workflowProgress.taskTransition(workflow.getName(), notificationRequest);
+            try {
+                return workflow.rexNotification(notificationRequest, finished);
+            } finally {
+                // after the notification is handled, so that its process stages are streamed before the end
+                if (finished) {
+                    workflowProgress.finished(workflow.getName(), notificationRequest.getTask().getCorrelationID());
                 }
             }
+        } catch (RuntimeException e) {
+            TraceHelper.fail(span, e);
+            throw e;
+        } finally {
+            span.end();
         }
-        return Response.ok().build();
     }
 }
@@ -1,10 +1,10 @@
 package org.jboss.pnc.dingrogu.restworkflow.workflows;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
@@ -23,12 +23,17 @@ import org.jboss.pnc.dingrogu.common.NotificationHelper;
 import org.jboss.pnc.dingrogu.restadapter.adapter.CausewayBuildPushAdapter;
 import org.jboss.pnc.dingrogu.restadapter.adapter.OrchBuildPushResultAdapter;
 import org.jboss.pnc.dingrogu.restadapter.client.OrchClient;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.FinishedWorkflowTasks;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.SharedAttachments;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.TaskIndex;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowDefinition;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphCompiler;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowHelper;
-import org.jboss.pnc.rex.api.QueueEndpoint;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowMetrics;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowStatusStore;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.dto.ConfigurationDTO;
-import org.jboss.pnc.rex.dto.CreateTaskDTO;
-import org.jboss.pnc.rex.dto.EdgeDTO;
 import org.jboss.pnc.rex.dto.TaskDTO;
 import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
 import org.jboss.pnc.rex.model.requests.NotificationRequest;
@@ -55,14 +60,14 @@ public class BrewPushWorkflow implements Workflow<BrewPushWorkflowDTO> {
     @Inject
     TaskEndpoint taskEndpoint;
 
-    @Inject
-    QueueEndpoint queueEndpoint;
-
     @ConfigProperty(name = "rexclient.brew_push.queue_name")
     String rexQueueName;
 
-    @ConfigProperty(name = "rexclient.brew_push.queue_size")
-    int rexQueueSize;
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    @Inject
+    FinishedWorkflowTasks finishedWorkflowTasks;
 
     @Inject
     ObjectMapper objectMapper;
@@ -70,9 +75,41 @@ public class BrewPushWorkflow implements Workflow<BrewPushWorkflowDTO> {
     @Inject
     WorkflowHelper workflowHelper;
 
+    @Inject
+    SharedAttachments sharedAttachments;
+
+    @Inject
+    WorkflowMetrics workflowMetrics;
+
     @Inject
     OrchClient orchClient;
 
+    static final WorkflowDefinition DEFINITION = WorkflowDefinition.builder("brew-push")
+            .configuration(ConfigurationDTO.builder().mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING).build())
+            .task("causeway-brew-push")
+            .task("orch-push-result", "causeway-brew-push")
+            .build();
+
+    @Inject
+    WorkflowGraphCompiler workflowGraphCompiler;
+
+    private WorkflowGraphTemplate graphTemplate;
+
+    @PostConstruct
+    void init() {
+        graphTemplate = workflowGraphCompiler.compile(DEFINITION, rexQueueName);
+    }
+
+    @Override
+    public String getName() {
+        return DEFINITION.getName();
+    }
+
+    @Override
+    public Class<BrewPushWorkflowDTO> getInputType() {
+        return BrewPushWorkflowDTO.class;
+    }
+
     @Override
     public CorrelationId submitWorkflow(BrewPushWorkflowDTO brewPushWorkflowDTO) throws WorkflowSubmissionException {
         Log.infof("DTO for submitWorkflow: %s", brewPushWorkflowDTO);
@@ -95,64 +132,46 @@ public class BrewPushWorkflow implements Workflow<BrewPushWorkflowDTO> {
 
         try {
 
-            CreateTaskDTO buildPush = causewayBuildPushAdapter
-                    .generateRexTask(ownUrl, correlationId.getId(), brewPushWorkflowDTO, brewPushDTO);
-
-            CreateTaskDTO buildPushResult = orchBuildPushResultAdapter
-                    .generateRexTask(ownUrl, correlationId.getId(), brewPushWorkflowDTO, orchPushResultDTO);
-
-            Map<String, CreateTaskDTO> vertices = Map
-                    .of(buildPush.name, buildPush, buildPushResult.name, buildPushResult);
-
-            EdgeDTO edgeDTO = EdgeDTO.builder().source(buildPushResult.name).target(buildPush.name).build();
-            Set<EdgeDTO> edges = Set.of(edgeDTO);
-
-            ConfigurationDTO configurationDTO = ConfigurationDTO.builder()
-                    .mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING)
+            CreateGraphRequest graphRequest = graphTemplate.bind(correlationId.getId(), brewPushWorkflowDTO)
+                    .payload(causewayBuildPushAdapter, brewPushDTO)
+                    .payload(orchBuildPushResultAdapter, orchPushResultDTO)
                     .build();
-
-            CreateGraphRequest graphRequest = new CreateGraphRequest(
-                    correlationId.getId(),
-                    rexQueueName,
-                    configurationDTO,
-                    edges,
-                    vertices);
-            setRexQueueSize(queueEndpoint, rexQueueName, rexQueueSize);
+            workflowStatusStore.submitted(getName(), correlationId.getId(), graphRequest.getVertices().keySet());
             taskEndpoint.start(graphRequest);
 
             return correlationId;
         } catch (Exception e) {
+            workflowStatusStore.forget(correlationId.getId());
             throw new WorkflowSubmissionException(e);
         }
     }
 
     @Override
-    public Response rexNotification(NotificationRequest notificationRequest) {
-
-        if (!NotificationHelper.isFromRunningToFinal(notificationRequest)) {
-            // we only care about states from running to final
-            return Response.ok().build();
+    public Response rexNotification(NotificationRequest notificationRequest, boolean finished) {
+
+        if (NotificationHelper.isFromRunningToFinal(notificationRequest)) {
+            Log.warnf(
+                    "[%s] -> [%s] :: %s",
+                    notificationRequest.getBefore(),
+                    notificationRequest.getAfter(),
+                    notificationRequest.getTask().getName());
         }
 
-        Log.warnf(
-                "[%s] -> [%s] :: %s",
-                notificationRequest.getBefore(),
-                notificationRequest.getAfter(),
-                notificationRequest.getTask().getName());
-
-        String correlationId = notificationRequest.getTask().getCorrelationID();
-        Set<TaskDTO> tasks = taskEndpoint.byCorrelation(correlationId);
+        Optional<Set<TaskDTO>> finishedTasks = finishedWorkflowTasks.getTasksIfFinished(notificationRequest, finished);
 
-        if (NotificationHelper.areAllRexTasksInFinalState(tasks)) {
-            BrewPushWorkflowDTO dto = objectMapper
-                    .convertValue(notificationRequest.getAttachment(), BrewPushWorkflowDTO.class);
+        if (finishedTasks.isPresent()) {
+            Set<TaskDTO> tasks = finishedTasks.get();
+            workflowMetrics.finished(getName(), tasks);
+            Object attachment = sharedAttachments.resolve(notificationRequest.getAttachment(), tasks);
+            BrewPushWorkflowDTO dto = objectMapper.convertValue(attachment, BrewPushWorkflowDTO.class);
+            TaskIndex index = workflowHelper.index(tasks);
             Optional<PushResult> push = workflowHelper.getTaskData(
-                    tasks,
+                    index,
                     notificationRequest.getTask().getCorrelationID(),
                     causewayBuildPushAdapter,
                     PushResult.class);
             Optional<Result> pushOrchResult = workflowHelper.getTaskData(
-                    tasks,
+                    index,
                     notificationRequest.getTask().getCorrelationID(),
                     orchBuildPushResultAdapter,
                     Result.class);
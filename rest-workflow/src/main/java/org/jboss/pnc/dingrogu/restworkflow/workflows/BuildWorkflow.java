@@ -3,17 +3,18 @@ package org.jboss.pnc.dingrogu.restworkflow.workflows;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 import org.jboss.pnc.api.builddriver.dto.BuildCompleted;
 import org.jboss.pnc.api.constants.MDCHeaderKeys;
 import org.jboss.pnc.api.dto.Request;
@@ -23,7 +24,6 @@ import org.jboss.pnc.api.repositorydriver.dto.RepositoryPromoteResult;
 import org.jboss.pnc.api.reqour.dto.AdjustResponse;
 import org.jboss.pnc.api.reqour.dto.ReqourCallback;
 import org.jboss.pnc.common.log.MDCUtils;
-import org.jboss.pnc.common.log.ProcessStageUtils;
 import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
 import org.jboss.pnc.dingrogu.api.dto.adapter.EnvironmentDriverCreateDTO;
 import org.jboss.pnc.dingrogu.api.dto.adapter.ProcessStage;
@@ -41,18 +41,24 @@ import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverSealAdapter;
 import org.jboss.pnc.dingrogu.restadapter.adapter.RepositoryDriverSetupAdapter;
 import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourAdjustAdapter;
 import org.jboss.pnc.dingrogu.restadapter.client.GenericClient;
+import org.jboss.pnc.dingrogu.restadapter.progress.WorkflowProgress;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.ConverterHelper;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.CriticalPathReport;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.FinishedWorkflowTasks;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.OverallStatus;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.SharedAttachments;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.TaskIndex;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.TaskResponse;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowDefinition;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphCompiler;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowMetrics;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowStatusStore;
 import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Artifact;
-import org.jboss.pnc.rex.api.QueueEndpoint;
 import org.jboss.pnc.rex.api.TaskEndpoint;
-import org.jboss.pnc.rex.common.enums.Origin;
 import org.jboss.pnc.rex.common.enums.State;
 import org.jboss.pnc.rex.dto.ConfigurationDTO;
-import org.jboss.pnc.rex.dto.CreateTaskDTO;
-import org.jboss.pnc.rex.dto.EdgeDTO;
 import org.jboss.pnc.rex.dto.ServerResponseDTO;
 import org.jboss.pnc.rex.dto.TaskDTO;
 import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
@@ -70,7 +76,6 @@ import org.slf4j.MDC;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.quarkus.logging.Log;
 
 /**
  * Build process workflow implementation
@@ -78,6 +83,9 @@ import io.quarkus.logging.Log;
 @ApplicationScoped
 public class BuildWorkflow implements Workflow<BuildWorkDTO> {
 
+    // JBoss Logging: io.quarkus.logging.Log fails outside of a Quarkus application, like in the benchmarks
+    private static final Logger LOG = Logger.getLogger(BuildWorkflow.class);
+
     @Inject
     ReqourAdjustAdapter reqourAdjustAdapter;
 
@@ -111,18 +119,100 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
     @ConfigProperty(name = "dingrogu.url")
     public String ownUrl;
 
-    @Inject
-    QueueEndpoint queueEndpoint;
-
     @ConfigProperty(name = "rexclient.build.queue_name")
     String rexQueueName;
 
-    @ConfigProperty(name = "rexclient.build.queue_size")
-    int rexQueueSize;
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    @Inject
+    FinishedWorkflowTasks finishedWorkflowTasks;
+
+    @Inject
+    SharedAttachments sharedAttachments;
+
+    @Inject
+    WorkflowMetrics workflowMetrics;
 
     private static final Set<State> STATE_FAILED = Set
             .of(State.FAILED, State.START_FAILED, State.STOP_FAILED, State.ROLLBACK_FAILED);
 
+    @ConfigProperty(name = "dingrogu.build.fan-out", defaultValue = "false")
+    boolean fanOut;
+
+    private static final ConfigurationDTO GRAPH_CONFIGURATION = ConfigurationDTO.builder()
+            .mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING)
+            // set default value for heartbeat delay and interval to all the tasks
+            .heartbeatInitialDelay(Duration.ofMinutes(2))
+            .heartbeatInterval(Duration.ofSeconds(30))
+            .build();
+
+    static final WorkflowDefinition DEFINITION = WorkflowDefinition.builder("build")
+            .configuration(GRAPH_CONFIGURATION)
+            .task("reqour-adjust")
+            .task("repository-driver-setup", "reqour-adjust")
+            .task("environment-driver-create", "repository-driver-setup")
+            .retryItself("environment-driver-create")
+            .task("build-driver", "environment-driver-create", "reqour-adjust")
+            .milestone("build-driver", "repository-driver-setup")
+            .task("environment-driver-complete", "build-driver")
+            // WARN: NCL-9060: dependency tasks like reqour adjust are deleted if the environment-driver-complete task
+            // has no dependents. Adding that dependency artifically so that the dependency tasks are not deleted
+            // prematurely
+            .task("repository-driver-seal", "environment-driver-complete", "build-driver")
+            .task("repository-driver-promote", "repository-driver-seal")
+            .build();
+
+    /**
+     * Variant of {@link #DEFINITION} where the environment is completed while the repository is sealed: both only need
+     * the build to be done. The start of the chain stays sequential since the environment is created with the
+     * repository URLs from the repository setup, which itself needs the repositories removed by the alignment.
+     */
+    static final WorkflowDefinition FAN_OUT_DEFINITION = WorkflowDefinition.builder("build")
+            .configuration(GRAPH_CONFIGURATION)
+            .task("reqour-adjust")
+            .task("repository-driver-setup", "reqour-adjust")
+            .task("environment-driver-create", "repository-driver-setup")
+            .retryItself("environment-driver-create")
+            .task("build-driver", "environment-driver-create", "reqour-adjust")
+            .milestone("build-driver", "repository-driver-setup")
+            .task("environment-driver-complete", "build-driver")
+            .task("repository-driver-seal", "build-driver")
+            // NCL-9060: environment-driver-complete needs a dependent, see DEFINITION
+            .task("repository-driver-promote", "repository-driver-seal", "environment-driver-complete")
+            .build();
+
+    @Inject
+    WorkflowGraphCompiler workflowGraphCompiler;
+
+    @Inject
+    WorkflowProgress workflowProgress;
+
+    private WorkflowGraphTemplate graphTemplate;
+
+    @PostConstruct
+    void init() {
+        graphTemplate = workflowGraphCompiler.compile(fanOut ? FAN_OUT_DEFINITION : DEFINITION, rexQueueName);
+    }
+
+    @Override
+    public String getName() {
+        return DEFINITION.getName();
+    }
+
+    @Override
+    public Class<BuildWorkDTO> getInputType() {
+        return BuildWorkDTO.class;
+    }
+
+    /**
+     * Started from the Rex start request only, see {@link #submitWorkflow(StartRequest)}
+     */
+    @Override
+    public boolean isStartable() {
+        return false;
+    }
+
     @Override
     @Deprecated
     public CorrelationId submitWorkflow(BuildWorkDTO buildWorkDTO) throws WorkflowSubmissionException {
@@ -138,126 +228,34 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
      */
     public CorrelationId submitWorkflow(StartRequest startRequest) throws WorkflowSubmissionException {
         BuildWorkDTO buildWorkDTO = objectMapper.convertValue(startRequest.getPayload(), BuildWorkDTO.class);
-        Log.info(buildWorkDTO);
+        LOG.info(buildWorkDTO);
 
         try {
-            CreateTaskDTO taskAdjustReqour = reqourAdjustAdapter
-                    .generateRexTask(
-                            ownUrl,
-                            buildWorkDTO.getCorrelationId(),
-                            startRequest,
-                            buildWorkDTO.toReqourAdjustDTO());
-            CreateTaskDTO taskRepoSetup = repositoryDriverSetupAdapter.generateRexTask(
-                    ownUrl,
-                    buildWorkDTO.getCorrelationId(),
-                    startRequest,
-                    buildWorkDTO.toRepositoryDriverSetupDTO());
-
-            Request cleanBuildEnvOnFailureForEnvironmentDriver = getCleanBuildEnvOnFailure(
-                    buildWorkDTO,
-                    environmentDriverCreateAdapter.getRexTaskName(buildWorkDTO.getCorrelationId()));
-
-            CreateTaskDTO taskCreateEnv = environmentDriverCreateAdapter.generateRexTaskRetryItself(
-                    ownUrl,
-                    buildWorkDTO.getCorrelationId(),
-                    startRequest,
-                    buildWorkDTO.toEnvironmentDriverCreateDTO(),
-                    cleanBuildEnvOnFailureForEnvironmentDriver);
-
-            Request cleanBuildEnvOnFailureForBuildDriver = getCleanBuildEnvOnFailure(
-                    buildWorkDTO,
-                    buildDriverAdapter.getRexTaskName(buildWorkDTO.getCorrelationId()));
-            CreateTaskDTO taskBuild = buildDriverAdapter
-                    .generateRexTask(
-                            ownUrl,
-                            buildWorkDTO.getCorrelationId(),
-                            startRequest,
-                            buildWorkDTO.toBuildDriverDTO(),
-                            taskRepoSetup.name,
-                            cleanBuildEnvOnFailureForBuildDriver);
-
-            CreateTaskDTO taskCompleteEnv = environmentDriverCompleteAdapter.generateRexTask(
-                    ownUrl,
-                    buildWorkDTO.getCorrelationId(),
-                    startRequest,
-                    buildWorkDTO.toEnvironmentDriverCompleteDTO());
-
-            CreateTaskDTO taskRepoSeal = repositoryDriverSealAdapter.generateRexTask(
-                    ownUrl,
-                    buildWorkDTO.getCorrelationId(),
-                    startRequest,
-                    buildWorkDTO.toRepositoryDriverSealDTO());
-            CreateTaskDTO taskRepoPromote = repositoryDriverPromoteAdapter.generateRexTask(
-                    ownUrl,
-                    buildWorkDTO.getCorrelationId(),
-                    startRequest,
-                    buildWorkDTO.toRepositoryDriverPromoteDTO());
-
-            List<CreateTaskDTO> tasks = List.of(
-                    taskAdjustReqour,
-                    taskRepoSetup,
-                    taskCreateEnv,
-                    taskBuild,
-                    taskCompleteEnv,
-                    taskRepoSeal,
-                    taskRepoPromote);
-            Map<String, CreateTaskDTO> vertices = getVertices(tasks);
-
-            EdgeDTO adjustReqourToRepoSetup = EdgeDTO.builder()
-                    .source(taskRepoSetup.name)
-                    .target(taskAdjustReqour.name)
-                    .build();
-            EdgeDTO repoSetupToCreateEnv = EdgeDTO.builder()
-                    .source(taskCreateEnv.name)
-                    .target(taskRepoSetup.name)
-                    .build();
-            EdgeDTO createEnvToBuild = EdgeDTO.builder().source(taskBuild.name).target(taskCreateEnv.name).build();
-            EdgeDTO adjustReqourToBuild = EdgeDTO.builder()
-                    .source(taskBuild.name)
-                    .target(taskAdjustReqour.name)
+            String correlationId = buildWorkDTO.getCorrelationId();
+            CreateGraphRequest graphRequest = graphTemplate.bind(correlationId, startRequest)
+                    .payload(reqourAdjustAdapter, buildWorkDTO.toReqourAdjustDTO())
+                    .payload(repositoryDriverSetupAdapter, buildWorkDTO.toRepositoryDriverSetupDTO())
+                    .payload(environmentDriverCreateAdapter, buildWorkDTO.toEnvironmentDriverCreateDTO())
+                    .rollback(
+                            environmentDriverCreateAdapter,
+                            getCleanBuildEnvOnFailure(
+                                    buildWorkDTO,
+                                    environmentDriverCreateAdapter.getRexTaskName(correlationId)))
+                    .payload(buildDriverAdapter, buildWorkDTO.toBuildDriverDTO())
+                    .rollback(
+                            buildDriverAdapter,
+                            getCleanBuildEnvOnFailure(buildWorkDTO, buildDriverAdapter.getRexTaskName(correlationId)))
+                    .payload(environmentDriverCompleteAdapter, buildWorkDTO.toEnvironmentDriverCompleteDTO())
+                    .payload(repositoryDriverSealAdapter, buildWorkDTO.toRepositoryDriverSealDTO())
+                    .payload(repositoryDriverPromoteAdapter, buildWorkDTO.toRepositoryDriverPromoteDTO())
                     .build();
-            EdgeDTO buildToCompleteEnv = EdgeDTO.builder().source(taskCompleteEnv.name).target(taskBuild.name).build();
-
-            // WARN: NCL-9060: dependency tasks like reqour adjust are deleted if the taskCompleteEnv has no dependents.
-            // Adding that edge artifically so that the dependency tasks are not deleted prematurely
-            EdgeDTO completeToRepoSealEnv = EdgeDTO.builder()
-                    .source(taskRepoSeal.name)
-                    .target(taskCompleteEnv.name)
-                    .build();
-            EdgeDTO buildToRepoSeal = EdgeDTO.builder().source(taskRepoSeal.name).target(taskBuild.name).build();
-            EdgeDTO repoSealToRepoPromote = EdgeDTO.builder()
-                    .source(taskRepoPromote.name)
-                    .target(taskRepoSeal.name)
-                    .build();
-
-            Set<EdgeDTO> edges = Set.of(
-                    adjustReqourToRepoSetup,
-                    repoSetupToCreateEnv,
-                    createEnvToBuild,
-                    adjustReqourToBuild,
-                    buildToCompleteEnv,
-                    completeToRepoSealEnv,
-                    buildToRepoSeal,
-                    repoSealToRepoPromote);
-
-            ConfigurationDTO configurationDTO = ConfigurationDTO.builder()
-                    .mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING)
-                    // set default value for heartbeat delay and interval to all the tasks
-                    .heartbeatInitialDelay(Duration.ofMinutes(2))
-                    .heartbeatInterval(Duration.ofSeconds(30))
-                    .build();
-            CreateGraphRequest graphRequest = new CreateGraphRequest(
-                    buildWorkDTO.getCorrelationId(),
-                    rexQueueName,
-                    configurationDTO,
-                    edges,
-                    vertices);
-            setRexQueueSize(queueEndpoint, rexQueueName, rexQueueSize);
+            workflowStatusStore.submitted(getName(), correlationId, graphRequest.getVertices().keySet());
             taskEndpoint.start(graphRequest);
 
-            return new CorrelationId(buildWorkDTO.getCorrelationId());
+            return new CorrelationId(correlationId);
 
         } catch (Exception e) {
+            workflowStatusStore.forget(buildWorkDTO.getCorrelationId());
             throw new WorkflowSubmissionException(e);
         }
     }
@@ -279,31 +277,32 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
     }
 
     @Override
-    public Response rexNotification(NotificationRequest notificationRequest) {
+    public Response rexNotification(NotificationRequest notificationRequest, boolean finished) {
 
-        if (!NotificationHelper.isFromRunningToFinal(notificationRequest)) {
-            // we only care about states from running to final
-            return Response.ok().build();
+        if (NotificationHelper.isFromRunningToFinal(notificationRequest)) {
+            LOG.infof(
+                    "[%s] -> [%s] :: %s",
+                    notificationRequest.getBefore(),
+                    notificationRequest.getAfter(),
+                    notificationRequest.getTask().getName());
         }
 
-        Log.infof(
-                "[%s] -> [%s] :: %s",
-                notificationRequest.getBefore(),
-                notificationRequest.getAfter(),
-                notificationRequest.getTask().getName());
-
         String correlationId = notificationRequest.getTask().getCorrelationID();
-        Set<TaskDTO> tasks = taskEndpoint.byCorrelation(correlationId);
+        Optional<Set<TaskDTO>> finishedTasks = finishedWorkflowTasks.getTasksIfFinished(notificationRequest, finished);
 
-        if (NotificationHelper.areAllRexTasksInFinalState(tasks)) {
+        if (finishedTasks.isPresent()) {
+            Set<TaskDTO> tasks = finishedTasks.get();
+            workflowMetrics.finished(getName(), tasks);
+            CriticalPathReport.of(tasks)
+                    .ifPresent(report -> LOG.infof("[%s] Critical path of the build: %s", correlationId, report));
 
             String buildId = MDC.get(MDCHeaderKeys.BUILD_ID.getMdcKey());
-            Log.infof("Right now I should be sending a notification to the caller for buildid: %s", buildId);
+            LOG.infof("Right now I should be sending a notification to the caller for buildid: %s", buildId);
             tasks.forEach(taskDTO -> {
-                Log.infof("Task: %s, state: %s", taskDTO.getName(), taskDTO.getState());
+                LOG.infof("Task: %s, state: %s", taskDTO.getName(), taskDTO.getState());
                 if (STATE_FAILED.contains(taskDTO.getState())) {
                     try {
-                        Log.infof(objectMapper.writeValueAsString(taskDTO));
+                        LOG.infof(objectMapper.writeValueAsString(taskDTO));
                     } catch (JsonProcessingException e) {
                         // do nothing
                     }
@@ -311,16 +310,20 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
             });
 
             // we set the notification attachment to be the StartRequest in submitWorkflow method
-            StartRequest request = objectMapper.convertValue(notificationRequest.getAttachment(), StartRequest.class);
+            Object attachment = sharedAttachments.resolve(notificationRequest.getAttachment(), tasks);
+            StartRequest request = objectMapper.convertValue(attachment, StartRequest.class);
             if (request == null) {
-                Log.info("No start request in the notification message");
+                LOG.info("No start request in the notification message");
             } else {
-                Log.info("Sending request to rex callback");
-                ProcessStageUtils
-                        .logProcessStageBegin(ProcessStage.FINALIZING_BUILD.name(), "Submitting final result to Orch");
-                BuildResult buildResult = generateBuildResult(request, tasks, correlationId);
+                LOG.info("Sending request to rex callback");
+                workflowProgress.stageBegin(
+                        correlationId,
+                        ProcessStage.FINALIZING_BUILD.name(),
+                        "Submitting final result to Orch");
+                TaskIndex index = TaskIndex.of(tasks, objectMapper);
+                BuildResult buildResult = generateBuildResult(request, index, correlationId);
                 if (buildResult.hasFailed()) {
-                    cleanupEnvironmentIfNecessary(tasks, correlationId);
+                    cleanupEnvironmentIfNecessary(index, correlationId);
                 }
                 sendRexCallback(request, buildResult);
             }
@@ -334,12 +337,10 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
      * @param tasks
      * @param correlationId
      */
-    private void cleanupEnvironmentIfNecessary(Set<TaskDTO> tasks, String correlationId) {
+    private void cleanupEnvironmentIfNecessary(TaskIndex tasks, String correlationId) {
 
-        Optional<TaskDTO> buildData = findTask(tasks, buildDriverAdapter.getRexTaskName(correlationId));
-        Optional<TaskDTO> environmentData = findTask(
-                tasks,
-                environmentDriverCreateAdapter.getRexTaskName(correlationId));
+        Optional<TaskDTO> buildData = tasks.find(buildDriverAdapter.getRexTaskName(correlationId));
+        Optional<TaskDTO> environmentData = tasks.find(environmentDriverCreateAdapter.getRexTaskName(correlationId));
 
         if (buildData.isEmpty() || environmentData.isEmpty()) {
             return;
@@ -348,20 +349,20 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         TaskDTO buildTask = buildData.get();
         // That's a good sign that the environment pod might still be running
         if (STATE_FAILED.contains(buildTask.getState()) || STATE_FAILED.contains(environmentData.get().getState())) {
-            if (isDebugEnabled(environmentData.get())) {
-                Log.infof("Debug enabled for the pod. Not deleting it");
+            if (isDebugEnabled(tasks, environmentData.get())) {
+                LOG.infof("Debug enabled for the pod. Not deleting it");
                 return;
             }
             try {
-                BuildWorkflowClearEnvironmentDTO dto = objectMapper.convertValue(
+                BuildWorkflowClearEnvironmentDTO dto = tasks.convert(
                         buildTask.getRemoteRollback().getAttachment(),
                         BuildWorkflowClearEnvironmentDTO.class);
-                Log.infof(
+                LOG.infof(
                         "Trying to cleanup the environment for correlation: %s due to failed build or environment driver step",
                         correlationId);
                 clearEnvironment(dto);
             } catch (Exception e) {
-                Log.errorf(
+                LOG.errorf(
                         "Tried to cleanup the environment due to failed build or environment driver but an exception happened. Giving up. Correlation: %s",
                         correlationId,
                         e);
@@ -376,24 +377,16 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
      */
     public void clearEnvironment(BuildWorkflowClearEnvironmentDTO dto) {
 
-        Log.infof("Clearing environment from workflow, possibly due to retries: %s", dto.getCorrelationId());
+        LOG.infof("Clearing environment from workflow, possibly due to retries: %s", dto.getCorrelationId());
         try {
             environmentDriverCompleteAdapter
                     .clearEnvironment(dto.getEnvironmentDriverUrl(), dto.getCorrelationId(), false);
         } catch (RuntimeException e) {
-            Log.warnf("Clearing environment from workflow, for correlation: %s failed", dto.getCorrelationId());
+            LOG.warnf("Clearing environment from workflow, for correlation: %s failed", dto.getCorrelationId());
         }
     }
 
-    private static Map<String, CreateTaskDTO> getVertices(List<CreateTaskDTO> tasks) {
-        Map<String, CreateTaskDTO> vertices = new HashMap<>();
-        for (CreateTaskDTO task : tasks) {
-            vertices.put(task.name, task);
-        }
-        return vertices;
-    }
-
-    private BuildResult generateBuildResult(StartRequest request, Set<TaskDTO> tasks, String correlationId) {
+    private BuildResult generateBuildResult(StartRequest request, TaskIndex tasks, String correlationId) {
 
         TaskResponse<AdjustResponse> reqourResult = getReqourResult(tasks, correlationId);
         TaskResponse<RepourResult> repourResult = toRepourResult(reqourResult);
@@ -432,7 +425,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
                 repourResult.getDTO());
 
         try {
-            Log.infof("Build result: %s", objectMapper.writeValueAsString(buildResult));
+            LOG.infof("Build result: %s", objectMapper.writeValueAsString(buildResult));
         } catch (JsonProcessingException e) {
             // do nothing
         }
@@ -474,13 +467,13 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
 
         // debug
         if (repoManagerResult.getDTO().isEmpty()) {
-            Log.warn("repository result is empty");
+            LOG.warn("repository result is empty");
         }
         if (buildCompleted.getDTO().isEmpty()) {
-            Log.warn("build result is empty");
+            LOG.warn("build result is empty");
         }
         if (repourResult.getDTO().isEmpty()) {
-            Log.warn("repour result is empty");
+            LOG.warn("repour result is empty");
         }
 
         if (repoManagerResult.getDTO().isEmpty() || repourResult.getDTO().isEmpty()
@@ -539,7 +532,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         } else {
             callback = startRequest.getPositiveCallback();
         }
-        Log.infof("Final build callback sent to: %s", callback.getUri().toString());
+        LOG.infof("Final build callback sent to: %s", callback.getUri().toString());
 
         Request toSend = Request.builder()
                 .method(callback.getMethod())
@@ -550,21 +543,21 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         genericClient.send(toSend);
     }
 
-    private TaskResponse<CompletionStatus> getRepositoryCreateResponse(Set<TaskDTO> tasks, String correlationId) {
+    private TaskResponse<CompletionStatus> getRepositoryCreateResponse(TaskIndex tasks, String correlationId) {
         return getCompletionResponse(tasks, repositoryDriverSetupAdapter.getRexTaskName(correlationId));
     }
 
-    private TaskResponse<CompletionStatus> getRepositorySealResponse(Set<TaskDTO> tasks, String correlationId) {
+    private TaskResponse<CompletionStatus> getRepositorySealResponse(TaskIndex tasks, String correlationId) {
         return getCompletionResponse(tasks, repositoryDriverSealAdapter.getRexTaskName(correlationId));
     }
 
-    private TaskResponse<CompletionStatus> getCompletionResponse(Set<TaskDTO> tasks, String taskName) {
+    private TaskResponse<CompletionStatus> getCompletionResponse(TaskIndex tasks, String taskName) {
 
-        Optional<TaskDTO> optionalTask = findTask(tasks, taskName);
+        Optional<TaskDTO> optionalTask = tasks.find(taskName);
 
         if (optionalTask.isEmpty()) {
             String errorMessage = taskName + " is empty";
-            Log.error(errorMessage);
+            LOG.error(errorMessage);
             return new TaskResponse<>(CompletionStatus.SYSTEM_ERROR, errorMessage);
         }
 
@@ -602,7 +595,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         return new TaskResponse<>(buildDriverResult, buildCompleted.errorMessage);
     }
 
-    private TaskResponse<EnvironmentDriverResult> getEnvironmentDriverResult(Set<TaskDTO> tasks, String correlationId) {
+    private TaskResponse<EnvironmentDriverResult> getEnvironmentDriverResult(TaskIndex tasks, String correlationId) {
 
         // Environment Driver uses the EnvironmentCreateResult DTO. We need to convert it to EnvironmentDriverResult
 
@@ -663,7 +656,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         return new TaskResponse<>(repourResult, response.errorMessage);
     }
 
-    private TaskResponse<AdjustResponse> getReqourResult(Set<TaskDTO> tasks, String correlationId) {
+    private TaskResponse<AdjustResponse> getReqourResult(TaskIndex tasks, String correlationId) {
 
         ReqourCallback failedCallback = ReqourCallback.builder()
                 .status(ResultStatus.FAILED)
@@ -682,7 +675,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
                 AdjustResponse.class);
     }
 
-    private TaskResponse<BuildCompleted> getBuildCompleted(Set<TaskDTO> tasks, String correlationId) {
+    private TaskResponse<BuildCompleted> getBuildCompleted(TaskIndex tasks, String correlationId) {
         BuildCompleted failedResponse = BuildCompleted.builder().buildStatus(ResultStatus.SYSTEM_ERROR).build();
         return getTaskResult(
                 tasks,
@@ -693,7 +686,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
                 "Builder pod has failed to start multiple times.");
     }
 
-    private TaskResponse<RepositoryManagerResult> getRepositoryManagerResult(Set<TaskDTO> tasks, String correlationId) {
+    private TaskResponse<RepositoryManagerResult> getRepositoryManagerResult(TaskIndex tasks, String correlationId) {
 
         RepositoryPromoteResult failedResponse = RepositoryPromoteResult.builder()
                 .buildContentId("")
@@ -713,25 +706,33 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         RepositoryManagerResult result = null;
 
         if (response.getDTO().isPresent()) {
+            RepositoryPromoteResult promoteResult = response.getDTO().get();
+            // converted once: the result is serialized more than once (log, callback to Orch), and the artifact lists
+            // can be large
+            List<Artifact> builtArtifacts = ConverterHelper
+                    .convertFromRepositoryArtifacts(promoteResult.getBuiltArtifacts());
+            List<Artifact> dependencies = ConverterHelper
+                    .convertFromRepositoryArtifacts(promoteResult.getDependencies());
+            CompletionStatus completionStatus = CompletionStatus.valueOf(promoteResult.getStatus().name());
             result = new RepositoryManagerResult() {
                 @Override
                 public List<Artifact> getBuiltArtifacts() {
-                    return ConverterHelper.convertFromRepositoryArtifacts(response.getDTO().get().getBuiltArtifacts());
+                    return builtArtifacts;
                 }
 
                 @Override
                 public List<Artifact> getDependencies() {
-                    return ConverterHelper.convertFromRepositoryArtifacts(response.getDTO().get().getDependencies());
+                    return dependencies;
                 }
 
                 @Override
                 public String getBuildContentId() {
-                    return response.getDTO().get().getBuildContentId();
+                    return promoteResult.getBuildContentId();
                 }
 
                 @Override
                 public CompletionStatus getCompletionStatus() {
-                    return CompletionStatus.valueOf(response.getDTO().get().getStatus().name());
+                    return completionStatus;
                 }
             };
         }
@@ -750,7 +751,7 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
      * @param <T>
      */
     private <T> TaskResponse<T> getTaskResult(
-            Set<TaskDTO> tasks,
+            TaskIndex tasks,
             String rexTaskName,
             T failedResponse,
             T emptyResponse,
@@ -771,14 +772,14 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
      * @param <T>
      */
     private <T> TaskResponse<T> getTaskResult(
-            Set<TaskDTO> tasks,
+            TaskIndex tasks,
             String rexTaskName,
             T failedResponse,
             T emptyResponse,
             Class<T> clazz,
             String multipleRollbackErrorMessage) {
 
-        Optional<TaskDTO> optionalTask = findTask(tasks, rexTaskName);
+        Optional<TaskDTO> optionalTask = tasks.find(rexTaskName);
 
         if (optionalTask.isEmpty()) {
             return new TaskResponse<>(emptyResponse, rexTaskName + " task is not present");
@@ -787,20 +788,10 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         TaskDTO task = optionalTask.get();
 
         // get responses from the caller only
-        List<ServerResponseDTO> responses = task.getServerResponses()
-                .stream()
-                .filter(
-                        response -> response.getOrigin().equals(Origin.REMOTE_ENTITY)
-                                && response.getState().equals(State.UP))
-                .toList();
-
-        int rollbackCounter = 0;
-        List<ServerResponseDTO> allResponses = task.getServerResponses();
-        if (allResponses != null && !allResponses.isEmpty()) {
-            rollbackCounter = allResponses.get(allResponses.size() - 1).rollbackCounter.intValue();
-        }
+        Optional<ServerResponseDTO> remoteResponse = tasks.getLastRemoteResponse(rexTaskName);
+        int rollbackCounter = tasks.getRollbackCounter(rexTaskName);
 
-        if (responses.isEmpty()) {
+        if (remoteResponse.isEmpty()) {
             if (STATE_FAILED.contains(task.getState())) {
                 String errorMessage = rexTaskName + " response task is empty:: rollbackCounter=" + rollbackCounter;
                 if (rollbackCounter > 1) {
@@ -808,16 +799,16 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
                             : multipleRollbackErrorMessage;
                     errorMessage += "\n" + multipleRollbackErrorMessage;
                 }
-                Log.error(errorMessage);
+                LOG.error(errorMessage);
                 return new TaskResponse<>(failedResponse, errorMessage);
             } else {
                 return new TaskResponse<>(null, null);
             }
         }
 
-        ServerResponseDTO finalResponse = responses.get(responses.size() - 1);
+        ServerResponseDTO finalResponse = remoteResponse.get();
         try {
-            T response = objectMapper.convertValue(finalResponse.getBody(), clazz);
+            T response = tasks.convert(finalResponse.getBody(), clazz);
             if (response == null && STATE_FAILED.contains(task.getState())) {
                 return new TaskResponse<>(
                         failedResponse,
@@ -832,24 +823,13 @@ public class BuildWorkflow implements Workflow<BuildWorkDTO> {
         }
     }
 
-    /**
-     * Helper method to find the right task
-     * 
-     * @param tasks
-     * @param name
-     * @return
-     */
-    private Optional<TaskDTO> findTask(Set<TaskDTO> tasks, String name) {
-        return tasks.stream().filter(task -> task.getName().equals(name)).findFirst();
-    }
-
-    private boolean isDebugEnabled(TaskDTO taskDTO) {
+    private boolean isDebugEnabled(TaskIndex tasks, TaskDTO taskDTO) {
         try {
-            EnvironmentDriverCreateDTO request = objectMapper
-                    .convertValue(taskDTO.getRemoteStart().getAttachment(), EnvironmentDriverCreateDTO.class);
+            EnvironmentDriverCreateDTO request = tasks
+                    .convert(taskDTO.getRemoteStart().getAttachment(), EnvironmentDriverCreateDTO.class);
             return request.isDebugEnabled();
         } catch (IllegalArgumentException e) {
-            Log.error(e.getMessage());
+            LOG.error(e.getMessage());
             return false;
         }
     }
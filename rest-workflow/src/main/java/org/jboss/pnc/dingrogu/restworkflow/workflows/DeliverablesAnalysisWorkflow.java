@@ -1,10 +1,10 @@
 package org.jboss.pnc.dingrogu.restworkflow.workflows;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
@@ -24,12 +24,17 @@ import org.jboss.pnc.dingrogu.restadapter.adapter.DeliverablesAnalyzerAdapter;
 import org.jboss.pnc.dingrogu.restadapter.adapter.OrchDeliverablesAnalyzerResultAdapter;
 import org.jboss.pnc.dingrogu.restadapter.client.GenericClient;
 import org.jboss.pnc.dingrogu.restadapter.client.OrchClient;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.FinishedWorkflowTasks;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.SharedAttachments;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.TaskIndex;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowDefinition;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphCompiler;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowHelper;
-import org.jboss.pnc.rex.api.QueueEndpoint;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowMetrics;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowStatusStore;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.dto.ConfigurationDTO;
-import org.jboss.pnc.rex.dto.CreateTaskDTO;
-import org.jboss.pnc.rex.dto.EdgeDTO;
 import org.jboss.pnc.rex.dto.TaskDTO;
 import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
 import org.jboss.pnc.rex.model.requests.NotificationRequest;
@@ -63,10 +68,13 @@ public class DeliverablesAnalysisWorkflow implements Workflow<DeliverablesAnalys
     GenericClient genericClient;
 
     @Inject
-    QueueEndpoint queueEndpoint;
+    WorkflowHelper workflowHelper;
 
     @Inject
-    WorkflowHelper workflowHelper;
+    SharedAttachments sharedAttachments;
+
+    @Inject
+    WorkflowMetrics workflowMetrics;
 
     @Inject
     OrchClient orchClient;
@@ -74,8 +82,38 @@ public class DeliverablesAnalysisWorkflow implements Workflow<DeliverablesAnalys
     @ConfigProperty(name = "rexclient.deliverables_analysis.queue_name")
     String rexQueueName;
 
-    @ConfigProperty(name = "rexclient.deliverables_analysis.queue_size")
-    int rexQueueSize;
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    @Inject
+    FinishedWorkflowTasks finishedWorkflowTasks;
+
+    static final WorkflowDefinition DEFINITION = WorkflowDefinition.builder("deliverables-analysis")
+            .configuration(ConfigurationDTO.builder().mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING).build())
+            .task("deliverables-analyzer")
+            .retryItself("deliverables-analyzer")
+            .task("orch-dela-result", "deliverables-analyzer")
+            .build();
+
+    @Inject
+    WorkflowGraphCompiler workflowGraphCompiler;
+
+    private WorkflowGraphTemplate graphTemplate;
+
+    @PostConstruct
+    void init() {
+        graphTemplate = workflowGraphCompiler.compile(DEFINITION, rexQueueName);
+    }
+
+    @Override
+    public String getName() {
+        return DEFINITION.getName();
+    }
+
+    @Override
+    public Class<DeliverablesAnalysisWorkflowDTO> getInputType() {
+        return DeliverablesAnalysisWorkflowDTO.class;
+    }
 
     @Override
     public CorrelationId submitWorkflow(DeliverablesAnalysisWorkflowDTO dto) throws WorkflowSubmissionException {
@@ -97,31 +135,17 @@ public class DeliverablesAnalysisWorkflow implements Workflow<DeliverablesAnalys
                 .build();
 
         try {
-            CreateTaskDTO taskAnalyze = deliverablesAnalyzerAdapter
-                    .generateRexTaskRetryItself(ownUrl, correlationId.getId(), dto, delaDTO);
-
-            CreateTaskDTO taskResult = orchAdapter.generateRexTask(ownUrl, correlationId.getId(), dto, orchResultDTO);
-
-            Map<String, CreateTaskDTO> vertices = Map.of(taskAnalyze.name, taskAnalyze, taskResult.name, taskResult);
-
-            EdgeDTO edgeDTO = EdgeDTO.builder().source(taskResult.name).target(taskAnalyze.name).build();
-            Set<EdgeDTO> edges = Set.of(edgeDTO);
-
-            ConfigurationDTO configurationDTO = ConfigurationDTO.builder()
-                    .mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING)
+            CreateGraphRequest graphRequest = graphTemplate.bind(correlationId.getId(), dto)
+                    .payload(deliverablesAnalyzerAdapter, delaDTO)
+                    .payload(orchAdapter, orchResultDTO)
                     .build();
-            CreateGraphRequest graphRequest = new CreateGraphRequest(
-                    correlationId.getId(),
-                    rexQueueName,
-                    configurationDTO,
-                    edges,
-                    vertices);
-            setRexQueueSize(queueEndpoint, rexQueueName, rexQueueSize);
+            workflowStatusStore.submitted(getName(), correlationId.getId(), graphRequest.getVertices().keySet());
             taskEndpoint.start(graphRequest);
 
             return correlationId;
 
         } catch (Exception e) {
+            workflowStatusStore.forget(correlationId.getId());
             throw new WorkflowSubmissionException(e);
         }
     }
@@ -134,37 +158,37 @@ public class DeliverablesAnalysisWorkflow implements Workflow<DeliverablesAnalys
      * @return
      */
     @Override
-    public Response rexNotification(NotificationRequest notificationRequest) {
-
-        if (!NotificationHelper.isFromRunningToFinal(notificationRequest)) {
-            // we only care about states from running to final
-            return Response.ok().build();
+    public Response rexNotification(NotificationRequest notificationRequest, boolean finished) {
+
+        if (NotificationHelper.isFromRunningToFinal(notificationRequest)) {
+            Log.infof(
+                    "[%s] -> [%s] :: %s",
+                    notificationRequest.getBefore(),
+                    notificationRequest.getAfter(),
+                    notificationRequest.getTask().getName());
         }
 
-        Log.infof(
-                "[%s] -> [%s] :: %s",
-                notificationRequest.getBefore(),
-                notificationRequest.getAfter(),
-                notificationRequest.getTask().getName());
-
-        String correlationId = notificationRequest.getTask().getCorrelationID();
-        Set<TaskDTO> tasks = taskEndpoint.byCorrelation(correlationId);
+        Optional<Set<TaskDTO>> finishedTasks = finishedWorkflowTasks.getTasksIfFinished(notificationRequest, finished);
 
-        if (NotificationHelper.areAllRexTasksInFinalState(tasks)) {
+        if (finishedTasks.isPresent()) {
+            Set<TaskDTO> tasks = finishedTasks.get();
+            workflowMetrics.finished(getName(), tasks);
 
             Log.infof("Right now I should be sending a notification to the caller");
             tasks.forEach(taskDTO -> Log.infof("Task: %s, state: %s", taskDTO.getName(), taskDTO.getState()));
 
             // we set the notification attachment to be the StartRequest in submitWorkflow method
+            Object attachment = sharedAttachments.resolve(notificationRequest.getAttachment(), tasks);
             DeliverablesAnalysisWorkflowDTO dto = objectMapper
-                    .convertValue(notificationRequest.getAttachment(), DeliverablesAnalysisWorkflowDTO.class);
+                    .convertValue(attachment, DeliverablesAnalysisWorkflowDTO.class);
+            TaskIndex index = workflowHelper.index(tasks);
             Optional<AnalysisReport> analysis = workflowHelper.getTaskData(
-                    tasks,
+                    index,
                     notificationRequest.getTask().getCorrelationID(),
                     deliverablesAnalyzerAdapter,
                     AnalysisReport.class);
             Optional<Result> orchResult = workflowHelper
-                    .getTaskData(tasks, notificationRequest.getTask().getCorrelationID(), orchAdapter, Result.class);
+                    .getTaskData(index, notificationRequest.getTask().getCorrelationID(), orchAdapter, Result.class);
 
             Log.infof("Analysis result: %s", analysis);
             Log.infof("Orch result: %s", orchResult);
@@ -1,8 +1,8 @@
 package org.jboss.pnc.dingrogu.restworkflow.workflows;
 
 import java.util.Map;
-import java.util.Set;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -12,10 +12,12 @@ import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
 import org.jboss.pnc.dingrogu.api.dto.adapter.DummyDTO;
 import org.jboss.pnc.dingrogu.api.dto.workflow.DummyWorkflowDTO;
 import org.jboss.pnc.dingrogu.restadapter.adapter.DummyAdapter;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowDefinition;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphCompiler;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowStatusStore;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.dto.ConfigurationDTO;
-import org.jboss.pnc.rex.dto.CreateTaskDTO;
-import org.jboss.pnc.rex.dto.EdgeDTO;
 import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
 
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,37 @@ public class DummyWorkflow implements Workflow<DummyWorkflowDTO> {
     @ConfigProperty(name = "dingrogu.url")
     public String ownUrl;
 
+    static final WorkflowDefinition DEFINITION = WorkflowDefinition.builder("dummy")
+            .configuration(
+                    ConfigurationDTO.builder()
+                            .mdcHeaderKeyMapping(org.jboss.pnc.common.log.MDCUtils.HEADER_KEY_MAPPING)
+                            .build())
+            .task("dummy-adapter")
+            .build();
+
+    @Inject
+    WorkflowGraphCompiler workflowGraphCompiler;
+
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    private WorkflowGraphTemplate graphTemplate;
+
+    @PostConstruct
+    void init() {
+        graphTemplate = workflowGraphCompiler.compile(DEFINITION, null);
+    }
+
+    @Override
+    public String getName() {
+        return DEFINITION.getName();
+    }
+
+    @Override
+    public Class<DummyWorkflowDTO> getInputType() {
+        return DummyWorkflowDTO.class;
+    }
+
     @Override
     public CorrelationId submitWorkflow(DummyWorkflowDTO dummyWorkflowDTO) throws WorkflowSubmissionException {
         CorrelationId correlationId = CorrelationId.generateUnique();
@@ -46,26 +79,16 @@ public class DummyWorkflow implements Workflow<DummyWorkflowDTO> {
         }
         DummyDTO dummyDTO = DummyDTO.builder().dummyServiceUrl(ownUrl + "/dummy-service").build();
         try {
-            CreateTaskDTO task = dummyAdapter.generateRexTask(ownUrl, correlationId.getId(), null, dummyDTO);
-
-            Map<String, CreateTaskDTO> vertices = Map.of(task.name, task);
-
-            Set<EdgeDTO> edges = Set.of();
-
-            ConfigurationDTO configurationDTO = ConfigurationDTO.builder()
-                    .mdcHeaderKeyMapping(org.jboss.pnc.common.log.MDCUtils.HEADER_KEY_MAPPING)
+            CreateGraphRequest graphRequest = graphTemplate.bind(correlationId.getId(), null)
+                    .payload(dummyAdapter, dummyDTO)
                     .build();
-            CreateGraphRequest graphRequest = new CreateGraphRequest(
-                    correlationId.getId(),
-                    null,
-                    configurationDTO,
-                    edges,
-                    vertices);
+            workflowStatusStore.submitted(getName(), correlationId.getId(), graphRequest.getVertices().keySet());
             taskEndpoint.start(graphRequest);
 
             return correlationId;
 
         } catch (Exception e) {
+            workflowStatusStore.forget(correlationId.getId());
             throw new WorkflowSubmissionException(e);
         }
     }
@@ -1,9 +1,9 @@
 package org.jboss.pnc.dingrogu.restworkflow.workflows;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
@@ -21,15 +21,20 @@ import org.jboss.pnc.dingrogu.common.NotificationHelper;
 import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourCloneRepositoryAdapter;
 import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourCreateRepositoryAdapter;
 import org.jboss.pnc.dingrogu.restadapter.client.OrchClient;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.FinishedWorkflowTasks;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.SharedAttachments;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.TaskIndex;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowDefinition;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphCompiler;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowGraphTemplate;
 import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowHelper;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowMetrics;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.helpers.WorkflowStatusStore;
 import org.jboss.pnc.dto.tasks.RepositoryCreationResult;
 import org.jboss.pnc.enums.JobNotificationType;
 import org.jboss.pnc.enums.ResultStatus;
-import org.jboss.pnc.rex.api.QueueEndpoint;
 import org.jboss.pnc.rex.api.TaskEndpoint;
 import org.jboss.pnc.rex.dto.ConfigurationDTO;
-import org.jboss.pnc.rex.dto.CreateTaskDTO;
-import org.jboss.pnc.rex.dto.EdgeDTO;
 import org.jboss.pnc.rex.dto.TaskDTO;
 import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
 import org.jboss.pnc.rex.model.requests.NotificationRequest;
@@ -53,27 +58,59 @@ public class RepositoryCreationWorkflow implements Workflow<RepositoryCreationDT
     @ConfigProperty(name = "dingrogu.url")
     public String ownUrl;
 
-    @Inject
-    QueueEndpoint queueEndpoint;
-
     @Inject
     TaskEndpoint taskEndpoint;
 
     @ConfigProperty(name = "rexclient.repository_creation.queue_name")
     String rexQueueName;
 
-    @ConfigProperty(name = "rexclient.repository_creation.queue_size")
-    int rexQueueSize;
-
     @Inject
     ObjectMapper objectMapper;
 
     @Inject
     WorkflowHelper workflowHelper;
 
+    @Inject
+    SharedAttachments sharedAttachments;
+
+    @Inject
+    WorkflowMetrics workflowMetrics;
+
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    @Inject
+    FinishedWorkflowTasks finishedWorkflowTasks;
+
     @Inject
     OrchClient orchClient;
 
+    static final WorkflowDefinition DEFINITION = WorkflowDefinition.builder("repository-creation")
+            .configuration(ConfigurationDTO.builder().mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING).build())
+            .task("reqour-create-repository")
+            .task("reqour-clone-repository", "reqour-create-repository")
+            .build();
+
+    @Inject
+    WorkflowGraphCompiler workflowGraphCompiler;
+
+    private WorkflowGraphTemplate graphTemplate;
+
+    @PostConstruct
+    void init() {
+        graphTemplate = workflowGraphCompiler.compile(DEFINITION, rexQueueName);
+    }
+
+    @Override
+    public String getName() {
+        return DEFINITION.getName();
+    }
+
+    @Override
+    public Class<RepositoryCreationDTO> getInputType() {
+        return RepositoryCreationDTO.class;
+    }
+
     /**
      * Submit the workflow for repository-creation to Rex, and return back the correlation id
      *
@@ -89,13 +126,13 @@ public class RepositoryCreationWorkflow implements Workflow<RepositoryCreationDT
 
         try {
             CreateGraphRequest graph = generateWorkflow(correlationId, repositoryCreationDTO);
-            setRexQueueSize(queueEndpoint, rexQueueName, rexQueueSize);
-
+            workflowStatusStore.submitted(getName(), correlationId.getId(), graph.getVertices().keySet());
             taskEndpoint.start(graph);
 
             return correlationId;
 
         } catch (Exception e) {
+            workflowStatusStore.forget(correlationId.getId());
             throw new WorkflowSubmissionException(e);
         }
     }
@@ -121,51 +158,38 @@ public class RepositoryCreationWorkflow implements Workflow<RepositoryCreationDT
                 .ref(repositoryCreationDTO.getRef())
                 .build();
 
-        CreateTaskDTO taskInternalScm = reqourCreateRepositoryAdapter
-                .generateRexTask(ownUrl, correlationId.getId(), repositoryCreationDTO, reqourCreateRepositoryDTO);
-        CreateTaskDTO taskCloneScm = reqourCloneRepositoryAdapter
-                .generateRexTask(ownUrl, correlationId.getId(), repositoryCreationDTO, reqourCloneRepositoryDTO);
-
-        // setting up the graph
-        Map<String, CreateTaskDTO> vertices = Map
-                .of(taskInternalScm.name, taskInternalScm, taskCloneScm.name, taskCloneScm);
-
-        EdgeDTO edgeDTO = EdgeDTO.builder().source(taskCloneScm.name).target(taskInternalScm.name).build();
-        Set<EdgeDTO> edges = Set.of(edgeDTO);
-
-        ConfigurationDTO configurationDTO = ConfigurationDTO.builder()
-                .mdcHeaderKeyMapping(MDCUtils.HEADER_KEY_MAPPING)
+        return graphTemplate.bind(correlationId.getId(), repositoryCreationDTO)
+                .payload(reqourCreateRepositoryAdapter, reqourCreateRepositoryDTO)
+                .payload(reqourCloneRepositoryAdapter, reqourCloneRepositoryDTO)
                 .build();
-        return new CreateGraphRequest(correlationId.getId(), rexQueueName, configurationDTO, edges, vertices);
     }
 
     @Override
-    public Response rexNotification(NotificationRequest notificationRequest) {
-
-        if (!NotificationHelper.isFromRunningToFinal(notificationRequest)) {
-            // we only care about states from running to final
-            return Response.ok().build();
+    public Response rexNotification(NotificationRequest notificationRequest, boolean finished) {
+
+        if (NotificationHelper.isFromRunningToFinal(notificationRequest)) {
+            Log.warnf(
+                    "[%s] -> [%s] :: %s",
+                    notificationRequest.getBefore(),
+                    notificationRequest.getAfter(),
+                    notificationRequest.getTask().getName());
         }
 
-        Log.warnf(
-                "[%s] -> [%s] :: %s",
-                notificationRequest.getBefore(),
-                notificationRequest.getAfter(),
-                notificationRequest.getTask().getName());
-
-        String correlationId = notificationRequest.getTask().getCorrelationID();
-        Set<TaskDTO> tasks = taskEndpoint.byCorrelation(correlationId);
+        Optional<Set<TaskDTO>> finishedTasks = finishedWorkflowTasks.getTasksIfFinished(notificationRequest, finished);
 
-        if (NotificationHelper.areAllRexTasksInFinalState(tasks)) {
-            RepositoryCreationDTO dto = objectMapper
-                    .convertValue(notificationRequest.getAttachment(), RepositoryCreationDTO.class);
+        if (finishedTasks.isPresent()) {
+            Set<TaskDTO> tasks = finishedTasks.get();
+            workflowMetrics.finished(getName(), tasks);
+            Object attachment = sharedAttachments.resolve(notificationRequest.getAttachment(), tasks);
+            RepositoryCreationDTO dto = objectMapper.convertValue(attachment, RepositoryCreationDTO.class);
+            TaskIndex index = workflowHelper.index(tasks);
             Optional<InternalSCMCreationResponse> creationResponse = workflowHelper.getTaskData(
-                    tasks,
+                    index,
                     notificationRequest.getTask().getCorrelationID(),
                     reqourCreateRepositoryAdapter,
                     InternalSCMCreationResponse.class);
             Optional<RepositoryCloneResponse> cloneResponse = workflowHelper.getTaskData(
-                    tasks,
+                    index,
                     notificationRequest.getTask().getCorrelationID(),
                     reqourCloneRepositoryAdapter,
                     RepositoryCloneResponse.class);
@@ -4,8 +4,6 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.core.Response;
 
 import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
-import org.jboss.pnc.rex.api.QueueEndpoint;
-import org.jboss.pnc.rex.dto.responses.LongResponse;
 import org.jboss.pnc.rex.model.requests.NotificationRequest;
 
 import io.quarkus.logging.Log;
@@ -18,6 +16,30 @@ import io.quarkus.logging.Log;
 @ApplicationScoped
 public interface Workflow<T> {
 
+    /**
+     * Name of the workflow, used in the path of its endpoints: /workflow/{name}/start and /workflow/{name}/rex-notify
+     *
+     * @return name of the workflow
+     */
+    String getName();
+
+    /**
+     * Class of the workflow input, used to read the input sent to the start endpoint
+     *
+     * @return class of the workflow input
+     */
+    Class<T> getInputType();
+
+    /**
+     * Whether the workflow can be started with its input through /workflow/{name}/start. A workflow started
+     * differently, e.g. from a Rex start request, overrides it
+     *
+     * @return true if startable with its input
+     */
+    default boolean isStartable() {
+        return true;
+    }
+
     /**
      * Submit the workflow to Rex and return back the correlation id.
      *
@@ -32,9 +54,11 @@ public interface Workflow<T> {
      * adapters in the workflow
      *
      * @param notificationRequest
+     * @param finished true if the notification finished the workflow, as reported by the WorkflowStatusStore. True only
+     *        once per workflow
      * @return response
      */
-    default Response rexNotification(NotificationRequest notificationRequest) {
+    default Response rexNotification(NotificationRequest notificationRequest, boolean finished) {
         Log.infof(
                 "[%s] -> [%s] Task: %s",
                 notificationRequest.getBefore(),
@@ -42,32 +66,4 @@ public interface Workflow<T> {
                 notificationRequest.getTask().getName());
         return Response.ok().build();
     }
-
-    /**
-     * Set the rex queue size for a rex name. This is used to set the upper limit of concurrent tasks running at any
-     * point
-     *
-     * @param queueEndpoint the queue endpoint implementation
-     * @param rexQueueName name of the queue
-     * @param rexQueueSize size
-     */
-    default void setRexQueueSize(QueueEndpoint queueEndpoint, String rexQueueName, int rexQueueSize) {
-        try {
-            Log.infof("Getting queue size: %s", rexQueueName);
-            LongResponse response = queueEndpoint.getConcurrentNamed(rexQueueName);
-            if (response.getNumber() != rexQueueSize) {
-                Log.infof(
-                        "Got response: %s. Setting the queue size to %s for: %s",
-                        response,
-                        rexQueueSize,
-                        rexQueueName);
-                queueEndpoint.setConcurrentNamed(rexQueueName, (long) rexQueueSize);
-            }
-        } catch (Exception e) {
-            // perhaps queue not created yet?
-            Log.warnf(e, "Error when getting queue size. Perhaps it doesn't exist yet.");
-            Log.infof("Initializing the queue: %s, setting the size to %s.", rexQueueName, rexQueueSize);
-            queueEndpoint.setConcurrentNamed(rexQueueName, (long) rexQueueSize);
-        }
-    }
 }
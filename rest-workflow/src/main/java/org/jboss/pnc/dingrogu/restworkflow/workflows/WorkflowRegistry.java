@@ -0,0 +1,52 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.arc.All;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.Startup;
+
+/**
+ * All the workflows, by name. A new workflow is discovered automatically, like the adapters.
+ *
+ * Created at startup so that every workflow compiles its graph then: an invalid workflow definition fails the startup
+ * instead of the first submission.
+ */
+@Startup
+@ApplicationScoped
+public class WorkflowRegistry {
+
+    /**
+     * Get all the implementations of the Workflow interface
+     */
+    @Inject
+    @All
+    List<Workflow<?>> workflows;
+
+    private final Map<String, Workflow<?>> workflowNameMap = new HashMap<>();
+
+    @PostConstruct
+    void setup() {
+        for (Workflow<?> workflow : workflows) {
+            Log.infof(">>> Processing workflow: %s", workflow.getName());
+            workflowNameMap.put(workflow.getName(), workflow);
+        }
+    }
+
+    /**
+     * Get a workflow
+     *
+     * @param name name of the workflow
+     * @return workflow, empty if there's no workflow with that name
+     */
+    public Optional<Workflow<?>> get(String name) {
+        return Optional.ofNullable(workflowNameMap.get(name));
+    }
+}
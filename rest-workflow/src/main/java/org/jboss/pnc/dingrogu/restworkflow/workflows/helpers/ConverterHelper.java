@@ -2,7 +2,9 @@ package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.pnc.api.enums.ArtifactQuality;
 import org.jboss.pnc.api.enums.BuildCategory;
@@ -13,10 +15,18 @@ import org.jboss.pnc.model.TargetRepository;
 
 public class ConverterHelper {
 
+    /**
+     * Convert the artifacts promoted by the repository driver to the model sent to Orch. The artifacts of a build are
+     * promoted to a handful of target repositories: each one is converted once and shared by its artifacts.
+     *
+     * @param artifacts promoted artifacts
+     * @return converted artifacts, empty if null
+     */
     public static List<Artifact> convertFromRepositoryArtifacts(List<RepositoryArtifact> artifacts) {
         if (artifacts == null) {
             return Collections.emptyList();
         }
+        Map<org.jboss.pnc.api.repositorydriver.dto.TargetRepository, TargetRepository> converted = new HashMap<>();
         return artifacts.stream()
                 .map(
                         ra -> Artifact.builder()
@@ -32,7 +42,11 @@ public class ConverterHelper {
                                 .importDate(ra.getImportDate() == null ? null : Date.from(ra.getImportDate()))
                                 .originUrl(ra.getOriginUrl())
                                 .size(ra.getSize())
-                                .targetRepository(convertTargetRepository(ra.getTargetRepository()))
+                                .targetRepository(
+                                        ra.getTargetRepository() == null ? null
+                                                : converted.computeIfAbsent(
+                                                        ra.getTargetRepository(),
+                                                        ConverterHelper::convertTargetRepository))
                                 .build())
                 .toList();
     }
@@ -43,9 +57,6 @@ public class ConverterHelper {
 
     private static TargetRepository convertTargetRepository(
             org.jboss.pnc.api.repositorydriver.dto.TargetRepository targetRepository) {
-        if (targetRepository == null) {
-            return null;
-        }
         return TargetRepository.newBuilder()
                 .temporaryRepo(targetRepository.getTemporaryRepo())
                 .identifier(targetRepository.getIdentifier())
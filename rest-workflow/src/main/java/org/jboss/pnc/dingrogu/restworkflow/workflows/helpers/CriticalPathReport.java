@@ -0,0 +1,167 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jboss.pnc.rex.common.enums.Transition;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.TransitionTimeDTO;
+
+/**
+ * Where the wall-clock time of a finished workflow went, computed from the transition timestamps of its Rex tasks.
+ *
+ * The critical path is walked back from the task that finished last, going each time to the dependency that finished
+ * last: that's the chain of tasks that decided when the workflow was done. For each task of the path, we report how
+ * long it waited after its dependency finished (in the Rex queue or for its other dependencies) and how long it ran.
+ *
+ * The sum of the durations of all the tasks is reported too: the difference with the wall-clock time is what running
+ * the tasks in parallel saved.
+ */
+public class CriticalPathReport {
+
+    private final Duration wallClock;
+
+    private final Duration serial;
+
+    private final List<Step> path;
+
+    private CriticalPathReport(Duration wallClock, Duration serial, List<Step> path) {
+        this.wallClock = wallClock;
+        this.serial = serial;
+        this.path = path;
+    }
+
+    /**
+     * Compute the report of a workflow
+     *
+     * @param tasks all the Rex tasks of the workflow, in a final state
+     * @return report, empty if none of the tasks ran
+     */
+    public static Optional<CriticalPathReport> of(Collection<TaskDTO> tasks) {
+        Map<String, Timeline> timelines = new HashMap<>();
+        for (TaskDTO task : tasks) {
+            timeline(task).ifPresent(timeline -> timelines.put(task.getName(), timeline));
+        }
+        if (timelines.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Instant start = timelines.values().stream().map(Timeline::start).min(Comparator.naturalOrder()).orElseThrow();
+        Duration serial = timelines.values()
+                .stream()
+                .map(Timeline::duration)
+                .reduce(Duration.ZERO, Duration::plus);
+
+        Map<String, TaskDTO> tasksByName = tasks.stream().collect(Collectors.toMap(TaskDTO::getName, task -> task));
+        String current = lastFinished(timelines, timelines.keySet()).orElseThrow();
+        Instant end = timelines.get(current).end();
+
+        List<Step> path = new ArrayList<>();
+        while (current != null) {
+            Timeline timeline = timelines.get(current);
+            Set<String> dependencies = Optional.ofNullable(tasksByName.get(current).getDependencies()).orElse(Set.of());
+            String previous = lastFinished(timelines, dependencies).orElse(null);
+
+            Instant ready = previous == null ? start : timelines.get(previous).end();
+            path.add(new Step(current, positive(Duration.between(ready, timeline.start())), timeline.duration()));
+            current = previous;
+        }
+        Collections.reverse(path);
+
+        return Optional.of(new CriticalPathReport(Duration.between(start, end), serial, List.copyOf(path)));
+    }
+
+    /**
+     * From the first start of the task to its last transition to a final state, so that retries are included
+     */
+    private static Optional<Timeline> timeline(TaskDTO task) {
+        if (task.getTimestamps() == null) {
+            return Optional.empty();
+        }
+        Instant start = null;
+        Instant end = null;
+        for (TransitionTimeDTO timestamp : task.getTimestamps()) {
+            Transition transition = timestamp.getTransition();
+            Instant time = timestamp.getTime();
+            if (transition == Transition.ENQUEUED_to_STARTING && (start == null || time.isBefore(start))) {
+                start = time;
+            }
+            if (transition.getAfter().isFinal() && (end == null || time.isAfter(end))) {
+                end = time;
+            }
+        }
+        if (start == null || end == null || end.isBefore(start)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Timeline(start, end));
+    }
+
+    private static Optional<String> lastFinished(Map<String, Timeline> timelines, Collection<String> taskNames) {
+        return taskNames.stream()
+                .filter(timelines::containsKey)
+                .max(Comparator.comparing(taskName -> timelines.get(taskName).end()));
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    /**
+     * Time between the start of the first task and the end of the last one
+     */
+    public Duration getWallClock() {
+        return wallClock;
+    }
+
+    /**
+     * Sum of the durations of all the tasks, i.e. the wall-clock time if they had run one after the other
+     */
+    public Duration getSerial() {
+        return serial;
+    }
+
+    /**
+     * Tasks of the critical path, from the first to start to the last to finish
+     */
+    public List<Step> getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "wall-clock " + wallClock + ", serial " + serial + ", path "
+                + path.stream().map(Step::toString).collect(Collectors.joining(" -> "));
+    }
+
+    /**
+     * Task of the critical path
+     *
+     * @param taskName name of the Rex task
+     * @param waited time between the end of the previous task of the path and the start of this one
+     * @param ran time between the start of this task and its end
+     */
+    public record Step(String taskName, Duration waited, Duration ran) {
+
+        @Override
+        public String toString() {
+            return taskName + " (waited " + waited + ", ran " + ran + ")";
+        }
+    }
+
+    private record Timeline(Instant start, Instant end) {
+
+        private Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.Optional;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.pnc.dingrogu.common.NotificationHelper;
+import org.jboss.pnc.rex.api.TaskEndpoint;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+
+import io.quarkus.logging.Log;
+
+/**
+ * Gets all the Rex tasks of a workflow once it is finished, as reported by {@link WorkflowStatusStore}. This avoids
+ * asking Rex for the whole task set on every notification: the task set is only fetched once, when the notification
+ * finished the workflow.
+ *
+ * If the workflow is not tracked by the store (e.g. Dingrogu was restarted while the workflow was running, or the entry
+ * got evicted), we fall back to querying Rex on every transition from running to final.
+ */
+@ApplicationScoped
+public class FinishedWorkflowTasks {
+
+    @Inject
+    TaskEndpoint taskEndpoint;
+
+    @Inject
+    WorkflowStatusStore workflowStatusStore;
+
+    /**
+     * Get all the Rex tasks of the workflow if the notification finished it
+     *
+     * @param notificationRequest notification received from Rex
+     * @param finished result of {@link WorkflowStatusStore#notified(String, NotificationRequest)} for the notification
+     * @return all the Rex tasks if the workflow just finished, empty otherwise
+     */
+    public Optional<Set<TaskDTO>> getTasksIfFinished(NotificationRequest notificationRequest, boolean finished) {
+        String correlationId = notificationRequest.getTask().getCorrelationID();
+
+        if (finished) {
+            Optional<Set<TaskDTO>> tasks = fetchIfAllFinal(correlationId);
+            if (tasks.isEmpty()) {
+                Log.warnf("[%s] Rex doesn't consider all tasks final yet, falling back to querying Rex", correlationId);
+                workflowStatusStore.forget(correlationId);
+            }
+            return tasks;
+        }
+
+        // untracked workflow: we only check when a task that actually did something reached a final state
+        if (workflowStatusStore.isTracked(correlationId)
+                || !NotificationHelper.isFromRunningToFinal(notificationRequest)) {
+            return Optional.empty();
+        }
+        return fetchIfAllFinal(correlationId);
+    }
+
+    private Optional<Set<TaskDTO>> fetchIfAllFinal(String correlationId) {
+        Set<TaskDTO> tasks = taskEndpoint.byCorrelation(correlationId);
+        if (NotificationHelper.areAllRexTasksInFinalState(tasks)) {
+            return Optional.of(tasks);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,172 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.rex.api.QueueEndpoint;
+import org.jboss.pnc.rex.dto.responses.LongResponse;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.Startup;
+
+/**
+ * Keeps the size of the Rex queues used by the workflows in line with the configuration, so that submitting a workflow
+ * doesn't have to check the queue with Rex first.
+ *
+ * The queues are the ones configured with 'rexclient.&lt;workflow&gt;.queue_name' and
+ * 'rexclient.&lt;workflow&gt;.queue_size'. They are reconciled at startup, then periodically in the background. The
+ * configuration is read again on every run, so a size changed at runtime (e.g. in a config source that supports it)
+ * is applied without a restart.
+ *
+ * The last size set or seen in Rex is cached per queue: Rex is only called when the configured size differs from it, or
+ * when the cached size is older than the verify interval, in case the queue was changed on the Rex side.
+ */
+@ApplicationScoped
+public class RexQueueReconciler {
+
+    private static final Pattern QUEUE_NAME_PROPERTY = Pattern.compile("rexclient\\.([^.]+)\\.queue_name");
+
+    @ConfigProperty(name = "dingrogu.rex-queue.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "dingrogu.rex-queue.reconcile-interval", defaultValue = "PT1M")
+    Duration reconcileInterval;
+
+    @ConfigProperty(name = "dingrogu.rex-queue.verify-interval", defaultValue = "PT30M")
+    Duration verifyInterval;
+
+    @Inject
+    Config config;
+
+    @Inject
+    QueueEndpoint queueEndpoint;
+
+    private final Map<String, KnownSize> knownSizes = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @Startup
+    void start() {
+        if (!enabled) {
+            Log.info("Reconciliation of the Rex queue sizes is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-rex-queue-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+                this::reconcileAll,
+                0,
+                reconcileInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reconcile all the configured queues. A queue that couldn't be reconciled is retried on the next run
+     */
+    public void reconcileAll() {
+        getConfiguredSizes().forEach((queueName, size) -> {
+            try {
+                reconcile(queueName, size);
+            } catch (Exception e) {
+                knownSizes.remove(queueName);
+                Log.warnf(e, "Couldn't set the size of the Rex queue %s, retrying in %s", queueName, reconcileInterval);
+            }
+        });
+    }
+
+    /**
+     * Make sure the Rex queue has the desired size, unless it is already known to have it
+     *
+     * @param queueName name of the queue
+     * @param desiredSize upper limit of concurrent tasks running in the queue
+     */
+    void reconcile(String queueName, long desiredSize) {
+        KnownSize known = knownSizes.get(queueName);
+        if (known != null && known.size == desiredSize && !known.isOlderThan(verifyInterval)) {
+            return;
+        }
+
+        Long current = null;
+        try {
+            LongResponse response = queueEndpoint.getConcurrentNamed(queueName);
+            current = response.getNumber();
+        } catch (Exception e) {
+            // perhaps queue not created yet?
+            Log.warnf(e, "Error when getting the size of the Rex queue %s. Perhaps it doesn't exist yet.", queueName);
+        }
+
+        if (current == null || current != desiredSize) {
+            Log.infof("Setting the size of the Rex queue %s to %d (was: %s)", queueName, desiredSize, current);
+            queueEndpoint.setConcurrentNamed(queueName, desiredSize);
+        }
+        knownSizes.put(queueName, new KnownSize(desiredSize, Instant.now()));
+    }
+
+    /**
+     * Last size set or seen in Rex for the queue
+     *
+     * @param queueName name of the queue
+     * @return size, empty if the queue wasn't reconciled yet
+     */
+    public OptionalLong getKnownSize(String queueName) {
+        KnownSize known = knownSizes.get(queueName);
+        return known == null ? OptionalLong.empty() : OptionalLong.of(known.size);
+    }
+
+    /**
+     * Read the queues and their sizes from the configuration
+     *
+     * @return size per queue name
+     */
+    Map<String, Long> getConfiguredSizes() {
+        Map<String, Long> sizes = new TreeMap<>();
+        for (String property : config.getPropertyNames()) {
+            Matcher matcher = QUEUE_NAME_PROPERTY.matcher(property);
+            if (!matcher.matches()) {
+                continue;
+            }
+            String sizeProperty = "rexclient." + matcher.group(1) + ".queue_size";
+            Optional<String> queueName = config.getOptionalValue(property, String.class);
+            Optional<Long> size = config.getOptionalValue(sizeProperty, Long.class);
+            if (queueName.isPresent() && size.isPresent()) {
+                sizes.put(queueName.get(), size.get());
+            } else if (queueName.isPresent()) {
+                Log.warnf("No %s configured, the Rex queue %s is left as is", sizeProperty, queueName.get());
+            }
+        }
+        return sizes;
+    }
+
+    private record KnownSize(long size, Instant at) {
+
+        boolean isOlderThan(Duration duration) {
+            return at.plus(duration).isBefore(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.rex.dto.TaskDTO;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+
+/**
+ * The attachment of the notifications Rex sends for the tasks of a workflow is the same for all its tasks (e.g. the
+ * whole start request of a build), and Rex stores it with every task. When sharing is enabled, only the first task of
+ * the graph and the tasks no other task depends on keep the attachment: the other tasks get a {@link Reference} to it,
+ * resolved against the tasks of the workflow once it has finished. Rex stays the only store of the attachment, so it
+ * survives a restart of Dingrogu.
+ *
+ * The last notification of a workflow usually comes from a task keeping the attachment. Otherwise the attachment is
+ * taken from any task of the workflow keeping it, and the workflow can't be completed if Rex has none of them anymore:
+ * sharing is disabled by default.
+ *
+ * The bytes saved are recorded in 'dingrogu.graph.notification-attachment.saved' for one submitted graph in
+ * {@value #MEASURE_EVERY}: measuring them means serializing the attachment once more.
+ */
+@ApplicationScoped
+public class SharedAttachments {
+
+    static final String REFERENCE_KEY = "sharedAttachmentOf";
+
+    /**
+     * Size of the JSON of a reference, without the name of the task: {"sharedAttachmentOf":""}
+     */
+    private static final int REFERENCE_SIZE = REFERENCE_KEY.length() + 7;
+
+    static final int MEASURE_EVERY = 100;
+
+    @ConfigProperty(name = "dingrogu.graph.share-notification-attachment", defaultValue = "false")
+    boolean enabled;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * Reference to the attachment kept by another task of the workflow
+     *
+     * @param sharedAttachmentOf name of the Rex task keeping the attachment
+     */
+    public record Reference(String sharedAttachmentOf) {
+    }
+
+    /**
+     * Share the attachment of the notifications of a graph
+     *
+     * @param workflow name of the workflow of the graph
+     * @param attachment attachment of the notifications
+     * @param owner name of the Rex task keeping the attachment
+     * @param references number of tasks getting the reference instead of the attachment
+     * @return reference to give to the other tasks, null if the attachment is not shared
+     */
+    public Reference share(String workflow, Object attachment, String owner, int references) {
+        if (!enabled || attachment == null || references == 0) {
+            return null;
+        }
+        Reference reference = new Reference(owner);
+        if (shared.getAndIncrement() % MEASURE_EVERY != 0) {
+            return reference;
+        }
+        try {
+            // only the attachment is serialized, the size of the reference is known
+            long saved = (long) references
+                    * (objectMapper.writeValueAsBytes(attachment).length - REFERENCE_SIZE - owner.length());
+            DistributionSummary.builder("dingrogu.graph.notification-attachment.saved")
+                    .description("Bytes of notification attachments not sent to Rex per submitted graph")
+                    .baseUnit("bytes")
+                    .tag("workflow", workflow)
+                    .register(meterRegistry)
+                    .record(saved);
+        } catch (JsonProcessingException e) {
+            // Rex will refuse the graph anyway
+            Log.warnf("Couldn't measure the attachment of the %s workflow: %s", workflow, e.toString());
+        }
+        return reference;
+    }
+
+    /**
+     * Get the attachment of a notification, following the reference to a task keeping it if needed: the task
+     * referenced, or else any other task keeping it
+     *
+     * @param attachment attachment of the notification
+     * @param tasks Rex tasks of the workflow
+     * @return attachment
+     * @throws UnresolvedAttachmentException if none of the tasks keeping the attachment is among the tasks
+     */
+    public Object resolve(Object attachment, Collection<TaskDTO> tasks) {
+        String owner = getOwner(attachment);
+        if (owner == null) {
+            return attachment;
+        }
+        Object kept = null;
+        for (TaskDTO task : tasks) {
+            Object taskAttachment = task.getCallerNotifications() == null ? null
+                    : task.getCallerNotifications().getAttachment();
+            if (taskAttachment == null || getOwner(taskAttachment) != null) {
+                continue;
+            }
+            if (owner.equals(task.getName())) {
+                return taskAttachment;
+            }
+            kept = taskAttachment;
+        }
+        if (kept == null) {
+            throw new UnresolvedAttachmentException(owner);
+        }
+        Log.warnf("Task %s keeping the notification attachment is not among the tasks of the workflow", owner);
+        return kept;
+    }
+
+    private static String getOwner(Object attachment) {
+        if (attachment instanceof Reference reference) {
+            return reference.sharedAttachmentOf();
+        }
+        // as received from Rex
+        if (attachment instanceof Map<?, ?> map && map.size() == 1
+                && map.get(REFERENCE_KEY) instanceof String owner) {
+            return owner;
+        }
+        return null;
+    }
+
+    /**
+     * Thrown when the shared attachment of the notifications of a workflow can't be found among its tasks, e.g. when
+     * Rex deleted them
+     */
+    public static class UnresolvedAttachmentException extends RuntimeException {
+        public UnresolvedAttachmentException(String owner) {
+            super("No task of the workflow keeps the notification attachment shared by task " + owner);
+        }
+    }
+}
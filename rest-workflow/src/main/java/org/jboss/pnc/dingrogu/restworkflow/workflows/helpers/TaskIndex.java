@@ -0,0 +1,130 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jboss.pnc.rex.common.enums.Origin;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.ServerResponseDTO;
+import org.jboss.pnc.rex.dto.TaskDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Rex tasks of a finished workflow, indexed by name in one pass. The server responses of each task are only gone
+ * through once, and each value converted (a response body, an attachment) is converted once per type: the steps
+ * processing the results of the workflow all share them.
+ *
+ * Not thread-safe: an index is meant to be used by the thread processing the end of the workflow.
+ */
+public class TaskIndex {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, IndexedTask> tasks;
+
+    private final Map<Object, Map<Class<?>, Object>> converted = new IdentityHashMap<>();
+
+    private TaskIndex(ObjectMapper objectMapper, Map<String, IndexedTask> tasks) {
+        this.objectMapper = objectMapper;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Index the tasks
+     *
+     * @param tasks Rex tasks of the workflow
+     * @param objectMapper mapper used to convert the values
+     * @return index
+     */
+    public static TaskIndex of(Collection<TaskDTO> tasks, ObjectMapper objectMapper) {
+        Map<String, IndexedTask> indexed = new HashMap<>();
+        for (TaskDTO task : tasks) {
+            indexed.put(task.getName(), IndexedTask.of(task));
+        }
+        return new TaskIndex(objectMapper, indexed);
+    }
+
+    /**
+     * Find a task
+     *
+     * @param name Rex task name
+     * @return task, empty if not present
+     */
+    public Optional<TaskDTO> find(String name) {
+        return Optional.ofNullable(tasks.get(name)).map(IndexedTask::task);
+    }
+
+    /**
+     * Last response of the task, whatever its origin
+     *
+     * @param name Rex task name
+     * @return response, empty if the task is not present or has no response
+     */
+    public Optional<ServerResponseDTO> getLastResponse(String name) {
+        return Optional.ofNullable(tasks.get(name)).map(IndexedTask::lastResponse);
+    }
+
+    /**
+     * Last response sent by the remote entity while the task was up, i.e. the result of the adapter
+     *
+     * @param name Rex task name
+     * @return response, empty if the task is not present or has no such response
+     */
+    public Optional<ServerResponseDTO> getLastRemoteResponse(String name) {
+        return Optional.ofNullable(tasks.get(name)).map(IndexedTask::lastRemoteResponse);
+    }
+
+    /**
+     * Rollback counter of the last response of the task
+     *
+     * @param name Rex task name
+     * @return rollback counter, 0 if the task is not present or has no response
+     */
+    public int getRollbackCounter(String name) {
+        return getLastResponse(name).map(response -> response.rollbackCounter).orElse(0);
+    }
+
+    /**
+     * Convert a value of one of the tasks. The conversion is done once per value and type
+     *
+     * @param value value to convert, e.g. the body of a response
+     * @param clazz type to convert to
+     * @return converted value, null if the value is null
+     * @param <T> type to convert to
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    public <T> T convert(Object value, Class<T> clazz) {
+        if (value == null) {
+            return null;
+        }
+        Map<Class<?>, Object> conversions = converted.computeIfAbsent(value, v -> new HashMap<>());
+        if (conversions.containsKey(clazz)) {
+            return clazz.cast(conversions.get(clazz));
+        }
+        T result = objectMapper.convertValue(value, clazz);
+        conversions.put(clazz, result);
+        return result;
+    }
+
+    private record IndexedTask(TaskDTO task, ServerResponseDTO lastResponse, ServerResponseDTO lastRemoteResponse) {
+
+        private static IndexedTask of(TaskDTO task) {
+            List<ServerResponseDTO> responses = task.getServerResponses();
+            if (responses == null || responses.isEmpty()) {
+                return new IndexedTask(task, null, null);
+            }
+            ServerResponseDTO lastRemoteResponse = null;
+            for (ServerResponseDTO response : responses) {
+                if (response.getOrigin() == Origin.REMOTE_ENTITY && response.getState() == State.UP) {
+                    lastRemoteResponse = response;
+                }
+            }
+            return new IndexedTask(task, responses.get(responses.size() - 1), lastRemoteResponse);
+        }
+    }
+}
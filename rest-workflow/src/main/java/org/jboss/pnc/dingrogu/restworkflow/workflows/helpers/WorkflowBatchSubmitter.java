@@ -0,0 +1,102 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BatchSubmissionResultDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowSubmissionResultDTO;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.WorkflowSubmissionException;
+import org.slf4j.MDC;
+
+import io.opentelemetry.context.Context;
+import io.quarkus.logging.Log;
+
+/**
+ * Submits batches of workflows, building their graphs and sending them to Rex in parallel.
+ *
+ * Each workflow is still its own Rex graph: Rex takes a single correlation id per graph request, and the correlation id
+ * is what the notifications, the status and the cancellation of a workflow rely on. The submissions run on a pool of
+ * 'dingrogu.batch.parallelism' threads shared by all the batches, with the MDC of the caller: the MDC headers of the
+ * requests of the Rex tasks are read from it.
+ */
+@ApplicationScoped
+public class WorkflowBatchSubmitter {
+
+    @ConfigProperty(name = "dingrogu.batch.parallelism", defaultValue = "10")
+    int parallelism;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Context.taskWrapping(Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-workflow-batch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submit all the workflows of a batch. A workflow that couldn't be submitted doesn't prevent the others
+     *
+     * @param inputs input of each workflow
+     * @param submission submission of one workflow
+     * @return outcome per workflow, in the order of the inputs
+     * @param <T> type of the input of the workflow
+     */
+    public <T> BatchSubmissionResultDTO submitAll(List<T> inputs, Function<T, CorrelationId> submission) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        List<CompletableFuture<WorkflowSubmissionResultDTO>> submissions = inputs.stream()
+                .map(input -> CompletableFuture.supplyAsync(() -> submit(input, submission, mdc), executor))
+                .toList();
+        List<WorkflowSubmissionResultDTO> results = submissions.stream().map(CompletableFuture::join).toList();
+
+        int submitted = (int) results.stream().filter(result -> result.getCorrelationId() != null).count();
+        return BatchSubmissionResultDTO.builder()
+                .submitted(submitted)
+                .failed(results.size() - submitted)
+                .results(results)
+                .build();
+    }
+
+    private static <T> WorkflowSubmissionResultDTO submit(
+            T input,
+            Function<T, CorrelationId> submission,
+            Map<String, String> mdc) {
+        Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            CorrelationId correlationId = submission.apply(input);
+            return WorkflowSubmissionResultDTO.builder().correlationId(correlationId.getId()).build();
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof WorkflowSubmissionException && e.getCause() != null ? e.getCause() : e;
+            Log.warnf(cause, "Couldn't submit workflow of the batch: %s", input);
+            return WorkflowSubmissionResultDTO.builder().error(String.valueOf(cause.getMessage())).build();
+        } finally {
+            if (previousMdc == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(previousMdc);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BulkCancelResultDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowCancelResultDTO;
+import org.jboss.pnc.rex.api.TaskEndpoint;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.slf4j.MDC;
+
+import io.opentelemetry.context.Context;
+import io.quarkus.logging.Log;
+
+/**
+ * Cancels the Rex tasks of workflows, many workflows at a time.
+ *
+ * Cancelling a task makes Rex stop the tasks depending on it, so only the tasks whose dependencies are all final are
+ * cancelled: the others are stopped transitively, without a call to Rex each.
+ *
+ * The calls to Rex run on a pool of 'dingrogu.cancel.parallelism' threads shared by all the cancellations, so that a
+ * large cancellation doesn't flood Rex. They run with the MDC of the caller, sent to Rex in the MDC headers.
+ */
+@ApplicationScoped
+public class WorkflowCanceller {
+
+    @ConfigProperty(name = "dingrogu.cancel.parallelism", defaultValue = "10")
+    int parallelism;
+
+    @Inject
+    TaskEndpoint taskEndpoint;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Context.taskWrapping(Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "dingrogu-workflow-cancel-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Cancel a workflow
+     *
+     * @param correlationId correlation id of the workflow
+     * @return outcome
+     */
+    public WorkflowCancelResultDTO cancel(String correlationId) {
+        return cancelAsync(correlationId).join();
+    }
+
+    /**
+     * Cancel workflows in parallel
+     *
+     * @param correlationIds correlation ids of the workflows
+     * @return outcome per workflow, in the order of the correlation ids
+     */
+    public BulkCancelResultDTO cancelAll(Collection<String> correlationIds) {
+        List<CompletableFuture<WorkflowCancelResultDTO>> cancellations = new LinkedHashSet<>(correlationIds).stream()
+                .map(this::cancelAsync)
+                .toList();
+        List<WorkflowCancelResultDTO> results = cancellations.stream().map(CompletableFuture::join).toList();
+
+        Map<WorkflowCancelResultDTO.Outcome, Integer> summary = new EnumMap<>(WorkflowCancelResultDTO.Outcome.class);
+        results.forEach(result -> summary.merge(result.getOutcome(), 1, Integer::sum));
+        return BulkCancelResultDTO.builder().summary(summary).workflows(results).build();
+    }
+
+    private CompletableFuture<WorkflowCancelResultDTO> cancelAsync(String correlationId) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return supplyAsync(mdc, () -> taskEndpoint.byCorrelation(correlationId))
+                .thenCompose(tasks -> cancelTasks(correlationId, tasks, mdc))
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    Log.warnf("Couldn't get the Rex tasks of workflow %s: %s", correlationId, cause.getMessage());
+                    return WorkflowCancelResultDTO.builder()
+                            .correlationId(correlationId)
+                            .outcome(WorkflowCancelResultDTO.Outcome.FAILED)
+                            .cancelledTasks(List.of())
+                            .failedTasks(List.of())
+                            .error(cause.getMessage())
+                            .build();
+                });
+    }
+
+    private CompletableFuture<WorkflowCancelResultDTO> cancelTasks(
+            String correlationId,
+            Set<TaskDTO> tasks,
+            Map<String, String> mdc) {
+        List<TaskDTO> roots = getCancellationRoots(tasks);
+        int nonFinal = (int) tasks.stream().filter(task -> !task.getState().isFinal()).count();
+        Log.infof("Cancelling workflow with correlation id %s: %d of %d tasks", correlationId, roots.size(), nonFinal);
+
+        Map<String, CompletableFuture<Boolean>> cancellations = roots.stream()
+                .collect(
+                        Collectors.toMap(
+                                TaskDTO::getName,
+                                task -> supplyAsync(mdc, () -> cancelTask(task.getName()))));
+
+        return CompletableFuture.allOf(cancellations.values().toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<String> cancelled = new ArrayList<>();
+            List<String> failed = new ArrayList<>();
+            cancellations.forEach((name, cancellation) -> (cancellation.join() ? cancelled : failed).add(name));
+            return WorkflowCancelResultDTO.builder()
+                    .correlationId(correlationId)
+                    .outcome(outcome(roots.size(), failed.size()))
+                    .cancelledTasks(cancelled)
+                    .failedTasks(failed)
+                    .transitivelyCancelledTasks(nonFinal - roots.size())
+                    .build();
+        });
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Map<String, String> mdc, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return supplier.get();
+            } finally {
+                if (previousMdc == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previousMdc);
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * Get the tasks to cancel so that all the tasks not in a final state are stopped: the ones not depending on
+     * another task not in a final state
+     *
+     * @param tasks all the tasks of a workflow
+     * @return tasks to cancel
+     */
+    static List<TaskDTO> getCancellationRoots(Collection<TaskDTO> tasks) {
+        Set<String> nonFinal = tasks.stream()
+                .filter(task -> !task.getState().isFinal())
+                .map(TaskDTO::getName)
+                .collect(Collectors.toSet());
+        return tasks.stream()
+                .filter(task -> nonFinal.contains(task.getName()))
+                .filter(
+                        task -> task.getDependencies() == null
+                                || task.getDependencies().stream().noneMatch(nonFinal::contains))
+                .toList();
+    }
+
+    private boolean cancelTask(String name) {
+        try (Response response = taskEndpoint.cancel(name)) {
+            if (response.getStatus() != Response.Status.ACCEPTED.getStatusCode()) {
+                Log.warnf("Couldn't cancel Rex task: %s", name);
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            Log.warnf("Couldn't cancel Rex task: %s with exception %s", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private static WorkflowCancelResultDTO.Outcome outcome(int toCancel, int failed) {
+        if (toCancel == 0) {
+            return WorkflowCancelResultDTO.Outcome.ALREADY_FINISHED;
+        } else if (failed == 0) {
+            return WorkflowCancelResultDTO.Outcome.CANCELLED;
+        } else if (failed < toCancel) {
+            return WorkflowCancelResultDTO.Outcome.PARTIALLY_CANCELLED;
+        }
+        return WorkflowCancelResultDTO.Outcome.FAILED;
+    }
+}
@@ -0,0 +1,204 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.pnc.rex.dto.ConfigurationDTO;
+
+/**
+ * Declarative definition of the Rex graph of a workflow. The tasks are referenced by the name of their adapter
+ * ({@link org.jboss.pnc.dingrogu.restadapter.adapter.Adapter#getAdapterName()}), and list the tasks they depend on:
+ *
+ * <pre>
+ * WorkflowDefinition.builder("repository-creation")
+ *         .task("reqour-create-repository")
+ *         .task("reqour-clone-repository", "reqour-create-repository")
+ *         .build();
+ * </pre>
+ *
+ * The definition is validated when built: a dependency or milestone on a task not in the definition, or a cycle
+ * between the tasks, is rejected. It is then compiled into a {@link WorkflowGraphTemplate} by the
+ * {@link WorkflowGraphCompiler}.
+ */
+public class WorkflowDefinition {
+
+    private final String name;
+
+    private final ConfigurationDTO configuration;
+
+    private final List<TaskDefinition> tasks;
+
+    private WorkflowDefinition(String name, ConfigurationDTO configuration, List<TaskDefinition> tasks) {
+        this.name = name;
+        this.configuration = configuration;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Start a definition
+     *
+     * @param name name of the workflow, used in the error messages
+     * @return builder
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Configuration of the graph, applied to all the tasks. Can be null
+     */
+    public ConfigurationDTO getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Tasks, in the order they were defined
+     */
+    public List<TaskDefinition> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Task of the graph
+     *
+     * @param adapterName name of the adapter of the task
+     * @param dependencies adapter names of the tasks that have to be done before this one starts
+     * @param milestone adapter name of the task to roll back to in case of failure, null if none
+     */
+    public record TaskDefinition(String adapterName, List<String> dependencies, String milestone) {
+    }
+
+    public static class Builder {
+
+        private final String name;
+
+        private ConfigurationDTO configuration;
+
+        private final Map<String, List<String>> dependencies = new LinkedHashMap<>();
+
+        private final Map<String, String> milestones = new LinkedHashMap<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Set the configuration of the graph
+         *
+         * @param configuration configuration applied to all the tasks
+         * @return this builder
+         */
+        public Builder configuration(ConfigurationDTO configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * Add a task
+         *
+         * @param adapterName name of the adapter of the task
+         * @param dependencies adapter names of the tasks that have to be done before this one starts
+         * @return this builder
+         */
+        public Builder task(String adapterName, String... dependencies) {
+            if (this.dependencies.putIfAbsent(adapterName, List.of(dependencies)) != null) {
+                throw invalid("task " + adapterName + " is defined twice");
+            }
+            return this;
+        }
+
+        /**
+         * Roll back to another task when the task fails
+         *
+         * @param adapterName name of the adapter of the task
+         * @param milestone adapter name of the task to roll back to
+         * @return this builder
+         */
+        public Builder milestone(String adapterName, String milestone) {
+            milestones.put(adapterName, milestone);
+            return this;
+        }
+
+        /**
+         * Retry the task itself when it fails
+         *
+         * @param adapterName name of the adapter of the task
+         * @return this builder
+         */
+        public Builder retryItself(String adapterName) {
+            return milestone(adapterName, adapterName);
+        }
+
+        /**
+         * Validate and build the definition
+         *
+         * @return definition
+         * @throws IllegalArgumentException if a task depends on a task not defined, or if there's a cycle
+         */
+        public WorkflowDefinition build() {
+            milestones.forEach((task, milestone) -> {
+                checkDefined(task, "has a milestone but");
+                checkDefined(milestone, "is the milestone of " + task + " but");
+            });
+            dependencies.forEach((task, taskDependencies) -> {
+                for (String dependency : taskDependencies) {
+                    checkDefined(dependency, "is a dependency of " + task + " but");
+                }
+            });
+            checkNoCycle();
+
+            List<TaskDefinition> tasks = new ArrayList<>();
+            dependencies.forEach(
+                    (task, taskDependencies) -> tasks
+                            .add(new TaskDefinition(task, taskDependencies, milestones.get(task))));
+            return new WorkflowDefinition(name, configuration, List.copyOf(tasks));
+        }
+
+        private void checkDefined(String adapterName, String context) {
+            if (!dependencies.containsKey(adapterName)) {
+                throw invalid("task " + adapterName + " " + context + " is not defined");
+            }
+        }
+
+        /**
+         * Depth-first search of the dependencies, keeping the path to report the cycle
+         */
+        private void checkNoCycle() {
+            Map<String, Boolean> visited = new LinkedHashMap<>();
+            for (String task : dependencies.keySet()) {
+                visit(task, visited, new ArrayList<>());
+            }
+        }
+
+        /**
+         * @param visited false while the task is on the current path, true once all its dependencies are checked
+         */
+        private void visit(String task, Map<String, Boolean> visited, List<String> path) {
+            Boolean done = visited.get(task);
+            if (Boolean.TRUE.equals(done)) {
+                return;
+            }
+            path.add(task);
+            if (done != null) {
+                List<String> cycle = path.subList(path.indexOf(task), path.size());
+                throw invalid("cycle between the tasks " + String.join(" -> ", cycle));
+            }
+            visited.put(task, false);
+            for (String dependency : dependencies.get(task)) {
+                visit(dependency, visited, path);
+            }
+            visited.put(task, true);
+            path.remove(path.size() - 1);
+        }
+
+        private IllegalArgumentException invalid(String reason) {
+            return new IllegalArgumentException("Invalid definition of the workflow " + name + ": " + reason);
+        }
+    }
+}
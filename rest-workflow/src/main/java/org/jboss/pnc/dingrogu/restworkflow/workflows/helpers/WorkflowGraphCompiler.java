@@ -0,0 +1,62 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.dingrogu.restadapter.adapter.Adapter;
+
+import io.quarkus.arc.All;
+
+/**
+ * Compiles the {@link WorkflowDefinition} of the workflows into {@link WorkflowGraphTemplate}s, resolving the adapter
+ * names against all the adapters available. Like in the adapter endpoint, a new adapter is discovered automatically.
+ */
+@ApplicationScoped
+public class WorkflowGraphCompiler {
+
+    @ConfigProperty(name = "dingrogu.url")
+    String ownUrl;
+
+    /**
+     * Get all the implementations of the Adapter interface
+     */
+    @Inject
+    @All
+    List<Adapter<?>> adapters;
+
+    @Inject
+    SharedAttachments sharedAttachments;
+
+    private final Map<String, Adapter<?>> adapterNameMap = new HashMap<>();
+
+    @PostConstruct
+    void setup() {
+        for (Adapter<?> adapter : adapters) {
+            adapterNameMap.put(adapter.getAdapterName(), adapter);
+        }
+    }
+
+    /**
+     * Compile a workflow definition
+     *
+     * @param definition definition of the workflow
+     * @param queue name of the Rex queue of the graph
+     * @return template
+     * @throws IllegalArgumentException if there's no adapter for a task of the definition
+     */
+    public WorkflowGraphTemplate compile(WorkflowDefinition definition, String queue) {
+        // the templates skip the sharing altogether when it's disabled
+        return WorkflowGraphTemplate.compile(
+                definition,
+                ownUrl,
+                queue,
+                adapterNameMap,
+                sharedAttachments.enabled ? sharedAttachments : null);
+    }
+}
@@ -0,0 +1,344 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.dingrogu.api.endpoint.AdapterEndpoint;
+import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restadapter.adapter.Adapter;
+import org.jboss.pnc.rex.dto.ConfigurationDTO;
+import org.jboss.pnc.rex.dto.CreateTaskDTO;
+import org.jboss.pnc.rex.dto.EdgeDTO;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+
+/**
+ * Rex graph of a workflow, compiled once from its {@link WorkflowDefinition}: the tasks and their edges, the URLs of
+ * the adapter endpoints, and the configuration of the graph and of each task. Submitting the workflow then only binds
+ * what changes between submissions: the correlation id, the payload of each task, the rollback requests and the
+ * attachment of the notifications.
+ *
+ * The graph generated is the same as the one of {@link Adapter#generateRexTask}, except for the attachment of the
+ * notifications which can be kept by the first and the last tasks only (see {@link SharedAttachments}). The
+ * configuration objects are shared between the graphs generated from a template, so they must not be modified.
+ *
+ * Example:
+ *
+ * <pre>
+ * CreateGraphRequest graph = template.bind(correlationId, notificationAttachment)
+ *         .payload(first, firstDTO)
+ *         .payload(second, secondDTO)
+ *         .build();
+ * </pre>
+ */
+public class WorkflowGraphTemplate {
+
+    private static final String CORRELATION_ID_PLACEHOLDER = "{correlationId}";
+
+    private static final Object NO_PAYLOAD = new Object();
+
+    private final String name;
+
+    private final String queue;
+
+    private final ConfigurationDTO graphConfiguration;
+
+    private final Map<String, TaskTemplate> tasks;
+
+    private final List<EdgeTemplate> edges;
+
+    private final SharedAttachments sharedAttachments;
+
+    /**
+     * Tasks keeping the attachment of the notifications when it is shared: the first task, which the others reference,
+     * and the tasks no other task depends on, whose notifications usually are the last ones of the workflow
+     */
+    private final boolean[] keepsAttachment;
+
+    private final int references;
+
+    private WorkflowGraphTemplate(
+            String name,
+            String queue,
+            ConfigurationDTO graphConfiguration,
+            Map<String, TaskTemplate> tasks,
+            List<EdgeTemplate> edges,
+            SharedAttachments sharedAttachments) {
+        this.name = name;
+        this.queue = queue;
+        this.graphConfiguration = graphConfiguration;
+        this.tasks = tasks;
+        this.edges = edges;
+        this.sharedAttachments = sharedAttachments;
+
+        this.keepsAttachment = new boolean[tasks.size()];
+        Arrays.fill(keepsAttachment, true);
+        edges.forEach(edge -> keepsAttachment[edge.target] = false);
+        if (keepsAttachment.length > 0) {
+            keepsAttachment[0] = true;
+        }
+        int kept = 0;
+        for (boolean keeps : keepsAttachment) {
+            kept += keeps ? 1 : 0;
+        }
+        this.references = tasks.size() - kept;
+    }
+
+    /**
+     * Compile the definition of a workflow. Each task keeps the attachment of its notifications
+     *
+     * @param definition definition of the workflow, already validated
+     * @param adapterUrl url of Dingrogu, where Rex sends the requests of the tasks
+     * @param queue name of the Rex queue of the graph
+     * @param adapters adapters by name
+     * @return template
+     * @throws IllegalArgumentException if there's no adapter for a task
+     */
+    public static WorkflowGraphTemplate compile(
+            WorkflowDefinition definition,
+            String adapterUrl,
+            String queue,
+            Map<String, ? extends Adapter<?>> adapters) {
+        return compile(definition, adapterUrl, queue, adapters, null);
+    }
+
+    /**
+     * Compile the definition of a workflow
+     *
+     * @param definition definition of the workflow, already validated
+     * @param adapterUrl url of Dingrogu, where Rex sends the requests of the tasks
+     * @param queue name of the Rex queue of the graph
+     * @param adapters adapters by name
+     * @param sharedAttachments sharing of the attachment of the notifications, null to keep it in each task
+     * @return template
+     * @throws IllegalArgumentException if there's no adapter for a task
+     */
+    public static WorkflowGraphTemplate compile(
+            WorkflowDefinition definition,
+            String adapterUrl,
+            String queue,
+            Map<String, ? extends Adapter<?>> adapters,
+            SharedAttachments sharedAttachments) {
+        Map<String, Integer> indexes = new HashMap<>();
+        definition.getTasks().forEach(task -> indexes.put(task.adapterName(), indexes.size()));
+
+        Map<String, TaskTemplate> tasks = new LinkedHashMap<>();
+        List<EdgeTemplate> edges = new ArrayList<>();
+        for (WorkflowDefinition.TaskDefinition task : definition.getTasks()) {
+            Adapter<?> adapter = adapters.get(task.adapterName());
+            if (adapter == null) {
+                throw new IllegalArgumentException(
+                        "Invalid definition of the workflow " + definition.getName() + ": no adapter named "
+                                + task.adapterName());
+            }
+            int index = indexes.get(task.adapterName());
+            int milestoneIndex = task.milestone() == null ? -1 : indexes.get(task.milestone());
+            tasks.put(task.adapterName(), new TaskTemplate(adapterUrl, adapter, index, milestoneIndex));
+            for (String dependency : task.dependencies()) {
+                edges.add(new EdgeTemplate(index, indexes.get(dependency)));
+            }
+        }
+
+        return new WorkflowGraphTemplate(
+                definition.getName(),
+                queue,
+                definition.getConfiguration(),
+                tasks,
+                List.copyOf(edges),
+                sharedAttachments);
+    }
+
+    /**
+     * Start generating a graph from the template
+     *
+     * The MDC headers added to the requests of the tasks are taken from the MDC of the current thread, like in
+     * {@link Adapter#generateRexTask}
+     *
+     * @param correlationId correlation id of the workflow
+     * @param notificationAttachment attachment of the notifications Rex sends to the adapters
+     * @return binding to complete with the payload of each task
+     */
+    public Binding bind(String correlationId, Object notificationAttachment) {
+        return new Binding(correlationId, notificationAttachment);
+    }
+
+    /**
+     * Names of the adapters of the tasks of the template
+     *
+     * @return adapter names
+     */
+    public Set<String> getAdapterNames() {
+        return tasks.keySet();
+    }
+
+    /**
+     * Values of a graph being generated from the template
+     */
+    public class Binding {
+
+        private final String correlationId;
+
+        private final Object notificationAttachment;
+
+        private final Object[] payloads;
+
+        private final Request[] rollbackRequests;
+
+        private Binding(String correlationId, Object notificationAttachment) {
+            this.correlationId = correlationId;
+            this.notificationAttachment = notificationAttachment;
+            this.payloads = new Object[tasks.size()];
+            this.rollbackRequests = new Request[tasks.size()];
+            Arrays.fill(payloads, NO_PAYLOAD);
+        }
+
+        /**
+         * Set the payload sent to the adapter when Rex starts or cancels its task
+         *
+         * @param adapter adapter of the task
+         * @param payload data needed by the adapter
+         * @return this binding
+         */
+        public <T> Binding payload(Adapter<T> adapter, T payload) {
+            payloads[task(adapter).index] = payload;
+            return this;
+        }
+
+        /**
+         * Set the request sent by Rex when the task is rolled back
+         *
+         * @param adapter adapter of the task
+         * @param rollbackRequest request to send when rollback happens
+         * @return this binding
+         */
+        public Binding rollback(Adapter<?> adapter, Request rollbackRequest) {
+            rollbackRequests[task(adapter).index] = rollbackRequest;
+            return this;
+        }
+
+        /**
+         * Generate the graph
+         *
+         * @return graph to submit to Rex
+         * @throws IllegalStateException if the payload of a task is missing
+         */
+        public CreateGraphRequest build() {
+            // copied into every request like in Adapter#generateRexTask, but only computed once for the whole graph
+            List<Request.Header> headers = TaskHelper.getHTTPHeaders();
+
+            String[] names = new String[tasks.size()];
+            Map<String, CreateTaskDTO> vertices = new HashMap<>();
+            for (TaskTemplate task : tasks.values()) {
+                names[task.index] = task.adapter.getRexTaskName(correlationId);
+            }
+            SharedAttachments.Reference reference = sharedAttachments == null ? null
+                    : sharedAttachments.share(name, notificationAttachment, names[0], references);
+            for (TaskTemplate task : tasks.values()) {
+                Object payload = payloads[task.index];
+                if (payload == NO_PAYLOAD) {
+                    throw new IllegalStateException("No payload for the task of adapter " + task.adapterName);
+                }
+                CreateTaskDTO createTaskDTO = CreateTaskDTO.builder()
+                        .name(names[task.index])
+                        .remoteStart(
+                                new Request(Request.Method.POST, task.startUri(correlationId), headers, payload))
+                        .remoteCancel(
+                                new Request(Request.Method.POST, task.cancelUri(correlationId), headers, payload))
+                        .callerNotifications(
+                                new Request(
+                                        Request.Method.POST,
+                                        task.notificationUri,
+                                        headers,
+                                        keepsAttachment[task.index] || reference == null ? notificationAttachment
+                                                : reference))
+                        .milestoneTask(task.milestoneIndex < 0 ? null : names[task.milestoneIndex])
+                        .remoteRollback(rollbackRequests[task.index])
+                        .configuration(task.configuration)
+                        .build();
+                vertices.put(createTaskDTO.name, createTaskDTO);
+            }
+
+            EdgeDTO[] edgeDTOs = new EdgeDTO[edges.size()];
+            for (int i = 0; i < edgeDTOs.length; i++) {
+                EdgeTemplate edge = edges.get(i);
+                edgeDTOs[i] = new EdgeDTO(names[edge.source], names[edge.target]);
+            }
+
+            return new CreateGraphRequest(correlationId, queue, graphConfiguration, Set.of(edgeDTOs), vertices);
+        }
+
+        private TaskTemplate task(Adapter<?> adapter) {
+            TaskTemplate task = tasks.get(adapter.getAdapterName());
+            if (task == null) {
+                throw new IllegalArgumentException("Adapter " + adapter.getAdapterName() + " is not in the graph");
+            }
+            return task;
+        }
+    }
+
+    private static class TaskTemplate {
+
+        private final Adapter<?> adapter;
+
+        private final String adapterName;
+
+        private final int index;
+
+        private final int milestoneIndex;
+
+        private final String startPrefix;
+
+        private final String startSuffix;
+
+        private final String cancelPrefix;
+
+        private final String cancelSuffix;
+
+        private final URI notificationUri;
+
+        private final ConfigurationDTO configuration;
+
+        TaskTemplate(String adapterUrl, Adapter<?> adapter, int index, int milestoneIndex) {
+            this.adapter = adapter;
+            this.adapterName = adapter.getAdapterName();
+            this.index = index;
+            this.milestoneIndex = milestoneIndex;
+
+            String start = AdapterEndpoint
+                    .getStartAdapterEndpoint(adapterUrl, adapterName, CORRELATION_ID_PLACEHOLDER);
+            int startSplit = start.indexOf(CORRELATION_ID_PLACEHOLDER);
+            this.startPrefix = start.substring(0, startSplit);
+            this.startSuffix = start.substring(startSplit + CORRELATION_ID_PLACEHOLDER.length());
+
+            String cancel = AdapterEndpoint
+                    .getCancelAdapterEndpoint(adapterUrl, adapterName, CORRELATION_ID_PLACEHOLDER);
+            int cancelSplit = cancel.indexOf(CORRELATION_ID_PLACEHOLDER);
+            this.cancelPrefix = cancel.substring(0, cancelSplit);
+            this.cancelSuffix = cancel.substring(cancelSplit + CORRELATION_ID_PLACEHOLDER.length());
+
+            this.notificationUri = URI.create(adapter.getNotificationEndpoint(adapterUrl));
+            this.configuration = ConfigurationDTO.builder()
+                    .passResultsOfDependencies(adapter.shouldGetResultsFromDependencies())
+                    .heartbeatEnable(adapter.shouldUseHeartbeat())
+                    .heartbeatToleranceThreshold(adapter.heartbeatTolerance())
+                    .build();
+        }
+
+        URI startUri(String correlationId) {
+            return URI.create(startPrefix + correlationId + startSuffix);
+        }
+
+        URI cancelUri(String correlationId) {
+            return URI.create(cancelPrefix + correlationId + cancelSuffix);
+        }
+    }
+
+    private record EdgeTemplate(int source, int target) {
+    }
+}
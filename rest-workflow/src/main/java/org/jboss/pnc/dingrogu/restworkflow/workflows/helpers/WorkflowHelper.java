@@ -1,6 +1,5 @@
 package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -23,27 +22,32 @@ public class WorkflowHelper {
     @Inject
     ObjectMapper objectMapper;
 
-    public <T> Optional<T> getTaskData(Set<TaskDTO> tasks, String correlationId, Adapter adapter, Class<T> result) {
-        Optional<TaskDTO> task = findTask(tasks, adapter.getRexTaskName(correlationId));
-        if (task.isEmpty()) {
+    /**
+     * Index the tasks of a finished workflow, to get the data of several of its tasks
+     *
+     * @param tasks Rex tasks of the workflow
+     * @return index
+     */
+    public TaskIndex index(Set<TaskDTO> tasks) {
+        return TaskIndex.of(tasks, objectMapper);
+    }
+
+    public <T> Optional<T> getTaskData(TaskIndex tasks, String correlationId, Adapter adapter, Class<T> result) {
+        String rexTaskName = adapter.getRexTaskName(correlationId);
+        if (tasks.find(rexTaskName).isEmpty()) {
             return Optional.empty();
         }
 
-        List<ServerResponseDTO> responses = task.get().getServerResponses();
-        if (responses.isEmpty()) {
-            Log.warnf("No responses for task %s", task.get().getName());
+        Optional<ServerResponseDTO> finalResponse = tasks.getLastResponse(rexTaskName);
+        if (finalResponse.isEmpty()) {
+            Log.warnf("No responses for task %s", rexTaskName);
             return Optional.empty();
         }
 
-        ServerResponseDTO finalResponse = responses.get(responses.size() - 1);
-        T report = objectMapper.convertValue(finalResponse.getBody(), result);
+        T report = tasks.convert(finalResponse.get().getBody(), result);
         return Optional.ofNullable(report);
     }
 
-    private Optional<TaskDTO> findTask(Set<TaskDTO> tasks, String name) {
-        return tasks.stream().filter(task -> task.getName().equals(name)).findFirst();
-    }
-
     public OperationResult toOperationResult(ResultStatus resultStatus) {
         return switch (resultStatus) {
             case SUCCESS -> OperationResult.SUCCESSFUL;
@@ -0,0 +1,80 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.TransitionTimeDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Time to submit each workflow to Rex ('dingrogu.workflow.submission'), and time from its submission to its final
+ * notification ('dingrogu.workflow.duration').
+ *
+ * The duration is computed from the transition timestamps of the Rex tasks, so that it's known for the workflows
+ * submitted before a restart of Dingrogu too.
+ */
+@ApplicationScoped
+public class WorkflowMetrics {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // package-private for the tests
+    Clock clock = Clock.systemUTC();
+
+    /**
+     * Record the submission of a workflow
+     *
+     * @param workflow name of the workflow
+     * @param startNanos {@link System#nanoTime()} when the submission started
+     * @param success whether the workflow was submitted
+     */
+    public void submitted(String workflow, long startNanos, boolean success) {
+        Timer.builder("dingrogu.workflow.submission")
+                .description("Time to submit a workflow to Rex")
+                .tag("workflow", workflow)
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the end of a workflow
+     *
+     * @param workflow name of the workflow
+     * @param tasks all the Rex tasks of the workflow, in a final state
+     */
+    public void finished(String workflow, Collection<TaskDTO> tasks) {
+        Optional<Instant> submitted = tasks.stream()
+                .map(TaskDTO::getTimestamps)
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .map(TransitionTimeDTO::getTime)
+                .filter(Objects::nonNull)
+                .min(Instant::compareTo);
+        if (submitted.isEmpty()) {
+            return;
+        }
+        boolean successful = tasks.stream().allMatch(task -> task.getState() == State.SUCCESSFUL);
+        Timer.builder("dingrogu.workflow.duration")
+                .description("Time from the submission of a workflow to its final notification")
+                .tag("workflow", workflow)
+                .tag("outcome", successful ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.between(submitted.get(), clock.instant()));
+    }
+}
@@ -0,0 +1,306 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusPageDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowTaskStatusDTO;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.model.TransitionTime;
+import org.jboss.pnc.rex.model.requests.MinimizedTask;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+
+/**
+ * Status of the workflows, kept up to date from the notifications of Rex so that it can be served without querying
+ * Rex.
+ *
+ * This is the one place deciding when a workflow is finished: the workflows and the progress stream rely on the result
+ * of {@link #notified(String, NotificationRequest)}. The workflows register all their tasks before submitting them to
+ * Rex, and the workflow is finished once all of them are in a final state. For a workflow submitted before a restart,
+ * the tasks are discovered from the dependencies and dependants sent with each notification instead, so the workflow
+ * isn't tracked reliably (see {@link #isTracked(String)}). The notifications can arrive out of order: a notification
+ * with fewer transitions than the last one applied to the task is ignored.
+ *
+ * Finished workflows are kept for 'dingrogu.workflow-status.retention'. At most
+ * 'dingrogu.workflow-status.max-workflows' workflows are kept: above that, the oldest finished workflows are evicted
+ * first, then the oldest workflows in progress.
+ */
+@ApplicationScoped
+public class WorkflowStatusStore {
+
+    @ConfigProperty(name = "dingrogu.workflow-status.retention", defaultValue = "PT1H")
+    Duration retention;
+
+    @ConfigProperty(name = "dingrogu.workflow-status.max-workflows", defaultValue = "10000")
+    int maxWorkflows;
+
+    // package-private for the tests
+    Clock clock = Clock.systemUTC();
+
+    private final Map<String, WorkflowStatus> workflows = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<InProgressKey, WorkflowStatus> inProgress = new ConcurrentSkipListMap<>();
+
+    private final AtomicInteger inProgressCount = new AtomicInteger();
+
+    /**
+     * In the order they finished
+     */
+    private final Queue<WorkflowStatus> finished = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Record the submission of a workflow with all its tasks. To be called before the tasks are submitted to Rex, so
+     * that no notification is missed
+     *
+     * @param workflow name of the workflow
+     * @param correlationId correlation id of the workflow
+     * @param taskNames names of all the Rex tasks of the workflow
+     */
+    public void submitted(String workflow, String correlationId, Collection<String> taskNames) {
+        WorkflowStatus status = getOrCreate(workflow, correlationId, clock.instant());
+        synchronized (status) {
+            status.track(taskNames);
+        }
+        evict();
+    }
+
+    /**
+     * Forget a workflow that couldn't be submitted
+     *
+     * @param correlationId correlation id of the workflow
+     */
+    public void forget(String correlationId) {
+        WorkflowStatus status = workflows.remove(correlationId);
+        if (status != null && inProgress.remove(status.key, status)) {
+            inProgressCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Check if all the tasks of the workflow are known, i.e. it was submitted with its tasks since the start and wasn't
+     * evicted
+     *
+     * @param correlationId correlation id of the workflow
+     * @return true if tracked
+     */
+    public boolean isTracked(String correlationId) {
+        WorkflowStatus status = workflows.get(correlationId);
+        return status != null && status.tracked;
+    }
+
+    /**
+     * Apply the notification of a task of a workflow
+     *
+     * @param workflow name of the workflow
+     * @param notificationRequest notification from Rex
+     * @return true if the notification finished the workflow. True only once per workflow
+     */
+    public boolean notified(String workflow, NotificationRequest notificationRequest) {
+        MinimizedTask task = notificationRequest.getTask();
+        Instant now = clock.instant();
+        List<TransitionTime> timestamps = task.getTimestamps() == null ? List.of() : task.getTimestamps();
+        Instant submittedAt = timestamps.stream().map(TransitionTime::getTime).min(Instant::compareTo).orElse(now);
+
+        WorkflowStatus status = getOrCreate(workflow, task.getCorrelationID(), submittedAt);
+        boolean finishedNow;
+        synchronized (status) {
+            finishedNow = status.apply(task, notificationRequest.getAfter(), timestamps, now);
+        }
+        if (finishedNow && inProgress.remove(status.key, status)) {
+            inProgressCount.decrementAndGet();
+            finished.add(status);
+        }
+        evict();
+        return finishedNow;
+    }
+
+    /**
+     * Get the status of a workflow
+     *
+     * @param correlationId correlation id of the workflow
+     * @return status, empty if the workflow is unknown or was evicted
+     */
+    public Optional<WorkflowStatusDTO> get(String correlationId) {
+        WorkflowStatus status = workflows.get(correlationId);
+        return status == null ? Optional.empty() : Optional.of(status.toDTO(clock.instant()));
+    }
+
+    /**
+     * List the workflows in progress, oldest first
+     *
+     * @param pageIndex index of the page, starting at 0
+     * @param pageSize number of workflows per page
+     * @return page
+     */
+    public WorkflowStatusPageDTO getInProgress(int pageIndex, int pageSize) {
+        Instant now = clock.instant();
+        List<WorkflowStatusDTO> content = new ArrayList<>();
+        Iterator<WorkflowStatus> statuses = inProgress.values().iterator();
+        long skip = (long) pageIndex * pageSize;
+        for (long i = 0; i < skip && statuses.hasNext(); i++) {
+            statuses.next();
+        }
+        while (content.size() < pageSize && statuses.hasNext()) {
+            content.add(statuses.next().toDTO(now));
+        }
+        return WorkflowStatusPageDTO.builder()
+                .pageIndex(pageIndex)
+                .pageSize(pageSize)
+                .totalHits(inProgressCount.get())
+                .content(content)
+                .build();
+    }
+
+    private WorkflowStatus getOrCreate(String workflow, String correlationId, Instant submittedAt) {
+        return workflows.computeIfAbsent(correlationId, id -> {
+            WorkflowStatus status = new WorkflowStatus(id, workflow, submittedAt);
+            inProgress.put(status.key, status);
+            inProgressCount.incrementAndGet();
+            return status;
+        });
+    }
+
+    private void evict() {
+        Instant expiry = clock.instant().minus(retention);
+        WorkflowStatus oldest;
+        while ((oldest = finished.peek()) != null
+                && (oldest.finishedAt.isBefore(expiry) || workflows.size() > maxWorkflows)) {
+            if (finished.remove(oldest)) {
+                workflows.remove(oldest.correlationId, oldest);
+            }
+        }
+        // only workflows in progress left above the limit
+        while (workflows.size() > maxWorkflows) {
+            Map.Entry<InProgressKey, WorkflowStatus> entry = inProgress.pollFirstEntry();
+            if (entry == null) {
+                return;
+            }
+            inProgressCount.decrementAndGet();
+            workflows.remove(entry.getValue().correlationId, entry.getValue());
+        }
+    }
+
+    private record InProgressKey(Instant submittedAt, String correlationId) implements Comparable<InProgressKey> {
+
+        @Override
+        public int compareTo(InProgressKey other) {
+            int compared = submittedAt.compareTo(other.submittedAt);
+            return compared != 0 ? compared : correlationId.compareTo(other.correlationId);
+        }
+    }
+
+    private static class WorkflowStatus {
+        private final String correlationId;
+        private final String workflow;
+        private final Instant submittedAt;
+        private final InProgressKey key;
+        private final Map<String, TaskStatus> tasks = new LinkedHashMap<>();
+        private volatile Instant finishedAt;
+        private volatile boolean tracked;
+
+        private WorkflowStatus(String correlationId, String workflow, Instant submittedAt) {
+            this.correlationId = correlationId;
+            this.workflow = workflow;
+            this.submittedAt = submittedAt;
+            this.key = new InProgressKey(submittedAt, correlationId);
+        }
+
+        /**
+         * @return true if the notification finished the workflow
+         */
+        private boolean apply(MinimizedTask task, State state, List<TransitionTime> timestamps, Instant now) {
+            TaskStatus taskStatus = tasks.computeIfAbsent(task.getName(), name -> new TaskStatus());
+            if (timestamps.size() >= taskStatus.transitions) {
+                taskStatus.apply(state, timestamps);
+            }
+            discover(task.getDependencies());
+            discover(task.getDependants());
+
+            if (finishedAt != null || !tasks.values().stream().allMatch(t -> t.state.isFinal())) {
+                return false;
+            }
+            finishedAt = now;
+            return true;
+        }
+
+        private void track(Collection<String> taskNames) {
+            discover(taskNames);
+            tracked = true;
+        }
+
+        private void discover(Collection<String> names) {
+            if (names != null) {
+                names.forEach(name -> tasks.computeIfAbsent(name, n -> new TaskStatus()));
+            }
+        }
+
+        private synchronized WorkflowStatusDTO toDTO(Instant now) {
+            List<WorkflowTaskStatusDTO> taskDTOs = new ArrayList<>(tasks.size());
+            tasks.forEach((name, task) -> taskDTOs.add(task.toDTO(name, now)));
+            Instant end = finishedAt == null ? now : finishedAt;
+            return WorkflowStatusDTO.builder()
+                    .correlationId(correlationId)
+                    .workflow(workflow)
+                    .finished(finishedAt != null)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .durationMillis(Duration.between(submittedAt, end).toMillis())
+                    .tasks(taskDTOs)
+                    .build();
+        }
+    }
+
+    private static class TaskStatus {
+        private State state = State.NEW;
+        private int transitions;
+        private Instant startedAt;
+        private Instant endedAt;
+
+        private void apply(State state, List<TransitionTime> timestamps) {
+            this.state = state;
+            this.transitions = timestamps.size();
+            startedAt = null;
+            endedAt = null;
+            for (TransitionTime timestamp : timestamps) {
+                State after = timestamp.getTransition().getAfter();
+                if (after == State.STARTING) {
+                    startedAt = timestamp.getTime();
+                    endedAt = null;
+                } else if (after.isFinal()) {
+                    endedAt = timestamp.getTime();
+                }
+            }
+            if (!state.isFinal()) {
+                endedAt = null;
+            }
+        }
+
+        private WorkflowTaskStatusDTO toDTO(String name, Instant now) {
+            Instant end = endedAt == null ? now : endedAt;
+            return WorkflowTaskStatusDTO.builder()
+                    .name(name)
+                    .state(state)
+                    .startedAt(startedAt)
+                    .endedAt(endedAt)
+                    .durationMillis(startedAt == null ? null : Duration.between(startedAt, end).toMillis())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.jboss.pnc.dingrogu.restworkflow.rest;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+
+import org.jboss.pnc.dingrogu.api.dto.workflow.DummyWorkflowDTO;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.Workflow;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.WorkflowRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class WorkflowEndpointImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Workflow<DummyWorkflowDTO> workflow = mockWorkflow();
+
+    private WorkflowEndpointImpl workflowEndpoint;
+
+    @BeforeEach
+    void setup() {
+        WorkflowRegistry workflowRegistry = Mockito.mock(WorkflowRegistry.class);
+        Mockito.when(workflowRegistry.get(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(workflowRegistry.get("dummy")).thenReturn(Optional.<Workflow<?>> of(workflow));
+
+        workflowEndpoint = new WorkflowEndpointImpl();
+        workflowEndpoint.workflowRegistry = workflowRegistry;
+        workflowEndpoint.objectMapper = objectMapper;
+    }
+
+    @Test
+    void unknownWorkflowIsNotFound() {
+        assertThatThrownBy(() -> workflowEndpoint.startWorkflow("unknown", objectMapper.createObjectNode()))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void workflowNotStartableWithItsInputIsABadRequest() {
+        Mockito.when(workflow.isStartable()).thenReturn(false);
+
+        assertThatThrownBy(() -> workflowEndpoint.startWorkflow("dummy", objectMapper.createObjectNode()))
+                .isInstanceOf(BadRequestException.class);
+        Mockito.verify(workflow, Mockito.never()).submitWorkflow(Mockito.any());
+    }
+
+    @Test
+    void inputNotOfTheInputTypeIsABadRequest() throws Exception {
+        assertThatThrownBy(() -> workflowEndpoint.startWorkflow("dummy", objectMapper.readTree("[1, 2]")))
+                .isInstanceOf(BadRequestException.class);
+        Mockito.verify(workflow, Mockito.never()).submitWorkflow(Mockito.any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Workflow<DummyWorkflowDTO> mockWorkflow() {
+        Workflow<DummyWorkflowDTO> workflow = Mockito.mock(Workflow.class);
+        Mockito.when(workflow.getName()).thenReturn("dummy");
+        Mockito.when(workflow.getInputType()).thenReturn(DummyWorkflowDTO.class);
+        Mockito.when(workflow.isStartable()).thenReturn(true);
+        return workflow;
+    }
+}
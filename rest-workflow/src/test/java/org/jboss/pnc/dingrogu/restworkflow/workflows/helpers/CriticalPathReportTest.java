@@ -0,0 +1,84 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.common.enums.Transition;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.TransitionTimeDTO;
+import org.junit.jupiter.api.Test;
+
+class CriticalPathReportTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void pathFollowsTheDependencyThatFinishedLast() {
+        // build -> (seal, complete) -> promote: complete finishes after seal, so it's on the critical path
+        Set<TaskDTO> tasks = Set.of(
+                task("build", Set.of(), 0, 100),
+                task("seal", Set.of("build"), 101, 110),
+                task("complete", Set.of("build"), 102, 130),
+                task("promote", Set.of("seal", "complete"), 135, 150));
+
+        CriticalPathReport report = CriticalPathReport.of(tasks).orElseThrow();
+
+        assertThat(report.getWallClock()).isEqualTo(Duration.ofSeconds(150));
+        assertThat(report.getSerial()).isEqualTo(Duration.ofSeconds(100 + 9 + 28 + 15));
+        assertThat(report.getPath()).containsExactly(
+                new CriticalPathReport.Step("build", Duration.ZERO, Duration.ofSeconds(100)),
+                new CriticalPathReport.Step("complete", Duration.ofSeconds(2), Duration.ofSeconds(28)),
+                new CriticalPathReport.Step("promote", Duration.ofSeconds(5), Duration.ofSeconds(15)));
+    }
+
+    @Test
+    void tasksThatNeverStartedAreIgnored() {
+        TaskDTO stopped = TaskDTO.builder()
+                .name("stopped")
+                .state(State.STOPPED)
+                .dependencies(Set.of("first"))
+                .timestamps(
+                        List.of(timestamp(Transition.NEW_to_WAITING, 0), timestamp(Transition.WAITING_to_STOPPED, 20)))
+                .build();
+
+        CriticalPathReport report = CriticalPathReport.of(Set.of(task("first", Set.of(), 0, 10), stopped))
+                .orElseThrow();
+
+        assertThat(report.getPath()).extracting(CriticalPathReport.Step::taskName).containsExactly("first");
+        assertThat(report.getWallClock()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void noReportIfNoTaskRan() {
+        TaskDTO stopped = TaskDTO.builder()
+                .name("stopped")
+                .state(State.STOPPED)
+                .timestamps(List.of(timestamp(Transition.NEW_to_STOPPED, 0)))
+                .build();
+
+        assertThat(CriticalPathReport.of(Set.of(stopped))).isEmpty();
+    }
+
+    private static TaskDTO task(String name, Set<String> dependencies, long start, long end) {
+        return TaskDTO.builder()
+                .name(name)
+                .state(State.SUCCESSFUL)
+                .dependencies(dependencies)
+                .timestamps(
+                        List.of(
+                                timestamp(Transition.WAITING_to_ENQUEUED, start),
+                                timestamp(Transition.ENQUEUED_to_STARTING, start),
+                                timestamp(Transition.STARTING_to_UP, start),
+                                timestamp(Transition.UP_to_SUCCESSFUL, end)))
+                .build();
+    }
+
+    private static TransitionTimeDTO timestamp(Transition transition, long second) {
+        return TransitionTimeDTO.builder().transition(transition).time(T0.plusSeconds(second)).build();
+    }
+}
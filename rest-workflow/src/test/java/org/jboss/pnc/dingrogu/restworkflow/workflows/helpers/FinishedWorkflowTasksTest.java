@@ -0,0 +1,110 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jboss.pnc.rex.api.TaskEndpoint;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.model.requests.MinimizedTask;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class FinishedWorkflowTasksTest {
+
+    private TaskEndpoint taskEndpoint;
+
+    private WorkflowStatusStore workflowStatusStore;
+
+    private FinishedWorkflowTasks finishedWorkflowTasks;
+
+    @BeforeEach
+    void setup() {
+        taskEndpoint = Mockito.mock(TaskEndpoint.class);
+        workflowStatusStore = new WorkflowStatusStore();
+        workflowStatusStore.retention = Duration.ofHours(1);
+        workflowStatusStore.maxWorkflows = 100;
+        finishedWorkflowTasks = new FinishedWorkflowTasks();
+        finishedWorkflowTasks.taskEndpoint = taskEndpoint;
+        finishedWorkflowTasks.workflowStatusStore = workflowStatusStore;
+    }
+
+    @Test
+    void trackedWorkflowOnlyQueriesRexOnceTheStoreFinishedIt() {
+        String correlationId = "tracked-correlation";
+        workflowStatusStore.submitted("build", correlationId, List.of("a", "b"));
+
+        Set<TaskDTO> tasks = Set.of(task(correlationId, "a"), task(correlationId, "b"));
+        Mockito.when(taskEndpoint.byCorrelation(correlationId)).thenReturn(tasks);
+
+        assertThat(notify(notification(correlationId, "a", State.UP, State.SUCCESSFUL))).isEmpty();
+        Mockito.verify(taskEndpoint, Mockito.never()).byCorrelation(correlationId);
+
+        // dependant stopped without ever running: still completes the workflow
+        assertThat(notify(notification(correlationId, "b", State.WAITING, State.STOPPED))).contains(tasks);
+        Mockito.verify(taskEndpoint, Mockito.times(1)).byCorrelation(correlationId);
+
+        // late notifications are ignored
+        assertThat(notify(notification(correlationId, "b", State.UP, State.SUCCESSFUL))).isEmpty();
+        Mockito.verify(taskEndpoint, Mockito.times(1)).byCorrelation(correlationId);
+    }
+
+    @Test
+    void untrackedWorkflowFallsBackToRex() {
+        String correlationId = "untracked-correlation";
+
+        Set<TaskDTO> tasks = Set.of(task(correlationId, "a"));
+        Mockito.when(taskEndpoint.byCorrelation(correlationId)).thenReturn(tasks);
+
+        assertThat(
+                finishedWorkflowTasks
+                        .getTasksIfFinished(notification(correlationId, "a", State.WAITING, State.STOPPED), false))
+                .isEmpty();
+        Mockito.verify(taskEndpoint, Mockito.never()).byCorrelation(correlationId);
+
+        assertThat(
+                finishedWorkflowTasks
+                        .getTasksIfFinished(notification(correlationId, "a", State.UP, State.SUCCESSFUL), false))
+                .contains(tasks);
+    }
+
+    @Test
+    void workflowIsForgottenIfRexDoesntConsiderItFinished() {
+        String correlationId = "disagreeing-correlation";
+        workflowStatusStore.submitted("build", correlationId, List.of("a"));
+
+        TaskDTO running = TaskDTO.builder().name("b").correlationID(correlationId).state(State.UP).build();
+        Mockito.when(taskEndpoint.byCorrelation(correlationId)).thenReturn(Set.of(task(correlationId, "a"), running));
+
+        assertThat(notify(notification(correlationId, "a", State.UP, State.SUCCESSFUL))).isEmpty();
+        assertThat(workflowStatusStore.isTracked(correlationId)).isFalse();
+
+        // the fallback to Rex applies from now on
+        Set<TaskDTO> tasks = Set.of(task(correlationId, "a"), task(correlationId, "b"));
+        Mockito.when(taskEndpoint.byCorrelation(correlationId)).thenReturn(tasks);
+        assertThat(notify(notification(correlationId, "b", State.UP, State.SUCCESSFUL))).contains(tasks);
+    }
+
+    private Optional<Set<TaskDTO>> notify(NotificationRequest notificationRequest) {
+        boolean finished = workflowStatusStore.notified("build", notificationRequest);
+        return finishedWorkflowTasks.getTasksIfFinished(notificationRequest, finished);
+    }
+
+    private static NotificationRequest notification(String correlationId, String name, State before, State after) {
+        return NotificationRequest.builder()
+                .before(before)
+                .after(after)
+                .task(MinimizedTask.builder().name(name).correlationID(correlationId).state(after).build())
+                .build();
+    }
+
+    private static TaskDTO task(String correlationId, String name) {
+        return TaskDTO.builder().name(name).correlationID(correlationId).state(State.SUCCESSFUL).build();
+    }
+}
@@ -0,0 +1,92 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import org.jboss.pnc.rex.api.QueueEndpoint;
+import org.jboss.pnc.rex.dto.responses.LongResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class RexQueueReconcilerTest {
+
+    @InjectMock
+    QueueEndpoint queueEndpoint;
+
+    @Inject
+    RexQueueReconciler rexQueueReconciler;
+
+    @Test
+    void configuredQueuesAreRead() {
+        assertThat(rexQueueReconciler.getConfiguredSizes())
+                .containsEntry("dingrogu-brew-push", 6L)
+                .containsEntry("dingrogu-build", 50L)
+                .containsEntry("dingrogu-dela", 10L)
+                .containsEntry("dingrogu-repository-creation", 10L);
+    }
+
+    @Test
+    void differentSizeIsSetOnceThenCached() {
+        String queue = "different-size";
+        Mockito.when(queueEndpoint.getConcurrentNamed(queue)).thenReturn(new LongResponse(5L));
+
+        rexQueueReconciler.reconcile(queue, 10);
+        rexQueueReconciler.reconcile(queue, 10);
+
+        Mockito.verify(queueEndpoint, Mockito.times(1)).getConcurrentNamed(queue);
+        Mockito.verify(queueEndpoint, Mockito.times(1)).setConcurrentNamed(queue, 10L);
+        assertThat(rexQueueReconciler.getKnownSize(queue)).hasValue(10);
+    }
+
+    @Test
+    void sameSizeIsNotSet() {
+        String queue = "same-size";
+        Mockito.when(queueEndpoint.getConcurrentNamed(queue)).thenReturn(new LongResponse(10L));
+
+        rexQueueReconciler.reconcile(queue, 10);
+
+        Mockito.verify(queueEndpoint, Mockito.never()).setConcurrentNamed(Mockito.eq(queue), Mockito.anyLong());
+        assertThat(rexQueueReconciler.getKnownSize(queue)).hasValue(10);
+    }
+
+    @Test
+    void missingQueueIsCreated() {
+        String queue = "missing-queue";
+        Mockito.when(queueEndpoint.getConcurrentNamed(queue)).thenThrow(new NotFoundException());
+
+        rexQueueReconciler.reconcile(queue, 10);
+
+        Mockito.verify(queueEndpoint, Mockito.times(1)).setConcurrentNamed(queue, 10L);
+    }
+
+    @Test
+    void changedConfigurationIsApplied() {
+        String queue = "changed-size";
+        Mockito.when(queueEndpoint.getConcurrentNamed(queue)).thenReturn(new LongResponse(10L));
+
+        rexQueueReconciler.reconcile(queue, 10);
+        rexQueueReconciler.reconcile(queue, 20);
+
+        Mockito.verify(queueEndpoint, Mockito.times(1)).setConcurrentNamed(queue, 20L);
+        assertThat(rexQueueReconciler.getKnownSize(queue)).hasValue(20);
+    }
+
+    @Test
+    void failureIsNotCached() {
+        String queue = "rex-down";
+        Mockito.when(queueEndpoint.getConcurrentNamed(queue)).thenThrow(new ServiceUnavailableException());
+        Mockito.doThrow(new ServiceUnavailableException()).when(queueEndpoint).setConcurrentNamed(queue, 10L);
+
+        assertThatThrownBy(() -> rexQueueReconciler.reconcile(queue, 10))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(rexQueueReconciler.getKnownSize(queue)).isEmpty();
+    }
+}
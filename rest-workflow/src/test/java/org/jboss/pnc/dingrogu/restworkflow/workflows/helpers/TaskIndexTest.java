@@ -0,0 +1,87 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.pnc.api.enums.ResultStatus;
+import org.jboss.pnc.api.environmentdriver.dto.EnvironmentCreateResult;
+import org.jboss.pnc.rex.common.enums.Origin;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.ServerResponseDTO;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TaskIndexTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void lastRemoteResponseIsTheLastOneWhileUp() {
+        ServerResponseDTO result = response(State.UP, Origin.REMOTE_ENTITY, 1, Map.of("status", "SUCCESS"));
+        TaskDTO task = task(
+                "task",
+                response(State.STARTING, Origin.REMOTE_ENTITY, 0, null),
+                response(State.UP, Origin.REMOTE_ENTITY, 0, Map.of("status", "FAILED")),
+                result,
+                response(State.UP, Origin.REX_INTERNAL_ERROR, 2, null));
+
+        TaskIndex index = TaskIndex.of(Set.of(task), objectMapper);
+
+        assertThat(index.find("task")).contains(task);
+        assertThat(index.getLastRemoteResponse("task")).containsSame(result);
+        assertThat(index.getRollbackCounter("task")).isEqualTo(2);
+    }
+
+    @Test
+    void missingTaskHasNoResponse() {
+        TaskIndex index = TaskIndex.of(Set.of(task("task")), objectMapper);
+
+        assertThat(index.find("other")).isEmpty();
+        assertThat(index.getLastResponse("task")).isEmpty();
+        assertThat(index.getLastRemoteResponse("other")).isEmpty();
+        assertThat(index.getRollbackCounter("other")).isZero();
+    }
+
+    @Test
+    void valueIsConvertedOncePerType() {
+        Map<String, String> body = Map.of("status", "SUCCESS");
+        TaskIndex index = TaskIndex.of(Set.of(), objectMapper);
+
+        EnvironmentCreateResult result = index.convert(body, EnvironmentCreateResult.class);
+
+        assertThat(result.getStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(index.convert(body, EnvironmentCreateResult.class)).isSameAs(result);
+        assertThat(index.convert(null, EnvironmentCreateResult.class)).isNull();
+    }
+
+    @Test
+    void conversionFailureIsNotCached() {
+        Map<String, String> body = Map.of("status", "UNKNOWN");
+        TaskIndex index = TaskIndex.of(Set.of(), objectMapper);
+
+        assertThatThrownBy(() -> index.convert(body, EnvironmentCreateResult.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.convert(body, EnvironmentCreateResult.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TaskDTO task(String name, ServerResponseDTO... responses) {
+        return TaskDTO.builder().name(name).state(State.SUCCESSFUL).serverResponses(List.of(responses)).build();
+    }
+
+    private static ServerResponseDTO response(State state, Origin origin, int rollbackCounter, Object body) {
+        return ServerResponseDTO.builder()
+                .state(state)
+                .origin(origin)
+                .positive(true)
+                .rollbackCounter(rollbackCounter)
+                .body(body)
+                .build();
+    }
+}
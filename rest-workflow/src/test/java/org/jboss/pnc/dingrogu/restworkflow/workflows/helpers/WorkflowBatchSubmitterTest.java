@@ -0,0 +1,103 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.api.constants.MDCHeaderKeys;
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.dingrogu.api.dto.CorrelationId;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BatchSubmissionResultDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowSubmissionResultDTO;
+import org.jboss.pnc.dingrogu.common.TaskHelper;
+import org.jboss.pnc.dingrogu.restworkflow.workflows.WorkflowSubmissionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class WorkflowBatchSubmitterTest {
+
+    private WorkflowBatchSubmitter submitter;
+
+    @BeforeEach
+    void setup() {
+        submitter = new WorkflowBatchSubmitter();
+        submitter.parallelism = 3;
+        submitter.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        submitter.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void resultsAreInTheOrderOfTheBatch() {
+        BatchSubmissionResultDTO result = submitter.submitAll(List.of("a", "b", "fail", "c"), input -> {
+            if (input.equals("fail")) {
+                throw new WorkflowSubmissionException(new IllegalStateException("Rex unavailable"));
+            }
+            return new CorrelationId("id-" + input);
+        });
+
+        assertThat(result.getSubmitted()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(WorkflowSubmissionResultDTO::getCorrelationId)
+                .containsExactly("id-a", "id-b", null, "id-c");
+        assertThat(result.getResults().get(2).getError()).isEqualTo("Rex unavailable");
+    }
+
+    @Test
+    void workflowsAreSubmittedInParallel() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        BatchSubmissionResultDTO result = submitter.submitAll(List.of("a", "b", "c"), input -> {
+            threads.add(Thread.currentThread().getName());
+            allStarted.countDown();
+            try {
+                // only returns if the 3 submissions run at the same time
+                assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return new CorrelationId(input);
+        });
+
+        assertThat(result.getSubmitted()).isEqualTo(3);
+        assertThat(threads).hasSize(3);
+    }
+
+    @Test
+    void graphsAreBuiltWithTheMdcOfTheCaller() {
+        // threads of the pool started before the MDC is set, so they don't inherit it
+        submitter.submitAll(List.of("x", "y", "z"), CorrelationId::new);
+        MDC.setContextMap(
+                Map.of(
+                        MDCHeaderKeys.PROCESS_CONTEXT.getMdcKey(),
+                        "build-42",
+                        MDCHeaderKeys.USER_ID.getMdcKey(),
+                        "dustin"));
+        Map<String, String> headers = new ConcurrentHashMap<>();
+
+        BatchSubmissionResultDTO result = submitter.submitAll(List.of("a", "b", "c", "d"), input -> {
+            for (Request.Header header : TaskHelper.getHTTPHeaders()) {
+                headers.put(header.getName() + "/" + input, header.getValue());
+            }
+            return new CorrelationId(input);
+        });
+
+        assertThat(result.getSubmitted()).isEqualTo(4);
+        for (String input : List.of("a", "b", "c", "d")) {
+            assertThat(headers).containsEntry(MDCHeaderKeys.PROCESS_CONTEXT.getHeaderName() + "/" + input, "build-42")
+                    .containsEntry(MDCHeaderKeys.USER_ID.getHeaderName() + "/" + input, "dustin");
+        }
+    }
+}
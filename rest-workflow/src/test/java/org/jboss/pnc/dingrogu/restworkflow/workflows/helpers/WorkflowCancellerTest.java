@@ -0,0 +1,151 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.pnc.api.constants.MDCHeaderKeys;
+import org.jboss.pnc.dingrogu.api.dto.workflow.BulkCancelResultDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowCancelResultDTO;
+import org.jboss.pnc.rex.api.TaskEndpoint;
+import org.jboss.pnc.rex.api.parameters.TaskFilterParameters;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class WorkflowCancellerTest {
+
+    private final Map<String, Set<TaskDTO>> workflows = new ConcurrentHashMap<>();
+
+    private final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, String> processContexts = new ConcurrentHashMap<>();
+
+    private WorkflowCanceller canceller;
+
+    @BeforeEach
+    void setup() {
+        canceller = new WorkflowCanceller();
+        canceller.parallelism = 4;
+        canceller.taskEndpoint = new FakeTaskEndpoint();
+        canceller.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        canceller.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void onlyTheTasksWithoutDependenciesToCancelAreCancelled() {
+        workflows.put(
+                "c1",
+                Set.of(
+                        task("done", State.SUCCESSFUL, Set.of()),
+                        task("running", State.UP, Set.of("done")),
+                        task("waiting", State.WAITING, Set.of("running")),
+                        task("last", State.NEW, Set.of("waiting", "done")),
+                        task("independent", State.ENQUEUED, Set.of())));
+
+        WorkflowCancelResultDTO result = canceller.cancel("c1");
+
+        assertThat(result.getOutcome()).isEqualTo(WorkflowCancelResultDTO.Outcome.CANCELLED);
+        assertThat(result.getCancelledTasks()).containsExactlyInAnyOrder("running", "independent");
+        assertThat(result.getTransitivelyCancelledTasks()).isEqualTo(2);
+        assertThat(cancelled).containsExactlyInAnyOrder("running", "independent");
+    }
+
+    @Test
+    void bulkCancellationSummarizesTheOutcomes() {
+        workflows.put("cancelled", Set.of(task("a", State.UP, Set.of())));
+        workflows.put("finished", Set.of(task("b", State.SUCCESSFUL, Set.of())));
+        workflows.put("partially", Set.of(task("c", State.UP, Set.of()), task("rejected", State.UP, Set.of())));
+
+        BulkCancelResultDTO result = canceller.cancelAll(List.of("cancelled", "finished", "partially", "unknown"));
+
+        assertThat(result.getWorkflows()).extracting(WorkflowCancelResultDTO::getCorrelationId)
+                .containsExactly("cancelled", "finished", "partially", "unknown");
+        assertThat(result.getSummary()).containsOnly(
+                Map.entry(WorkflowCancelResultDTO.Outcome.CANCELLED, 1),
+                Map.entry(WorkflowCancelResultDTO.Outcome.ALREADY_FINISHED, 1),
+                Map.entry(WorkflowCancelResultDTO.Outcome.PARTIALLY_CANCELLED, 1),
+                Map.entry(WorkflowCancelResultDTO.Outcome.FAILED, 1));
+        assertThat(result.getWorkflows().get(2).getFailedTasks()).containsExactly("rejected");
+        assertThat(result.getWorkflows().get(3).getError()).isEqualTo("Rex unreachable");
+    }
+
+    @Test
+    void rexIsCalledWithTheMdcOfTheCaller() {
+        // threads of the pool started before the MDC is set, so they don't inherit it
+        canceller.cancelAll(List.of("1", "2", "3", "4"));
+        workflows.put("c1", Set.of(task("a", State.UP, Set.of()), task("b", State.ENQUEUED, Set.of())));
+        MDC.put(MDCHeaderKeys.PROCESS_CONTEXT.getMdcKey(), "build-42");
+
+        canceller.cancel("c1");
+
+        assertThat(processContexts).containsOnly(
+                Map.entry("byCorrelation:c1", "build-42"),
+                Map.entry("cancel:a", "build-42"),
+                Map.entry("cancel:b", "build-42"));
+    }
+
+    private static TaskDTO task(String name, State state, Set<String> dependencies) {
+        return TaskDTO.builder().name(name).state(state).dependencies(dependencies).build();
+    }
+
+    private class FakeTaskEndpoint implements TaskEndpoint {
+
+        @Override
+        public Set<TaskDTO> byCorrelation(String correlationId) {
+            recordProcessContext("byCorrelation:" + correlationId);
+            Set<TaskDTO> tasks = workflows.get(correlationId);
+            if (tasks == null) {
+                throw new ProcessingException("Rex unreachable");
+            }
+            return tasks;
+        }
+
+        @Override
+        public Response cancel(String taskId) {
+            recordProcessContext("cancel:" + taskId);
+            if (taskId.equals("rejected")) {
+                return Response.status(Response.Status.CONFLICT).build();
+            }
+            cancelled.add(taskId);
+            return Response.accepted().build();
+        }
+
+        private void recordProcessContext(String call) {
+            String processContext = MDC.get(MDCHeaderKeys.PROCESS_CONTEXT.getMdcKey());
+            if (processContext != null) {
+                processContexts.put(call, processContext);
+            }
+        }
+
+        @Override
+        public Set<TaskDTO> start(CreateGraphRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<TaskDTO> getAll(TaskFilterParameters filterParameters, List<String> queueFilter) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskDTO getSpecific(String taskId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
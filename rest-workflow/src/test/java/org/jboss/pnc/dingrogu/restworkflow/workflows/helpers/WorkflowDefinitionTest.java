@@ -0,0 +1,69 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class WorkflowDefinitionTest {
+
+    @Test
+    void tasksKeepTheirDependenciesAndMilestone() {
+        WorkflowDefinition definition = WorkflowDefinition.builder("test")
+                .task("a")
+                .task("b", "a")
+                .retryItself("b")
+                .task("c", "a", "b")
+                .milestone("c", "a")
+                .build();
+
+        assertThat(definition.getTasks()).containsExactly(
+                new WorkflowDefinition.TaskDefinition("a", List.of(), null),
+                new WorkflowDefinition.TaskDefinition("b", List.of("a"), "b"),
+                new WorkflowDefinition.TaskDefinition("c", List.of("a", "b"), "a"));
+    }
+
+    @Test
+    void missingDependencyIsRejected() {
+        WorkflowDefinition.Builder builder = WorkflowDefinition.builder("test").task("b", "a");
+
+        assertThatThrownBy(builder::build).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("task a is a dependency of b but is not defined");
+    }
+
+    @Test
+    void missingMilestoneIsRejected() {
+        WorkflowDefinition.Builder builder = WorkflowDefinition.builder("test").task("b").milestone("b", "a");
+
+        assertThatThrownBy(builder::build).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("task a is the milestone of b but is not defined");
+    }
+
+    @Test
+    void duplicateTaskIsRejected() {
+        WorkflowDefinition.Builder builder = WorkflowDefinition.builder("test").task("a");
+
+        assertThatThrownBy(() -> builder.task("a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cycleIsRejected() {
+        WorkflowDefinition.Builder builder = WorkflowDefinition.builder("test")
+                .task("a", "c")
+                .task("b", "a")
+                .task("c", "b");
+
+        assertThatThrownBy(builder::build).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cycle between the tasks a -> c -> b -> a");
+    }
+
+    @Test
+    void selfDependencyIsRejected() {
+        WorkflowDefinition.Builder builder = WorkflowDefinition.builder("test").task("a", "a");
+
+        assertThatThrownBy(builder::build).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cycle between the tasks a -> a");
+    }
+}
@@ -0,0 +1,217 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.jboss.pnc.api.dto.Request;
+import org.jboss.pnc.dingrogu.api.dto.adapter.BuildDriverDTO;
+import org.jboss.pnc.dingrogu.api.dto.adapter.ReqourAdjustDTO;
+import org.jboss.pnc.dingrogu.restadapter.adapter.Adapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.BuildDriverAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.EnvironmentDriverCreateAdapter;
+import org.jboss.pnc.dingrogu.restadapter.adapter.ReqourAdjustAdapter;
+import org.jboss.pnc.rex.dto.CreateTaskDTO;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.requests.CreateGraphRequest;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class WorkflowGraphTemplateTest {
+
+    private static final String URL = "http://dingrogu";
+
+    private static final String CORRELATION_ID = "template-correlation";
+
+    @Inject
+    ReqourAdjustAdapter reqourAdjustAdapter;
+
+    @Inject
+    BuildDriverAdapter buildDriverAdapter;
+
+    @Inject
+    EnvironmentDriverCreateAdapter environmentDriverCreateAdapter;
+
+    @Inject
+    WorkflowGraphCompiler workflowGraphCompiler;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void generatesSameTasksAsTheAdapters() throws Exception {
+        ReqourAdjustDTO reqourAdjustDTO = ReqourAdjustDTO.builder().scmRepoURL("scm").build();
+        BuildDriverDTO buildDriverDTO = BuildDriverDTO.builder().projectName("project").build();
+        Request rollback = new Request(Request.Method.POST, URI.create(URL + "/rollback"), List.of(), null);
+
+        WorkflowDefinition definition = WorkflowDefinition.builder("test")
+                .task("reqour-adjust")
+                .task("build-driver", "reqour-adjust")
+                .milestone("build-driver", "reqour-adjust")
+                .build();
+        WorkflowGraphTemplate template = WorkflowGraphTemplate.compile(definition, URL, "queue", adapters());
+
+        CreateGraphRequest graph = template.bind(CORRELATION_ID, "attachment")
+                .payload(reqourAdjustAdapter, reqourAdjustDTO)
+                .payload(buildDriverAdapter, buildDriverDTO)
+                .rollback(buildDriverAdapter, rollback)
+                .build();
+
+        CreateTaskDTO expectedReqour = reqourAdjustAdapter
+                .generateRexTask(URL, CORRELATION_ID, "attachment", reqourAdjustDTO);
+        CreateTaskDTO expectedBuild = buildDriverAdapter.generateRexTask(
+                URL,
+                CORRELATION_ID,
+                "attachment",
+                buildDriverDTO,
+                expectedReqour.name,
+                rollback);
+
+        assertThat(graph.correlationID).isEqualTo(CORRELATION_ID);
+        assertThat(graph.queue).isEqualTo("queue");
+        assertThat(graph.vertices).containsOnlyKeys(expectedReqour.name, expectedBuild.name);
+        assertThat(graph.vertices.get(expectedReqour.name)).usingRecursiveComparison().isEqualTo(expectedReqour);
+        assertThat(graph.vertices.get(expectedBuild.name)).usingRecursiveComparison().isEqualTo(expectedBuild);
+        assertThat(graph.edges).singleElement().satisfies(edge -> {
+            assertThat(edge.source).isEqualTo(expectedBuild.name);
+            assertThat(edge.target).isEqualTo(expectedReqour.name);
+        });
+    }
+
+    @Test
+    void attachmentIsKeptByTheFirstAndLastTasksOnly() throws Exception {
+        Map<String, String> attachment = Map.of("request", "x".repeat(1000));
+        WorkflowDefinition definition = WorkflowDefinition.builder("shared")
+                .task("reqour-adjust")
+                .task("environment-driver-create", "reqour-adjust")
+                .task("build-driver", "environment-driver-create")
+                .build();
+        WorkflowGraphTemplate template = WorkflowGraphTemplate
+                .compile(definition, URL, "queue", adapters(), sharedAttachments());
+
+        CreateGraphRequest graph = template.bind(CORRELATION_ID, attachment)
+                .payload(reqourAdjustAdapter, ReqourAdjustDTO.builder().build())
+                .payload(environmentDriverCreateAdapter, null)
+                .payload(buildDriverAdapter, BuildDriverDTO.builder().build())
+                .build();
+
+        CreateTaskDTO reqour = graph.vertices.get(reqourAdjustAdapter.getRexTaskName(CORRELATION_ID));
+        CreateTaskDTO environment = graph.vertices.get(environmentDriverCreateAdapter.getRexTaskName(CORRELATION_ID));
+        CreateTaskDTO build = graph.vertices.get(buildDriverAdapter.getRexTaskName(CORRELATION_ID));
+        assertThat(reqour.callerNotifications.getAttachment()).isSameAs(attachment);
+        assertThat(environment.callerNotifications.getAttachment())
+                .isEqualTo(new SharedAttachments.Reference(reqour.name));
+        assertThat(build.callerNotifications.getAttachment()).isSameAs(attachment);
+        double saved = meterRegistry.get("dingrogu.graph.notification-attachment.saved")
+                .tag("workflow", "shared")
+                .summary()
+                .totalAmount();
+        int referenceSize = objectMapper.writeValueAsBytes(environment.callerNotifications.getAttachment()).length;
+        assertThat(saved).isEqualTo(objectMapper.writeValueAsBytes(attachment).length - referenceSize);
+
+        // as received back from Rex
+        Object reference = objectMapper.convertValue(environment.callerNotifications.getAttachment(), Map.class);
+        assertThat(sharedAttachments().resolve(reference, rexTasks(reqour, environment, build))).isSameAs(attachment);
+        assertThat(sharedAttachments().resolve(attachment, rexTasks(reqour, environment, build))).isSameAs(attachment);
+        // the first task was deleted by Rex
+        assertThat(sharedAttachments().resolve(reference, rexTasks(environment, build))).isSameAs(attachment);
+        assertThatThrownBy(() -> sharedAttachments().resolve(reference, rexTasks(environment)))
+                .isInstanceOf(SharedAttachments.UnresolvedAttachmentException.class);
+    }
+
+    @Test
+    void attachmentIsNotSharedByDefault() {
+        WorkflowDefinition definition = WorkflowDefinition.builder("not-shared")
+                .task("reqour-adjust")
+                .task("build-driver", "reqour-adjust")
+                .build();
+        WorkflowGraphTemplate template = workflowGraphCompiler.compile(definition, "queue");
+
+        CreateGraphRequest graph = template.bind(CORRELATION_ID, "attachment")
+                .payload(reqourAdjustAdapter, ReqourAdjustDTO.builder().build())
+                .payload(buildDriverAdapter, BuildDriverDTO.builder().build())
+                .build();
+
+        assertThat(graph.vertices.values()).allSatisfy(
+                task -> assertThat(task.callerNotifications.getAttachment()).isEqualTo("attachment"));
+    }
+
+    private SharedAttachments sharedAttachments() {
+        SharedAttachments enabled = new SharedAttachments();
+        enabled.enabled = true;
+        enabled.objectMapper = objectMapper;
+        enabled.meterRegistry = meterRegistry;
+        return enabled;
+    }
+
+    private static Set<TaskDTO> rexTasks(CreateTaskDTO... tasks) {
+        return Arrays.stream(tasks)
+                .map(task -> TaskDTO.builder().name(task.name).callerNotifications(task.callerNotifications).build())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void taskRetryingItselfIsItsOwnMilestone() {
+        WorkflowDefinition definition = WorkflowDefinition.builder("test")
+                .task("environment-driver-create")
+                .retryItself("environment-driver-create")
+                .build();
+        WorkflowGraphTemplate template = WorkflowGraphTemplate.compile(definition, URL, "queue", adapters());
+
+        CreateGraphRequest graph = template.bind(CORRELATION_ID, null)
+                .payload(environmentDriverCreateAdapter, null)
+                .build();
+
+        String name = environmentDriverCreateAdapter.getRexTaskName(CORRELATION_ID);
+        assertThat(graph.vertices.get(name).milestoneTask).isEqualTo(name);
+    }
+
+    @Test
+    void missingPayloadIsRejected() {
+        WorkflowDefinition definition = WorkflowDefinition.builder("test")
+                .task("reqour-adjust")
+                .task("build-driver")
+                .build();
+        WorkflowGraphTemplate template = WorkflowGraphTemplate.compile(definition, URL, "queue", adapters());
+
+        WorkflowGraphTemplate.Binding binding = template.bind(CORRELATION_ID, null)
+                .payload(reqourAdjustAdapter, ReqourAdjustDTO.builder().build());
+
+        assertThatThrownBy(binding::build).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void unknownAdapterIsRejected() {
+        WorkflowDefinition definition = WorkflowDefinition.builder("test").task("unknown-adapter").build();
+
+        assertThatThrownBy(() -> WorkflowGraphTemplate.compile(definition, URL, "queue", adapters()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown-adapter");
+    }
+
+    private Map<String, Adapter<?>> adapters() {
+        return Map.of(
+                reqourAdjustAdapter.getAdapterName(),
+                reqourAdjustAdapter,
+                buildDriverAdapter.getAdapterName(),
+                buildDriverAdapter,
+                environmentDriverCreateAdapter.getAdapterName(),
+                environmentDriverCreateAdapter);
+    }
+}
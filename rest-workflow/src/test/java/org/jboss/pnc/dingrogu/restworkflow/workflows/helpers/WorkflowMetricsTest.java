@@ -0,0 +1,92 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.common.enums.Transition;
+import org.jboss.pnc.rex.dto.TaskDTO;
+import org.jboss.pnc.rex.dto.TransitionTimeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WorkflowMetricsTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WorkflowMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        metrics = new WorkflowMetrics();
+        metrics.meterRegistry = meterRegistry;
+        metrics.clock = Clock.fixed(T0.plusSeconds(100), ZoneOffset.UTC);
+    }
+
+    @Test
+    void durationIsFromTheFirstTransitionOfTheWorkflow() {
+        metrics.finished(
+                "build",
+                Set.of(task("first", State.SUCCESSFUL, 10, 20), task("second", State.SUCCESSFUL, 5, 60)));
+
+        Timer timer = meterRegistry.get("dingrogu.workflow.duration")
+                .tags("workflow", "build", "outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.SECONDS)).isEqualTo(95);
+    }
+
+    @Test
+    void workflowWithAFailedTaskFailed() {
+        metrics.finished(
+                "build",
+                Set.of(task("first", State.SUCCESSFUL, 0, 20), task("second", State.FAILED, 20, 30)));
+
+        assertThat(meterRegistry.get("dingrogu.workflow.duration").tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void workflowWithoutTimestampsIsNotRecorded() {
+        metrics.finished("build", Set.of(TaskDTO.builder().name("task").state(State.STOPPED).build()));
+
+        assertThat(meterRegistry.find("dingrogu.workflow.duration").timer()).isNull();
+    }
+
+    @Test
+    void submissionIsRecorded() {
+        metrics.submitted("build", System.nanoTime() - Duration.ofMillis(5).toNanos(), false);
+
+        Timer timer = meterRegistry.get("dingrogu.workflow.submission")
+                .tags("workflow", "build", "outcome", "failure")
+                .timer();
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+    }
+
+    private static TaskDTO task(String name, State state, long start, long end) {
+        return TaskDTO.builder()
+                .name(name)
+                .state(state)
+                .timestamps(
+                        List.of(
+                                timestamp(Transition.NEW_to_WAITING, start),
+                                timestamp(Transition.UP_to_SUCCESSFUL, end)))
+                .build();
+    }
+
+    private static TransitionTimeDTO timestamp(Transition transition, long second) {
+        return TransitionTimeDTO.builder().transition(transition).time(T0.plusSeconds(second)).build();
+    }
+}
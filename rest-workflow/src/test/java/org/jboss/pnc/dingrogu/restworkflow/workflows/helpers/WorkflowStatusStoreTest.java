@@ -0,0 +1,193 @@
+package org.jboss.pnc.dingrogu.restworkflow.workflows.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowStatusPageDTO;
+import org.jboss.pnc.dingrogu.api.dto.workflow.WorkflowTaskStatusDTO;
+import org.jboss.pnc.rex.common.enums.State;
+import org.jboss.pnc.rex.common.enums.Transition;
+import org.jboss.pnc.rex.model.TransitionTime;
+import org.jboss.pnc.rex.model.requests.MinimizedTask;
+import org.jboss.pnc.rex.model.requests.NotificationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkflowStatusStoreTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private WorkflowStatusStore store;
+
+    @BeforeEach
+    void setup() {
+        store = new WorkflowStatusStore();
+        store.retention = Duration.ofHours(1);
+        store.maxWorkflows = 100;
+        at(100);
+    }
+
+    @Test
+    void tasksAreDiscoveredFromTheDependenciesAndDependants() {
+        store.notified("build", notification("c1", "first", Set.of(), Set.of("second"), started(10)));
+
+        WorkflowStatusDTO status = store.get("c1").orElseThrow();
+        assertThat(status.isFinished()).isFalse();
+        assertThat(status.getWorkflow()).isEqualTo("build");
+        assertThat(status.getTasks()).extracting(WorkflowTaskStatusDTO::getName).containsExactly("first", "second");
+
+        WorkflowTaskStatusDTO first = status.getTasks().get(0);
+        assertThat(first.getState()).isEqualTo(State.UP);
+        assertThat(first.getStartedAt()).isEqualTo(T0.plusSeconds(10));
+        assertThat(first.getDurationMillis()).isEqualTo(90_000);
+        assertThat(status.getTasks().get(1).getState()).isEqualTo(State.NEW);
+        assertThat(status.getTasks().get(1).getDurationMillis()).isNull();
+    }
+
+    @Test
+    void workflowIsFinishedOnceAllItsTasksAreFinal() {
+        store.notified("build", notification("c1", "first", Set.of(), Set.of("second"), succeeded(0, 10)));
+        assertThat(store.get("c1").orElseThrow().isFinished()).isFalse();
+        assertThat(store.getInProgress(0, 10).getTotalHits()).isEqualTo(1);
+
+        store.notified("build", notification("c1", "second", Set.of("first"), Set.of(), succeeded(10, 50)));
+
+        WorkflowStatusDTO status = store.get("c1").orElseThrow();
+        assertThat(status.isFinished()).isTrue();
+        assertThat(status.getSubmittedAt()).isEqualTo(T0);
+        assertThat(status.getFinishedAt()).isEqualTo(T0.plusSeconds(100));
+        assertThat(status.getTasks().get(1).getDurationMillis()).isEqualTo(40_000);
+        assertThat(store.getInProgress(0, 10).getTotalHits()).isZero();
+    }
+
+    @Test
+    void submittedWorkflowIsFinishedOnceAllItsTasksAreFinal() {
+        store.submitted("build", "c1", List.of("first", "second", "third"));
+        assertThat(store.isTracked("c1")).isTrue();
+
+        // the notifications don't mention the third task
+        assertThat(store.notified("build", notification("c1", "first", Set.of(), Set.of(), succeeded(0, 10))))
+                .isFalse();
+        assertThat(store.notified("build", notification("c1", "second", Set.of(), Set.of(), succeeded(0, 20))))
+                .isFalse();
+        assertThat(store.notified("build", notification("c1", "third", Set.of(), Set.of(), succeeded(0, 30))))
+                .isTrue();
+        // only once
+        assertThat(store.notified("build", notification("c1", "third", Set.of(), Set.of(), succeeded(0, 30))))
+                .isFalse();
+    }
+
+    @Test
+    void workflowDiscoveredFromTheNotificationsIsNotTracked() {
+        store.notified("build", notification("c1", "first", Set.of(), Set.of(), started(10)));
+
+        assertThat(store.isTracked("c1")).isFalse();
+        assertThat(store.isTracked("unknown")).isFalse();
+    }
+
+    @Test
+    void forgottenWorkflowIsRemoved() {
+        store.submitted("build", "c1", List.of("first"));
+
+        store.forget("c1");
+
+        assertThat(store.get("c1")).isEmpty();
+        assertThat(store.isTracked("c1")).isFalse();
+        assertThat(store.getInProgress(0, 10).getTotalHits()).isZero();
+    }
+
+    @Test
+    void staleNotificationsAreIgnored() {
+        store.notified("build", notification("c1", "first", Set.of(), Set.of(), succeeded(0, 10)));
+        store.notified("build", notification("c1", "first", Set.of(), Set.of(), started(0)));
+
+        assertThat(store.get("c1").orElseThrow().getTasks().get(0).getState()).isEqualTo(State.SUCCESSFUL);
+    }
+
+    @Test
+    void inProgressIsPagedOldestFirst() {
+        for (int i = 0; i < 5; i++) {
+            store.notified("build", notification("c" + i, "task", Set.of(), Set.of(), started(50 - i)));
+        }
+
+        WorkflowStatusPageDTO page = store.getInProgress(1, 2);
+        assertThat(page.getTotalHits()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(WorkflowStatusDTO::getCorrelationId).containsExactly("c2", "c1");
+    }
+
+    @Test
+    void finishedWorkflowsAreEvictedAfterTheRetention() {
+        store.notified("build", notification("c1", "task", Set.of(), Set.of(), succeeded(0, 10)));
+        assertThat(store.get("c1")).isPresent();
+
+        at(100 + 3601);
+        store.submitted("build", "c2", List.of("task"));
+
+        assertThat(store.get("c1")).isEmpty();
+        assertThat(store.get("c2")).isPresent();
+    }
+
+    @Test
+    void oldestWorkflowsAreEvictedAboveTheLimit() {
+        store.maxWorkflows = 2;
+        store.notified("build", notification("finished", "task", Set.of(), Set.of(), succeeded(0, 10)));
+        store.notified("build", notification("old", "task", Set.of(), Set.of(), started(20)));
+        store.notified("build", notification("new", "task", Set.of(), Set.of(), started(30)));
+
+        assertThat(store.get("finished")).isEmpty();
+
+        store.notified("build", notification("newest", "task", Set.of(), Set.of(), started(40)));
+
+        assertThat(store.get("old")).isEmpty();
+        assertThat(store.getInProgress(0, 10).getContent()).extracting(WorkflowStatusDTO::getCorrelationId)
+                .containsExactly("new", "newest");
+    }
+
+    private void at(long seconds) {
+        store.clock = Clock.fixed(T0.plusSeconds(seconds), ZoneOffset.UTC);
+    }
+
+    private static NotificationRequest notification(
+            String correlationId,
+            String name,
+            Set<String> dependencies,
+            Set<String> dependants,
+            List<TransitionTime> timestamps) {
+        State state = timestamps.get(timestamps.size() - 1).getTransition().getAfter();
+        return NotificationRequest.builder()
+                .before(timestamps.get(timestamps.size() - 1).getTransition().getBefore())
+                .after(state)
+                .task(
+                        MinimizedTask.builder()
+                                .name(name)
+                                .correlationID(correlationId)
+                                .state(state)
+                                .dependencies(dependencies)
+                                .dependants(dependants)
+                                .timestamps(timestamps)
+                                .build())
+                .build();
+    }
+
+    private static List<TransitionTime> started(long seconds) {
+        List<TransitionTime> timestamps = new ArrayList<>();
+        timestamps.add(new TransitionTime(Transition.NEW_to_ENQUEUED, T0.plusSeconds(seconds)));
+        timestamps.add(new TransitionTime(Transition.ENQUEUED_to_STARTING, T0.plusSeconds(seconds)));
+        timestamps.add(new TransitionTime(Transition.STARTING_to_UP, T0.plusSeconds(seconds)));
+        return timestamps;
+    }
+
+    private static List<TransitionTime> succeeded(long startSeconds, long endSeconds) {
+        List<TransitionTime> timestamps = started(startSeconds);
+        timestamps.add(new TransitionTime(Transition.UP_to_SUCCESSFUL, T0.plusSeconds(endSeconds)));
+        return timestamps;
+    }
+}